@@ -8,6 +8,10 @@ import net.md_5.bungee.api.connection.ProxiedPlayer;
 import net.md_5.bungee.api.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
+/**
+ * The command manager of a BungeeCord plugin, the proxy fires no event
+ * when a plugin gets disabled, so the plugin calls {@link #shutdown()} from its {@link Plugin#onDisable()}
+ */
 public final class BungeeCommandManager extends AbstractCommandManager<Plugin, CommandSender> {
 	
 	
@@ -21,6 +25,8 @@ public final class BungeeCommandManager extends AbstractCommandManager<Plugin, C
 		captionRegistry.registerCaption(BungeeCaption.NO_HELP_TOPIC_AVAILABLE);
 		
 		typeRegistry().registerArgumentConverter(ProxiedPlayer.class, ArgumentOnlinePlayer::new);
+		
+		plugin.getProxy().getPluginManager().registerListener(plugin, new BungeeSuggestionCacheListener(suggestionCache()));
 	}
 	
 	@Override
@@ -0,0 +1,39 @@
+package io.github.mqzn.commands;
+
+import io.github.mqzn.commands.arguments.ArgumentOnlinePlayer;
+import io.github.mqzn.commands.base.manager.SuggestionCache;
+import net.md_5.bungee.api.CommandSender;
+import net.md_5.bungee.api.event.PlayerDisconnectEvent;
+import net.md_5.bungee.api.event.PostLoginEvent;
+import net.md_5.bungee.api.plugin.Listener;
+import net.md_5.bungee.event.EventHandler;
+import net.md_5.bungee.event.EventPriority;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Invalidates the cached suggestions of the online players
+ * arguments whenever a player joins or quits the proxy
+ */
+@ApiStatus.Internal
+public final class BungeeSuggestionCacheListener implements Listener {
+	
+	@NotNull
+	private final SuggestionCache<CommandSender> cache;
+	
+	BungeeSuggestionCacheListener(@NotNull SuggestionCache<CommandSender> cache) {
+		this.cache = cache;
+	}
+	
+	@EventHandler(priority = EventPriority.HIGHEST)
+	public void onJoin(PostLoginEvent event) {
+		cache.invalidate(ArgumentOnlinePlayer.class);
+	}
+	
+	@EventHandler(priority = EventPriority.HIGHEST)
+	public void onQuit(PlayerDisconnectEvent event) {
+		cache.invalidate(ArgumentOnlinePlayer.class);
+		cache.invalidateSender(event.getPlayer());
+	}
+	
+}
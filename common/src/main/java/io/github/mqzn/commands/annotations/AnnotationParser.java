@@ -6,17 +6,17 @@ import io.github.mqzn.commands.annotations.subcommands.SubCommand;
 import io.github.mqzn.commands.annotations.subcommands.SubCommandExecution;
 import io.github.mqzn.commands.annotations.subcommands.SubCommandInfo;
 import io.github.mqzn.commands.arguments.Argument;
-import io.github.mqzn.commands.arguments.ArgumentData;
 import io.github.mqzn.commands.arguments.ArgumentNumber;
 import io.github.mqzn.commands.base.*;
+import io.github.mqzn.commands.base.concurrency.ConcurrencyLimit;
 import io.github.mqzn.commands.base.context.CommandArgs;
 import io.github.mqzn.commands.base.context.Context;
 import io.github.mqzn.commands.base.cooldown.CommandCooldown;
 import io.github.mqzn.commands.base.manager.CommandManager;
+import io.github.mqzn.commands.base.ratelimit.CommandRateLimit;
 import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
 import io.github.mqzn.commands.base.syntax.SubCommandBuilder;
 import io.github.mqzn.commands.base.syntax.SyntaxFlags;
-import io.github.mqzn.commands.exceptions.types.ArgumentParseException;
 import io.github.mqzn.commands.utilities.ArgumentSyntaxUtility;
 import io.github.mqzn.commands.utilities.Pair;
 import org.jetbrains.annotations.NotNull;
@@ -24,8 +24,10 @@ import org.jetbrains.annotations.Nullable;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.regex.Pattern;
 
 public final class AnnotationParser<S> {
@@ -104,6 +106,21 @@ public final class AnnotationParser<S> {
 			builder.cooldown(commandCooldown);
 		}
 		
+		for (CommandRateLimit rateLimit : loadRateLimits(annotatedCommand.getClass()))
+			builder.rateLimit(rateLimit);
+		
+		if (annotatedCommand.getClass().isAnnotationPresent(Timeout.class)) {
+			Timeout timeout = annotatedCommand.getClass().getAnnotation(Timeout.class);
+			assert timeout != null;
+			builder.timeout(Duration.of(timeout.value(), timeout.unit().toChronoUnit()));
+		}
+		
+		if (annotatedCommand.getClass().isAnnotationPresent(MaxConcurrency.class)) {
+			MaxConcurrency maxConcurrency = annotatedCommand.getClass().getAnnotation(MaxConcurrency.class);
+			assert maxConcurrency != null;
+			builder.concurrencyLimit(ConcurrencyLimit.of(maxConcurrency.value(), maxConcurrency.overflow(), maxConcurrency.queue()));
+		}
+		
 		for (var requirementClass : cmdAnnotation.requirements()) {
 			
 			if (Enum.class.isAssignableFrom(requirementClass)) {
@@ -136,9 +153,10 @@ public final class AnnotationParser<S> {
 				if (method.getParameters().length == 2 && method.isAnnotationPresent(Default.class)) {
 					
 					//default Execution
+					MethodBinding<S> binding = bindMethod(annotatedCommand, method);
 					builder
 						.defaultExecutor(
-							(sender, context) -> invokeMethod(annotatedCommand, method, context, CommandArgs.create(context)));
+							(sender, context) -> invokeMethod(binding, sender, context));
 				}
 				
 				continue;
@@ -150,7 +168,7 @@ public final class AnnotationParser<S> {
 			var loadedData = loadMethodParameters(manager, cmdAnnotation.name(), executionMetaMeta, annotatedCommand.getClass(), method);
 			var arguments = loadedData.getRight();
 			var flags = loadedData.getLeft();
-	
+			
 			if (executionMetaMeta.senderType() != Object.class)
 				senderType = executionMetaMeta.senderType();
 			
@@ -162,12 +180,13 @@ public final class AnnotationParser<S> {
 				syntaxBuilder = syntaxBuilder.argument(arg);
 			}
 			
+			MethodBinding<S> binding = bindMethod(annotatedCommand, method);
 			syntaxBuilder.info(new Information(executionMetaMeta.permission(), executionMetaMeta.description()))
 				.flags(flags)
-				.execute((sender, context) -> {
-					Object[] valuesToUse = readValues(method, sender, context);
-					invokeMethod(annotatedCommand, method, context, valuesToUse);
-				});
+				.execute((sender, context) -> invokeMethod(binding, sender, context));
+			
+			for (CommandRateLimit rateLimit : loadRateLimits(method))
+				syntaxBuilder.rateLimit(rateLimit);
 			
 			builder.syntax(syntaxBuilder.build());
 			
@@ -258,9 +277,10 @@ public final class AnnotationParser<S> {
 						"has some redundant parameters although it needs only 1 parameter for the command sender", defaultExecutionMethod.getName()));
 			}
 			
+			MethodBinding<S> binding = bindMethod(subCommandInstance, defaultExecutionMethod);
 			subBuilder = subBuilder
 				.defaultExecution(
-					(sender, context) -> invokeMethod(subCommandInstance, defaultExecutionMethod, context));
+					(sender, context) -> invokeMethod(binding, sender, context));
 		}
 		
 		Method executeMethod = Arrays.stream(subClass.getDeclaredMethods())
@@ -283,6 +303,9 @@ public final class AnnotationParser<S> {
 		
 		subBuilder = subBuilder.info(new Information(subExecutionMeta.permission(), subExecutionMeta.description()));
 		
+		for (CommandRateLimit rateLimit : loadRateLimits(subClass))
+			subBuilder = subBuilder.rateLimit(rateLimit);
+		
 		if (executeMethod != null) {
 			var methodData = loadParentalSubCommandsParameters(manager, cmd.name(), subClass, executeMethod);
 			
@@ -292,11 +315,12 @@ public final class AnnotationParser<S> {
 			
 			subBuilder = subBuilder.flags(methodData.flags);
 			
+			for (CommandRateLimit rateLimit : loadRateLimits(executeMethod))
+				subBuilder = subBuilder.rateLimit(rateLimit);
 			
-			subBuilder = subBuilder.execute((sender, context) -> {
-				Object[] valuesToUse = readValues(executeMethod, sender, context);
-				invokeMethod(subCommandInstance, executeMethod, context, valuesToUse);
-			});
+			
+			MethodBinding<S> binding = bindMethod(subCommandInstance, executeMethod);
+			subBuilder = subBuilder.execute((sender, context) -> invokeMethod(binding, sender, context));
 		}
 		
 		
@@ -356,57 +380,16 @@ public final class AnnotationParser<S> {
 	}
 	
 	
-	@SuppressWarnings("unchecked")
-	private <E extends Enum<E>, T> @Nullable Argument<T> getArgFromParameter(CommandManager<?, S> manager,
-	                                                                         String command,
-	                                                                         Method method,
-	                                                                         Parameter parameter) {
+	private <T> @Nullable Argument<T> getArgFromParameter(CommandManager<?, S> manager,
+	                                                      String command,
+	                                                      Method method,
+	                                                      Parameter parameter) {
 		
 		Arg annotation = parameter.getAnnotation(Arg.class);
 		if (annotation == null) return null;
 		
-		ArgumentData data = ArgumentData.of(annotation.id(), annotation.optional(), false);
-		
-		Class<?> type = parameter.getType();
-		
-		@Nullable Argument<T> arg;
-		if (parameter.isAnnotationPresent(Greedy.class) && type.equals(String.class))
-			arg = (Argument<T>) Argument.Array(data.getId());
-		
-		else if (type.equals(String.class))
-			arg = (Argument<T>) Argument.word(data);
-		
-		else if (type.isEnum()) {
-			arg = (Argument<T>) Argument.Enum(data, (Class<E>) type);
-			
-			Class<E> aEnum = (Class<E>) type;
-			for (E constant : aEnum.getEnumConstants()) {
-				((Argument<E>) arg).suggest(constant);
-			}
-			
-		} else {
-			arg = (Argument<T>) manager.typeRegistry().convertArgument(data, type);
-			if (arg == null) {
-				throw new IllegalArgumentException(
-					String.format("Unknown argument type `%s` in method `%s`", type.getName(), method.getName())
-				);
-			}
-		}
-		
-		if (!annotation.defaultValue().isBlank() && !annotation.defaultValue().isEmpty()) {
-			try {
-				arg.setDefaultValue(arg.parse(null, command, annotation.defaultValue()));
-			} catch (ArgumentParseException e) {
-				throw new RuntimeException(e);
-			}
-			
-		}
-		
-		if (annotation.description().isEmpty() || annotation.description().isBlank()) {
-			arg = arg.description(annotation.description());
-		}
-		
-		return arg;
+		return ArgumentResolver.resolve(manager, command, method.getName(), annotation.id(), annotation.optional(),
+			parameter.getType(), parameter.isAnnotationPresent(Greedy.class), annotation.defaultValue(), annotation.description());
 	}
 	
 	
@@ -485,52 +468,48 @@ public final class AnnotationParser<S> {
 	
 	
 	/**
-	 * Reads values from the context used and links it with the method
-	 * to be invoked when the command is executed
+	 * Binds the method to the values it will be invoked with
+	 * when the command is executed, the extractor of each parameter is resolved
+	 * once here, instead of reading the parameters on every execution.
 	 * for example: a method has 2 params, one must be  the command sender and the other can be an argument
 	 * the cmd executed is /test2 alert hello world, the second argument is stated to be {@link Greedy} which
 	 * will consume the remaining arguments after it's position/index
-	 * basically the values are the parameters of the method to be used in invocation of that method
-	 * first param must be the sender {@link SenderWrapper} and the other params can be other data types
+	 * first param must be the sender {@link SenderWrapper}, the second one is the {@link CommandArgs}
+	 * and the other params can be other data types
 	 *
-	 * @param method  the method that will be invoked
-	 * @param sender  the command sender
-	 * @param context the command context
-	 * @return the parameters of the method to be used in invocation of that method
+	 * @param instance the instance to invoke the method on
+	 * @param method   the method that will be invoked
+	 * @return the binding of the method
 	 */
 	@NotNull
-	private <C> Object[] readValues(@NotNull Method method, @NotNull C sender, Context<S> context) {
-		
+	private MethodBinding<S> bindMethod(@NotNull Object instance, @NotNull Method method) {
 		
 		var parameters = method.getParameters();
-		Object[] values = new Object[parameters.length];
-		
-		values[0] = sender;
-		values[1] = CommandArgs.create(context);
+		MethodBinding.ParameterExtractor[] extractors = new MethodBinding.ParameterExtractor[parameters.length];
 		
-		for (int p = 2; p < parameters.length; p++) {
+		for (int p = 0; p < parameters.length; p++) {
 			Parameter parameter = parameters[p];
 			
-			Object value;
-			
-			if (isParamFlag(parameter)) {
+			if (p == 0) {
+				extractors[p] = MethodBinding.ParameterExtractor.SENDER;
+			} else if (p == 1) {
+				extractors[p] = MethodBinding.ParameterExtractor.ARGS;
+			} else if (isParamFlag(parameter)) {
 				String flagName = getFlagFromParameter(parameter);
 				assert flagName != null;
-				values[p] = context.flags().isPresent(flagName);
+				extractors[p] = MethodBinding.ParameterExtractor.flag(flagName);
 			} else {
 				
 				assert isParamArgument(parameter);
 				Arg annotation = parameter.getAnnotation(Arg.class);
 				assert annotation != null;
 				
-				value = context.getArgument(annotation.id());
-				values[p] = value;
+				extractors[p] = MethodBinding.ParameterExtractor.argument(annotation.id());
 			}
 			
-			
 		}
 		
-		return values;
+		return MethodBinding.compile(instance, method, extractors);
 	}
 	
 	private boolean isParamArgument(@NotNull Parameter parameter) {
@@ -779,28 +758,7 @@ public final class AnnotationParser<S> {
 						Suggest suggest = parameter.getAnnotation(Suggest.class);
 						assert suggest != null;
 						
-						for (var suggestion : suggest.value()) {
-							
-							try {
-								argument.suggest(argument.parse(null, commandName, suggestion));
-							} catch (ArgumentParseException e) {
-								throw new RuntimeException(e);
-							}
-						}
-						
-						if (!suggest.provider().equals(SuggestionProvider.class)) {
-							SuggestionProvider provider = manager.suggestionProviderRegistry().getProvider(suggest.provider());
-							if (provider == null) {
-								throw new IllegalArgumentException(String.format("The suggestion provider %s is not registered", suggest.provider().getName()));
-							}
-							for (String suggestion : provider.suggestions())
-								try {
-									argument.suggest(argument.parse(null, commandName, suggestion));
-								} catch (ArgumentParseException e) {
-									throw new RuntimeException(e);
-								}
-						}
-						
+						ArgumentResolver.suggest(manager, commandName, argument, suggest.value(), suggest.provider());
 					}
 					
 					
@@ -835,35 +793,34 @@ public final class AnnotationParser<S> {
 			parameter.getType().isInstance(CommandArgs.class));
 	}
 	
-	@SuppressWarnings("unchecked")
-	private <N extends Number> void handleArgumentIfNumber(Argument<?> argument, Parameter parameter) {
+	private void handleArgumentIfNumber(Argument<?> argument, Parameter parameter) {
 		if (!(argument instanceof ArgumentNumber) || !parameter.isAnnotationPresent(Range.class)) {
 			return;
 		}
 		
-		ArgumentNumber<N> argNum = (ArgumentNumber<N>) argument;
-		
 		Range range = parameter.getAnnotation(Range.class);
 		assert range != null;
 		
-		if (!range.min().isEmpty())
-			argNum.min(argNum.getParser().apply(range.min()));
-		
-		if (!range.max().isEmpty())
-			argNum.max(argNum.getParser().apply(range.max()));
-		
+		ArgumentResolver.range(manager, argument, range.min(), range.max());
+	}
+	
+	private @NotNull List<CommandRateLimit> loadRateLimits(@NotNull AnnotatedElement element) {
+		List<CommandRateLimit> rateLimits = new LinkedList<>();
+		for (RateLimit rateLimit : element.getAnnotationsByType(RateLimit.class))
+			rateLimits.add(CommandRateLimit.of(rateLimit.scope(), rateLimit.permits(), rateLimit.period(), rateLimit.unit()));
 		
-		manager.numericArgumentSuggestionProcessor().provide(argNum);
+		return rateLimits;
 	}
 	
 	private String annotationNotPresent(Class<?> subClass, Class<? extends Annotation> annotation) {
 		return String.format("Subcommand class '%s' is NOT annotated with @%s", subClass.getName(), annotation.getSimpleName());
 	}
 	
-	private <T> void invokeMethod(T instance, Method method, Context<S> context, Object... objects) {
+	private <C> void invokeMethod(MethodBinding<S> binding, C sender, Context<S> context) {
 		try {
-			method.invoke(instance, objects);
+			binding.invoke(sender, context);
 		} catch (Exception ex) {
+			//only the exceptions are handled here, a java.lang.Error propagates to the coordinator
 			manager.exceptionHandler().handleException(ex, context.sender(), context);
 		}
 	}
@@ -0,0 +1,196 @@
+package io.github.mqzn.commands.annotations;
+
+import io.github.mqzn.commands.annotations.base.Arg;
+import io.github.mqzn.commands.annotations.base.Greedy;
+import io.github.mqzn.commands.annotations.base.Range;
+import io.github.mqzn.commands.annotations.base.Suggest;
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.arguments.ArgumentData;
+import io.github.mqzn.commands.arguments.ArgumentNumber;
+import io.github.mqzn.commands.base.SuggestionProvider;
+import io.github.mqzn.commands.base.context.Context;
+import io.github.mqzn.commands.base.manager.CommandManager;
+import io.github.mqzn.commands.base.syntax.CommandSyntax;
+import io.github.mqzn.commands.exceptions.types.ArgumentParseException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Resolves the arguments of annotated commands from the values
+ * of their annotations, it's shared between the {@link AnnotationParser}
+ * which reads these values through reflection, and the registration code
+ * generated at compile time by the annotation processor of mCommands, so that
+ * both of them end up with the exact same arguments.
+ *
+ * @author Mqzen
+ * @see Arg
+ * @see Range
+ * @see Suggest
+ */
+public final class ArgumentResolver {
+	
+	private ArgumentResolver() {
+	}
+	
+	/**
+	 * Fetches the position of an argument in the syntax used by a context, so that its value
+	 * is read by position, the position of an argument of a subcommand includes the arguments
+	 * of its parents, so it's only known once the command is built
+	 *
+	 * @param context the context of the execution
+	 * @param id      the id of the argument
+	 * @param <S>     the sender type
+	 * @return the position of the argument, or -1 if the syntax has no argument of that id
+	 * @see Context#getInt(int)
+	 * @see Context#getArgument(int)
+	 */
+	public static <S> int slot(@NotNull Context<S> context, @NotNull String id) {
+		return CommandSyntax.getShape(context.commandUsed().tree(), context.syntaxUsed()).indexOf(id);
+	}
+	
+	/**
+	 * Resolves the argument of a parameter annotated with {@link Arg}
+	 *
+	 * @param manager      the manager, needed to load the argument types using the internal argument type registry
+	 * @param command      the name of the command
+	 * @param method       the name of the method declaring the parameter
+	 * @param id           the id of the argument
+	 * @param optional     whether the argument is optional
+	 * @param type         the type of the parameter
+	 * @param greedy       whether the parameter is annotated with {@link Greedy}
+	 * @param defaultValue the raw default value of the argument, or an empty string if there's none
+	 * @param description  the description of the argument, or an empty string if there's none
+	 * @param <S>          the sender type
+	 * @param <E>          ignore this, it's used for casting
+	 * @param <T>          the type of the argument
+	 * @return the resolved argument
+	 * @throws IllegalArgumentException if there's no argument type registered for the type of the parameter
+	 */
+	@SuppressWarnings("unchecked")
+	public static <S, E extends Enum<E>, T> @NotNull Argument<T> resolve(@NotNull CommandManager<?, S> manager,
+	                                                                     @NotNull String command,
+	                                                                     @NotNull String method,
+	                                                                     @NotNull String id,
+	                                                                     boolean optional,
+	                                                                     @NotNull Class<?> type,
+	                                                                     boolean greedy,
+	                                                                     @NotNull String defaultValue,
+	                                                                     @NotNull String description) {
+		
+		ArgumentData data = ArgumentData.of(id, optional, false);
+		
+		Argument<T> arg;
+		if (greedy && type.equals(String.class))
+			arg = (Argument<T>) Argument.Array(data.getId());
+		
+		else if (type.equals(String.class))
+			arg = (Argument<T>) Argument.word(data);
+		
+		else if (type.isEnum()) {
+			arg = (Argument<T>) Argument.Enum(data, (Class<E>) type);
+			
+			Class<E> aEnum = (Class<E>) type;
+			for (E constant : aEnum.getEnumConstants()) {
+				((Argument<E>) arg).suggest(constant);
+			}
+			
+		} else {
+			arg = (Argument<T>) manager.typeRegistry().convertArgument(data, type);
+			if (arg == null) {
+				throw new IllegalArgumentException(
+					String.format("Unknown argument type `%s` in method `%s`", type.getName(), method)
+				);
+			}
+		}
+		
+		if (!defaultValue.isBlank()) {
+			try {
+				arg.setDefaultValue(arg.parse(null, command, defaultValue));
+			} catch (ArgumentParseException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		
+		if (!description.isBlank()) {
+			arg = arg.description(description);
+		}
+		
+		return arg;
+	}
+	
+	/**
+	 * Applies the bounds of a {@link Range} to the argument,
+	 * then suggests the numbers within these bounds.
+	 * Arguments that are not numeric are left untouched.
+	 *
+	 * @param manager  the manager
+	 * @param argument the argument
+	 * @param min      the raw minimum bound, or an empty string if there's none
+	 * @param max      the raw maximum bound, or an empty string if there's none
+	 * @param <S>      the sender type
+	 * @param <N>      the type of the number
+	 */
+	@SuppressWarnings("unchecked")
+	public static <S, N extends Number> void range(@NotNull CommandManager<?, S> manager,
+	                                               @NotNull Argument<?> argument,
+	                                               @NotNull String min,
+	                                               @NotNull String max) {
+		if (!(argument instanceof ArgumentNumber)) {
+			return;
+		}
+		
+		ArgumentNumber<N> argNum = (ArgumentNumber<N>) argument;
+		
+		if (!min.isEmpty())
+			argNum.min(argNum.getParser().apply(min));
+		
+		if (!max.isEmpty())
+			argNum.max(argNum.getParser().apply(max));
+		
+		manager.numericArgumentSuggestionProcessor().provide(argNum);
+	}
+	
+	/**
+	 * Adds the suggestions of a {@link Suggest} to the argument
+	 *
+	 * @param manager  the manager, needed to fetch the registered suggestion provider
+	 * @param command  the name of the command
+	 * @param argument the argument
+	 * @param values   the raw suggestions
+	 * @param provider the class of the suggestion provider, or {@link SuggestionProvider} itself if there's none
+	 * @param <S>      the sender type
+	 * @param <T>      the type of the argument
+	 * @throws IllegalArgumentException if the suggestion provider is not registered
+	 */
+	public static <S, T> void suggest(@NotNull CommandManager<?, S> manager,
+	                                  @NotNull String command,
+	                                  @NotNull Argument<T> argument,
+	                                  @NotNull String[] values,
+	                                  @NotNull Class<? extends SuggestionProvider> provider) {
+		
+		for (var suggestion : values) {
+			try {
+				argument.suggest(argument.parse(null, command, suggestion));
+			} catch (ArgumentParseException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		
+		if (provider.equals(SuggestionProvider.class)) {
+			return;
+		}
+		
+		SuggestionProvider registered = manager.suggestionProviderRegistry().getProvider(provider);
+		if (registered == null) {
+			throw new IllegalArgumentException(String.format("The suggestion provider %s is not registered", provider.getName()));
+		}
+		
+		for (String suggestion : registered.suggestions()) {
+			try {
+				argument.suggest(argument.parse(null, command, suggestion));
+			} catch (ArgumentParseException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,244 @@
+package io.github.mqzn.commands.annotations;
+
+import io.github.mqzn.commands.base.context.CommandArgs;
+import io.github.mqzn.commands.base.context.Context;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * A prebuilt binding between an annotated method and the values
+ * it's invoked with, it's compiled once when the command is parsed, so that
+ * executing the command requires no reflection nor annotation lookups.
+ * <p>
+ * The method is invoked through a single {@link MethodHandle} taking the sender and the context,
+ * every parameter of the method is filtered by a getter resolved from the annotations of the parameter,
+ * the numeric and boolean parameters are read through the primitive getters of the context by position,
+ * so invoking the method neither allocates an array of values nor boxes them.
+ *
+ * @param <S> the sender type
+ * @author Mqzen
+ * @see AnnotationParser
+ */
+final class MethodBinding<S> {
+	
+	private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class, Context.class);
+	
+	private static final MethodHandle SENDER, ARGS, FLAG, ARGUMENT, INT, LONG, DOUBLE, BOOLEAN;
+	
+	static {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			SENDER = lookup.findStatic(MethodBinding.class, "sender", GETTER);
+			ARGS = lookup.findStatic(MethodBinding.class, "args", GETTER.changeReturnType(CommandArgs.class));
+			FLAG = lookup.findStatic(MethodBinding.class, "flag", MethodType.methodType(boolean.class, String.class, Object.class, Context.class));
+			ARGUMENT = lookup.findStatic(MethodBinding.class, "argument", GETTER.insertParameterTypes(0, Slot.class));
+			INT = lookup.findStatic(MethodBinding.class, "intArgument", MethodType.methodType(int.class, Slot.class, Object.class, Context.class));
+			LONG = lookup.findStatic(MethodBinding.class, "longArgument", MethodType.methodType(long.class, Slot.class, Object.class, Context.class));
+			DOUBLE = lookup.findStatic(MethodBinding.class, "doubleArgument", MethodType.methodType(double.class, Slot.class, Object.class, Context.class));
+			BOOLEAN = lookup.findStatic(MethodBinding.class, "booleanArgument", MethodType.methodType(boolean.class, Slot.class, Object.class, Context.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	/**
+	 * The method, taking the sender and the context
+	 */
+	@NotNull
+	private final MethodHandle invoker;
+	
+	private MethodBinding(@NotNull MethodHandle invoker) {
+		this.invoker = invoker;
+	}
+	
+	/**
+	 * Compiles the method into a binding
+	 *
+	 * @param instance   the instance to invoke the method on
+	 * @param method     the method
+	 * @param extractors the extractor of each parameter of the method, by its position
+	 * @param <S>        the sender type
+	 * @return the compiled binding
+	 */
+	static <S> MethodBinding<S> compile(@NotNull Object instance,
+	                                    @NotNull Method method,
+	                                    @NotNull ParameterExtractor[] extractors) {
+		
+		if (extractors.length != method.getParameterCount()) {
+			throw new IllegalArgumentException(
+				String.format("Method '%s' has %s parameters, but %s were resolved", method.getName(), method.getParameterCount(), extractors.length));
+		}
+		
+		try {
+			if (!method.canAccess(instance)) {
+				method.setAccessible(true);
+			}
+			
+			MethodHandle target = MethodHandles.lookup().unreflect(method).bindTo(instance);
+			target = target.asType(target.type().changeReturnType(void.class));
+			
+			//every parameter is replaced by the sender and the context its getter takes, from the last one
+			//so that the positions of the parameters before it don't shift
+			Class<?>[] types = method.getParameterTypes();
+			for (int p = types.length - 1; p >= 0; p--)
+				target = MethodHandles.collectArguments(target, p, extractors[p].getter(types[p]));
+			
+			//then all the senders and contexts are merged into the single sender and context of the invoker
+			int[] reorder = new int[types.length * 2];
+			for (int i = 0; i < reorder.length; i++)
+				reorder[i] = i % 2;
+			
+			MethodType invokerType = MethodType.methodType(void.class, Object.class, Context.class);
+			MethodHandle invoker = types.length == 0
+				? MethodHandles.dropArguments(target, 0, Object.class, Context.class)
+				: MethodHandles.permuteArguments(target, invokerType, reorder);
+			
+			return new MethodBinding<>(invoker);
+		} catch (IllegalAccessException | RuntimeException e) {
+			throw new IllegalStateException(String.format("Failed to bind method '%s' of class '%s'", method.getName(), method.getDeclaringClass().getName()), e);
+		}
+	}
+	
+	/**
+	 * Invokes the method with the values
+	 * extracted from the sender and the context
+	 *
+	 * @param sender  the command sender
+	 * @param context the command context
+	 * @throws Exception anything thrown by the method
+	 */
+	void invoke(@NotNull Object sender, @NotNull Context<S> context) throws Exception {
+		try {
+			invoker.invokeExact(sender, (Context<?>) context);
+		} catch (Exception | Error ex) {
+			throw ex;
+		} catch (Throwable ex) {
+			//only a method throwing a raw throwable explicitly can get here
+			throw new UndeclaredThrowableException(ex);
+		}
+	}
+	
+	private static Object sender(Object sender, Context<?> context) {
+		return sender;
+	}
+	
+	private static CommandArgs args(Object sender, Context<?> context) {
+		return CommandArgs.create(context);
+	}
+	
+	private static boolean flag(String flag, Object sender, Context<?> context) {
+		return context.flags().isPresent(flag);
+	}
+	
+	private static Object argument(Slot slot, Object sender, Context<?> context) {
+		return context.getArgument(slot.index(context));
+	}
+	
+	private static int intArgument(Slot slot, Object sender, Context<?> context) {
+		return context.getInt(slot.index(context));
+	}
+	
+	private static long longArgument(Slot slot, Object sender, Context<?> context) {
+		return context.getLong(slot.index(context));
+	}
+	
+	private static double doubleArgument(Slot slot, Object sender, Context<?> context) {
+		return context.getDouble(slot.index(context));
+	}
+	
+	private static boolean booleanArgument(Slot slot, Object sender, Context<?> context) {
+		return context.getBoolean(slot.index(context));
+	}
+	
+	/**
+	 * Where the value of a parameter of the method comes from
+	 *
+	 * @param kind the source of the value
+	 * @param key  the name of the flag, or the id of the argument
+	 */
+	record ParameterExtractor(@NotNull Kind kind, @Nullable String key) {
+		
+		static final ParameterExtractor SENDER = new ParameterExtractor(Kind.SENDER, null);
+		
+		static final ParameterExtractor ARGS = new ParameterExtractor(Kind.ARGS, null);
+		
+		static ParameterExtractor flag(@NotNull String name) {
+			return new ParameterExtractor(Kind.FLAG, name);
+		}
+		
+		static ParameterExtractor argument(@NotNull String id) {
+			return new ParameterExtractor(Kind.ARGUMENT, id);
+		}
+		
+		/**
+		 * Resolves the getter of the value of the parameter
+		 *
+		 * @param type the type of the parameter
+		 * @return a handle taking the sender and the context, and returning the type of the parameter
+		 */
+		@NotNull
+		MethodHandle getter(@NotNull Class<?> type) {
+			MethodHandle getter = switch (kind) {
+				case SENDER -> MethodBinding.SENDER;
+				case ARGS -> MethodBinding.ARGS;
+				case FLAG -> MethodHandles.insertArguments(FLAG, 0, key);
+				case ARGUMENT -> MethodHandles.insertArguments(argumentGetter(type), 0, new Slot(key));
+			};
+			
+			//narrows the primitives read as longs and doubles, such as the floats, and casts the objects
+			return MethodHandles.explicitCastArguments(getter, MethodType.methodType(type, Object.class, Context.class));
+		}
+		
+		private static MethodHandle argumentGetter(Class<?> type) {
+			if (type == int.class || type == short.class || type == byte.class) return INT;
+			if (type == long.class) return LONG;
+			if (type == double.class || type == float.class) return DOUBLE;
+			if (type == boolean.class) return BOOLEAN;
+			return ARGUMENT;
+		}
+		
+	}
+	
+	enum Kind {
+		SENDER,
+		ARGS,
+		FLAG,
+		ARGUMENT
+	}
+	
+	/**
+	 * The position of an argument in the syntax the method is bound to, it's only known
+	 * once the syntax is built, so it's resolved by the first execution, then kept
+	 */
+	private static final class Slot {
+		
+		@NotNull
+		private final String id;
+		
+		/**
+		 * Not volatile, since every thread resolves the same position
+		 */
+		private int index = -1;
+		
+		private Slot(@NotNull String id) {
+			this.id = id;
+		}
+		
+		private int index(Context<?> context) {
+			int index = this.index;
+			if (index == -1) {
+				index = ArgumentResolver.slot(context, id);
+				if (index != -1) this.index = index;
+			}
+			return index;
+		}
+		
+	}
+	
+}
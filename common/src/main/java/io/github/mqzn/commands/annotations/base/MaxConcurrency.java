@@ -0,0 +1,28 @@
+package io.github.mqzn.commands.annotations.base;
+
+import io.github.mqzn.commands.base.concurrency.ConcurrencyLimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Bounds the executions of the command in flight at once
+ *
+ * @see ConcurrencyLimit
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface MaxConcurrency {
+	
+	int value();
+	
+	ConcurrencyLimit.OverflowPolicy overflow() default ConcurrencyLimit.OverflowPolicy.REJECT;
+	
+	/**
+	 * @return the number of executions that may wait for a permit, ignored by {@link ConcurrencyLimit.OverflowPolicy#REJECT}
+	 */
+	int queue() default 0;
+	
+}
@@ -0,0 +1,27 @@
+package io.github.mqzn.commands.annotations.base;
+
+import io.github.mqzn.commands.base.ratelimit.CommandRateLimit;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how often the command, the subcommand or the syntax it's declared on can be used,
+ * a burst of {@link #permits()} uses is allowed, then the permits refill over the {@link #period()}
+ *
+ * @see CommandRateLimit
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Repeatable(RateLimits.class)
+public @interface RateLimit {
+	
+	int permits();
+	
+	long period();
+	
+	TimeUnit unit() default TimeUnit.SECONDS;
+	
+	CommandRateLimit.Scope scope() default CommandRateLimit.Scope.SENDER;
+	
+}
@@ -0,0 +1,14 @@
+package io.github.mqzn.commands.annotations.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface RateLimits {
+	
+	RateLimit[] value() default {};
+	
+}
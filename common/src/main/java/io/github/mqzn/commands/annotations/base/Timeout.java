@@ -0,0 +1,23 @@
+package io.github.mqzn.commands.annotations.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time an execution of the command may take
+ * before its context gets cancelled
+ *
+ * @see io.github.mqzn.commands.base.Command#timeout()
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Timeout {
+	
+	long value();
+	
+	TimeUnit unit() default TimeUnit.SECONDS;
+	
+}
@@ -1,12 +1,15 @@
 package io.github.mqzn.commands.arguments;
 
+import io.github.mqzn.commands.base.AsyncSuggestionProvider;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class represents an argument as a command-syntax
@@ -35,6 +38,9 @@ public abstract class AbstractArgument<T> implements Argument<T> {
 	@Nullable
 	private T defaultValue = null;
 	
+	@Nullable
+	private TypedAsyncSuggestionProvider<?> asyncSuggestionProvider = null;
+	
 	public AbstractArgument(@NotNull String id, @NotNull Class<T> type) {
 		this(id, type, false, false);
 	}
@@ -176,6 +182,34 @@ public abstract class AbstractArgument<T> implements Argument<T> {
 		return suggestions;
 	}
 	
+	/**
+	 * Sets the provider of the suggestions of this argument
+	 * that are provided asynchronously, in addition to its suggestions
+	 *
+	 * @param senderType the type of the senders the provider accepts
+	 * @param provider   the provider of the suggestions
+	 * @param <S>        the sender type
+	 * @return builder-pattern
+	 */
+	@Override
+	public <S> Argument<T> suggestAsync(@NotNull Class<S> senderType, @NotNull AsyncSuggestionProvider<S> provider) {
+		this.asyncSuggestionProvider = new TypedAsyncSuggestionProvider<>(senderType, provider);
+		return this;
+	}
+	
+	/**
+	 * Fetches the provider of the suggestions of this argument
+	 * that are provided asynchronously
+	 *
+	 * @param senderType the sender type of the manager
+	 * @param <S>        the sender type
+	 * @return the provider, or null if there's none
+	 */
+	@Override
+	public <S> @Nullable AsyncSuggestionProvider<S> asyncSuggestionProvider(@NotNull Class<S> senderType) {
+		return asyncSuggestionProvider == null ? null : asyncSuggestionProvider.as(senderType);
+	}
+	
 	/**
 	 * Suggests multiple suggestions for this argument
 	 *
@@ -219,6 +253,23 @@ public abstract class AbstractArgument<T> implements Argument<T> {
 	public int hashCode() {
 		return Objects.hash(id, type);
 	}
+	
+	/**
+	 * An asynchronous provider along with the type of the senders it accepts,
+	 * so that it's looked up by the sender type of the manager without any unchecked cast,
+	 * the senders are checked while tab-completing, a sender the provider doesn't accept
+	 * is suggested nothing by it
+	 */
+	private record TypedAsyncSuggestionProvider<S>(@NotNull Class<S> senderType,
+	                                               @NotNull AsyncSuggestionProvider<S> provider) {
+		
+		private <C> @NotNull AsyncSuggestionProvider<C> as(@NotNull Class<C> type) {
+			return (sender, prefix) -> senderType.isInstance(sender)
+				? provider.suggestions(senderType.cast(sender), prefix)
+				: CompletableFuture.completedFuture(Collections.emptyList());
+		}
+		
+	}
 }
 
 	
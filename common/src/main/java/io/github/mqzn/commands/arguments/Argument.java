@@ -1,5 +1,6 @@
 package io.github.mqzn.commands.arguments;
 
+import io.github.mqzn.commands.base.AsyncSuggestionProvider;
 import io.github.mqzn.commands.exceptions.types.ArgumentParseException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -259,6 +260,46 @@ public interface Argument<T> {
 	 */
 	@NotNull List<T> suggestions();
 	
+	/**
+	 * The suggestions of this argument for a specific sender,
+	 * it should be overridden by arguments whose suggestions
+	 * differ from one sender to another
+	 *
+	 * @param sender the sender tab-completing
+	 * @param <S>    the sender type
+	 * @return the suggestions of this argument for the sender
+	 * @see io.github.mqzn.commands.base.manager.SuggestionCache#scopePerSender(Argument)
+	 */
+	default <S> @NotNull List<T> suggestions(@UnknownNullability S sender) {
+		return suggestions();
+	}
+	
+	/**
+	 * Sets the provider of the suggestions of this argument
+	 * that are provided asynchronously, in addition to its suggestions
+	 *
+	 * @param senderType the type of the senders the provider accepts
+	 * @param provider   the provider of the suggestions
+	 * @param <S>        the sender type
+	 * @return builder-pattern
+	 * @throws UnsupportedOperationException if this argument doesn't support asynchronous suggestions
+	 */
+	default <S> Argument<T> suggestAsync(@NotNull Class<S> senderType, @NotNull AsyncSuggestionProvider<S> provider) {
+		throw new UnsupportedOperationException("Argument '" + id() + "' doesn't support asynchronous suggestions");
+	}
+	
+	/**
+	 * Fetches the provider of the suggestions of this argument
+	 * that are provided asynchronously
+	 *
+	 * @param senderType the sender type of the manager
+	 * @param <S>        the sender type
+	 * @return the provider, or null if there's none
+	 */
+	default <S> @Nullable AsyncSuggestionProvider<S> asyncSuggestionProvider(@NotNull Class<S> senderType) {
+		return null;
+	}
+	
 	/**
 	 * Suggests multiple suggestions for this argument
 	 *
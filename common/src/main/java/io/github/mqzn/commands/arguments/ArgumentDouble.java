@@ -6,13 +6,26 @@ public final class ArgumentDouble extends ArgumentNumber<Double> {
 	
 	
 	ArgumentDouble(@NotNull String id) {
-		super(id, Double.class, Double::parseDouble,
-			((s, radix) -> (double) Long.parseLong(s, radix)), Double::compare);
+		super(id, Double.class);
 	}
 	
 	ArgumentDouble(@NotNull ArgumentData data) {
-		super(data, Double.class, Double::parseDouble,
-			((s, radix) -> (double) Long.parseLong(s, radix)), Double::compare);
+		super(data, Double.class);
+	}
+	
+	@Override
+	protected long scan(@NotNull CharSequence input) throws NumberFormatException {
+		return Double.doubleToRawLongBits(NumberScanner.scanDouble(input, suffixesAllowed));
+	}
+	
+	@Override
+	public @NotNull Double fromPrimitive(long primitive) {
+		return Double.longBitsToDouble(primitive);
+	}
+	
+	@Override
+	public boolean isFloatingPoint() {
+		return true;
 	}
 	
 	@Override
@@ -5,16 +5,29 @@ import org.jetbrains.annotations.NotNull;
 public final class ArgumentFloat extends ArgumentNumber<Float> {
 	
 	ArgumentFloat(@NotNull String id) {
-		super(id, Float.class, Float::parseFloat,
-			((s, radix) -> (float) Long.parseLong(s, radix)), Float::compare);
+		super(id, Float.class);
 	}
 	
 	ArgumentFloat(@NotNull ArgumentData data) {
-		super(data, Float.class, Float::parseFloat,
-			((s, radix) -> (float) Long.parseLong(s, radix)), Float::compare);
+		super(data, Float.class);
 	}
 	
 	
+	@Override
+	protected long scan(@NotNull CharSequence input) throws NumberFormatException {
+		return Double.doubleToRawLongBits(NumberScanner.scanFloat(input, suffixesAllowed));
+	}
+	
+	@Override
+	public @NotNull Float fromPrimitive(long primitive) {
+		return (float) Double.longBitsToDouble(primitive);
+	}
+	
+	@Override
+	public boolean isFloatingPoint() {
+		return true;
+	}
+	
 	@Override
 	public Class<?>[] alternativeTypes() {
 		return new Class[]{float.class};
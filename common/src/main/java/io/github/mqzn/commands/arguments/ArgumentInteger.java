@@ -1,19 +1,30 @@
 package io.github.mqzn.commands.arguments;
 
+import org.jetbrains.annotations.NotNull;
+
 public final class ArgumentInteger extends ArgumentNumber<Integer> {
 	
 	ArgumentInteger(String id) {
-		super(id, Integer.class,
-			Integer::parseInt,
-			Integer::parseInt,
-			Integer::compare);
+		super(id, Integer.class);
 	}
 	
 	ArgumentInteger(ArgumentData data) {
-		super(data, Integer.class,
-			Integer::parseInt,
-			Integer::parseInt,
-			Integer::compare);
+		super(data, Integer.class);
+	}
+	
+	@Override
+	protected long scan(@NotNull CharSequence input) throws NumberFormatException {
+		return NumberScanner.scanInt(input, suffixesAllowed);
+	}
+	
+	@Override
+	public @NotNull Integer fromPrimitive(long primitive) {
+		return (int) primitive;
+	}
+	
+	@Override
+	public boolean isFloatingPoint() {
+		return false;
 	}
 	
 	@Override
@@ -5,14 +5,29 @@ import org.jetbrains.annotations.NotNull;
 public final class ArgumentLong extends ArgumentNumber<Long> {
 	
 	ArgumentLong(@NotNull String id) {
-		super(id, Long.class, Long::parseLong, Long::parseLong, Long::compare);
+		super(id, Long.class);
 	}
 	
 	ArgumentLong(@NotNull ArgumentData data) {
-		super(data, Long.class, Long::parseLong, Long::parseLong, Long::compare);
+		super(data, Long.class);
 	}
 	
 	
+	@Override
+	protected long scan(@NotNull CharSequence input) throws NumberFormatException {
+		return NumberScanner.scanLong(input, suffixesAllowed);
+	}
+	
+	@Override
+	public @NotNull Long fromPrimitive(long primitive) {
+		return primitive;
+	}
+	
+	@Override
+	public boolean isFloatingPoint() {
+		return false;
+	}
+	
 	@Override
 	public Class<?>[] alternativeTypes() {
 		return new Class[]{long.class};
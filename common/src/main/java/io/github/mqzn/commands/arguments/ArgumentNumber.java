@@ -9,7 +9,6 @@ import java.math.BigDecimal;
 import java.util.Comparator;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 
 /**
  * A class that represents any numeric argument
@@ -18,33 +17,78 @@ import java.util.regex.Pattern;
  */
 public abstract class ArgumentNumber<T extends Number> extends AbstractArgument<T> {
 	
+	/**
+	 * Parses the digits of a number, without any prefix, in the given radix
+	 *
+	 * @deprecated the numbers are scanned by {@link #scan(CharSequence)}, this is only kept for the subclasses
+	 */
+	@Deprecated
 	protected final BiFunction<String, Integer, T> radixParser;
 	
 	protected final Function<String, T> parser;
 	
+	/**
+	 * @deprecated the range is checked against the primitive bounds of this argument, this is only kept for the subclasses
+	 */
+	@Deprecated
 	protected final Comparator<T> comparator;
 	
-	
 	protected boolean hasMin, hasMax;
 	
 	@Nullable
 	protected T min, max;
 	
-	ArgumentNumber(@NotNull String id, Class<T> type,
-	               Function<String, T> parser,
-	               BiFunction<String, Integer, T> radixParser,
-	               Comparator<T> comparator) {
+	/**
+	 * The primitive forms of the range of this argument,
+	 * integral arguments are checked against the long bounds,
+	 * while floating point arguments are checked against the double bounds
+	 */
+	protected long minBound = Long.MIN_VALUE, maxBound = Long.MAX_VALUE;
+	
+	protected double minFloatingBound = Double.NEGATIVE_INFINITY, maxFloatingBound = Double.POSITIVE_INFINITY;
+	
+	protected boolean rangeSuggested;
+	
+	protected boolean suffixesAllowed;
+	
+	ArgumentNumber(@NotNull String id, Class<T> type) {
+		super(id, type);
+		this.parser = (input) -> fromPrimitive(scan(input));
+		this.radixParser = this::scanRadix;
+		this.comparator = this::compare;
+	}
+	
+	ArgumentNumber(@NotNull ArgumentData data, Class<T> type) {
+		super(data, type);
+		this.parser = (input) -> fromPrimitive(scan(input));
+		this.radixParser = this::scanRadix;
+		this.comparator = this::compare;
+	}
+	
+	/**
+	 * @deprecated override {@link #scan(CharSequence)}, {@link #fromPrimitive(long)} and {@link #isFloatingPoint()} instead,
+	 * the parsers given here are only used by the defaults of those methods
+	 */
+	@Deprecated
+	protected ArgumentNumber(@NotNull String id, Class<T> type,
+	                         Function<String, T> parser,
+	                         BiFunction<String, Integer, T> radixParser,
+	                         Comparator<T> comparator) {
 		super(id, type);
 		this.radixParser = radixParser;
 		this.parser = parser;
 		this.comparator = comparator;
-		
 	}
 	
-	ArgumentNumber(@NotNull ArgumentData data, Class<T> type,
-	               Function<String, T> parser,
-	               BiFunction<String, Integer, T> radixParser,
-	               Comparator<T> comparator) {
+	/**
+	 * @deprecated override {@link #scan(CharSequence)}, {@link #fromPrimitive(long)} and {@link #isFloatingPoint()} instead,
+	 * the parsers given here are only used by the defaults of those methods
+	 */
+	@Deprecated
+	protected ArgumentNumber(@NotNull ArgumentData data, Class<T> type,
+	                         Function<String, T> parser,
+	                         BiFunction<String, Integer, T> radixParser,
+	                         Comparator<T> comparator) {
 		super(data, type);
 		this.radixParser = radixParser;
 		this.parser = parser;
@@ -55,34 +99,120 @@ public abstract class ArgumentNumber<T extends Number> extends AbstractArgument<
 	public <S> @NotNull T parse(@UnknownNullability S sender,
 	                            @NotNull String command,
 	                            @NotNull String input) throws ArgumentParseException {
+		return fromPrimitive(parsePrimitive(command, input));
+	}
+	
+	/**
+	 * Parses the input into the primitive form of the number,
+	 * without boxing it, the value is checked against the range of this argument
+	 *
+	 * @param command the command being executed
+	 * @param input   the input to parse
+	 * @return the value itself for integral arguments, or the raw bits of the value
+	 * as a double for floating point arguments
+	 * @throws ArgumentParseException if the input is not a valid number, or it's out of the range of this argument
+	 * @see #isFloatingPoint()
+	 */
+	public final long parsePrimitive(@NotNull String command,
+	                                 @NotNull CharSequence input) throws ArgumentParseException {
+		final long value;
 		try {
-			final T value;
-			final int radix = getRadix(input);
-			if (radix == 10) {
-				value = parser.apply(parseValue(input));
-			} else {
-				value = radixParser.apply(parseValue(input), radix);
-			}
-			
-			// Check range
-			if (hasMin && comparator.compare(value, min) < 0) {
-				throw new ArgumentParseException(String.format("Input '%s' is lower than the minimum allowed value", input), input, command);
-			}
-			if (hasMax && comparator.compare(value, max) > 0) {
-				throw new ArgumentParseException(String.format("Input '%s' is higher than the maximum allowed value", input), input, command);
-			}
-			
-			return value;
-		} catch (NumberFormatException | NullPointerException e) {
-			throw new ArgumentParseException(String.format("Input '%s' is not a number, or it's invalid for the given type", input), input, command);
+			value = scan(input);
+		} catch (NumberFormatException e) {
+			throw new ArgumentParseException(String.format("Input '%s' is not a number, or it's invalid for the given type", input), input.toString(), command);
+		}
+		
+		final boolean lower, higher;
+		if (isFloatingPoint()) {
+			double floating = Double.longBitsToDouble(value);
+			lower = hasMin && floating < minFloatingBound;
+			higher = hasMax && floating > maxFloatingBound;
+		} else {
+			lower = hasMin && value < minBound;
+			higher = hasMax && value > maxBound;
+		}
+		
+		// Check range
+		if (lower) {
+			throw new ArgumentParseException(String.format("Input '%s' is lower than the minimum allowed value", input), input.toString(), command);
 		}
+		if (higher) {
+			throw new ArgumentParseException(String.format("Input '%s' is higher than the maximum allowed value", input), input.toString(), command);
+		}
+		
+		return value;
 	}
 	
+	/**
+	 * Scans the input into the primitive form of the number
+	 * without checking the range of this argument, the built-in arguments
+	 * scan it through {@link NumberScanner}, while the default goes through
+	 * the parsers given to the deprecated constructors
+	 *
+	 * @param input the input to scan
+	 * @return the value itself for integral arguments, or the raw bits of the value
+	 * as a double for floating point arguments
+	 * @throws NumberFormatException if the input is not a valid number for the type of this argument
+	 */
+	protected long scan(@NotNull CharSequence input) throws NumberFormatException {
+		T value = parseWithParsers(input.toString());
+		return isFloatingPoint() ? Double.doubleToRawLongBits(value.doubleValue()) : value.longValue();
+	}
+	
+	/**
+	 * Boxes the primitive form of a number
+	 *
+	 * @param primitive the value, or the raw bits of the value as a double for floating point arguments
+	 * @return the boxed number
+	 */
+	public @NotNull T fromPrimitive(long primitive) {
+		return parser.apply(isFloatingPoint() ? Double.toString(Double.longBitsToDouble(primitive)) : Long.toString(primitive));
+	}
+	
+	/**
+	 * @return whether the primitive form of this argument holds the raw bits of a double
+	 */
+	public boolean isFloatingPoint() {
+		Class<T> type = type();
+		return type == Double.class || type == Float.class || BigDecimal.class.isAssignableFrom(type);
+	}
+	
+	/**
+	 * Parses the input through the parsers given to the deprecated constructors,
+	 * the scientific notation and the suffixes are resolved by the scanner first
+	 */
+	private T parseWithParsers(String input) {
+		if (input.startsWith("0x")) return radixParser.apply(input.substring(2), 16);
+		if (input.startsWith("0b")) return radixParser.apply(input.substring(2), 2);
+		
+		try {
+			return parser.apply(input);
+		} catch (NumberFormatException ex) {
+			double value = NumberScanner.scanDouble(input, suffixesAllowed);
+			return parser.apply(BigDecimal.valueOf(value).stripTrailingZeros().toPlainString());
+		}
+	}
+	
+	private T scanRadix(String input, Integer radix) {
+		long value = NumberScanner.scanLong(input, radix);
+		if (isFloatingPoint()) return fromPrimitive(Double.doubleToRawLongBits(value));
+		
+		T number = fromPrimitive(value);
+		if (number.longValue() != value) throw new NumberFormatException("Input '" + input + "' is out of the bounds of " + type().getSimpleName());
+		return number;
+	}
+	
+	private int compare(T first, T second) {
+		return isFloatingPoint() ? Double.compare(first.doubleValue(), second.doubleValue())
+			: Long.compare(first.longValue(), second.longValue());
+	}
 	
 	@NotNull
 	public ArgumentNumber<T> min(@NotNull T value) {
 		this.min = value;
 		this.hasMin = true;
+		this.minBound = value.longValue();
+		this.minFloatingBound = value.doubleValue();
 		return this;
 	}
 	
@@ -91,16 +221,16 @@ public abstract class ArgumentNumber<T extends Number> extends AbstractArgument<
 	public ArgumentNumber<T> max(@NotNull T value) {
 		this.max = value;
 		this.hasMax = true;
+		this.maxBound = value.longValue();
+		this.maxFloatingBound = value.doubleValue();
 		
 		return this;
 	}
 	
 	@NotNull
 	public ArgumentNumber<T> between(@NotNull T min, @NotNull T max) {
-		this.min = min;
-		this.max = max;
-		this.hasMin = true;
-		this.hasMax = true;
+		min(min);
+		max(max);
 		return this;
 	}
 	
@@ -141,38 +271,48 @@ public abstract class ArgumentNumber<T extends Number> extends AbstractArgument<
 		return max;
 	}
 	
+	
+	/**
+	 * Suggests the values of the range of this argument, the values
+	 * are generated lazily during TAB-completion, instead of being stored
+	 * in the suggestions of this argument, an argument that has no minimum or maximum
+	 * is never suggested its range.
+	 *
+	 * @return builder-pattern
+	 * @see io.github.mqzn.commands.base.manager.ArgumentNumberSuggestionProcessor
+	 */
 	@NotNull
-	protected String parseValue(@NotNull String value) {
-		if (value.startsWith("0b")) {
-			value = value.replaceFirst(Pattern.quote("0b"), "");
-		} else if (value.startsWith("0x")) {
-			value = value.replaceFirst(Pattern.quote("0x"), "");
-		} else if (value.toLowerCase().contains("e")) {
-			value = removeScientificNotation(value);
-		}
-		// TODO number suffix support (k,m,b,t)
-		assert value != null;
-		return value;
+	public ArgumentNumber<T> suggestRange() {
+		this.rangeSuggested = true;
+		return this;
 	}
 	
-	protected int getRadix(@NotNull String value) {
-		if (value.startsWith("0b")) {
-			return 2;
-		} else if (value.startsWith("0x")) {
-			return 16;
-		}
-		return 10;
+	/**
+	 * @return whether the values of the range of this argument are suggested
+	 */
+	public boolean isRangeSuggested() {
+		return rangeSuggested && hasMin && hasMax;
 	}
 	
-	@Nullable
-	protected String removeScientificNotation(@NotNull String value) {
-		try {
-			return new BigDecimal(value).toPlainString();
-		} catch (NumberFormatException e) {
-			return null;
-		}
+	/**
+	 * Allows the input of this argument to end with one of the suffixes 'k', 'm' and 'b',
+	 * which multiply the number by a thousand, a million and a billion respectively (e.g: "1.5k"),
+	 * the suffixes are disallowed by default.
+	 *
+	 * @return builder-pattern
+	 */
+	@NotNull
+	public ArgumentNumber<T> allowSuffixes() {
+		this.suffixesAllowed = true;
+		return this;
 	}
 	
+	/**
+	 * @return whether the input of this argument may end with a suffix
+	 */
+	public boolean areSuffixesAllowed() {
+		return suffixesAllowed;
+	}
 	
 	public abstract T increment(T num);
 	
@@ -180,4 +320,4 @@ public abstract class ArgumentNumber<T extends Number> extends AbstractArgument<
 		return parser;
 	}
 	
-}
\ No newline at end of file
+}
@@ -0,0 +1,333 @@
+package io.github.mqzn.commands.arguments;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A scanner that parses numeric input straight from its characters
+ * into primitives, it supports decimal input, hexadecimal input prefixed by "0x",
+ * binary input prefixed by "0b", scientific notation (e.g: "1.5e3")
+ * and, when they're allowed, the suffixes 'k', 'm' and 'b' which stand for
+ * a thousand, a million and a billion respectively.
+ * <p>
+ * Scanning never allocates, except while parsing a floating point number
+ * that can't be computed exactly from its digits, which is delegated to {@link Double#parseDouble(String)}.
+ *
+ * @author Mqzen
+ * @see ArgumentNumber
+ */
+final class NumberScanner {
+	
+	private static final long[] LONG_POWERS_OF_TEN = {
+		1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+		1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+		10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+		10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+	};
+	
+	/**
+	 * The powers of ten that are exactly representable as doubles
+	 */
+	private static final double[] DOUBLE_POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+	
+	/**
+	 * The largest significand that is exactly representable as a double
+	 */
+	private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+	
+	private static final int MAX_EXPONENT = 400;
+	
+	private NumberScanner() {
+	}
+	
+	/**
+	 * Scans the input into an int
+	 *
+	 * @param input    the input to scan
+	 * @param suffixes whether the input may end with a suffix
+	 * @return the scanned value
+	 * @throws NumberFormatException if the input is not an integer, or it's out of the bounds of an int
+	 */
+	static int scanInt(@NotNull CharSequence input, boolean suffixes) throws NumberFormatException {
+		long value = scanLong(input, suffixes);
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) throw invalid(input);
+		return (int) value;
+	}
+	
+	/**
+	 * Scans the input into a long
+	 *
+	 * @param input    the input to scan
+	 * @param suffixes whether the input may end with a suffix
+	 * @return the scanned value
+	 * @throws NumberFormatException if the input is not an integer, or it's out of the bounds of a long
+	 */
+	static long scanLong(@NotNull CharSequence input, boolean suffixes) throws NumberFormatException {
+		final int length = input.length();
+		int index = 0;
+		boolean negative = false;
+		
+		if (length > 0 && (input.charAt(0) == '-' || input.charAt(0) == '+')) {
+			negative = input.charAt(0) == '-';
+			index++;
+		}
+		
+		int radix = radixOf(input, index);
+		if (radix != 10) {
+			return scanRadix(input, index + 2, radix, negative);
+		}
+		
+		//the significand is accumulated negatively, so that Long.MIN_VALUE can be scanned
+		long significand = 0;
+		int exponent = 0;
+		boolean digits = false, point = false;
+		
+		for (; index < length; index++) {
+			char c = input.charAt(index);
+			if (c >= '0' && c <= '9') {
+				digits = true;
+				if (significand < Long.MIN_VALUE / 10) throw invalid(input);
+				significand *= 10;
+				
+				int digit = c - '0';
+				if (significand < Long.MIN_VALUE + digit) throw invalid(input);
+				significand -= digit;
+				
+				if (point) exponent--;
+			} else if (c == '.' && !point) {
+				point = true;
+			} else {
+				break;
+			}
+		}
+		
+		if (!digits) throw invalid(input);
+		
+		final int end = scanExponent(input, index);
+		exponent += exponentOf(input, index, end) + suffixOf(input, end, suffixes);
+		
+		long value = scale(input, significand, exponent);
+		if (negative) return value;
+		if (value == Long.MIN_VALUE) throw invalid(input);
+		return -value;
+	}
+	
+	/**
+	 * Scans the input into a float
+	 *
+	 * @param input    the input to scan
+	 * @param suffixes whether the input may end with a suffix
+	 * @return the scanned value
+	 * @throws NumberFormatException if the input is not a number, or it's out of the bounds of a float
+	 */
+	static float scanFloat(@NotNull CharSequence input, boolean suffixes) throws NumberFormatException {
+		double value = scanDouble(input, suffixes);
+		float result = (float) value;
+		if (Float.isInfinite(result) && !Double.isInfinite(value)) throw invalid(input);
+		return result;
+	}
+	
+	/**
+	 * Scans the input into a double
+	 *
+	 * @param input    the input to scan
+	 * @param suffixes whether the input may end with a suffix
+	 * @return the scanned value
+	 * @throws NumberFormatException if the input is not a number
+	 */
+	static double scanDouble(@NotNull CharSequence input, boolean suffixes) throws NumberFormatException {
+		final int length = input.length();
+		int index = 0;
+		boolean negative = false;
+		
+		if (length > 0 && (input.charAt(0) == '-' || input.charAt(0) == '+')) {
+			negative = input.charAt(0) == '-';
+			index++;
+		}
+		
+		int radix = radixOf(input, index);
+		if (radix != 10) {
+			return (double) scanRadix(input, index + 2, radix, negative);
+		}
+		
+		final int start = index;
+		long significand = 0;
+		int exponent = 0;
+		boolean digits = false, point = false, exact = true;
+		
+		for (; index < length; index++) {
+			char c = input.charAt(index);
+			if (c >= '0' && c <= '9') {
+				digits = true;
+				if (significand > (Long.MAX_VALUE - 9) / 10) {
+					//too many digits to be held in a long
+					exact = false;
+					continue;
+				}
+				
+				significand = significand * 10 + (c - '0');
+				if (point) exponent--;
+			} else if (c == '.' && !point) {
+				point = true;
+			} else {
+				break;
+			}
+		}
+		
+		if (!digits) throw invalid(input);
+		
+		final int end = scanExponent(input, index);
+		int suffix = suffixOf(input, end, suffixes);
+		exponent += exponentOf(input, index, end) + suffix;
+		
+		double value;
+		if (exact && significand <= MAX_EXACT_SIGNIFICAND && Math.abs(exponent) < DOUBLE_POWERS_OF_TEN.length) {
+			//both the significand and the power of ten are exact, so a single operation rounds correctly
+			value = exponent >= 0 ? significand * DOUBLE_POWERS_OF_TEN[exponent]
+				: significand / DOUBLE_POWERS_OF_TEN[-exponent];
+		} else {
+			value = Double.parseDouble(input.subSequence(start, end).toString());
+			if (suffix != 0) value *= DOUBLE_POWERS_OF_TEN[suffix];
+		}
+		
+		return negative ? -value : value;
+	}
+	
+	/**
+	 * Scans the digits of an integer in the given radix, without any prefix
+	 *
+	 * @param input the input to scan, optionally signed
+	 * @param radix the radix of the digits
+	 * @return the scanned value
+	 * @throws NumberFormatException if the input is not an integer in the radix, or it's out of the bounds of a long
+	 */
+	static long scanLong(@NotNull CharSequence input, int radix) throws NumberFormatException {
+		if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) throw invalid(input);
+		
+		boolean signed = input.length() > 0 && (input.charAt(0) == '-' || input.charAt(0) == '+');
+		return scanRadix(input, signed ? 1 : 0, radix, signed && input.charAt(0) == '-');
+	}
+	
+	private static int radixOf(CharSequence input, int index) {
+		if (index + 1 >= input.length() || input.charAt(index) != '0') return 10;
+		
+		char prefix = input.charAt(index + 1);
+		if (prefix == 'x' || prefix == 'X') return 16;
+		if (prefix == 'b' || prefix == 'B') return 2;
+		return 10;
+	}
+	
+	private static long scanRadix(CharSequence input, int index, int radix, boolean negative) {
+		final int length = input.length();
+		if (index >= length) throw invalid(input);
+		
+		long value = 0;
+		for (; index < length; index++) {
+			int digit = Character.digit(input.charAt(index), radix);
+			if (digit == -1) throw invalid(input);
+			
+			if (value < Long.MIN_VALUE / radix) throw invalid(input);
+			value *= radix;
+			if (value < Long.MIN_VALUE + digit) throw invalid(input);
+			value -= digit;
+		}
+		
+		if (negative) return value;
+		if (value == Long.MIN_VALUE) throw invalid(input);
+		return -value;
+	}
+	
+	/**
+	 * Skips the exponent of a scientific notation, if there's any
+	 *
+	 * @param input the input
+	 * @param index the index after the significand
+	 * @return the index after the exponent
+	 */
+	private static int scanExponent(CharSequence input, int index) {
+		final int length = input.length();
+		if (index >= length || (input.charAt(index) != 'e' && input.charAt(index) != 'E')) return index;
+		
+		int cursor = index + 1;
+		if (cursor < length && (input.charAt(cursor) == '-' || input.charAt(cursor) == '+')) cursor++;
+		
+		int digitsStart = cursor;
+		while (cursor < length && input.charAt(cursor) >= '0' && input.charAt(cursor) <= '9') cursor++;
+		
+		if (cursor == digitsStart) throw invalid(input);
+		return cursor;
+	}
+	
+	/**
+	 * Reads the exponent of the scientific notation between two indexes
+	 *
+	 * @param input the input
+	 * @param start the index after the significand
+	 * @param end   the index after the exponent
+	 * @return the exponent, or zero if there's none
+	 */
+	private static int exponentOf(CharSequence input, int start, int end) {
+		if (start >= end || (input.charAt(start) != 'e' && input.charAt(start) != 'E')) return 0;
+		
+		int cursor = start + 1;
+		boolean negative = false;
+		if (input.charAt(cursor) == '-' || input.charAt(cursor) == '+') {
+			negative = input.charAt(cursor) == '-';
+			cursor++;
+		}
+		
+		int exponent = 0;
+		for (; cursor < end; cursor++) {
+			exponent = exponent * 10 + (input.charAt(cursor) - '0');
+			if (exponent > MAX_EXPONENT) throw invalid(input);
+		}
+		
+		return negative ? -exponent : exponent;
+	}
+	
+	/**
+	 * Reads the suffix at the end of the input, if there's any
+	 *
+	 * @param input    the input
+	 * @param index    the index after the number
+	 * @param suffixes whether the input may end with a suffix
+	 * @return the decimal exponent of the suffix
+	 */
+	private static int suffixOf(CharSequence input, int index, boolean suffixes) {
+		final int length = input.length();
+		if (index == length) return 0;
+		if (!suffixes || index != length - 1) throw invalid(input);
+		
+		return switch (input.charAt(index)) {
+			case 'k', 'K' -> 3;
+			case 'm', 'M' -> 6;
+			case 'b', 'B' -> 9;
+			default -> throw invalid(input);
+		};
+	}
+	
+	private static long scale(CharSequence input, long significand, int exponent) {
+		if (significand == 0) return 0;
+		
+		if (exponent >= 0) {
+			if (exponent >= LONG_POWERS_OF_TEN.length) throw invalid(input);
+			
+			long power = LONG_POWERS_OF_TEN[exponent];
+			if (significand < Long.MIN_VALUE / power) throw invalid(input);
+			return significand * power;
+		}
+		
+		if (-exponent >= LONG_POWERS_OF_TEN.length) throw invalid(input);
+		
+		long power = LONG_POWERS_OF_TEN[-exponent];
+		if (significand % power != 0) throw invalid(input);
+		return significand / power;
+	}
+	
+	private static NumberFormatException invalid(CharSequence input) {
+		return new NumberFormatException("Invalid number '" + input + "'");
+	}
+	
+}
@@ -0,0 +1,35 @@
+package io.github.mqzn.commands.base;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An interface that represents a function
+ * to provide the suggestions of an argument asynchronously,
+ * for suggestions that are backed by a storage (e.g: homes, warps, claims)
+ * <p>
+ * Platforms that only support synchronous TAB-completion
+ * include the suggestions of the provider only once its future has completed,
+ * the completed suggestions are cached by the {@link io.github.mqzn.commands.base.manager.SuggestionCache},
+ * so a provider is only requested again when they expire, or when the prefix typed no longer extends
+ * the prefix they were requested for.
+ *
+ * @param <S> the sender type
+ * @author Mqzen
+ * @see io.github.mqzn.commands.base.manager.CommandManager#suggestAsync(Command, Object, String[])
+ */
+@FunctionalInterface
+public interface AsyncSuggestionProvider<S> {
+	
+	/**
+	 * The suggestions to be used for the argument
+	 *
+	 * @param sender the sender tab-completing
+	 * @param prefix the raw argument being typed
+	 * @return the future of the suggestions
+	 */
+	@NotNull CompletableFuture<List<String>> suggestions(@NotNull S sender, @NotNull String prefix);
+	
+}
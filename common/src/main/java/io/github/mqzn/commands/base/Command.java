@@ -3,11 +3,13 @@ package io.github.mqzn.commands.base;
 import io.github.mqzn.commands.arguments.Argument;
 import io.github.mqzn.commands.arguments.ArgumentInteger;
 import io.github.mqzn.commands.base.caption.CaptionKey;
+import io.github.mqzn.commands.base.concurrency.ConcurrencyLimit;
 import io.github.mqzn.commands.base.context.Context;
 import io.github.mqzn.commands.base.cooldown.CommandCooldown;
 import io.github.mqzn.commands.base.manager.CommandExecutionCoordinator;
 import io.github.mqzn.commands.base.manager.CommandManager;
 import io.github.mqzn.commands.base.manager.CommandSuggestionEngine;
+import io.github.mqzn.commands.base.ratelimit.CommandRateLimit;
 import io.github.mqzn.commands.base.syntax.CommandExecution;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
 import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
@@ -16,7 +18,9 @@ import io.github.mqzn.commands.base.syntax.tree.CommandTree;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Executor;
 
 public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl {
 	
@@ -66,6 +70,15 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 	 */
 	@NotNull CommandCooldown cooldown();
 	
+	/**
+	 * The rate limits of the command, a permit
+	 * of every limit is acquired before executing the command
+	 *
+	 * @return the rate limits of the command
+	 * @see CommandRateLimit
+	 */
+	@NotNull List<CommandRateLimit> rateLimits();
+	
 	/**
 	 * The requirements for the command to be executed
 	 *
@@ -125,6 +138,32 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 	 */
 	CommandExecutionCoordinator<S> coordinator();
 	
+	/**
+	 * Fetches the executor running the asynchronous executions of this command
+	 *
+	 * @return the executor of this command, or null to use the executor of its manager
+	 * @see CommandManager#executor()
+	 */
+	@Nullable Executor executor();
+	
+	/**
+	 * Fetches the time an execution of this command may take, once it elapses
+	 * the context of the execution gets cancelled, and the execution completes
+	 * as {@link CommandExecutionCoordinator.ExecutionResult#TIMED_OUT}
+	 *
+	 * @return the timeout of this command, or null if it has no timeout
+	 * @see Context#checkCancelled()
+	 */
+	@Nullable Duration timeout();
+	
+	/**
+	 * Fetches the limit bounding the executions of this command in flight at once
+	 *
+	 * @return the concurrency limit of this command, or null if it's unbounded
+	 * @see CommandManager#globalConcurrencyLimit()
+	 */
+	@Nullable ConcurrencyLimit concurrencyLimit();
+	
 	
 	/**
 	 * An internal builder class for the command
@@ -149,6 +188,8 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 		@NotNull
 		private final List<CommandSyntax<S>> syntaxes = new ArrayList<>();
 		@NotNull
+		private final List<CommandRateLimit> rateLimits = new ArrayList<>();
+		@NotNull
 		private CommandCooldown cooldown = CommandCooldown.EMPTY;
 		@NotNull
 		private CommandInfo info = CommandInfo.EMPTY_INFO;
@@ -157,6 +198,15 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 		
 		private CommandExecution<S, S> defaultExecutor;
 		
+		@Nullable
+		private Executor executor;
+		
+		@Nullable
+		private Duration timeout;
+		
+		@Nullable
+		private ConcurrencyLimit concurrencyLimit;
+		
 		Builder(@NotNull CommandManager<?, S> manager, @NotNull String name) {
 			this.manager = manager;
 			this.name = name;
@@ -184,6 +234,11 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 			return this;
 		}
 		
+		public Builder<S> executor(@Nullable Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+		
 		@SuppressWarnings("UnusedReturnValue")
 		public Builder<S> defaultExecutor(@NotNull CommandExecution<S, S> execution) {
 			this.defaultExecutor = execution;
@@ -196,6 +251,26 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 			return this;
 		}
 		
+		@SuppressWarnings("UnusedReturnValue")
+		public Builder<S> rateLimit(@NotNull CommandRateLimit rateLimit) {
+			this.rateLimits.add(rateLimit);
+			return this;
+		}
+		
+		@SuppressWarnings("UnusedReturnValue")
+		public Builder<S> timeout(@Nullable Duration timeout) {
+			if (timeout != null && (timeout.isNegative() || timeout.isZero()))
+				throw new IllegalArgumentException("The timeout of a command must be positive");
+			this.timeout = timeout;
+			return this;
+		}
+		
+		@SuppressWarnings("UnusedReturnValue")
+		public Builder<S> concurrencyLimit(@Nullable ConcurrencyLimit concurrencyLimit) {
+			this.concurrencyLimit = concurrencyLimit;
+			return this;
+		}
+		
 		
 		public synchronized Command<S> build() {
 			if (manager.helpProvider() != null) {
@@ -224,8 +299,8 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 				syntaxes.add(helpSyntax);
 			}
 			
-			return new ImmutableCommandImpl<>(manager, name, info, cooldown,
-				requirements, syntaxes, executionType, defaultExecutor);
+			return new ImmutableCommandImpl<>(manager, name, info, cooldown, List.copyOf(rateLimits),
+				requirements, syntaxes, executionType, executor, timeout, concurrencyLimit, defaultExecutor);
 		}
 		
 		
@@ -243,6 +318,9 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 			@NotNull
 			private final CommandCooldown cooldown;
 			
+			@NotNull
+			private final List<CommandRateLimit> rateLimits;
+			
 			@NotNull
 			private final Set<CommandRequirement<S>> requirements;
 			@Nullable
@@ -259,23 +337,40 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 			@NotNull
 			private final CommandExecutionCoordinator<S> coordinator;
 			
+			@Nullable
+			private final Executor executor;
+			
+			@Nullable
+			private final Duration timeout;
+			
+			@Nullable
+			private final ConcurrencyLimit concurrencyLimit;
+			
 			ImmutableCommandImpl(@NotNull CommandManager<?, S> manager,
 			                     @NotNull String name,
 			                     @NotNull CommandInfo info,
 			                     @NotNull CommandCooldown cooldown,
+			                     @NotNull List<CommandRateLimit> rateLimits,
 			                     @NotNull Set<CommandRequirement<S>> requirements,
 			                     @NotNull List<CommandSyntax<S>> syntaxes,
 			                     @NotNull CommandExecutionCoordinator.Type coordinationType,
+			                     @Nullable Executor executor,
+			                     @Nullable Duration timeout,
+			                     @Nullable ConcurrencyLimit concurrencyLimit,
 			                     @Nullable CommandExecution<S, S> execution) {
 				this.manager = manager;
 				this.name = name;
 				this.info = info;
 				this.cooldown = cooldown;
+				this.rateLimits = rateLimits;
 				this.requirements = requirements;
 				
 				this.syntaxes = syntaxes;
 				Collections.sort(syntaxes);
 				
+				this.executor = executor;
+				this.timeout = timeout;
+				this.concurrencyLimit = concurrencyLimit;
 				this.coordinator = CommandExecutionCoordinator.fromType(this, coordinationType);
 				this.execution = execution;
 				this.tree = CommandTree.create(this);
@@ -360,6 +455,21 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 				return coordinator;
 			}
 			
+			@Override
+			public @Nullable Executor executor() {
+				return executor;
+			}
+			
+			@Override
+			public @Nullable Duration timeout() {
+				return timeout;
+			}
+			
+			@Override
+			public @Nullable ConcurrencyLimit concurrencyLimit() {
+				return concurrencyLimit;
+			}
+			
 			@Override
 			public @NotNull CommandManager<?, S> manager() {
 				return manager;
@@ -370,6 +480,11 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 				return cooldown;
 			}
 			
+			@Override
+			public @NotNull List<CommandRateLimit> rateLimits() {
+				return rateLimits;
+			}
+			
 			@Override
 			public @NotNull List<CommandSyntax<S>> syntaxes() {
 				return syntaxes;
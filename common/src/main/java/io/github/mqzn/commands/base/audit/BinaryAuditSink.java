@@ -0,0 +1,100 @@
+package io.github.mqzn.commands.base.audit;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends every event to a file in a compact binary format, the file starts with
+ * the {@link #MAGIC} number and the {@link #VERSION} of the format, followed by the records:
+ * <pre>
+ * long   timestamp, in epoch milliseconds
+ * byte   result, the ordinal of the execution result
+ * string command
+ * string sender
+ * string arguments, joined by spaces
+ * </pre>
+ * A string is its length in UTF-8 bytes as an unsigned varint, followed by the bytes.
+ * The records are buffered, then flushed after every batch drained from the log.
+ *
+ * @author Mqzen
+ */
+public final class BinaryAuditSink implements CommandAuditSink {
+	
+	public static final int MAGIC = 0x4D43414C;
+	
+	public static final byte VERSION = 1;
+	
+	@NotNull
+	private final Path file;
+	
+	@NotNull
+	private final DataOutputStream out;
+	
+	private BinaryAuditSink(@NotNull Path file) throws IOException {
+		this.file = file;
+		
+		boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+		this.out = new DataOutputStream(new BufferedOutputStream(
+			Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+		
+		if (fresh) {
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			out.flush();
+		}
+	}
+	
+	/**
+	 * Opens a file to append the events to, the file is created if it doesn't exist
+	 *
+	 * @param file the file
+	 * @return the sink created
+	 * @throws IOException if the file cannot be opened
+	 */
+	public static BinaryAuditSink create(@NotNull Path file) throws IOException {
+		return new BinaryAuditSink(file);
+	}
+	
+	public @NotNull Path file() {
+		return file;
+	}
+	
+	@Override
+	public void accept(@NotNull CommandAuditEvent event) throws IOException {
+		out.writeLong(event.timestamp());
+		out.writeByte(event.result().ordinal());
+		writeString(event.command());
+		writeString(event.sender());
+		writeString(String.join(" ", event.arguments()));
+	}
+	
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+	
+	private void writeString(String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		
+		int length = bytes.length;
+		while ((length & ~0x7F) != 0) {
+			out.writeByte((length & 0x7F) | 0x80);
+			length >>>= 7;
+		}
+		out.writeByte(length);
+		out.write(bytes);
+	}
+	
+}
@@ -0,0 +1,35 @@
+package io.github.mqzn.commands.base.audit;
+
+import io.github.mqzn.commands.base.manager.CommandExecutionCoordinator;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * An execution recorded by the {@link CommandAuditLog}, it only holds what the sinks write,
+ * not the context of the execution, so a queued event doesn't keep the parsed arguments alive.
+ * The raw format of the execution is built by the sink, off the thread completing the execution
+ *
+ * @param timestamp the time the execution completed, in epoch milliseconds
+ * @param command   the name of the command executed
+ * @param sender    the name of the sender
+ * @param prefix    the prefix of the commands of the manager
+ * @param arguments the raw arguments of the execution, a view over its input
+ * @param result    the result of the execution
+ * @author Mqzen
+ */
+public record CommandAuditEvent(long timestamp,
+                                @NotNull String command,
+                                @NotNull String sender,
+                                char prefix,
+                                @NotNull List<String> arguments,
+                                @NotNull CommandExecutionCoordinator.ExecutionResult result) {
+	
+	/**
+	 * @return the command line executed, including the prefix and the name of the command
+	 */
+	public @NotNull String rawFormat() {
+		return prefix + command + " " + String.join(" ", arguments);
+	}
+	
+}
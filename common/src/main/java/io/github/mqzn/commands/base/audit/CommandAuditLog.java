@@ -0,0 +1,341 @@
+package io.github.mqzn.commands.base.audit;
+
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.context.Context;
+import io.github.mqzn.commands.base.manager.CommandExecutionCoordinator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records the completed executions of the commands, then hands them over to a {@link CommandAuditSink}
+ * on a thread of its own, so the thread completing an execution neither formats nor writes anything.
+ * <p>
+ * The events are recorded into a bounded ring buffer that the executions claim slots of with
+ * a single compare-and-set, there's no lock on the way. A single thread drains the buffer in batches,
+ * it parks while the buffer is empty, and gets woken up by the next event.
+ * Once the buffer is full, the next events are dropped rather than blocking the executions.
+ * <p>
+ * The auditing can be turned off entirely, per command, or sampled, in which case
+ * only a fraction of the executions is recorded.
+ *
+ * @author Mqzen
+ * @see io.github.mqzn.commands.base.manager.CommandManager#auditLog()
+ */
+public final class CommandAuditLog {
+	
+	public static final int DEFAULT_CAPACITY = 8192;
+	
+	/**
+	 * The longest the draining thread sleeps between two checks of the buffer,
+	 * in case a wake-up got lost
+	 */
+	private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+	
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+	
+	@NotNull
+	private final AtomicReferenceArray<CommandAuditEvent> slots;
+	
+	private final int mask;
+	
+	/**
+	 * The sequence of the next slot claimed by an execution
+	 */
+	private final AtomicLong tail = new AtomicLong();
+	
+	/**
+	 * The sequence of the next slot drained, only written by the draining thread
+	 */
+	private volatile long head = 0;
+	
+	@NotNull
+	private final Set<String> disabledCommands = ConcurrentHashMap.newKeySet();
+	
+	private final LongAdder recorded = new LongAdder();
+	
+	private final LongAdder dropped = new LongAdder();
+	
+	@NotNull
+	private volatile CommandAuditSink sink;
+	
+	private volatile boolean enabled = true;
+	
+	private volatile double sampleRate = 1D;
+	
+	private volatile boolean parked = false;
+	
+	private volatile boolean closed = false;
+	
+	@Nullable
+	private volatile Thread drainer;
+	
+	private CommandAuditLog(@NotNull CommandAuditSink sink, int capacity) {
+		if (capacity <= 0) throw new IllegalArgumentException("The capacity of an audit log must be positive");
+		
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) size <<= 1;
+		
+		this.slots = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+		this.sink = sink;
+	}
+	
+	public static CommandAuditLog create(@NotNull CommandAuditSink sink) {
+		return new CommandAuditLog(sink, DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Creates an audit log
+	 *
+	 * @param sink     the sink the events are written to
+	 * @param capacity the number of events the buffer holds, rounded up to a power of two
+	 * @return the audit log created
+	 */
+	public static CommandAuditLog create(@NotNull CommandAuditSink sink, int capacity) {
+		return new CommandAuditLog(sink, capacity);
+	}
+	
+	/**
+	 * Records a completed execution, unless the auditing is turned off for the command,
+	 * or the execution isn't sampled
+	 *
+	 * @param command the command executed
+	 * @param sender  the name of the sender
+	 * @param context the context of the execution, only its raw arguments are kept
+	 * @param result  the result of the execution
+	 * @return whether the execution was recorded
+	 */
+	public boolean record(@NotNull Command<?> command,
+	                      @NotNull String sender,
+	                      @NotNull Context<?> context,
+	                      @NotNull CommandExecutionCoordinator.ExecutionResult result) {
+		if (!enabled || closed) return false;
+		if (!disabledCommands.isEmpty() && disabledCommands.contains(command.name())) return false;
+		
+		final double sampleRate = this.sampleRate;
+		if (sampleRate < 1D && ThreadLocalRandom.current().nextDouble() >= sampleRate) return false;
+		
+		CommandAuditEvent event = new CommandAuditEvent(System.currentTimeMillis(), command.name(), sender,
+			command.manager().commandPrefix(), context.getRawArguments(), result);
+		if (!offer(event)) {
+			dropped.increment();
+			return false;
+		}
+		
+		recorded.increment();
+		
+		Thread drainer = this.drainer;
+		if (drainer == null) startDrainer();
+		else if (parked) LockSupport.unpark(drainer);
+		
+		return true;
+	}
+	
+	/**
+	 * Replaces the sink of the log, the previous sink is flushed then closed
+	 * by the draining thread, once the events it was writing are done
+	 *
+	 * @param sink the new sink
+	 */
+	public void sink(@NotNull CommandAuditSink sink) {
+		this.sink = sink;
+	}
+	
+	public @NotNull CommandAuditSink sink() {
+		return sink;
+	}
+	
+	public void enabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+	
+	public boolean isEnabled() {
+		return enabled;
+	}
+	
+	/**
+	 * Sets the fraction of the executions that are recorded
+	 *
+	 * @param sampleRate the rate, between 0, recording nothing, and 1, recording every execution
+	 */
+	public void sampleRate(double sampleRate) {
+		if (sampleRate < 0D || sampleRate > 1D)
+			throw new IllegalArgumentException(String.format("The sample rate %s is not between 0 and 1", sampleRate));
+		this.sampleRate = sampleRate;
+	}
+	
+	public double sampleRate() {
+		return sampleRate;
+	}
+	
+	/**
+	 * Turns the auditing of a command on or off
+	 *
+	 * @param command the name of the command
+	 * @param enabled whether the executions of the command are recorded
+	 */
+	public void enabled(@NotNull String command, boolean enabled) {
+		if (enabled) disabledCommands.remove(command);
+		else disabledCommands.add(command);
+	}
+	
+	public boolean isEnabled(@NotNull String command) {
+		return !disabledCommands.contains(command);
+	}
+	
+	/**
+	 * @return the number of executions recorded since the log was created
+	 */
+	public long recorded() {
+		return recorded.sum();
+	}
+	
+	/**
+	 * @return the number of executions dropped because the buffer was full
+	 */
+	public long dropped() {
+		return dropped.sum();
+	}
+	
+	/**
+	 * @return the number of events waiting for the sink
+	 */
+	public int pending() {
+		return (int) Math.max(0, tail.get() - head);
+	}
+	
+	/**
+	 * Stops recording, then waits for the pending events to be written and closes the sink
+	 *
+	 * @param timeout the longest time to wait for the pending events, in milliseconds
+	 */
+	public void close(long timeout) {
+		closed = true;
+		
+		Thread drainer;
+		synchronized (this) {
+			drainer = this.drainer;
+			if (drainer == null) {
+				closeSink(sink);
+				return;
+			}
+		}
+		
+		LockSupport.unpark(drainer);
+		try {
+			drainer.join(timeout);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private boolean offer(CommandAuditEvent event) {
+		final int capacity = mask + 1;
+		
+		long sequence;
+		do {
+			sequence = tail.get();
+			if (sequence - head >= capacity) return false;
+		} while (!tail.compareAndSet(sequence, sequence + 1));
+		
+		//the slot was cleared before the head moved past it, so it's free
+		slots.lazySet((int) sequence & mask, event);
+		return true;
+	}
+	
+	/**
+	 * Only called by the draining thread
+	 *
+	 * @return the next event, or null if the buffer is empty,
+	 * or if the next event is claimed but not published yet
+	 */
+	private @Nullable CommandAuditEvent poll() {
+		final long head = this.head;
+		final int index = (int) head & mask;
+		
+		CommandAuditEvent event = slots.get(index);
+		if (event == null) return null;
+		
+		slots.lazySet(index, null);
+		this.head = head + 1;
+		return event;
+	}
+	
+	private synchronized void startDrainer() {
+		if (drainer != null || closed) return;
+		
+		Thread thread = new Thread(this::drain, "mCommands-audit-" + THREAD_COUNT.incrementAndGet());
+		thread.setDaemon(true);
+		thread.start();
+		drainer = thread;
+	}
+	
+	private void drain() {
+		CommandAuditSink current = sink;
+		boolean written = false;
+		
+		while (true) {
+			CommandAuditSink sink = this.sink;
+			if (sink != current) {
+				closeSink(current);
+				current = sink;
+			}
+			
+			CommandAuditEvent event = poll();
+			if (event == null) {
+				if (written) flushSink(current);
+				written = false;
+				if (closed && tail.get() == head) break;
+				
+				parked = true;
+				//an event recorded before the flag was raised wouldn't wake this thread up
+				if (tail.get() == head && !closed) LockSupport.parkNanos(this, PARK_NANOS);
+				parked = false;
+				continue;
+			}
+			
+			try {
+				current.accept(event);
+				written = true;
+			} catch (Exception ex) {
+				ex.printStackTrace();
+			}
+		}
+		
+		closeSink(current);
+	}
+	
+	private static void flushSink(CommandAuditSink sink) {
+		try {
+			sink.flush();
+		} catch (Exception ex) {
+			ex.printStackTrace();
+		}
+	}
+	
+	private static void closeSink(CommandAuditSink sink) {
+		try {
+			sink.flush();
+			sink.close();
+		} catch (Exception ex) {
+			ex.printStackTrace();
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("CommandAuditLog{enabled=%s, sampleRate=%s, pending=%d, recorded=%d, dropped=%d}",
+			enabled, sampleRate, pending(), recorded(), dropped());
+	}
+	
+}
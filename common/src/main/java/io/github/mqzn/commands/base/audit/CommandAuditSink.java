@@ -0,0 +1,39 @@
+package io.github.mqzn.commands.base.audit;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The destination of the executions recorded by a {@link CommandAuditLog},
+ * a sink is only ever called from the thread draining the log, one event at a time,
+ * so it doesn't need to be thread-safe.
+ *
+ * @author Mqzen
+ * @see LoggerAuditSink
+ * @see BinaryAuditSink
+ */
+@FunctionalInterface
+public interface CommandAuditSink {
+	
+	/**
+	 * Writes an event
+	 *
+	 * @param event the event recorded
+	 */
+	void accept(@NotNull CommandAuditEvent event) throws Exception;
+	
+	/**
+	 * Called once a batch of events has been written,
+	 * before the draining thread waits for the next events
+	 */
+	default void flush() throws Exception {
+		
+	}
+	
+	/**
+	 * Called when the sink is replaced, or when the log is closed
+	 */
+	default void close() throws Exception {
+		
+	}
+	
+}
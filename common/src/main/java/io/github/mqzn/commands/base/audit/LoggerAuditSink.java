@@ -0,0 +1,43 @@
+package io.github.mqzn.commands.base.audit;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes every event as a line of a {@link Logger}, it's the default sink
+ * of the audit log of a manager, writing the same lines the manager used to log
+ *
+ * @author Mqzen
+ */
+public final class LoggerAuditSink implements CommandAuditSink {
+	
+	@NotNull
+	private final Logger logger;
+	
+	@NotNull
+	private final Level level;
+	
+	private LoggerAuditSink(@NotNull Logger logger, @NotNull Level level) {
+		this.logger = logger;
+		this.level = level;
+	}
+	
+	public static LoggerAuditSink create(@NotNull Logger logger) {
+		return new LoggerAuditSink(logger, Level.INFO);
+	}
+	
+	public static LoggerAuditSink create(@NotNull Logger logger, @NotNull Level level) {
+		return new LoggerAuditSink(logger, level);
+	}
+	
+	@Override
+	public void accept(@NotNull CommandAuditEvent event) {
+		if (!logger.isLoggable(level)) return;
+		
+		logger.log(level, String.format("(%s) %s has executed the command '%s'",
+			event.result().name(), event.sender(), event.rawFormat()));
+	}
+	
+}
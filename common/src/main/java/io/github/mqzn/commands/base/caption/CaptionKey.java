@@ -13,6 +13,8 @@ public final class CaptionKey {
 	public static final CaptionKey NO_HELP_TOPIC_AVAILABLE = CaptionKey.of("execution.unknown-help-topic");
 	public static final CaptionKey UNKNOWN_HELP_PAGE = CaptionKey.of("execution.unknown-help-page");
 	public static final CaptionKey COMMAND_IN_COOLDOWN = CaptionKey.of("execution.command-cooldown");
+	public static final CaptionKey COMMAND_RATE_LIMITED = CaptionKey.of("execution.command-rate-limited");
+	public static final CaptionKey COMMAND_OVERLOADED = CaptionKey.of("execution.command-overloaded");
 	
 	private final String key;
 	
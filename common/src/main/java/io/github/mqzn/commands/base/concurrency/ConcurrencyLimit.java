@@ -0,0 +1,404 @@
+package io.github.mqzn.commands.base.concurrency;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds how many executions of the commands sharing this limit are in flight at once,
+ * an execution holds a permit from the moment it's dispatched until it completes.
+ * <p>
+ * Once every permit is taken, the next executions overflow according to the {@link OverflowPolicy}
+ * of the limit, they're either rejected right away, or queued until a permit is released,
+ * in which case the permit is handed over to the oldest waiting execution.
+ * <p>
+ * A granted execution is handed to the executor it was acquired for, never run by the limit itself.
+ * The hand-offs of the executions granted while releasing a permit are made by the releasing thread,
+ * and deferred until the hand-off it's running returns if it's already running one, so that an executor
+ * running the executions inline doesn't make a long queue recurse through the stack.
+ * <p>
+ * The permits are counted by an atomic counter, so acquiring and releasing a permit
+ * is a compare-and-set while permits are available, the queue is only locked on overflow.
+ * <p>
+ * The state lives in the limit itself, so a limit declared on a command bounds that command only,
+ * while a limit declared on the manager through
+ * {@link io.github.mqzn.commands.base.manager.CommandManager#globalConcurrencyLimit(ConcurrencyLimit)}
+ * bounds all of them together.
+ *
+ * @author Mqzen
+ * @see io.github.mqzn.commands.base.ratelimit.CommandRateLimit
+ */
+public final class ConcurrencyLimit {
+	
+	/**
+	 * The grants deferred by the thread running a grant, so that the grants made
+	 * while releasing a permit from a granted execution run one after another instead of nesting
+	 */
+	private static final ThreadLocal<Deque<Runnable>> DEFERRED_GRANTS = new ThreadLocal<>();
+	
+	private final int permits;
+	
+	@NotNull
+	private final OverflowPolicy overflowPolicy;
+	
+	private final int queueCapacity;
+	
+	/**
+	 * The waiting executions, guarded by their own monitor
+	 */
+	@NotNull
+	private final Deque<Waiter> waiters = new ArrayDeque<>();
+	
+	/**
+	 * The size of the queue, written under its monitor, so that
+	 * releasing a permit only locks the queue when executions are waiting
+	 */
+	private volatile int queued = 0;
+	
+	private final LongAdder rejected = new LongAdder();
+	
+	private final LongAdder dropped = new LongAdder();
+	
+	@NotNull
+	private final AtomicInteger inFlight = new AtomicInteger();
+	
+	private ConcurrencyLimit(int permits, @NotNull OverflowPolicy overflowPolicy, int queueCapacity) {
+		if (permits <= 0) throw new IllegalArgumentException("The permits of a concurrency limit must be positive");
+		if (queueCapacity < 0) throw new IllegalArgumentException("The queue capacity of a concurrency limit cannot be negative");
+		if (overflowPolicy != OverflowPolicy.REJECT && queueCapacity == 0)
+			throw new IllegalArgumentException(String.format("A concurrency limit overflowing by %s needs a queue", overflowPolicy.name()));
+		
+		this.permits = permits;
+		this.overflowPolicy = overflowPolicy;
+		this.queueCapacity = overflowPolicy == OverflowPolicy.REJECT ? 0 : queueCapacity;
+	}
+	
+	/**
+	 * Creates a limit rejecting the executions once every permit is taken
+	 *
+	 * @param permits the number of executions in flight at once
+	 * @return the limit created
+	 */
+	public static ConcurrencyLimit of(int permits) {
+		return new ConcurrencyLimit(permits, OverflowPolicy.REJECT, 0);
+	}
+	
+	public static ConcurrencyLimit of(int permits, @NotNull OverflowPolicy overflowPolicy, int queueCapacity) {
+		return new ConcurrencyLimit(permits, overflowPolicy, queueCapacity);
+	}
+	
+	/**
+	 * Acquires a permit of every limit in order, if a limit rejects,
+	 * the permits acquired from the limits before it are released
+	 *
+	 * @param limits     the limits
+	 * @param executor   the executor the task is handed to once every permit is granted
+	 * @param onGranted  the task handed to the executor
+	 * @param onRejected the task run if a limit or the executor rejects, every permit is released by then
+	 */
+	public static void acquireAll(@NotNull List<ConcurrencyLimit> limits,
+	                              @NotNull Executor executor,
+	                              @NotNull Runnable onGranted,
+	                              @NotNull Runnable onRejected) {
+		acquireAll(limits, 0, executor, onGranted, onRejected);
+	}
+	
+	public static void releaseAll(@NotNull List<ConcurrencyLimit> limits) {
+		for (int i = limits.size() - 1; i >= 0; i--)
+			limits.get(i).release();
+	}
+	
+	private static void acquireAll(List<ConcurrencyLimit> limits, int index, Executor executor,
+	                               Runnable onGranted, Runnable onRejected) {
+		if (index == limits.size()) {
+			handOff(executor, onGranted, onRejected);
+			return;
+		}
+		
+		ConcurrencyLimit limit = limits.get(index);
+		limit.acquire(() -> acquireAll(limits, index + 1, executor, onGranted, () -> {
+			limit.release();
+			onRejected.run();
+		}), onRejected);
+	}
+	
+	/**
+	 * Hands a granted task to its executor, if the executor rejects it, the task is rejected instead
+	 */
+	private static void handOff(Executor executor, Runnable task, Runnable onRejected) {
+		HandOff handOff = new HandOff(task);
+		try {
+			executor.execute(handOff);
+		} catch (RejectedExecutionException ex) {
+			//an executor running the task inline may propagate an exception of the task itself
+			if (handOff.started) throw ex;
+			onRejected.run();
+		}
+	}
+	
+	/**
+	 * Runs a grant, unless the thread is already running one,
+	 * in which case it's deferred until the running grant returns
+	 */
+	private static void grant(Runnable grant) {
+		Deque<Runnable> deferred = DEFERRED_GRANTS.get();
+		if (deferred != null) {
+			deferred.offer(grant);
+			return;
+		}
+		
+		deferred = new ArrayDeque<>();
+		DEFERRED_GRANTS.set(deferred);
+		Throwable failure = null;
+		try {
+			for (Runnable next = grant; next != null; next = deferred.poll()) {
+				//a failing grant doesn't strand the grants deferred behind it, their permits are already taken
+				try {
+					next.run();
+				} catch (Throwable ex) {
+					if (failure == null) failure = ex;
+					else failure.addSuppressed(ex);
+				}
+			}
+		} finally {
+			DEFERRED_GRANTS.remove();
+		}
+		
+		if (failure instanceof Error error) throw error;
+		if (failure instanceof RuntimeException ex) throw ex;
+		if (failure != null) throw new IllegalStateException(failure);
+	}
+	
+	/**
+	 * Acquires a permit, then hands the granted task to the executor, right away
+	 * if a permit is available, otherwise it overflows according to the policy of this limit,
+	 * a queued task is handed to the executor once a permit is released to it.
+	 * <p>
+	 * The permit granted must be given back through {@link #release()}
+	 *
+	 * @param executor   the executor the task is handed to
+	 * @param onGranted  the task handed to the executor once a permit is granted
+	 * @param onRejected the task run if the execution is rejected, dropped from the queue,
+	 *                   or rejected by the executor, in which case the permit is released first
+	 */
+	public void acquire(@NotNull Executor executor, @NotNull Runnable onGranted, @NotNull Runnable onRejected) {
+		acquire(() -> handOff(executor, onGranted, () -> {
+			release();
+			onRejected.run();
+		}), onRejected);
+	}
+	
+	/**
+	 * Acquires a permit, the grant runs right away on the calling thread if a permit is available,
+	 * otherwise it's queued and runs on the thread releasing the permit it's handed, through {@link #grant(Runnable)}
+	 */
+	private void acquire(@NotNull Runnable onGranted, @NotNull Runnable onRejected) {
+		if (tryAcquirePermit()) {
+			onGranted.run();
+			return;
+		}
+		
+		if (queueCapacity == 0) {
+			rejected.increment();
+			onRejected.run();
+			return;
+		}
+		
+		Waiter waiter = new Waiter(onGranted, onRejected);
+		Waiter evicted = null;
+		boolean granted = false;
+		
+		synchronized (waiters) {
+			if (tryAcquirePermit()) {
+				granted = true;
+			} else if (waiters.size() < queueCapacity) {
+				waiters.offer(waiter);
+			} else if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+				evicted = waiters.poll();
+				waiters.offer(waiter);
+			} else {
+				evicted = waiter;
+			}
+			queued = waiters.size();
+		}
+		
+		if (granted) {
+			onGranted.run();
+			return;
+		}
+		
+		if (evicted == waiter) {
+			rejected.increment();
+			onRejected.run();
+			return;
+		}
+		
+		if (evicted != null) {
+			dropped.increment();
+			evicted.onRejected.run();
+		}
+		
+		//a permit released between the check and the offer didn't see the waiter, so it's granted here
+		if (inFlight.get() < permits) grantQueued();
+	}
+	
+	/**
+	 * Gives a permit back, the permit is handed over
+	 * to the oldest waiting execution if there's any
+	 */
+	public void release() {
+		if (queued == 0) {
+			releasePermit();
+			
+			//an execution queued while the permit was being released is granted the permit instead
+			if (queued != 0) grantQueued();
+			return;
+		}
+		
+		Waiter next;
+		synchronized (waiters) {
+			next = waiters.poll();
+			queued = waiters.size();
+			if (next == null) {
+				releasePermit();
+				return;
+			}
+		}
+		
+		grant(next.onGranted);
+	}
+	
+	private boolean tryAcquirePermit() {
+		int current;
+		do {
+			current = inFlight.get();
+			if (current >= permits) return false;
+		} while (!inFlight.compareAndSet(current, current + 1));
+		return true;
+	}
+	
+	private void releasePermit() {
+		int current;
+		do {
+			current = inFlight.get();
+			assert current > 0 : "A permit of the concurrency limit was released more times than it was acquired";
+			if (current == 0) return;
+		} while (!inFlight.compareAndSet(current, current - 1));
+	}
+	
+	/**
+	 * Grants the free permits to the oldest waiting executions
+	 */
+	private void grantQueued() {
+		while (true) {
+			Waiter next;
+			synchronized (waiters) {
+				if (waiters.isEmpty() || !tryAcquirePermit()) return;
+				next = waiters.poll();
+				queued = waiters.size();
+			}
+			
+			grant(next.onGranted);
+		}
+	}
+	
+	/**
+	 * @return the number of executions holding a permit
+	 */
+	public int inFlight() {
+		return inFlight.get();
+	}
+	
+	/**
+	 * @return the number of executions waiting for a permit
+	 */
+	public int queued() {
+		return queued;
+	}
+	
+	/**
+	 * @return the number of executions rejected since the limit was created
+	 */
+	public long rejected() {
+		return rejected.sum();
+	}
+	
+	/**
+	 * @return the number of queued executions dropped for newer ones since the limit was created
+	 */
+	public long dropped() {
+		return dropped.sum();
+	}
+	
+	public int permits() {
+		return permits;
+	}
+	
+	public @NotNull OverflowPolicy overflowPolicy() {
+		return overflowPolicy;
+	}
+	
+	public int queueCapacity() {
+		return queueCapacity;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("ConcurrencyLimit{permits=%d, overflow=%s, inFlight=%d, queued=%d, rejected=%d, dropped=%d}",
+			permits, overflowPolicy.name(), inFlight(), queued(), rejected(), dropped());
+	}
+	
+	public enum OverflowPolicy {
+		
+		/**
+		 * Rejects the executions overflowing the permits
+		 */
+		REJECT,
+		
+		/**
+		 * Queues the executions overflowing the permits,
+		 * then rejects them once the queue is full
+		 */
+		QUEUE,
+		
+		/**
+		 * Queues the executions overflowing the permits,
+		 * once the queue is full the oldest waiting execution is dropped for the new one
+		 */
+		DROP_OLDEST
+		
+	}
+	
+	private record Waiter(@NotNull Runnable onGranted, @NotNull Runnable onRejected) {
+		
+	}
+	
+	/**
+	 * A granted task, which knows whether the executor started it
+	 */
+	private static final class HandOff implements Runnable {
+		
+		@NotNull
+		private final Runnable task;
+		
+		private volatile boolean started = false;
+		
+		private HandOff(@NotNull Runnable task) {
+			this.task = task;
+		}
+		
+		@Override
+		public void run() {
+			started = true;
+			task.run();
+		}
+		
+	}
+	
+}
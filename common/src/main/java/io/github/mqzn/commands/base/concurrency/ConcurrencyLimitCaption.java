@@ -0,0 +1,26 @@
+package io.github.mqzn.commands.base.concurrency;
+
+import io.github.mqzn.commands.base.caption.Caption;
+import io.github.mqzn.commands.base.caption.CaptionKey;
+import io.github.mqzn.commands.base.caption.Message;
+import io.github.mqzn.commands.base.context.Context;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.jetbrains.annotations.NotNull;
+
+public final class ConcurrencyLimitCaption<S> implements Caption<S> {
+	
+	@Override
+	public @NotNull CaptionKey key() {
+		return CaptionKey.COMMAND_OVERLOADED;
+	}
+	
+	@Override
+	public @NotNull TextComponent message(S sender, Context<S> context, Throwable exception) {
+		return Message.prefixed(Message.EXECUTION_ERROR)
+			.append(Component.text(String.format("Command '%s' is busy right now, try again later",
+				context.commandUsed().name()), NamedTextColor.YELLOW));
+	}
+	
+}
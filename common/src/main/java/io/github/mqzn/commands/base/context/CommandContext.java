@@ -1,21 +1,18 @@
 package io.github.mqzn.commands.base.context;
 
 import io.github.mqzn.commands.arguments.Argument;
-import io.github.mqzn.commands.arguments.ArgumentLiteral;
+import io.github.mqzn.commands.arguments.ArgumentNumber;
 import io.github.mqzn.commands.base.Command;
 import io.github.mqzn.commands.base.caption.CaptionKey;
 import io.github.mqzn.commands.base.manager.CommandManager;
 import io.github.mqzn.commands.base.manager.flags.ContextFlagRegistry;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
-import io.github.mqzn.commands.base.syntax.SubCommandSyntax;
+import io.github.mqzn.commands.base.syntax.SyntaxShape;
 import io.github.mqzn.commands.exceptions.types.ArgumentParseException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Predicate;
 
 public final class CommandContext<S> implements Context<S> {
 	
@@ -25,13 +22,40 @@ public final class CommandContext<S> implements Context<S> {
 	@NotNull
 	private final DelegateCommandContext<S> delegateContext;
 	
+	private final CommandSyntax<S> syntax;
+	
+	/**
+	 * The shape of the arguments being parsed, which are
+	 * the parental arguments in case of a subcommand
+	 */
 	@NotNull
-	private final Map<ArgumentKey, ParsedArgument<?>> parsedArguments = new HashMap<>();
+	private final SyntaxShape shape;
 	
-	private final CommandSyntax<S> syntax;
+	/**
+	 * The parsed values, indexed by the position
+	 * of their arguments in the syntax
+	 */
+	@NotNull
+	private final Object[] values;
 	
-	private final ContextFlagRegistry<S> contextFlagRegistry;
+	/**
+	 * The parsed values of the numeric arguments in their primitive forms,
+	 * they're only boxed into {@link #values} when they're fetched as objects
+	 *
+	 * @see ArgumentNumber#parsePrimitive(String, CharSequence)
+	 */
+	private final long[] primitives;
+	
+	private final boolean[] primitive;
+	
+	/**
+	 * Created once a flag is found in the raw arguments, the contexts
+	 * using no flags share {@link ContextFlagRegistry#empty()}
+	 */
+	@Nullable
+	private ContextFlagRegistry<S> contextFlagRegistry;
 	
+	private int parsedArguments = 0;
 	
 	private CommandContext(@NotNull CommandManager<?, S> manager,
 	                       @NotNull CommandSyntax<S> syntax,
@@ -40,7 +64,10 @@ public final class CommandContext<S> implements Context<S> {
 		this.manager = manager;
 		this.syntax = syntax;
 		this.delegateContext = context;
-		contextFlagRegistry = ContextFlagRegistry.create(manager, this);
+		this.shape = CommandSyntax.getShape(context.commandUsed().tree(), syntax);
+		this.values = new Object[shape.arity()];
+		this.primitives = new long[shape.arity()];
+		this.primitive = new boolean[shape.arity()];
 	}
 	
 	
@@ -70,36 +97,29 @@ public final class CommandContext<S> implements Context<S> {
 		}
 		
 		
-		var result = contextFlagRegistry.extractFlags(sender, commandUsed(), syntax);
-		if (result == ContextFlagRegistry.FlagExtractionResult.FAILED)
-			return;
-		
-		List<Argument<?>> syntaxArgs = syntax.isSubCommand() ? this.commandUsed()
-			.tree().getParentalArguments(((SubCommandSyntax<S>) syntax).key()) : syntax.getArguments();
+		if (delegateContext.flagsUsed() > 0) {
+			contextFlagRegistry = ContextFlagRegistry.create(manager, this);
+			var result = contextFlagRegistry.extractFlags(sender, commandUsed(), syntax);
+			if (result == ContextFlagRegistry.FlagExtractionResult.FAILED)
+				return;
+		}
 		
-		for (int required = 0, rawIndex = 0; required < syntaxArgs.size(); required++) {
-			Argument<T> argument = (Argument<T>) syntaxArgs.get(required);
+		for (int required = 0, rawIndex = 0; required < shape.arity(); required++) {
+			Argument<T> argument = (Argument<T>) shape.argument(required);
+			assert argument != null;
 			
-			if (argument instanceof ArgumentLiteral) {
+			if (shape.isLiteral(required)) {
 				rawIndex++;
 				continue;
 			}
 			
 			String rawArg = getRawArgument(rawIndex);
 			
-			if (rawArg != null && ContextFlagRegistry.isRawArgumentFlag(rawArg) && !argument.useRemainingSpace()) {
+			if (rawArg != null && isFlag(rawIndex) && !argument.useRemainingSpace()) {
 				rawArg = getRawArgument(++rawIndex);
 			} else if (argument.useRemainingSpace()) {
-				
-				StringBuilder builder = new StringBuilder();
-				for (int x = rawIndex; x < delegateContext.getRawArguments().size(); x++) {
-					String raw = getRawArgument(x);
-					builder.append(raw);
-					if (x != delegateContext.getRawArguments().size() - 1) builder.append(" ");
-				}
-				
-				rawArg = builder.toString();
-				
+				//the greedy arguments are strings, so the slice of the input is copied once here
+				rawArg = delegateContext.input().slice(rawIndex).toString();
 			}
 			
 			T value = null;
@@ -111,7 +131,10 @@ public final class CommandContext<S> implements Context<S> {
 			if (rawArg != null) {
 				try {
 					if (argument.useRemainingSpace()) value = (T) rawArg;
-					else value = argument.parse(sender, delegateContext.commandUsed().name(), rawArg);
+					else if (argument instanceof ArgumentNumber<?> number) {
+						primitives[required] = number.parsePrimitive(delegateContext.commandUsed().name(), rawArg);
+						primitive[required] = true;
+					} else value = argument.parse(sender, delegateContext.commandUsed().name(), rawArg);
 				} catch (ArgumentParseException ex) {
 					manager.exceptionHandler().handleException(ex, sender, this);
 					throw ex;
@@ -119,8 +142,8 @@ public final class CommandContext<S> implements Context<S> {
 				
 			}
 			
-			ParsedArgument<T> parsedArgument = new ParsedArgument<>(argument, value, required, rawIndex, rawArg);
-			parsedArguments.put(new ArgumentKey(argument.id(), required), parsedArgument);
+			values[required] = value;
+			parsedArguments++;
 			
 			rawIndex++;
 		}
@@ -135,7 +158,7 @@ public final class CommandContext<S> implements Context<S> {
 	 */
 	@Override
 	public int parsedArguments() {
-		return parsedArguments.size();
+		return parsedArguments;
 	}
 	
 	/**
@@ -146,7 +169,8 @@ public final class CommandContext<S> implements Context<S> {
 	 */
 	@Override
 	public @NotNull ContextFlagRegistry<S> flags() {
-		return contextFlagRegistry;
+		ContextFlagRegistry<S> contextFlagRegistry = this.contextFlagRegistry;
+		return contextFlagRegistry != null ? contextFlagRegistry : ContextFlagRegistry.empty();
 	}
 	
 	/**
@@ -178,6 +202,16 @@ public final class CommandContext<S> implements Context<S> {
 		return delegateContext.flagsUsed();
 	}
 	
+	@Override
+	public boolean isFlag(int index) {
+		return delegateContext.isFlag(index);
+	}
+	
+	@Override
+	public int nextFlag(int from) {
+		return delegateContext.nextFlag(from);
+	}
+	
 	/**
 	 * Fetches the sender for this context
 	 *
@@ -248,7 +282,7 @@ public final class CommandContext<S> implements Context<S> {
 	 */
 	@Override
 	public <T> @Nullable T getArgument(String id) {
-		return getParsedArgument((key) -> key.id.equalsIgnoreCase(id));
+		return getArgument(shape.indexOf(id));
 	}
 	
 	/**
@@ -262,8 +296,124 @@ public final class CommandContext<S> implements Context<S> {
 	 * @return the parsed value of the argument
 	 */
 	@Override
+	@SuppressWarnings("unchecked")
 	public <T> @Nullable T getArgument(int index) {
-		return getParsedArgument((key) -> key.requiredArgIndex == index);
+		if (index < 0 || index >= values.length) return null;
+		
+		if (primitive[index] && values[index] == null) {
+			ArgumentNumber<?> number = (ArgumentNumber<?>) shape.argument(index);
+			assert number != null;
+			values[index] = number.fromPrimitive(primitives[index]);
+		}
+		return (T) values[index];
+	}
+	
+	/**
+	 * Fetches the parsed value of a numeric argument as an int
+	 *
+	 * @param id the argument name/id
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not numeric
+	 */
+	@Override
+	public int getInt(String id) {
+		return getInt(indexOf(id));
+	}
+	
+	/**
+	 * Fetches the parsed value of a numeric argument as an int, by its position
+	 *
+	 * @param index the argument index/position
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not numeric
+	 */
+	@Override
+	public int getInt(int index) {
+		if (isPrimitive(index))
+			return isFloatingPoint(index) ? (int) Double.longBitsToDouble(primitives[index]) : (int) primitives[index];
+		
+		return getNumber(index).intValue();
+	}
+	
+	/**
+	 * Fetches the parsed value of a numeric argument as a long
+	 *
+	 * @param id the argument name/id
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not numeric
+	 */
+	@Override
+	public long getLong(String id) {
+		return getLong(indexOf(id));
+	}
+	
+	/**
+	 * Fetches the parsed value of a numeric argument as a long, by its position
+	 *
+	 * @param index the argument index/position
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not numeric
+	 */
+	@Override
+	public long getLong(int index) {
+		if (isPrimitive(index))
+			return isFloatingPoint(index) ? (long) Double.longBitsToDouble(primitives[index]) : primitives[index];
+		
+		return getNumber(index).longValue();
+	}
+	
+	/**
+	 * Fetches the parsed value of a numeric argument as a double
+	 *
+	 * @param id the argument name/id
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not numeric
+	 */
+	@Override
+	public double getDouble(String id) {
+		return getDouble(indexOf(id));
+	}
+	
+	/**
+	 * Fetches the parsed value of a numeric argument as a double, by its position
+	 *
+	 * @param index the argument index/position
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not numeric
+	 */
+	@Override
+	public double getDouble(int index) {
+		if (isPrimitive(index))
+			return isFloatingPoint(index) ? Double.longBitsToDouble(primitives[index]) : (double) primitives[index];
+		
+		return getNumber(index).doubleValue();
+	}
+	
+	/**
+	 * Fetches the parsed value of a boolean argument
+	 *
+	 * @param id the argument name/id
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not a boolean
+	 */
+	@Override
+	public boolean getBoolean(String id) {
+		return getBoolean(indexOf(id));
+	}
+	
+	/**
+	 * Fetches the parsed value of a boolean argument, by its position
+	 *
+	 * @param index the argument index/position
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not a boolean
+	 */
+	@Override
+	public boolean getBoolean(int index) {
+		if (!(getParsedValue(index) instanceof Boolean value))
+			throw new IllegalArgumentException(String.format("The argument '%s' is not a boolean", idOf(index)));
+		
+		return value;
 	}
 	
 	/**
@@ -278,28 +428,52 @@ public final class CommandContext<S> implements Context<S> {
 		return syntax.getArgument(index);
 	}
 	
-	@SuppressWarnings("unchecked")
-	@Nullable
-	private <T> T getParsedArgument(@NotNull Predicate<ArgumentKey> predicate) {
-		
-		for (ArgumentKey key : parsedArguments.keySet()) {
-			if (!predicate.test(key)) continue;
-			
-			ParsedArgument<T> parsedArgument = (ParsedArgument<T>) parsedArguments.get(key);
-			return parsedArgument.value();
-		}
+	private boolean isPrimitive(int index) {
+		return index >= 0 && index < primitive.length && primitive[index];
+	}
+	
+	private boolean isFloatingPoint(int index) {
+		return shape.argument(index) instanceof ArgumentNumber<?> number && number.isFloatingPoint();
+	}
+	
+	private int indexOf(String id) {
+		int index = shape.indexOf(id);
+		if (index == -1)
+			throw new IllegalArgumentException(String.format("No value was parsed for the argument '%s'", id));
 		
-		return null;
+		return index;
 	}
 	
-	private record ArgumentKey(String id, int requiredArgIndex) {
+	private String idOf(int index) {
+		Argument<?> argument = shape.argument(index);
+		return argument == null ? String.valueOf(index) : argument.id();
+	}
 	
+	@NotNull
+	private Object getParsedValue(int index) {
+		Object value = getArgument(index);
+		if (value == null)
+			throw new IllegalArgumentException(String.format("No value was parsed for the argument '%s'", idOf(index)));
+		
+		return value;
 	}
 	
-	private record ParsedArgument<T>(@NotNull Argument<T> argToParse, @Nullable T value,
-	                                 int index, int rawIndex,
-	                                 @Nullable String rawValue) {
+	@NotNull
+	private Number getNumber(int index) {
+		if (!(getParsedValue(index) instanceof Number number))
+			throw new IllegalArgumentException(String.format("The argument '%s' is not numeric", idOf(index)));
 		
+		return number;
+	}
+	
+	@Override
+	public void cancel() {
+		delegateContext.cancel();
+	}
+	
+	@Override
+	public boolean isCancelled() {
+		return delegateContext.isCancelled();
 	}
 	
 }
@@ -0,0 +1,204 @@
+package io.github.mqzn.commands.base.context;
+
+import io.github.mqzn.commands.base.manager.flags.ContextFlagRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.CharBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The raw arguments of an execution, either the arguments split by the platform,
+ * or the original command line along with the offsets of its tokens.
+ * <p>
+ * A line is scanned once into the bounds of its tokens, a token is only copied
+ * out of the line the first time it's fetched, and the remaining arguments
+ * taken by a greedy argument are a slice of the line rather than a join of the tokens.
+ * The tokens are split by single spaces, the same as {@code line.split(" ")}.
+ *
+ * @author Mqzen
+ * @see DelegateCommandContext#input()
+ */
+public final class CommandInput {
+	
+	public static final CommandInput EMPTY = new CommandInput(null, null, new String[0], 0);
+	
+	/**
+	 * The original line, or null if the input was split by the platform
+	 */
+	@Nullable
+	private final String line;
+	
+	/**
+	 * The start and end offsets of every token in the line
+	 */
+	private final int @Nullable [] bounds;
+	
+	/**
+	 * The tokens, filled lazily from the line
+	 */
+	@NotNull
+	private final String[] tokens;
+	
+	private final int size;
+	
+	@NotNull
+	private final List<String> view = new TokenList();
+	
+	@Nullable
+	private String joined;
+	
+	private CommandInput(@Nullable String line, int @Nullable [] bounds, @NotNull String[] tokens, int size) {
+		this.line = line;
+		this.bounds = bounds;
+		this.tokens = tokens;
+		this.size = size;
+	}
+	
+	/**
+	 * Wraps the arguments split by the platform, the array isn't copied,
+	 * so it mustn't be modified afterwards
+	 *
+	 * @param tokens the arguments
+	 * @return the input
+	 */
+	public static @NotNull CommandInput of(@NotNull String... tokens) {
+		return tokens.length == 0 ? EMPTY : new CommandInput(null, null, tokens, tokens.length);
+	}
+	
+	public static @NotNull CommandInput of(@NotNull String line) {
+		return of(line, 0);
+	}
+	
+	/**
+	 * Scans the tokens of a line, starting from an offset,
+	 * usually right after the name of the command
+	 *
+	 * @param line   the command line
+	 * @param offset the offset of the first argument in the line
+	 * @return the input
+	 */
+	public static @NotNull CommandInput of(@NotNull String line, int offset) {
+		if (offset < 0 || offset > line.length())
+			throw new IndexOutOfBoundsException(String.format("Offset %d is out of the line '%s'", offset, line));
+		
+		final int length = line.length();
+		if (offset == length) return EMPTY;
+		
+		int[] bounds = new int[8];
+		int count = 0;
+		int start = offset;
+		
+		//the trailing empty tokens are dropped, the same as split
+		int last = 0;
+		for (int i = offset; i <= length; i++) {
+			if (i != length && line.charAt(i) != ' ') continue;
+			
+			if (count * 2 == bounds.length) bounds = Arrays.copyOf(bounds, bounds.length * 2);
+			bounds[count * 2] = start;
+			bounds[count * 2 + 1] = i;
+			count++;
+			
+			if (i != start) last = count;
+			start = i + 1;
+		}
+		
+		return last == 0 ? EMPTY : new CommandInput(line, bounds, new String[last], last);
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Fetches a token, copying it out of the line the first time it's fetched
+	 *
+	 * @param index the index of the token
+	 * @return the token, or null if the index is out of the input
+	 */
+	public @Nullable String token(int index) {
+		if (index < 0 || index >= size) return null;
+		
+		String token = tokens[index];
+		if (token == null) {
+			assert line != null && bounds != null;
+			token = tokens[index] = line.substring(bounds[index * 2], bounds[index * 2 + 1]);
+		}
+		return token;
+	}
+	
+	/**
+	 * Checks whether a token is a flag, reading the characters of the line
+	 * in place, so classifying a token doesn't copy it out of the line
+	 *
+	 * @param index the index of the token
+	 * @return whether the token is a flag, false if the index is out of the input
+	 * @see ContextFlagRegistry#isRawArgumentFlag(CharSequence, int, int)
+	 */
+	public boolean isFlagAt(int index) {
+		if (index < 0 || index >= size) return false;
+		if (line == null) return ContextFlagRegistry.isRawArgumentFlag(tokens[index]);
+		
+		assert bounds != null;
+		return ContextFlagRegistry.isRawArgumentFlag(line, bounds[index * 2], bounds[index * 2 + 1]);
+	}
+	
+	/**
+	 * Fetches the tokens from an index to the end of the input, as they were typed,
+	 * the slice shares the characters of the line, so it's only copied once it's turned into a string
+	 *
+	 * @param from the index of the first token
+	 * @return the slice, which is empty if the index is out of the input
+	 */
+	public @NotNull CharSequence slice(int from) {
+		if (from < 0 || from >= size) return "";
+		if (line == null) return String.join(" ", view.subList(from, size));
+		
+		assert bounds != null;
+		return CharBuffer.wrap(line, bounds[from * 2], bounds[size * 2 - 1]);
+	}
+	
+	/**
+	 * @return the whole input joined by spaces, built once on the first call
+	 */
+	public @NotNull String join() {
+		String joined = this.joined;
+		if (joined == null) this.joined = joined = slice(0).toString();
+		return joined;
+	}
+	
+	/**
+	 * @return an unmodifiable view of the tokens, fetching them lazily
+	 */
+	public @NotNull List<String> asList() {
+		return view;
+	}
+	
+	@Override
+	public String toString() {
+		return join();
+	}
+	
+	private final class TokenList extends AbstractList<String> implements RandomAccess {
+		
+		@Override
+		public String get(int index) {
+			if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+			return token(index);
+		}
+		
+		@Override
+		public int size() {
+			return size;
+		}
+		
+	}
+	
+}
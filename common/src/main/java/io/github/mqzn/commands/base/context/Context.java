@@ -9,6 +9,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 public interface Context<S> {
 	
@@ -20,6 +21,32 @@ public interface Context<S> {
 	 */
 	int flagsUsed();
 	
+	/**
+	 * Checks whether the raw argument at a specific position is a flag,
+	 * the built-in contexts classify the raw arguments once when they're created,
+	 * while the default classifies the raw argument on every call
+	 *
+	 * @param index the index of the raw argument
+	 * @return whether the raw argument is a flag
+	 */
+	default boolean isFlag(int index) {
+		return index >= 0 && index < length() && ContextFlagRegistry.isRawArgumentFlag(getRawArgument(index));
+	}
+	
+	/**
+	 * Fetches the position of the next raw argument that is a flag,
+	 * so that the flags are iterated without visiting the other raw arguments
+	 *
+	 * @param from the index to start from, inclusive
+	 * @return the index of the flag, or -1 if there are no more flags
+	 */
+	default int nextFlag(int from) {
+		for (int index = Math.max(from, 0); index < length(); index++) {
+			if (isFlag(index)) return index;
+		}
+		return -1;
+	}
+	
 	/**
 	 * Fetches the sender for this context
 	 *
@@ -91,6 +118,112 @@ public interface Context<S> {
 	 */
 	@Nullable <T> T getArgument(int index);
 	
+	/**
+	 * Fetches the parsed value of a numeric argument as an int
+	 *
+	 * @param id the argument name/id
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not numeric
+	 */
+	default int getInt(String id) {
+		return number(getArgument(id), id).intValue();
+	}
+	
+	/**
+	 * Fetches the parsed value of a numeric argument as a long
+	 *
+	 * @param id the argument name/id
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not numeric
+	 */
+	default long getLong(String id) {
+		return number(getArgument(id), id).longValue();
+	}
+	
+	/**
+	 * Fetches the parsed value of a numeric argument as a double
+	 *
+	 * @param id the argument name/id
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not numeric
+	 */
+	default double getDouble(String id) {
+		return number(getArgument(id), id).doubleValue();
+	}
+	
+	/**
+	 * Fetches the parsed value of a boolean argument
+	 *
+	 * @param id the argument name/id
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not a boolean
+	 */
+	default boolean getBoolean(String id) {
+		return bool(getArgument(id), id);
+	}
+	
+	/**
+	 * Fetches the parsed value of a numeric argument as an int, by its position
+	 *
+	 * @param index the argument index/position
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not numeric
+	 */
+	default int getInt(int index) {
+		return number(getArgument(index), index).intValue();
+	}
+	
+	/**
+	 * Fetches the parsed value of a numeric argument as a long, by its position
+	 *
+	 * @param index the argument index/position
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not numeric
+	 */
+	default long getLong(int index) {
+		return number(getArgument(index), index).longValue();
+	}
+	
+	/**
+	 * Fetches the parsed value of a numeric argument as a double, by its position
+	 *
+	 * @param index the argument index/position
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not numeric
+	 */
+	default double getDouble(int index) {
+		return number(getArgument(index), index).doubleValue();
+	}
+	
+	/**
+	 * Fetches the parsed value of a boolean argument, by its position
+	 *
+	 * @param index the argument index/position
+	 * @return the parsed value of the argument
+	 * @throws IllegalArgumentException if the argument has no parsed value, or if it's not a boolean
+	 */
+	default boolean getBoolean(int index) {
+		return bool(getArgument(index), index);
+	}
+	
+	private static @NotNull Number number(@Nullable Object value, Object argument) {
+		if (value == null)
+			throw new IllegalArgumentException(String.format("No value was parsed for the argument '%s'", argument));
+		if (!(value instanceof Number number))
+			throw new IllegalArgumentException(String.format("The argument '%s' is not numeric", argument));
+		
+		return number;
+	}
+	
+	private static boolean bool(@Nullable Object value, Object argument) {
+		if (value == null)
+			throw new IllegalArgumentException(String.format("No value was parsed for the argument '%s'", argument));
+		if (!(value instanceof Boolean bool))
+			throw new IllegalArgumentException(String.format("The argument '%s' is not a boolean", argument));
+		
+		return bool;
+	}
+	
 	
 	/**
 	 * Fetches the original required argument
@@ -138,4 +271,33 @@ public interface Context<S> {
 		return length() - 1;
 	}
 	
+	/**
+	 * Requests the execution of this context to stop, the cancellation is cooperative,
+	 * long-running executions are expected to check {@link #isCancelled()}
+	 * or call {@link #checkCancelled()} between their steps,
+	 * a context that doesn't support cancellation ignores it
+	 */
+	default void cancel() {
+	}
+	
+	/**
+	 * Whether the execution was cancelled, either explicitly,
+	 * or because it exceeded the timeout of its command
+	 *
+	 * @return whether the execution was cancelled, never true for a context that doesn't support cancellation
+	 */
+	default boolean isCancelled() {
+		return false;
+	}
+	
+	/**
+	 * Stops the execution if it was cancelled
+	 *
+	 * @throws CancellationException if the execution was cancelled
+	 */
+	default void checkCancelled() throws CancellationException {
+		if (isCancelled())
+			throw new CancellationException(String.format("The execution of '%s' was cancelled", rawFormat()));
+	}
+	
 }
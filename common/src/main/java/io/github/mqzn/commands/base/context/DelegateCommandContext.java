@@ -8,8 +8,7 @@ import io.github.mqzn.commands.base.syntax.CommandSyntax;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 public final class DelegateCommandContext<S> implements Context<S> {
@@ -20,25 +19,42 @@ public final class DelegateCommandContext<S> implements Context<S> {
 	@NotNull
 	private final Command<S> command;
 	
+	private final char commandPrefix;
+	
 	@NotNull
-	private final String rawFormatted;
+	private final CommandInput input;
+	
+	/**
+	 * Built on the first call to {@link #rawFormat()}, since it's only used for logging and captions
+	 */
+	@Nullable
+	private volatile String rawFormatted;
 	
+	/**
+	 * The positions of the raw arguments that are flags
+	 */
 	@NotNull
-	private final List<String> rawArguments = new ArrayList<>();
+	private final BitSet flagPositions = new BitSet();
 	
 	private int flagsUsedInRaw = 0;
 	
+	private volatile boolean cancelled = false;
+	
 	private DelegateCommandContext(@NotNull CommandManager<?, S> manager,
 	                               @NotNull Command<S> command,
 	                               @NotNull S sender,
-	                               @NotNull String[] rawInput) {
+	                               @NotNull CommandInput input) {
 		
 		this.command = command;
 		this.sender = sender;
-		this.rawArguments.addAll(Arrays.asList(rawInput));
-		this.rawFormatted = manager.commandPrefix() + command.name() + " " + String.join(" ", rawInput);
+		this.commandPrefix = manager.commandPrefix();
+		this.input = input;
 		
-		for (var arg : rawInput) if (ContextFlagRegistry.isRawArgumentFlag(arg)) flagsUsedInRaw++;
+		for (int i = 0; i < input.size(); i++) {
+			if (!input.isFlagAt(i)) continue;
+			flagPositions.set(i);
+			flagsUsedInRaw++;
+		}
 	}
 	
 	public static <S> @NotNull DelegateCommandContext<S> create(@NotNull CommandManager<?, S> manager,
@@ -46,7 +62,15 @@ public final class DelegateCommandContext<S> implements Context<S> {
 	                                                            @NotNull S sender,
 	                                                            @NotNull String[] rawInput) {
 		
-		return new DelegateCommandContext<>(manager, command, sender, rawInput);
+		return new DelegateCommandContext<>(manager, command, sender, CommandInput.of(rawInput));
+	}
+	
+	public static <S> @NotNull DelegateCommandContext<S> create(@NotNull CommandManager<?, S> manager,
+	                                                            @NotNull Command<S> command,
+	                                                            @NotNull S sender,
+	                                                            @NotNull CommandInput input) {
+		
+		return new DelegateCommandContext<>(manager, command, sender, input);
 	}
 	
 	
@@ -59,8 +83,7 @@ public final class DelegateCommandContext<S> implements Context<S> {
 	 */
 	@Override
 	public @Nullable String getRawArgument(int index) {
-		if (index < 0 || index >= rawArguments.size()) return null;
-		return rawArguments.get(index);
+		return input.token(index);
 	}
 	
 	/**
@@ -151,7 +174,17 @@ public final class DelegateCommandContext<S> implements Context<S> {
 	 * @return The raw arguments
 	 */
 	public @NotNull List<String> getRawArguments() {
-		return rawArguments;
+		return input.asList();
+	}
+	
+	/**
+	 * Fetches the input of the context, holding
+	 * the raw arguments as typed by the command sender
+	 *
+	 * @return the input of the context
+	 */
+	public @NotNull CommandInput input() {
+		return input;
 	}
 	
 	/**
@@ -164,6 +197,16 @@ public final class DelegateCommandContext<S> implements Context<S> {
 		return flagsUsedInRaw;
 	}
 	
+	@Override
+	public boolean isFlag(int index) {
+		return index >= 0 && flagPositions.get(index);
+	}
+	
+	@Override
+	public int nextFlag(int from) {
+		return flagPositions.nextSetBit(Math.max(from, 0));
+	}
+	
 	
 	/**
 	 * Fetches the sender for this context
@@ -197,13 +240,26 @@ public final class DelegateCommandContext<S> implements Context<S> {
 	 */
 	@Override
 	public @NotNull String rawFormat() {
+		String rawFormatted = this.rawFormatted;
+		if (rawFormatted == null)
+			this.rawFormatted = rawFormatted = commandPrefix + command.name() + " " + input.join();
 		return rawFormatted;
 	}
 	
 	
 	@Override
 	public int length() {
-		return rawArguments.size();
+		return input.size();
+	}
+	
+	@Override
+	public void cancel() {
+		this.cancelled = true;
+	}
+	
+	@Override
+	public boolean isCancelled() {
+		return cancelled;
 	}
 	
 }
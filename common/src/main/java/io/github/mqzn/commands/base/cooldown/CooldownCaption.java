@@ -35,12 +35,9 @@ public final class CooldownCaption<S> implements Caption<S> {
 	public @NotNull TextComponent message(S sender, Context<S> context, Throwable exception) {
 		var command = context.commandUsed();
 		var manager = command.manager();
-		var cooldown = command.cooldown();
-		var lastTimeCommandExecuted = manager.getCommandCooldown(manager.getSenderWrapper().senderName(sender));
-		if (lastTimeCommandExecuted == null) lastTimeCommandExecuted = 0L;
+		var remaining = manager.cooldownStore().remaining(manager.getSenderWrapper().senderName(sender), command.name());
 		// Send a caption telling the user that he's in a cooldown
-		// Calculating remaining time
-		var parser = TimeParser.parse(calculateRemainingTime(lastTimeCommandExecuted, cooldown));
+		var parser = TimeParser.parse(remaining);
 		var timeData = parser.highestLogicalUnitValue();
 		
 		return cooldownMessage(timeData.getLeft(), timeData.getRight(), context);
@@ -0,0 +1,71 @@
+package io.github.mqzn.commands.base.cooldown;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * A backend persisting the cooldowns of a {@link CooldownStore},
+ * so that they survive restarts.
+ * <p>
+ * The store calls {@link #save(String, String, long, long)} and {@link #remove(String, String)}
+ * from the threads executing the commands, so implementations must never block on I/O in them,
+ * they should hand the writes off to a background thread instead.
+ *
+ * @author Mqzen
+ * @see CooldownStore#persist(CooldownPersistence)
+ * @see MappedCooldownPersistence
+ */
+public interface CooldownPersistence extends AutoCloseable {
+	
+	/**
+	 * Restores the persisted cooldowns that haven't expired yet,
+	 * it's called once, when the backend is attached to the store
+	 *
+	 * @param restorer the restorer of the cooldowns
+	 */
+	void load(@NotNull Restorer restorer);
+	
+	/**
+	 * Persists the use of a command by a sender
+	 *
+	 * @param sender   the name of the sender
+	 * @param command  the name of the command
+	 * @param lastUse  the time the sender used the command in milliseconds
+	 * @param duration the duration of the cooldown in milliseconds
+	 */
+	void save(@NotNull String sender, @NotNull String command, long lastUse, long duration);
+	
+	/**
+	 * Removes the persisted cooldowns matching the sender and the command,
+	 * where a null sender or command matches any sender or command
+	 *
+	 * @param sender  the name of the sender, or null for all senders
+	 * @param command the name of the command, or null for all commands
+	 */
+	void remove(@Nullable String sender, @Nullable String command);
+	
+	/**
+	 * Sets the listener notified when the backend fails and stops persisting the cooldowns,
+	 * a failure that happened before the listener is set is reported right away
+	 *
+	 * @param listener the listener of the failure
+	 */
+	default void onFailure(@NotNull Consumer<Throwable> listener) {
+	}
+	
+	/**
+	 * Writes the pending changes, then releases the resources of the backend
+	 */
+	@Override
+	void close();
+	
+	@FunctionalInterface
+	interface Restorer {
+		
+		void restore(@NotNull String sender, @NotNull String command, long lastUse, long duration);
+		
+	}
+	
+}
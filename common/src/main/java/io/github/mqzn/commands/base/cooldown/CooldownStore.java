@@ -0,0 +1,323 @@
+package io.github.mqzn.commands.base.cooldown;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A concurrent store of the cooldowns of the senders, a cooldown is held per sender and command,
+ * so that using a command never puts the sender in the cooldown of another command.
+ * <p>
+ * Using a command is an atomic check-and-set of the last time the sender used it,
+ * so concurrent executions can never both pass the check.
+ * Expired cooldowns are swept lazily at most once per {@link #sweepInterval()},
+ * by the first execution that comes after the interval elapses, so the store never grows
+ * beyond the senders that are actually in a cooldown, no matter how many senders used the commands.
+ * <p>
+ * The cooldowns can be persisted through a {@link CooldownPersistence}, so that they survive restarts.
+ *
+ * @author Mqzen
+ * @see CommandCooldown
+ */
+public final class CooldownStore {
+	
+	public static final Duration DEFAULT_SWEEP_INTERVAL = Duration.ofMinutes(1);
+	
+	/**
+	 * The last use of an entry that got swept, an entry holding it
+	 * is no longer in the store, so it must be looked up again
+	 */
+	private static final long SWEPT = Long.MIN_VALUE;
+	
+	@NotNull
+	private final Map<String, Map<String, Entry>> cooldowns = new ConcurrentHashMap<>();
+	
+	@NotNull
+	private final AtomicLong nextSweep = new AtomicLong();
+	
+	private volatile long sweepInterval = DEFAULT_SWEEP_INTERVAL.toMillis();
+	
+	@Nullable
+	private volatile CooldownPersistence persistence;
+	
+	@NotNull
+	private final Logger logger;
+	
+	private CooldownStore(@NotNull Logger logger) {
+		this.logger = logger;
+		nextSweep.set(System.currentTimeMillis() + sweepInterval);
+	}
+	
+	public static CooldownStore create() {
+		return create(Logger.getLogger(CooldownStore.class.getName()));
+	}
+	
+	/**
+	 * Creates a store reporting the failures of its persistence to a logger
+	 *
+	 * @param logger the logger, usually the logger of the manager
+	 * @return the new store
+	 */
+	public static CooldownStore create(@NotNull Logger logger) {
+		return new CooldownStore(logger);
+	}
+	
+	/**
+	 * Sets the minimum interval between two sweeps of the expired cooldowns
+	 *
+	 * @param interval the interval
+	 */
+	public void sweepInterval(@NotNull Duration interval) {
+		if (interval.isNegative()) throw new IllegalArgumentException("The sweep interval of the cooldowns cannot be negative");
+		this.sweepInterval = interval.toMillis();
+		nextSweep.set(System.currentTimeMillis() + sweepInterval);
+	}
+	
+	public @NotNull Duration sweepInterval() {
+		return Duration.ofMillis(sweepInterval);
+	}
+	
+	/**
+	 * Persists the cooldowns through the backend, the persisted cooldowns
+	 * are restored right away, so it should be called while the platform starts up,
+	 * before any command is dispatched.
+	 * If the backend fails, the failure is logged and the cooldowns are kept in memory only.
+	 * The backend is closed through {@link #closePersistence()}, which the manager calls when it shuts down.
+	 *
+	 * @param persistence the backend persisting the cooldowns
+	 */
+	public synchronized void persist(@NotNull CooldownPersistence persistence) {
+		this.persistence = persistence;
+		persistence.onFailure((failure) -> {
+			synchronized (this) {
+				if (this.persistence == persistence) this.persistence = null;
+			}
+			logger.log(Level.SEVERE, "The persistence of the cooldowns failed, they're kept in memory only from now on", failure);
+		});
+		
+		persistence.load((sender, command, lastUse, duration) -> cooldowns
+			.computeIfAbsent(command, (key) -> new ConcurrentHashMap<>())
+			.putIfAbsent(sender, new Entry(lastUse, duration)));
+	}
+	
+	public @Nullable CooldownPersistence persistence() {
+		return persistence;
+	}
+	
+	/**
+	 * Detaches the backend persisting the cooldowns, then closes it,
+	 * so that its pending writes are flushed, the cooldowns are kept in memory only from then on
+	 */
+	public void closePersistence() {
+		CooldownPersistence persistence;
+		synchronized (this) {
+			persistence = this.persistence;
+			this.persistence = null;
+		}
+		if (persistence != null) persistence.close();
+	}
+	
+	/**
+	 * Marks the sender as using the command, only if the sender
+	 * is not in the cooldown of the command, the check and the update happen atomically
+	 *
+	 * @param sender   the name of the sender
+	 * @param command  the name of the command
+	 * @param cooldown the cooldown of the command
+	 * @return zero if the sender is allowed to use the command,
+	 * otherwise the remaining time of the cooldown in milliseconds
+	 */
+	public long tryAcquire(@NotNull String sender, @NotNull String command, @NotNull CommandCooldown cooldown) {
+		final long now = System.currentTimeMillis();
+		final long duration = cooldown.toMillis();
+		sweepIfDue(now);
+		
+		Map<String, Entry> senders = cooldowns.computeIfAbsent(command, (key) -> new ConcurrentHashMap<>());
+		while (true) {
+			Entry entry = senders.get(sender);
+			if (entry == null) {
+				Entry created = new Entry(now, duration);
+				entry = senders.putIfAbsent(sender, created);
+				if (entry == null) {
+					persist(sender, command, now, duration);
+					return 0;
+				}
+			}
+			
+			long lastUse = entry.lastUse;
+			if (lastUse == SWEPT) {
+				senders.remove(sender, entry);
+				continue;
+			}
+			
+			long remaining = lastUse + entry.duration - now;
+			if (remaining > 0) return remaining;
+			
+			if (Entry.LAST_USE.compareAndSet(entry, lastUse, now)) {
+				entry.duration = duration;
+				persist(sender, command, now, duration);
+				return 0;
+			}
+		}
+	}
+	
+	/**
+	 * Fetches the remaining time of the cooldown of a sender on a command
+	 *
+	 * @param sender  the name of the sender
+	 * @param command the name of the command
+	 * @return the remaining time in milliseconds, or zero if the sender is not in a cooldown
+	 */
+	public long remaining(@NotNull String sender, @NotNull String command) {
+		Entry entry = entry(sender, command);
+		if (entry == null) return 0;
+		
+		long lastUse = entry.lastUse;
+		if (lastUse == SWEPT) return 0;
+		return Math.max(0, lastUse + entry.duration - System.currentTimeMillis());
+	}
+	
+	/**
+	 * Fetches the last time a sender used a command
+	 *
+	 * @param sender  the name of the sender
+	 * @param command the name of the command
+	 * @return the time in milliseconds, or null if the sender is not in a cooldown
+	 */
+	public @Nullable Long lastUse(@NotNull String sender, @NotNull String command) {
+		Entry entry = entry(sender, command);
+		if (entry == null) return null;
+		
+		long lastUse = entry.lastUse;
+		return lastUse == SWEPT ? null : lastUse;
+	}
+	
+	/**
+	 * Fetches the last time a sender used any command
+	 *
+	 * @param sender the name of the sender
+	 * @return the time in milliseconds, or null if the sender is not in a cooldown
+	 */
+	public @Nullable Long lastUse(@NotNull String sender) {
+		long latest = SWEPT;
+		for (Map<String, Entry> senders : cooldowns.values()) {
+			Entry entry = senders.get(sender);
+			if (entry != null) latest = Math.max(latest, entry.lastUse);
+		}
+		return latest == SWEPT ? null : latest;
+	}
+	
+	/**
+	 * Removes the cooldown of a sender on a command
+	 *
+	 * @param sender  the name of the sender
+	 * @param command the name of the command
+	 */
+	public void reset(@NotNull String sender, @NotNull String command) {
+		Map<String, Entry> senders = cooldowns.get(command);
+		if (senders != null) senders.remove(sender);
+		
+		CooldownPersistence persistence = this.persistence;
+		if (persistence != null) persistence.remove(sender, command);
+	}
+	
+	/**
+	 * Removes the cooldowns of a sender on every command
+	 *
+	 * @param sender the name of the sender
+	 */
+	public void resetSender(@NotNull String sender) {
+		for (Map<String, Entry> senders : cooldowns.values())
+			senders.remove(sender);
+		
+		CooldownPersistence persistence = this.persistence;
+		if (persistence != null) persistence.remove(sender, null);
+	}
+	
+	/**
+	 * Removes the cooldowns of every sender on a command
+	 *
+	 * @param command the name of the command
+	 */
+	public void resetCommand(@NotNull String command) {
+		cooldowns.remove(command);
+		
+		CooldownPersistence persistence = this.persistence;
+		if (persistence != null) persistence.remove(null, command);
+	}
+	
+	public void clear() {
+		cooldowns.clear();
+		
+		CooldownPersistence persistence = this.persistence;
+		if (persistence != null) persistence.remove(null, null);
+	}
+	
+	/**
+	 * @return the number of cooldowns held, including the expired ones that weren't swept yet
+	 */
+	public int size() {
+		int size = 0;
+		for (Map<String, Entry> senders : cooldowns.values())
+			size += senders.size();
+		return size;
+	}
+	
+	/**
+	 * Removes every expired cooldown
+	 */
+	public void sweep() {
+		final long now = System.currentTimeMillis();
+		for (Map<String, Entry> senders : cooldowns.values()) {
+			for (Map.Entry<String, Entry> mapping : senders.entrySet()) {
+				Entry entry = mapping.getValue();
+				long lastUse = entry.lastUse;
+				
+				//marking the entry first, so that no one acquires it while it's being removed
+				if (lastUse != SWEPT && lastUse + entry.duration <= now
+					&& Entry.LAST_USE.compareAndSet(entry, lastUse, SWEPT)) {
+					senders.remove(mapping.getKey(), entry);
+				}
+			}
+		}
+	}
+	
+	private void sweepIfDue(long now) {
+		long due = nextSweep.get();
+		if (now < due || !nextSweep.compareAndSet(due, now + sweepInterval)) return;
+		sweep();
+	}
+	
+	private void persist(String sender, String command, long lastUse, long duration) {
+		CooldownPersistence persistence = this.persistence;
+		if (persistence != null) persistence.save(sender, command, lastUse, duration);
+	}
+	
+	private @Nullable Entry entry(String sender, String command) {
+		Map<String, Entry> senders = cooldowns.get(command);
+		return senders == null ? null : senders.get(sender);
+	}
+	
+	private static final class Entry {
+		
+		private static final AtomicLongFieldUpdater<Entry> LAST_USE = AtomicLongFieldUpdater.newUpdater(Entry.class, "lastUse");
+		
+		private volatile long lastUse;
+		
+		private volatile long duration;
+		
+		private Entry(long lastUse, long duration) {
+			this.lastUse = lastUse;
+			this.duration = duration;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,460 @@
+package io.github.mqzn.commands.base.cooldown;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A {@link CooldownPersistence} writing the cooldowns into a memory-mapped file
+ * of fixed-size records, each record holds the last use and the duration of a cooldown,
+ * followed by the name of the sender and the name of the command.
+ * <p>
+ * Every write is handed off to a single background thread, which updates the record of
+ * the cooldown in place, or appends a new one into the first free slot, so executing a command
+ * never waits for the disk. The same thread frees the records of expired cooldowns
+ * and compacts the file periodically, by moving the records at its tail into the free slots.
+ * <p>
+ * The file is indexed in the background as soon as it's opened, the cooldowns
+ * are restored once the indexing completes, when the backend is attached to the store.
+ * If the file fails, the backend stops persisting and drops every later write,
+ * the failure is reported to the listener set through {@link #onFailure(Consumer)}.
+ * Cooldowns whose sender name exceeds {@value #MAX_SENDER_LENGTH} bytes, or whose command name
+ * exceeds {@value #MAX_COMMAND_LENGTH} bytes in UTF-8 are kept in memory only.
+ *
+ * @author Mqzen
+ * @see CooldownStore#persist(CooldownPersistence)
+ */
+public final class MappedCooldownPersistence implements CooldownPersistence {
+	
+	public static final Duration DEFAULT_COMPACTION_INTERVAL = Duration.ofMinutes(5);
+	
+	public static final int MAX_SENDER_LENGTH = 64;
+	
+	public static final int MAX_COMMAND_LENGTH = 46;
+	
+	/**
+	 * "MCCD" in ASCII
+	 */
+	private static final int MAGIC = 0x4D434344;
+	
+	private static final int VERSION = 1;
+	
+	/**
+	 * The magic, the version, the number of used slots, and a reserved int
+	 */
+	private static final int HEADER_SIZE = 16;
+	
+	/**
+	 * The last use, the duration, the lengths of both names, and both names
+	 */
+	private static final int RECORD_SIZE = 18 + MAX_SENDER_LENGTH + MAX_COMMAND_LENGTH;
+	
+	private static final int SENDER_OFFSET = 18;
+	
+	private static final int COMMAND_OFFSET = SENDER_OFFSET + MAX_SENDER_LENGTH;
+	
+	private static final int INITIAL_CAPACITY = 256;
+	
+	/**
+	 * The number of free slots above which the file is compacted
+	 * right away, regardless of the compaction interval
+	 */
+	private static final int COMPACTION_THRESHOLD = 1024;
+	
+	private static final Operation CLOSE = new Operation(null, null, 0, 0, false);
+	
+	@NotNull
+	private final FileChannel channel;
+	
+	@NotNull
+	private final BlockingQueue<Operation> operations = new LinkedBlockingQueue<>();
+	
+	@NotNull
+	private final CompletableFuture<List<Record>> indexed = new CompletableFuture<>();
+	
+	@NotNull
+	private final Thread writer;
+	
+	private final long compactionInterval;
+	
+	//the fields below are only accessed by the writer thread
+	@NotNull
+	private final Map<Key, Integer> slots = new HashMap<>();
+	
+	@NotNull
+	private final TreeSet<Integer> freeSlots = new TreeSet<>();
+	
+	private MappedByteBuffer buffer;
+	
+	private int capacity;
+	
+	private int usedSlots;
+	
+	private long nextCompaction;
+	
+	private volatile boolean closed;
+	
+	@Nullable
+	private Consumer<Throwable> failureListener;
+	
+	@Nullable
+	private Throwable failure;
+	
+	private MappedCooldownPersistence(@NotNull FileChannel channel, @NotNull Duration compactionInterval) {
+		this.channel = channel;
+		this.compactionInterval = compactionInterval.toMillis();
+		this.writer = new Thread(this::run, "mCommands-cooldowns-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+	
+	/**
+	 * Opens the file of the cooldowns, creating it if it doesn't exist
+	 *
+	 * @param file the file
+	 * @return the persistence of the cooldowns into the file
+	 * @throws IOException if the file can't be opened, or it's not a file of cooldowns
+	 */
+	public static MappedCooldownPersistence open(@NotNull Path file) throws IOException {
+		return open(file, DEFAULT_COMPACTION_INTERVAL);
+	}
+	
+	/**
+	 * Opens the file of the cooldowns, creating it if it doesn't exist
+	 *
+	 * @param file               the file
+	 * @param compactionInterval the interval between two compactions of the file
+	 * @return the persistence of the cooldowns into the file
+	 * @throws IOException if the file can't be opened, or it's not a file of cooldowns
+	 */
+	public static MappedCooldownPersistence open(@NotNull Path file, @NotNull Duration compactionInterval) throws IOException {
+		if (compactionInterval.isNegative() || compactionInterval.isZero())
+			throw new IllegalArgumentException("The compaction interval of the cooldowns must be positive");
+		
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			if (channel.size() >= HEADER_SIZE) {
+				ByteBuffer header = ByteBuffer.allocate(8);
+				channel.read(header, 0);
+				header.flip();
+				
+				if (header.getInt() != MAGIC || header.getInt() != VERSION)
+					throw new IOException(String.format("File '%s' is not a file of cooldowns", file));
+			}
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		
+		return new MappedCooldownPersistence(channel, compactionInterval);
+	}
+	
+	@Override
+	public void load(@NotNull Restorer restorer) {
+		List<Record> records;
+		try {
+			records = indexed.join();
+		} catch (CompletionException e) {
+			//the failure of the indexing is reported to the failure listener
+			return;
+		}
+		
+		for (Record record : records)
+			restorer.restore(record.key().sender(), record.key().command(), record.lastUse(), record.duration());
+	}
+	
+	@Override
+	public void save(@NotNull String sender, @NotNull String command, long lastUse, long duration) {
+		if (!closed) operations.offer(new Operation(sender, command, lastUse, duration, true));
+	}
+	
+	@Override
+	public void remove(@Nullable String sender, @Nullable String command) {
+		if (!closed) operations.offer(new Operation(sender, command, 0, 0, false));
+	}
+	
+	@Override
+	public void onFailure(@NotNull Consumer<Throwable> listener) {
+		Throwable failure;
+		synchronized (this) {
+			this.failureListener = listener;
+			failure = this.failure;
+		}
+		if (failure != null) listener.accept(failure);
+	}
+	
+	@Override
+	public void close() {
+		if (closed) return;
+		closed = true;
+		
+		operations.offer(CLOSE);
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private void run() {
+		try {
+			index();
+		} catch (IOException | RuntimeException e) {
+			indexed.completeExceptionally(e);
+			fail(e);
+			closeChannel();
+			return;
+		}
+		
+		try {
+			while (true) {
+				long timeout = Math.max(0, nextCompaction - System.currentTimeMillis());
+				Operation operation = operations.poll(timeout, TimeUnit.MILLISECONDS);
+				if (operation == CLOSE) break;
+				
+				if (operation != null) apply(operation);
+				
+				if (System.currentTimeMillis() >= nextCompaction || freeSlots.size() > Math.max(COMPACTION_THRESHOLD, slots.size()))
+					compact();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException | RuntimeException e) {
+			fail(e);
+		} finally {
+			closed = true;
+			operations.clear();
+			closeChannel();
+		}
+	}
+	
+	/**
+	 * Stops accepting the writes, since nothing drains them anymore,
+	 * then reports the failure to the listener, or keeps it until a listener is set
+	 *
+	 * @param cause the failure of the writer thread
+	 */
+	private void fail(@NotNull Throwable cause) {
+		closed = true;
+		operations.clear();
+		
+		Consumer<Throwable> listener;
+		synchronized (this) {
+			this.failure = cause;
+			listener = this.failureListener;
+		}
+		if (listener != null) listener.accept(cause);
+	}
+	
+	/**
+	 * Reads the records of the file, indexing the slots of the cooldowns
+	 * that haven't expired, and freeing the slots of the rest
+	 *
+	 * @throws IOException if the file can't be mapped
+	 */
+	private void index() throws IOException {
+		long size = channel.size();
+		capacity = (int) Math.max(INITIAL_CAPACITY, (size - HEADER_SIZE) / RECORD_SIZE);
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+		
+		if (size < HEADER_SIZE) {
+			buffer.putInt(0, MAGIC);
+			buffer.putInt(4, VERSION);
+			buffer.putInt(8, 0);
+		}
+		
+		usedSlots = Math.max(0, Math.min(buffer.getInt(8), capacity));
+		final long now = System.currentTimeMillis();
+		List<Record> records = new ArrayList<>();
+		
+		for (int slot = 0; slot < usedSlots; slot++) {
+			Record record = read(slot);
+			if (record == null || record.lastUse() + record.duration() <= now || slots.containsKey(record.key())) {
+				free(slot);
+				continue;
+			}
+			
+			slots.put(record.key(), slot);
+			records.add(record);
+		}
+		
+		nextCompaction = now + compactionInterval;
+		indexed.complete(records);
+	}
+	
+	private void apply(Operation operation) throws IOException {
+		if (!operation.save()) {
+			Iterator<Map.Entry<Key, Integer>> iterator = slots.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<Key, Integer> entry = iterator.next();
+				if (!operation.matches(entry.getKey())) continue;
+				
+				free(entry.getValue());
+				iterator.remove();
+			}
+			return;
+		}
+		
+		byte[] sender = operation.sender().getBytes(StandardCharsets.UTF_8);
+		byte[] command = operation.command().getBytes(StandardCharsets.UTF_8);
+		if (sender.length > MAX_SENDER_LENGTH || command.length > MAX_COMMAND_LENGTH) return;
+		
+		Key key = new Key(operation.sender(), operation.command());
+		Integer slot = slots.get(key);
+		if (slot == null) {
+			slot = freeSlots.isEmpty() ? usedSlots : freeSlots.pollFirst();
+			if (slot == usedSlots) {
+				ensureCapacity(usedSlots + 1);
+				buffer.putInt(8, ++usedSlots);
+			}
+			slots.put(key, slot);
+		}
+		
+		write(slot, sender, command, operation.lastUse(), operation.duration());
+	}
+	
+	/**
+	 * Frees the slots of the expired cooldowns, then moves the records
+	 * at the tail of the file into the free slots, so that the used slots are contiguous
+	 *
+	 * @throws IOException if the file can't be remapped
+	 */
+	private void compact() throws IOException {
+		final long now = System.currentTimeMillis();
+		nextCompaction = now + compactionInterval;
+		
+		Iterator<Map.Entry<Key, Integer>> iterator = slots.entrySet().iterator();
+		while (iterator.hasNext()) {
+			int slot = iterator.next().getValue();
+			int position = position(slot);
+			if (buffer.getLong(position) + buffer.getLong(position + 8) > now) continue;
+			
+			free(slot);
+			iterator.remove();
+		}
+		
+		if (freeSlots.isEmpty()) return;
+		
+		final int live = slots.size();
+		byte[] record = new byte[RECORD_SIZE];
+		for (Map.Entry<Key, Integer> entry : slots.entrySet()) {
+			int slot = entry.getValue();
+			if (slot < live) continue;
+			
+			int target = freeSlots.pollFirst();
+			buffer.get(position(slot), record);
+			buffer.put(position(target), record);
+			entry.setValue(target);
+		}
+		
+		freeSlots.clear();
+		usedSlots = live;
+		buffer.putInt(8, usedSlots);
+		buffer.force();
+		
+		if (capacity > INITIAL_CAPACITY && live * 4 < capacity) {
+			capacity = Math.max(INITIAL_CAPACITY, live * 2);
+			long size = HEADER_SIZE + (long) capacity * RECORD_SIZE;
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			try {
+				channel.truncate(size);
+			} catch (IOException ignored) {
+				//some platforms don't allow truncating a mapped file, it will just keep its size
+			}
+		}
+	}
+	
+	private void ensureCapacity(int required) throws IOException {
+		if (required <= capacity) return;
+		
+		capacity = Math.max(capacity * 2, required);
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+	}
+	
+	private @Nullable Record read(int slot) {
+		int position = position(slot);
+		long lastUse = buffer.getLong(position);
+		long duration = buffer.getLong(position + 8);
+		int senderLength = buffer.get(position + 16);
+		int commandLength = buffer.get(position + 17);
+		
+		if (duration <= 0 || senderLength <= 0 || senderLength > MAX_SENDER_LENGTH
+			|| commandLength <= 0 || commandLength > MAX_COMMAND_LENGTH)
+			return null;
+		
+		byte[] sender = new byte[senderLength];
+		byte[] command = new byte[commandLength];
+		buffer.get(position + SENDER_OFFSET, sender);
+		buffer.get(position + COMMAND_OFFSET, command);
+		
+		return new Record(new Key(new String(sender, StandardCharsets.UTF_8), new String(command, StandardCharsets.UTF_8)), lastUse, duration);
+	}
+	
+	/**
+	 * Writes a record, the duration is cleared first and written last,
+	 * so that a record that is interrupted while being written is read as a free slot
+	 */
+	private void write(int slot, byte[] sender, byte[] command, long lastUse, long duration) {
+		int position = position(slot);
+		buffer.putLong(position + 8, 0);
+		buffer.putLong(position, lastUse);
+		buffer.put(position + 16, (byte) sender.length);
+		buffer.put(position + 17, (byte) command.length);
+		buffer.put(position + SENDER_OFFSET, sender);
+		buffer.put(position + COMMAND_OFFSET, command);
+		buffer.putLong(position + 8, duration);
+	}
+	
+	private void free(int slot) {
+		int position = position(slot);
+		buffer.putLong(position + 8, 0);
+		buffer.putLong(position, 0);
+		freeSlots.add(slot);
+	}
+	
+	private static int position(int slot) {
+		return HEADER_SIZE + slot * RECORD_SIZE;
+	}
+	
+	private void closeChannel() {
+		try {
+			if (buffer != null) buffer.force();
+			channel.close();
+		} catch (IOException e) {
+			fail(e);
+		}
+	}
+	
+	private record Key(@NotNull String sender, @NotNull String command) {
+		
+	}
+	
+	private record Record(@NotNull Key key, long lastUse, long duration) {
+		
+	}
+	
+	private record Operation(@Nullable String sender, @Nullable String command,
+	                         long lastUse, long duration, boolean save) {
+		
+		boolean matches(Key key) {
+			return (sender == null || sender.equals(key.sender())) && (command == null || command.equals(key.command()));
+		}
+		
+	}
+	
+}
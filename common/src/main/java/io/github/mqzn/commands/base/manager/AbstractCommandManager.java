@@ -4,19 +4,27 @@ import io.github.mqzn.commands.arguments.ArgumentStringArray;
 import io.github.mqzn.commands.base.Command;
 import io.github.mqzn.commands.base.CommandRequirement;
 import io.github.mqzn.commands.base.SenderWrapper;
+import io.github.mqzn.commands.base.audit.CommandAuditLog;
+import io.github.mqzn.commands.base.audit.LoggerAuditSink;
 import io.github.mqzn.commands.base.caption.CaptionKey;
 import io.github.mqzn.commands.base.caption.CaptionRegistry;
+import io.github.mqzn.commands.base.concurrency.ConcurrencyLimit;
+import io.github.mqzn.commands.base.concurrency.ConcurrencyLimitCaption;
 import io.github.mqzn.commands.base.context.CommandContext;
+import io.github.mqzn.commands.base.context.CommandInput;
 import io.github.mqzn.commands.base.context.Context;
 import io.github.mqzn.commands.base.context.DelegateCommandContext;
-import io.github.mqzn.commands.base.cooldown.CommandCooldown;
 import io.github.mqzn.commands.base.cooldown.CooldownCaption;
+import io.github.mqzn.commands.base.cooldown.CooldownStore;
+import io.github.mqzn.commands.base.ratelimit.CommandRateLimit;
+import io.github.mqzn.commands.base.ratelimit.RateLimitCaption;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
 import io.github.mqzn.commands.base.syntax.SubCommandSyntax;
 import io.github.mqzn.commands.base.syntax.tree.CommandTree;
 import io.github.mqzn.commands.exceptions.CommandExceptionHandler;
 import io.github.mqzn.commands.exceptions.UnknownCommandSenderType;
 import io.github.mqzn.commands.exceptions.types.ArgumentParseException;
+import io.github.mqzn.commands.exceptions.types.RateLimitException;
 import io.github.mqzn.commands.exceptions.types.SyntaxAmbiguityException;
 import io.github.mqzn.commands.help.CommandHelpProvider;
 import io.github.mqzn.commands.help.UnknownPageCaption;
@@ -25,8 +33,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 /**
  * The class responsible for handling,
@@ -39,6 +48,11 @@ import java.util.stream.Collectors;
  */
 public abstract class AbstractCommandManager<B, S> implements CommandManager<B, S> {
 	
+	/**
+	 * The longest the shutdown waits for the pending events of the audit log, in milliseconds
+	 */
+	private static final long SHUTDOWN_TIMEOUT = 5000L;
+	
 	protected final Logger logger = Logger.getLogger("CommandManager-Logger");
 	
 	protected final B bootstrap;
@@ -60,7 +74,7 @@ public abstract class AbstractCommandManager<B, S> implements CommandManager<B,
 	
 	
 	@NotNull
-	private final Map<String, Command<S>> commands;
+	private volatile CommandRegistry<S> registry;
 	
 	@NotNull
 	private final ArgumentTypeRegistry typeRegistry;
@@ -68,11 +82,38 @@ public abstract class AbstractCommandManager<B, S> implements CommandManager<B,
 	@NotNull
 	private final SuggestionProviderRegistry suggestionProviderRegistry;
 	
+	@NotNull
+	private final SuggestionCache<S> suggestionCache;
+	
 	@NotNull
 	private final FlagRegistry flagRegistry;
 	
 	@NotNull
-	private final Map<String, Long> cooldowns = new HashMap<>();
+	private final CooldownStore cooldownStore;
+	
+	@NotNull
+	private volatile List<CommandRateLimit> globalRateLimits = List.of();
+	
+	@Nullable
+	private volatile ConcurrencyLimit globalConcurrencyLimit;
+	
+	@NotNull
+	private final ExecutionMetrics executionMetrics = ExecutionMetrics.create();
+	
+	@NotNull
+	private final ExecutionLanes executionLanes = ExecutionLanes.create();
+	
+	@NotNull
+	private final ExecutionWatchdog watchdog = ExecutionWatchdog.create(logger);
+	
+	@NotNull
+	private final CommandAuditLog auditLog = CommandAuditLog.create(LoggerAuditSink.create(logger));
+	
+	@NotNull
+	private volatile Executor executor = CommandExecutionCoordinator.defaultExecutor();
+	
+	@NotNull
+	private volatile Executor syncExecutor = CommandExecutionCoordinator.directExecutor();
 	
 	@Nullable
 	private CommandHelpProvider<S> commandHelpProvider;
@@ -81,7 +122,7 @@ public abstract class AbstractCommandManager<B, S> implements CommandManager<B,
 	                              @NotNull SenderWrapper<S> wrapper) {
 		this.bootstrap = bootstrap;
 		this.wrapper = wrapper;
-		this.commands = new HashMap<>();
+		this.registry = CommandRegistry.empty();
 		this.typeRegistry = new ArgumentTypeRegistry();
 		try {
 			this.flagRegistry = FlagRegistry.create();
@@ -89,10 +130,14 @@ public abstract class AbstractCommandManager<B, S> implements CommandManager<B,
 			throw new RuntimeException(e);
 		}
 		this.suggestionProviderRegistry = new SuggestionProviderRegistry();
+		this.suggestionCache = new SuggestionCache<>();
+		this.cooldownStore = CooldownStore.create(logger);
 		
 		this.captionRegistry = new CaptionRegistry<>(this);
 		captionRegistry.registerCaption(new UnknownPageCaption<>());
 		captionRegistry.registerCaption(new CooldownCaption<>());
+		captionRegistry.registerCaption(new RateLimitCaption<>());
+		captionRegistry.registerCaption(new ConcurrencyLimitCaption<>());
 		
 		this.senderProviderRegistry = new SenderProviderRegistry<>();
 		this.exceptionHandler = new CommandExceptionHandler<>(this);
@@ -117,6 +162,11 @@ public abstract class AbstractCommandManager<B, S> implements CommandManager<B,
 		return suggestionProviderRegistry;
 	}
 	
+	@Override
+	public @NotNull SuggestionCache<S> suggestionCache() {
+		return suggestionCache;
+	}
+	
 	@Override
 	public @NotNull CommandExceptionHandler<S> exceptionHandler() {
 		return exceptionHandler;
@@ -134,59 +184,100 @@ public abstract class AbstractCommandManager<B, S> implements CommandManager<B,
 	
 	
 	@Override
-	@SuppressWarnings("unchecked")
 	public final <C> void executeCommand(
 		final @NotNull Command<S> command,
 		final @NotNull S sender,
 		final @NotNull String[] args
 	) {
+		this.<C>executeCommand(command, sender, CommandInput.of(args));
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public final <C> void executeCommand(
+		final @NotNull Command<S> command,
+		final @NotNull S sender,
+		final @NotNull CommandInput input
+	) {
+		
+		final ExecutionMetrics metrics = command.coordinator().metrics();
+		metrics.onDispatched();
 		
-		DelegateCommandContext<S> context = DelegateCommandContext.create(this, command, sender, args);
+		DelegateCommandContext<S> context = DelegateCommandContext.create(this, command, sender, input);
 		String cmdPermission = command.info().permission();
 		
-		if (cmdPermission != null && !cmdPermission.isEmpty() && !wrapper.hasPermission(sender, cmdPermission)) {
+		long phase = System.nanoTime();
+		boolean permitted = cmdPermission == null || cmdPermission.isEmpty() || wrapper.hasPermission(sender, cmdPermission);
+		boolean accepted = permitted && checkRequirements(command, sender, context);
+		metrics.onPhase(ExecutionMetrics.Phase.REQUIREMENTS, phase);
+		
+		if (!permitted) {
+			metrics.onOutcome(ExecutionMetrics.Outcome.PERMISSION_DENIED);
 			captionRegistry.sendCaption(sender, context, CaptionKey.NO_PERMISSION);
 			return;
 		}
 		
-		if (!checkRequirements(command, sender, context)) return;
+		if (!accepted) {
+			metrics.onOutcome(ExecutionMetrics.Outcome.REQUIREMENT_FAILED);
+			return;
+		}
 		
-		if (command.hasCooldown()) {
-			CommandCooldown cooldown = command.cooldown();
-			String senderName = wrapper.senderName(sender);
-			Long lastTimeCommandExecuted = cooldowns.get(wrapper.senderName(sender));
-			
-			if (lastTimeCommandExecuted == null || cooldownExpired(lastTimeCommandExecuted, cooldown)) {
-				cooldowns.put(senderName, System.currentTimeMillis());
-			} else {
-				//send a caption telling the user that he's in a cool down
-				captionRegistry.sendCaption(sender, context, CaptionKey.COMMAND_IN_COOLDOWN);
-				return;
-			}
-			
+		final String senderName = wrapper.senderName(sender);
+		
+		//the global limits are acquired first, so they're given back if the command itself rejects the sender
+		final List<CommandRateLimit> globalRateLimits = this.globalRateLimits;
+		if (!acquireRateLimits(sender, context, senderName, globalRateLimits)) {
+			metrics.onOutcome(ExecutionMetrics.Outcome.RATE_LIMITED);
+			return;
+		}
+		if (!acquireRateLimits(sender, context, senderName, command.rateLimits())) {
+			CommandRateLimit.releaseAll(senderName, globalRateLimits);
+			metrics.onOutcome(ExecutionMetrics.Outcome.RATE_LIMITED);
+			return;
 		}
 		
-		if (args.length == 0) {
-			command.defaultExecution(sender, context);
+		//from here on, the permits of the global and the command limits are given back on every rejection,
+		//and the cooldown is only taken once the execution goes ahead,
+		//so that a sender mistyping the arguments isn't throttled for it
+		if (input.isEmpty()) {
+			if (acquireCooldown(sender, context, senderName, command, metrics, globalRateLimits, List.of()))
+				executeDefault(metrics, () -> command.defaultExecution(sender, context));
 			return;
 		}
 		
+		//the rate limits aren't part of the lookup of the syntax
+		phase = System.nanoTime();
 		CommandTree.CommandSearchResult<S> result = findSyntax(command, context);
+		phase = metrics.onPhase(ExecutionMetrics.Phase.FIND_SYNTAX, phase);
 		
 		if (result.state == CommandTree.CommandSearchResultState.NOT_FOUND) {
-			CaptionKey key = args.length == 1 && args[0].equalsIgnoreCase("help") ? CaptionKey.NO_HELP_TOPIC_AVAILABLE : CaptionKey.UNKNOWN_COMMAND;
+			releaseRateLimits(senderName, globalRateLimits, command);
+			metrics.onOutcome(ExecutionMetrics.Outcome.UNKNOWN_SYNTAX);
+			CaptionKey key = input.size() == 1 && "help".equalsIgnoreCase(input.token(0)) ? CaptionKey.NO_HELP_TOPIC_AVAILABLE : CaptionKey.UNKNOWN_COMMAND;
 			captionRegistry.sendCaption(sender, context, key);
 			return;
 		} else if (result.state == CommandTree.CommandSearchResultState.FOUND_INCOMPLETE) {
 			
-			if (result.data == null) return;
+			if (result.data == null) {
+				//the arguments only make up part of a subcommand path
+				releaseRateLimits(senderName, globalRateLimits, command);
+				metrics.onOutcome(ExecutionMetrics.Outcome.UNKNOWN_SYNTAX);
+				return;
+			}
 			if (result.data instanceof SubCommandSyntax<S> subCmd) {
 				var subInfo = subCmd.getInfo();
 				
-				if (subInfo != null && !subCmd.checkHasPermission(wrapper, sender))
+				if (subInfo != null && !subCmd.checkHasPermission(wrapper, sender)) {
+					releaseRateLimits(senderName, globalRateLimits, command);
+					metrics.onOutcome(ExecutionMetrics.Outcome.PERMISSION_DENIED);
 					captionRegistry.sendCaption(sender, context, CaptionKey.NO_PERMISSION);
-				else
-					subCmd.defaultExecution(sender, context);
+				} else if (acquireRateLimits(sender, context, senderName, subCmd.getRateLimits())) {
+					if (acquireCooldown(sender, context, senderName, command, metrics, globalRateLimits, subCmd.getRateLimits()))
+						executeDefault(metrics.syntax(subCmd), () -> subCmd.defaultExecution(sender, context));
+				} else {
+					releaseRateLimits(senderName, globalRateLimits, command);
+					metrics.onOutcome(ExecutionMetrics.Outcome.RATE_LIMITED);
+				}
 			}
 			return;
 		}
@@ -194,20 +285,36 @@ public abstract class AbstractCommandManager<B, S> implements CommandManager<B,
 		CommandSyntax<S> syntax = result.data;
 		assert syntax != null;
 		
+		final ExecutionMetrics syntaxMetrics = metrics.syntax(syntax);
+		
 		CommandContext<S> commandContext = CommandContext.create(this, syntax, context);
 		try {
 			commandContext.parse();
 		} catch (ArgumentParseException e) {
+			releaseRateLimits(senderName, globalRateLimits, command);
+			syntaxMetrics.onOutcome(ExecutionMetrics.Outcome.PARSE_FAILED);
 			e.printStackTrace();
 			return;
+		} finally {
+			syntaxMetrics.onPhase(ExecutionMetrics.Phase.PARSE, phase);
 		}
 		
 		if (!syntax.checkHasPermission(this.wrapper, sender)) {
+			releaseRateLimits(senderName, globalRateLimits, command);
+			syntaxMetrics.onOutcome(ExecutionMetrics.Outcome.PERMISSION_DENIED);
 			captionRegistry.sendCaption(sender, context, CaptionKey.NO_PERMISSION);
 			return;
 		}
 		
+		if (!acquireRateLimits(sender, context, senderName, syntax.getRateLimits())) {
+			releaseRateLimits(senderName, globalRateLimits, command);
+			syntaxMetrics.onOutcome(ExecutionMetrics.Outcome.RATE_LIMITED);
+			return;
+		}
+		
 		if (this.wrapper.canBeSender(syntax.getSenderClass())) {
+			if (!acquireCooldown(sender, context, senderName, command, syntaxMetrics, globalRateLimits, syntax.getRateLimits()))
+				return;
 			
 			command.coordinator().coordinateExecution(sender, syntax, commandContext)
 				.exceptionally((ex) -> {
@@ -215,7 +322,7 @@ public abstract class AbstractCommandManager<B, S> implements CommandManager<B,
 					exceptionHandler.handleException(ex, sender, commandContext);
 					return null;
 				})
-				.whenComplete((executionResult, ex) -> log("(%s) %s has executed the command '%s'", executionResult.name(), wrapper.senderName(sender), commandContext.rawFormat()));
+				.whenComplete((executionResult, ex) -> onExecuted(sender, commandContext, senderName, executionResult));
 			
 			return;
 		}
@@ -225,22 +332,111 @@ public abstract class AbstractCommandManager<B, S> implements CommandManager<B,
 		
 		//checking if custom sender is null, if so then it failed to find its type, so throwing an exception
 		if (customSender == null) {
+			releaseRateLimits(senderName, globalRateLimits, command);
+			CommandRateLimit.releaseAll(senderName, syntax.getRateLimits());
 			throw new UnknownCommandSenderType(syntax.getSenderClass());
 		}
 		
+		if (!acquireCooldown(sender, context, senderName, command, syntaxMetrics, globalRateLimits, syntax.getRateLimits()))
+			return;
+		
 		command.coordinator().coordinateExecution(customSender, syntax, commandContext)
 			.exceptionally((ex) -> {
 				assert ex != null;
 				exceptionHandler.handleException(ex, sender, commandContext);
 				return null;
 			})
-			.whenComplete((executionResult, ex) -> log("(%s) %s has executed the command '%s'", executionResult.name(), wrapper.senderName(sender), commandContext.rawFormat()));
+			.whenComplete((executionResult, ex) -> onExecuted(sender, commandContext, senderName, executionResult));
 		
 	}
 	
 	@Override
+	public @NotNull CooldownStore cooldownStore() {
+		return cooldownStore;
+	}
+	
+	@Override
+	@Deprecated
 	public @Nullable Long getCommandCooldown(String senderName) {
-		return cooldowns.get(senderName);
+		return cooldownStore.lastUse(senderName);
+	}
+	
+	@Override
+	public @NotNull Executor executor() {
+		return executor;
+	}
+	
+	@Override
+	public void setExecutor(@NotNull Executor executor) {
+		this.executor = executor;
+	}
+	
+	@Override
+	public @NotNull Executor syncExecutor() {
+		return syncExecutor;
+	}
+	
+	@Override
+	public void setSyncExecutor(@NotNull Executor syncExecutor) {
+		this.syncExecutor = syncExecutor;
+	}
+	
+	@Override
+	public @NotNull ExecutionMetrics executionMetrics() {
+		return executionMetrics;
+	}
+	
+	@Override
+	public @Nullable ExecutionMetrics executionMetrics(@NotNull String command) {
+		Command<S> registered = registry.get(command);
+		return registered == null ? null : registered.coordinator().metrics();
+	}
+	
+	@Override
+	public @NotNull ExecutionLanes executionLanes() {
+		return executionLanes;
+	}
+	
+	@Override
+	public @NotNull ExecutionWatchdog watchdog() {
+		return watchdog;
+	}
+	
+	@Override
+	public @NotNull CommandAuditLog auditLog() {
+		return auditLog;
+	}
+	
+	/**
+	 * Shuts the manager down once the platform disables the plugin,
+	 * the audit log stops recording, then its pending events are written and its sink is closed,
+	 * then the persistence of the cooldowns, if there's one, flushes its pending writes and is closed
+	 */
+	public void shutdown() {
+		auditLog.close(SHUTDOWN_TIMEOUT);
+		cooldownStore.closePersistence();
+	}
+	
+	@Override
+	public synchronized void globalRateLimit(@NotNull CommandRateLimit rateLimit) {
+		List<CommandRateLimit> rateLimits = new ArrayList<>(this.globalRateLimits);
+		rateLimits.add(rateLimit);
+		this.globalRateLimits = List.copyOf(rateLimits);
+	}
+	
+	@Override
+	public @NotNull List<CommandRateLimit> globalRateLimits() {
+		return globalRateLimits;
+	}
+	
+	@Override
+	public void globalConcurrencyLimit(@Nullable ConcurrencyLimit concurrencyLimit) {
+		this.globalConcurrencyLimit = concurrencyLimit;
+	}
+	
+	@Override
+	public @Nullable ConcurrencyLimit globalConcurrencyLimit() {
+		return globalConcurrencyLimit;
 	}
 	
 	@Override
@@ -255,11 +451,28 @@ public abstract class AbstractCommandManager<B, S> implements CommandManager<B,
 		return command.tree().traverse(commandContext);
 	}
 	
-	private boolean cooldownExpired(@NotNull Long lastTime, @NotNull CommandCooldown cooldown) {
-		return System.currentTimeMillis() > lastTime + cooldown.toMillis();
+	/**
+	 * Runs the default execution of a command or a subcommand on the sync executor,
+	 * recording its outcome and its latency, since it isn't coordinated
+	 *
+	 * @param metrics   the metrics of the command, or of the subcommand
+	 * @param execution the default execution
+	 */
+	private void executeDefault(final @NotNull ExecutionMetrics metrics, final @NotNull Runnable execution) {
+		syncExecutor.execute(() -> {
+			long start = System.nanoTime();
+			try {
+				execution.run();
+			} catch (Throwable ex) {
+				metrics.onPhase(ExecutionMetrics.Phase.EXECUTE, start);
+				metrics.onOutcome(ExecutionMetrics.Outcome.FAILED);
+				throw ex;
+			}
+			metrics.onPhase(ExecutionMetrics.Phase.EXECUTE, start);
+			metrics.onOutcome(ExecutionMetrics.Outcome.SUCCEEDED);
+		});
 	}
 	
-	
 	private boolean checkRequirements(final @NotNull Command<S> command,
 	                                  final @NotNull S sender,
 	                                  final @NotNull Context<S> commandContext) {
@@ -279,6 +492,73 @@ public abstract class AbstractCommandManager<B, S> implements CommandManager<B,
 		return true;
 	}
 	
+	private void onExecuted(final @NotNull S sender,
+	                        final @NotNull CommandContext<S> commandContext,
+	                        final @NotNull String senderName,
+	                        final @Nullable CommandExecutionCoordinator.ExecutionResult executionResult) {
+		
+		//the result is null if the execution failed exceptionally
+		ExecutionMetrics metrics = commandContext.commandUsed().coordinator().metrics().syntax(commandContext.syntaxUsed());
+		metrics.onOutcome(executionResult == null ? ExecutionMetrics.Outcome.FAILED : ExecutionMetrics.Outcome.of(executionResult));
+		if (executionResult == null) return;
+		
+		if (executionResult == CommandExecutionCoordinator.ExecutionResult.REJECTED)
+			captionRegistry.sendCaption(sender, commandContext, CaptionKey.COMMAND_OVERLOADED);
+		
+		//the line is formatted and written off this thread, by the sink of the audit log
+		auditLog.record(commandContext.commandUsed(), senderName, commandContext, executionResult);
+	}
+	
+	/**
+	 * Gives back the permits of the global rate limits and of the rate limits of the command,
+	 * once the sender gets rejected by a check coming after them
+	 */
+	private void releaseRateLimits(final @NotNull String senderName,
+	                               final @NotNull List<CommandRateLimit> globalRateLimits,
+	                               final @NotNull Command<S> command) {
+		CommandRateLimit.releaseAll(senderName, globalRateLimits);
+		CommandRateLimit.releaseAll(senderName, command.rateLimits());
+	}
+	
+	/**
+	 * Puts the sender in the cooldown of the command, it's only called once the execution
+	 * is known to go ahead, if the sender is still in the cooldown, every permit acquired is given back
+	 *
+	 * @param rateLimits the limits acquired along with the global and the command limits
+	 * @return whether the sender was not in the cooldown of the command
+	 */
+	private boolean acquireCooldown(final @NotNull S sender,
+	                                final @NotNull Context<S> context,
+	                                final @NotNull String senderName,
+	                                final @NotNull Command<S> command,
+	                                final @NotNull ExecutionMetrics metrics,
+	                                final @NotNull List<CommandRateLimit> globalRateLimits,
+	                                final @NotNull List<CommandRateLimit> rateLimits) {
+		if (!command.hasCooldown() || cooldownStore.tryAcquire(senderName, command.name(), command.cooldown()) == 0)
+			return true;
+		
+		releaseRateLimits(senderName, globalRateLimits, command);
+		CommandRateLimit.releaseAll(senderName, rateLimits);
+		metrics.onOutcome(ExecutionMetrics.Outcome.COOLDOWN);
+		
+		//send a caption telling the user that he's in a cool down
+		captionRegistry.sendCaption(sender, context, CaptionKey.COMMAND_IN_COOLDOWN);
+		return false;
+	}
+	
+	private boolean acquireRateLimits(final @NotNull S sender,
+	                                  final @NotNull Context<S> commandContext,
+	                                  final @NotNull String senderName,
+	                                  final @NotNull List<CommandRateLimit> rateLimits) {
+		
+		long retryAfter = CommandRateLimit.acquireAll(senderName, rateLimits);
+		if (retryAfter == 0) return true;
+		
+		RateLimitException exception = new RateLimitException(commandContext.commandUsed().name(), retryAfter);
+		captionRegistry.sendCaption(sender, commandContext, exception, CaptionKey.COMMAND_RATE_LIMITED);
+		return false;
+	}
+	
 	@Override
 	public @NotNull SenderWrapper<S> getSenderWrapper() {
 		return wrapper;
@@ -316,35 +596,63 @@ public abstract class AbstractCommandManager<B, S> implements CommandManager<B,
 				}
 			}
 			
-			commands.put(command.name(), command);
+			warnAliasConflicts(command);
+			registry = registry.with(command);
 		}
 		
 	}
 	
+	/**
+	 * Warns about the aliases of the command that are already
+	 * taken by other registered commands, and about the command's name shadowing
+	 * an alias of another command
+	 *
+	 * @param command the command being registered
+	 */
+	private void warnAliasConflicts(@NotNull Command<S> command) {
+		Command<S> owner = registry.get(command.name());
+		if (owner != null && !owner.name().equals(command.name())) {
+			logger.warning(String.format("The command '%s' shadows an alias of the command '%s'", command.name(), owner.name()));
+		}
+		
+		for (String alias : command.info().aliases()) {
+			owner = registry.get(alias);
+			if (owner == null || owner.name().equals(command.name())) continue;
+			
+			logger.warning(String.format("The alias '%s' of the command '%s' is already taken by the command '%s', so it will be ignored", alias, command.name(), owner.name()));
+		}
+	}
+	
 	@Override
 	public void unregisterCommand(String name) {
-		commands.remove(name);
+		synchronized (bootstrap) {
+			registry = registry.without(name);
+		}
 	}
 	
 	@Override
 	public @Nullable Command<S> getCommand(String name) {
-		var cmd = commands.get(name);
-		if (cmd != null) return cmd;
-		
-		for (var otherCmd : getCommands()) {
-			var otherNames = otherCmd.info().aliases();
-			
-			for (String aliases : otherNames)
-				if (name.equalsIgnoreCase(aliases)) return otherCmd;
-			
-		}
-		
-		return null;
+		return registry.get(name);
+	}
+	
+	/**
+	 * Looks up a command in order to dispatch it, unlike {@link #getCommand(String)},
+	 * the lookup is timed as the {@link ExecutionMetrics.Phase#LOOKUP} phase of the dispatch,
+	 * so it must only be used by the platforms resolving the command of a dispatch by its name
+	 *
+	 * @param name the name or an alias of the command
+	 * @return the command, or null if there's no such command
+	 */
+	protected @Nullable Command<S> lookupCommand(String name) {
+		long start = System.nanoTime();
+		Command<S> command = registry.get(name);
+		executionMetrics.onPhase(ExecutionMetrics.Phase.LOOKUP, start);
+		return command;
 	}
 	
 	@Override
 	public @NotNull Collection<Command<S>> getCommands() {
-		return commands.values();
+		return registry.commands();
 	}
 	
 	@Override
@@ -363,37 +671,117 @@ public abstract class AbstractCommandManager<B, S> implements CommandManager<B,
 	}
 	
 	@Override
-	public synchronized @NotNull List<String> suggest(Command<S> command, S sender, String[] args) {
+	public @NotNull List<String> suggest(Command<S> command, S sender, String[] args) {
+		return suggest(command, sender, args, Integer.MAX_VALUE);
+	}
+	
+	@Override
+	public @NotNull List<String> suggest(Command<S> command, S sender, String[] args, int limit) {
 		CommandSuggestionEngine<S> suggestionEngine = command.suggestions();
 		
 		int index = args.length - 1;
-		Set<CommandSuggestionEngine<S>.SyntaxSuggestionContainer> suggestionsContainer = suggestionEngine.getSuggestions(args);
-		if (suggestionsContainer.isEmpty()) return Collections.emptyList();
+		String prefix = index < 0 ? null : args[index];
+		
+		List<CommandSuggestionEngine<S>.SyntaxSuggestionContainer> suggestionsContainer = suggestionEngine.getSuggestions(args);
+		if (suggestionsContainer.isEmpty() || limit <= 0) return Collections.emptyList();
 		
 		List<String> allSuggestions = new ArrayList<>();
+		boolean async = false;
 		for (var container : suggestionsContainer) {
-			var argSuggestions = container.getArgumentSuggestions(index);
-			if (argSuggestions == null) continue;
-			allSuggestions.addAll(argSuggestions);
+			container.collectSuggestions(sender, index, prefix, limit, allSuggestions);
+			
+			//the suggestions that are provided asynchronously are only included once their request has completed,
+			//the request is cached, so the next keystrokes serve its suggestions rather than requesting them again
+			var future = container.requestAsyncSuggestions(sender, index, prefix);
+			if (future != null && future.isDone() && !future.isCompletedExceptionally()) {
+				SuggestionIndex.filter(future.join(), prefix, limit, allSuggestions);
+				async = true;
+			}
 		}
 		
-		return allSuggestions.stream().distinct()
-			.filter((suggestion) -> {
-				SubCommandSyntax<S> subCmd = command.tree().searchForSub(suggestion);
-				if (subCmd == null) return true;
-				
-				var info = subCmd.getInfo();
-				if (info == null) return true;
-				
-				var perm = info.permission();
+		return completeSuggestions(command, sender, allSuggestions, async || suggestionsContainer.size() > 1, limit);
+	}
+	
+	@Override
+	public @NotNull CompletableFuture<List<String>> suggestAsync(Command<S> command, S sender, String[] args) {
+		return suggestAsync(command, sender, args, Integer.MAX_VALUE);
+	}
+	
+	@Override
+	public @NotNull CompletableFuture<List<String>> suggestAsync(Command<S> command, S sender, String[] args, int limit) {
+		CommandSuggestionEngine<S> suggestionEngine = command.suggestions();
+		
+		int index = args.length - 1;
+		String prefix = index < 0 ? null : args[index];
+		
+		List<CommandSuggestionEngine<S>.SyntaxSuggestionContainer> suggestionsContainer = suggestionEngine.getSuggestions(args);
+		if (suggestionsContainer.isEmpty() || limit <= 0) return CompletableFuture.completedFuture(Collections.emptyList());
+		
+		List<String> allSuggestions = new ArrayList<>();
+		List<CompletableFuture<List<String>>> pending = new ArrayList<>();
+		for (var container : suggestionsContainer) {
+			container.collectSuggestions(sender, index, prefix, limit, allSuggestions);
+			
+			var future = container.requestAsyncSuggestions(sender, index, prefix);
+			if (future == null) continue;
+			
+			pending.add(future.exceptionally((ex) -> {
+				logger.warning(String.format("Failed to provide the suggestions of the command '%s' : %s", command.name(), ex.getMessage()));
+				return Collections.emptyList();
+			}));
+		}
+		
+		if (pending.isEmpty())
+			return CompletableFuture.completedFuture(completeSuggestions(command, sender, allSuggestions, suggestionsContainer.size() > 1, limit));
+		
+		return CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]))
+			.thenApply((ignored) -> {
+				for (var future : pending)
+					SuggestionIndex.filter(future.join(), prefix, limit, allSuggestions);
 				
-				return perm == null || perm.isEmpty() || wrapper.hasPermission(sender, perm);
-			})
-			.collect(Collectors.toList());
+				return completeSuggestions(command, sender, allSuggestions, true, limit);
+			});
+	}
+	
+	/**
+	 * Completes the collected suggestions, by removing the duplicates
+	 * and the subcommands that the sender has no permission to use
+	 *
+	 * @param command     the command being used while tab completing
+	 * @param sender      the sender
+	 * @param collected   the collected suggestions
+	 * @param duplicates  whether the collected suggestions may contain duplicates, which
+	 *                    only occurs when more than one source suggests the same argument
+	 * @param limit       the maximum number of suggestions
+	 * @return the suggestions
+	 */
+	private List<String> completeSuggestions(Command<S> command, S sender, List<String> collected,
+	                                         boolean duplicates, int limit) {
+		Collection<String> candidates = duplicates ? new LinkedHashSet<>(collected) : collected;
+		
+		List<String> suggestions = new ArrayList<>(Math.min(candidates.size(), limit));
+		for (String suggestion : candidates) {
+			if (suggestions.size() >= limit) break;
+			if (isSuggestionPermitted(command, sender, suggestion)) suggestions.add(suggestion);
+		}
+		
+		return suggestions;
+	}
+	
+	private boolean isSuggestionPermitted(Command<S> command, S sender, String suggestion) {
+		SubCommandSyntax<S> subCmd = command.tree().searchForSub(suggestion);
+		if (subCmd == null) return true;
+		
+		var info = subCmd.getInfo();
+		if (info == null) return true;
+		
+		var perm = info.permission();
+		
+		return perm == null || perm.isEmpty() || wrapper.hasPermission(sender, perm);
 	}
 	
 	@Override
-	public synchronized @NotNull List<CommandSyntax<S>> findAmbiguity(@NotNull Command<S> command) {
+	public @NotNull List<CommandSyntax<S>> findAmbiguity(@NotNull Command<S> command) {
 		AmbiguityChecker<S> ambiguityChecker = AmbiguityChecker.of(command);
 		return ambiguityChecker.findAmbiguity();
 	}
@@ -1,6 +1,5 @@
 package io.github.mqzn.commands.base.manager;
 
-import io.github.mqzn.commands.arguments.ArgumentLiteral;
 import io.github.mqzn.commands.base.Command;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
 
@@ -21,13 +20,7 @@ public class AmbiguityChecker<S> {
 	}
 	
 	public static <S> boolean hasLiteralArgs(CommandSyntax<S> syntax) {
-		if (syntax.isSubCommand()) return true;
-		for (Object arg : syntax.getArguments()) {
-			if (arg instanceof ArgumentLiteral) {
-				return true;
-			}
-		}
-		return false;
+		return syntax.shape().hasLiterals();
 	}
 	
 	public List<CommandSyntax<S>> findAmbiguity() {
@@ -4,11 +4,30 @@ import io.github.mqzn.commands.arguments.ArgumentNumber;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A processor that provides the suggestions of the range of a numeric argument,
+ * the values of the range are never materialized, they're generated lazily
+ * during TAB-completion instead, only the values that start with the typed prefix are generated
+ * and in ascending order of their length, until reaching the limit of this processor.
+ *
+ * @author Mqzen
+ * @see ArgumentNumber#suggestRange()
+ */
 public final class ArgumentNumberSuggestionProcessor {
 	
+	public static final int DEFAULT_LIMIT = 50;
+	
+	private static final int MAX_DIGITS = 19;
+	
 	@NotNull
 	private final CommandManager<?, ?> manager;
 	
+	private volatile int limit = DEFAULT_LIMIT;
+	
 	private ArgumentNumberSuggestionProcessor(@NotNull CommandManager<?, ?> manager) {
 		this.manager = manager;
 	}
@@ -17,12 +36,8 @@ public final class ArgumentNumberSuggestionProcessor {
 		return new ArgumentNumberSuggestionProcessor(manager);
 	}
 	
-	@SuppressWarnings("unchecked")
 	public <N extends Number> void provide(@NotNull ArgumentNumber<N> argumentNumber) {
 		
-		ArgumentNumberComparator.ArgumentComparator<N> comparator
-			= manager.typeRegistry().getComparator((Class<? extends ArgumentNumber<N>>) argumentNumber.getClass());
-		
 		@Nullable N end = argumentNumber.getMax();
 		@Nullable N start = argumentNumber.getMin();
 		
@@ -36,12 +51,183 @@ public final class ArgumentNumberSuggestionProcessor {
 			return;
 		}
 		
-		while (comparator.lessThanOrEqual(start, end)) {
-			argumentNumber.suggest(start);
-			start = argumentNumber.increment(start);
+		argumentNumber.suggestRange();
+	}
+	
+	/**
+	 * @return the maximum number of suggestions generated from the range of an argument
+	 */
+	public int limit() {
+		return limit;
+	}
+	
+	/**
+	 * Sets the maximum number of suggestions generated from the range of an argument
+	 *
+	 * @param limit the new limit
+	 */
+	public void limit(int limit) {
+		if (limit < 0) throw new IllegalArgumentException("The limit of the suggestions cannot be negative");
+		this.limit = limit;
+	}
+	
+	/**
+	 * Generates the whole numbers within the range of the argument
+	 * that start with the given prefix, it's assumed that the argument has both a minimum and a maximum
+	 *
+	 * @param argumentNumber the argument
+	 * @param prefix         the prefix typed by the sender
+	 * @param <N>            the type of the number
+	 * @return the suggestions, which are at most the limit of this processor
+	 */
+	public <N extends Number> @NotNull List<String> suggest(@NotNull ArgumentNumber<N> argumentNumber,
+	                                                          @Nullable String prefix) {
+		N min = argumentNumber.getMin(), max = argumentNumber.getMax();
+		if (min == null || max == null || limit == 0) return Collections.emptyList();
+		
+		long low, high;
+		if (argumentNumber.isFloatingPoint()) {
+			double floor = Math.ceil(min.doubleValue()), ceil = Math.floor(max.doubleValue());
+			if (Double.isNaN(floor) || Double.isNaN(ceil)) return Collections.emptyList();
+			
+			low = (long) floor;
+			high = (long) ceil;
+		} else {
+			low = min.longValue();
+			high = max.longValue();
+		}
+		
+		if (low > high) return Collections.emptyList();
+		
+		String typed = prefix == null ? "" : prefix;
+		RangeCollector<N> collector = new RangeCollector<>(argumentNumber, typed, limit);
+		
+		boolean negative = typed.startsWith("-");
+		int digitsEnd = negative ? 1 : 0;
+		while (digitsEnd < typed.length() && Character.isDigit(typed.charAt(digitsEnd))) digitsEnd++;
+		
+		String digits = typed.substring(negative ? 1 : 0, digitsEnd);
+		
+		if (digitsEnd != typed.length()) {
+			//only a floating point number can be continued after its whole part (e.g: "5." of "5.0")
+			if (!argumentNumber.isFloatingPoint() || digits.isEmpty())
+				return Collections.emptyList();
+			
+			long magnitude = magnitude(digits);
+			if (magnitude == -1) return Collections.emptyList();
+			
+			long value = negative ? -magnitude : magnitude;
+			if (value >= low && value <= high) collector.accept(value);
+			return collector.suggestions;
+		}
+		
+		if (typed.isEmpty()) {
+			for (long value = low; !collector.isFull(); value++) {
+				collector.accept(value);
+				if (value == high) break;
+			}
+			return collector.suggestions;
+		}
+		
+		if (negative) {
+			if (low >= 0) return Collections.emptyList();
+			
+			//the magnitudes of the negative values of the range
+			long lowest = high < 0 ? -high : 1;
+			long highest = low == Long.MIN_VALUE ? Long.MAX_VALUE : -low;
+			expand(digits, lowest, highest, collector, true);
+		} else {
+			if (high < 0) return Collections.emptyList();
+			expand(digits, Math.max(low, 0), high, collector, false);
 		}
 		
+		return collector.suggestions;
 	}
 	
+	/**
+	 * Generates the magnitudes within the range that start with the digits,
+	 * by expanding the digits with every possible suffix of increasing lengths
+	 *
+	 * @param digits    the digits of the prefix
+	 * @param lowest    the lowest magnitude of the range
+	 * @param highest   the highest magnitude of the range
+	 * @param collector the collector of the suggestions
+	 * @param negative  whether the magnitudes are negated
+	 */
+	private static void expand(String digits, long lowest, long highest,
+	                           RangeCollector<?> collector, boolean negative) {
+		
+		if (digits.isEmpty()) {
+			for (long magnitude = lowest; !collector.isFull(); magnitude++) {
+				collector.accept(negative ? -magnitude : magnitude);
+				if (magnitude == highest) break;
+			}
+			return;
+		}
+		
+		long base = magnitude(digits);
+		if (base == -1) return;
+		if (base == 0) {
+			//a leading zero is only a prefix of zero itself
+			if (digits.length() == 1 && lowest == 0) collector.accept(0);
+			return;
+		}
+		
+		long span = 1;
+		for (int length = digits.length(); length <= MAX_DIGITS && !collector.isFull(); length++) {
+			if (base > Long.MAX_VALUE / span) return;
+			
+			long start = base * span;
+			long end = start > Long.MAX_VALUE - (span - 1) ? Long.MAX_VALUE : start + (span - 1);
+			
+			if (start > highest) return;
+			
+			for (long magnitude = Math.max(start, lowest); magnitude <= end && magnitude <= highest && !collector.isFull(); magnitude++) {
+				collector.accept(negative ? -magnitude : magnitude);
+				if (magnitude == Long.MAX_VALUE) return;
+			}
+			
+			if (span > Long.MAX_VALUE / 10) return;
+			span *= 10;
+		}
+	}
+	
+	/**
+	 * @param digits the digits of a prefix
+	 * @return the magnitude of the digits, or -1 if it's beyond the range of a long
+	 */
+	private static long magnitude(String digits) {
+		if (digits.length() > MAX_DIGITS) return -1;
+		try {
+			return Long.parseLong(digits);
+		} catch (NumberFormatException ex) {
+			return -1;
+		}
+	}
+	
+	private static final class RangeCollector<N extends Number> {
+		
+		private final ArgumentNumber<N> argument;
+		private final String prefix;
+		private final int limit;
+		private final List<String> suggestions = new ArrayList<>();
+		
+		private RangeCollector(ArgumentNumber<N> argument, String prefix, int limit) {
+			this.argument = argument;
+			this.prefix = prefix;
+			this.limit = limit;
+		}
+		
+		private boolean isFull() {
+			return suggestions.size() >= limit;
+		}
+		
+		private void accept(long value) {
+			long primitive = argument.isFloatingPoint() ? Double.doubleToRawLongBits(value) : value;
+			String suggestion = argument.toString(argument.fromPrimitive(primitive));
+			if (suggestion.startsWith(prefix)) suggestions.add(suggestion);
+		}
+		
+	}
 	
 }
@@ -1,23 +1,47 @@
 package io.github.mqzn.commands.base.manager;
 
 import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.concurrency.ConcurrencyLimit;
 import io.github.mqzn.commands.base.context.CommandContext;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledFuture;
 
 public sealed abstract class CommandExecutionCoordinator<S> {
 	
+	private static final Executor DIRECT_EXECUTOR = Runnable::run;
+	
 	@NotNull
 	protected final Command<S> command;
 	
+	@NotNull
+	protected final ExecutionMetrics metrics;
+	
 	private CommandExecutionCoordinator(@NotNull Command<S> manager) {
 		this.command = manager;
+		this.metrics = ExecutionMetrics.create(manager.manager().executionMetrics());
 	}
 	
 	static <S> CommandExecutionCoordinator<S> async(@NotNull Command<S> manager) {
-		return new AsyncCommandCoordinator<>(manager);
+		return new AsyncCommandCoordinator<>(manager, Type.ASYNC);
+	}
+	
+	static <S> CommandExecutionCoordinator<S> virtual(@NotNull Command<S> manager) {
+		return new AsyncCommandCoordinator<>(manager, Type.VIRTUAL);
+	}
+	
+	static <S> CommandExecutionCoordinator<S> serial(@NotNull Command<S> manager) {
+		return new AsyncCommandCoordinator<>(manager, Type.SERIAL);
 	}
 	
 	static <S> CommandExecutionCoordinator<S> sync(@NotNull Command<S> manager) {
@@ -25,57 +49,253 @@ public sealed abstract class CommandExecutionCoordinator<S> {
 	}
 	
 	public static <S> CommandExecutionCoordinator<S> fromType(@NotNull Command<S> manager, Type type) {
-		return type == Type.SYNC ? sync(manager) : async(manager);
+		return switch (type) {
+			case SYNC -> sync(manager);
+			case ASYNC -> async(manager);
+			case VIRTUAL -> virtual(manager);
+			case SERIAL -> serial(manager);
+		};
+	}
+	
+	/**
+	 * The executor used by default for the asynchronous commands, the common fork-join pool,
+	 * commands blocking on I/O should be given an executor of their own
+	 *
+	 * @return the default executor
+	 * @see CommandManager#setExecutor(Executor)
+	 */
+	public static @NotNull Executor defaultExecutor() {
+		return ForkJoinPool.commonPool();
+	}
+	
+	/**
+	 * The executor running the tasks directly on the calling thread,
+	 * it's the default executor of the {@link Type#SYNC} executions
+	 *
+	 * @return the direct executor
+	 */
+	public static @NotNull Executor directExecutor() {
+		return DIRECT_EXECUTOR;
+	}
+	
+	/**
+	 * Fetches the executor starting a virtual thread per execution,
+	 * virtual threads are only available on Java 21 and above
+	 *
+	 * @return the executor, or null if virtual threads are not available
+	 */
+	public static @Nullable Executor virtualExecutor() {
+		return VirtualExecutor.EXECUTOR;
 	}
 	
 	public Command<S> command() {
 		return command;
 	}
 	
+	/**
+	 * Fetches the metrics of the executions of the command
+	 *
+	 * @return the metrics of this coordinator
+	 */
+	public @NotNull ExecutionMetrics metrics() {
+		return metrics;
+	}
+	
 	public abstract Type type();
 	
 	public abstract <C> CompletableFuture<ExecutionResult> coordinateExecution(@NotNull C sender,
 	                                                                           @NotNull CommandSyntax<S> syntax,
 	                                                                           @NotNull CommandContext<S> context);
 	
+	/**
+	 * Hands the execution off to the executor, once a permit of the concurrency limit
+	 * of the command and of the global concurrency limit is granted,
+	 * the permits are held until the execution completes, an execution
+	 * the executor rejects is reported as rejected, like one a limit rejects
+	 *
+	 * @return the result of the execution, completed by the executor
+	 */
+	protected <C> CompletableFuture<ExecutionResult> submit(@NotNull Executor executor,
+	                                                        @NotNull C sender,
+	                                                        @NotNull CommandSyntax<S> syntax,
+	                                                        @NotNull CommandContext<S> context) {
+		final ExecutionMetrics metrics = this.metrics.syntax(syntax);
+		metrics.onQueued();
+		CompletableFuture<ExecutionResult> future = track(new CompletableFuture<>(), context);
+		List<ConcurrencyLimit> limits = concurrencyLimits();
+		
+		ConcurrencyLimit.acquireAll(limits, executor, () -> {
+			try {
+				future.complete(execute(sender, syntax, context, true));
+			} catch (Throwable ex) {
+				//an error still completes the result, so that it's handled and recorded before it propagates
+				future.completeExceptionally(ex);
+				throw ex;
+			} finally {
+				ConcurrencyLimit.releaseAll(limits);
+			}
+		}, () -> {
+			metrics.onRejected();
+			future.complete(ExecutionResult.REJECTED);
+		});
+		return future;
+	}
+	
+	/**
+	 * The limit of the command comes first, so that the executions
+	 * queued by a command that's overloaded don't hold the permits of the global limit
+	 *
+	 * @return the concurrency limits an execution of the command must acquire
+	 */
+	private List<ConcurrencyLimit> concurrencyLimits() {
+		ConcurrencyLimit limit = command.concurrencyLimit();
+		ConcurrencyLimit global = command.manager().globalConcurrencyLimit();
+		
+		if (global == null) return limit == null ? List.of() : List.of(limit);
+		return limit == null ? List.of(global) : List.of(limit, global);
+	}
+	
+	/**
+	 * Binds the result of an execution to its context, the context gets cancelled
+	 * when the result is cancelled, or when the timeout of the command elapses first,
+	 * in which case the result completes as {@link ExecutionResult#TIMED_OUT}
+	 *
+	 * @param future  the result of the execution, which must be tracked before the execution starts
+	 * @param context the context of the execution
+	 * @return the same result
+	 */
+	protected CompletableFuture<ExecutionResult> track(@NotNull CompletableFuture<ExecutionResult> future,
+	                                                   @NotNull CommandContext<S> context) {
+		Duration timeout = command.timeout();
+		ScheduledFuture<?> timer = timeout == null ? null : command.manager().watchdog().schedule(() -> {
+			if (future.complete(ExecutionResult.TIMED_OUT)) context.cancel();
+		}, timeout);
+		
+		future.whenComplete((result, ex) -> {
+			if (timer != null) timer.cancel(false);
+			if (future.isCancelled()) context.cancel();
+		});
+		return future;
+	}
+	
+	protected <C> ExecutionResult execute(@NotNull C sender,
+	                                      @NotNull CommandSyntax<S> syntax,
+	                                      @NotNull CommandContext<S> context,
+	                                      boolean queued) {
+		final ExecutionMetrics metrics = this.metrics.syntax(syntax);
+		metrics.onStarted(queued);
+		ExecutionResult result = ExecutionResult.FAILED;
+		long start = System.nanoTime();
+		
+		//the sync executions run on the main thread of the platform, so they're watched for stalls
+		ExecutionWatchdog.Watch watch = type() == Type.SYNC ? command.manager().watchdog().watch(command, context) : null;
+		try {
+			//an execution timing out or cancelled while it was queued doesn't run at all
+			if (!context.isCancelled()) syntax.execute(sender, context);
+			result = context.isCancelled() ? ExecutionResult.CANCELLED : ExecutionResult.SUCCESS;
+		} catch (CancellationException ex) {
+			result = ExecutionResult.CANCELLED;
+		} catch (Exception ex) {
+			ex.printStackTrace();
+		} finally {
+			if (watch != null) watch.close();
+			metrics.onPhase(ExecutionMetrics.Phase.EXECUTE, start);
+			metrics.onCompleted(result == ExecutionResult.SUCCESS);
+		}
+		return result;
+	}
+	
 	public enum ExecutionResult {
 		SUCCESS,
-		FAILED
+		FAILED,
+		
+		/**
+		 * The timeout of the command elapsed before the execution completed
+		 *
+		 * @see Command#timeout()
+		 */
+		TIMED_OUT,
+		
+		/**
+		 * The context of the execution was cancelled
+		 *
+		 * @see io.github.mqzn.commands.base.context.Context#cancel()
+		 */
+		CANCELLED,
+		
+		/**
+		 * The execution was rejected, or dropped from the queue, by a concurrency limit
+		 *
+		 * @see ConcurrencyLimit
+		 */
+		REJECTED
 	}
 	
 	
 	public enum Type {
 		ASYNC,
-		SYNC
+		SYNC,
+		
+		/**
+		 * Runs every execution on a virtual thread of its own,
+		 * falls back to {@link #ASYNC} where virtual threads are not available
+		 */
+		VIRTUAL,
+		
+		/**
+		 * Runs the executions of the same sender one after another, in the order
+		 * they were dispatched, while the executions of different senders run in parallel
+		 *
+		 * @see ExecutionLanes
+		 */
+		SERIAL
 	}
 	
 	final static class AsyncCommandCoordinator<S> extends CommandExecutionCoordinator<S> {
 		
-		private AsyncCommandCoordinator(@NotNull Command<S> manager) {
+		@NotNull
+		private final Type type;
+		
+		private AsyncCommandCoordinator(@NotNull Command<S> manager, @NotNull Type type) {
 			super(manager);
+			this.type = type;
 		}
 		
 		@Override
 		public Type type() {
-			return Type.ASYNC;
+			return type;
 		}
 		
 		@Override
 		public <C> CompletableFuture<ExecutionResult> coordinateExecution(@NotNull C sender,
 		                                                                  @NotNull CommandSyntax<S> syntax,
 		                                                                  @NotNull CommandContext<S> context) {
-			return CompletableFuture.supplyAsync(() -> {
-				try {
-					syntax.execute(sender, context);
-					return ExecutionResult.SUCCESS;
-				} catch (Exception ex) {
-					ex.printStackTrace();
-					return ExecutionResult.FAILED;
-				}
+			if (type == Type.SERIAL) {
+				CommandManager<?, S> manager = command.manager();
+				String senderName = manager.getSenderWrapper().senderName(context.sender());
 				
-			});
+				return submit((task) -> manager.executionLanes().execute(senderName, executor(), task), sender, syntax, context);
+			}
 			
+			return submit(executor(), sender, syntax, context);
 		}
+		
+		/**
+		 * Resolves the executor on every execution, so that
+		 * changing the executor of the manager affects the registered commands too
+		 *
+		 * @return the executor of the command, otherwise the executor of its manager
+		 */
+		private @NotNull Executor executor() {
+			if (type == Type.VIRTUAL) {
+				Executor virtual = VirtualExecutor.EXECUTOR;
+				if (virtual != null) return virtual;
+			}
+			
+			Executor executor = command.executor();
+			return executor != null ? executor : command.manager().executor();
+		}
+		
 	}
 	
 	
@@ -93,17 +313,31 @@ public sealed abstract class CommandExecutionCoordinator<S> {
 		public <C> CompletableFuture<ExecutionResult> coordinateExecution(@NotNull C sender,
 		                                                                  @NotNull CommandSyntax<S> syntax,
 		                                                                  @NotNull CommandContext<S> context) {
+			//the direct executor runs the execution right away, unless a concurrency limit queues it
+			return submit(command.manager().syncExecutor(), sender, syntax, context);
+		}
+		
+		
+	}
+	
+	private static final class VirtualExecutor {
+		
+		@Nullable
+		private static final Executor EXECUTOR = lookup();
+		
+		/**
+		 * Looks up the virtual threads reflectively, so that
+		 * the library still compiles and runs on Java 17
+		 */
+		private static @Nullable Executor lookup() {
 			try {
-				syntax.execute(sender, context);
-				return CompletableFuture.completedFuture(ExecutionResult.SUCCESS);
-			} catch (Exception ex) {
-				ex.printStackTrace();
-				return CompletableFuture.completedFuture(ExecutionResult.FAILED);
+				Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+				return (Executor) factory.invoke(null);
+			} catch (ReflectiveOperationException | RuntimeException ex) {
+				return null;
 			}
-			
 		}
 		
-		
 	}
 	
 	
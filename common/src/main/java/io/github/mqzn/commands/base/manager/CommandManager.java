@@ -3,10 +3,15 @@ package io.github.mqzn.commands.base.manager;
 import io.github.mqzn.commands.base.Command;
 import io.github.mqzn.commands.base.SenderWrapper;
 import io.github.mqzn.commands.base.SuggestionProvider;
+import io.github.mqzn.commands.base.audit.CommandAuditLog;
 import io.github.mqzn.commands.base.caption.CaptionKey;
 import io.github.mqzn.commands.base.caption.CaptionRegistry;
+import io.github.mqzn.commands.base.concurrency.ConcurrencyLimit;
+import io.github.mqzn.commands.base.context.CommandInput;
 import io.github.mqzn.commands.base.context.Context;
 import io.github.mqzn.commands.base.context.DelegateCommandContext;
+import io.github.mqzn.commands.base.cooldown.CooldownStore;
+import io.github.mqzn.commands.base.ratelimit.CommandRateLimit;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
 import io.github.mqzn.commands.base.syntax.SubCommandSyntax;
 import io.github.mqzn.commands.base.syntax.tree.CommandTree;
@@ -20,6 +25,8 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface CommandManager<B, S> {
 	
@@ -54,6 +61,22 @@ public interface CommandManager<B, S> {
 		@NotNull String[] args
 	);
 	
+	/**
+	 * Executes a command from its input, which lets the platforms
+	 * handing over the whole command line skip splitting it
+	 *
+	 * @param command the command to execute
+	 * @param sender  the command sender
+	 * @param input   the input of the command, either split or the original line
+	 * @param <C>     the type of the custom sender
+	 * @see CommandInput#of(String, int)
+	 */
+	<C> void executeCommand(
+		@NotNull Command<S> command,
+		@NotNull S sender,
+		@NotNull CommandInput input
+	);
+	
 	/**
 	 * The wrapper for sending messages
 	 * across different platforms
@@ -183,6 +206,44 @@ public interface CommandManager<B, S> {
 	 */
 	@NotNull List<String> suggest(Command<S> command, S sender, String[] args);
 	
+	/**
+	 * Suggests the suggestions that start with the last arg being typed,
+	 * in correspond to the args being used while tab completing
+	 *
+	 * @param command the command being used while tab completing
+	 * @param sender  the sender
+	 * @param args    the args
+	 * @param limit   the maximum number of suggestions
+	 * @return the suggestions
+	 */
+	@NotNull List<String> suggest(Command<S> command, S sender, String[] args, int limit);
+	
+	/**
+	 * Suggests the suggestions in correspond to the args being used
+	 * while tab completing, including the suggestions that are provided asynchronously
+	 *
+	 * @param command the command being used while tab completing
+	 * @param sender  the sender
+	 * @param args    the args
+	 * @return the future of the suggestions
+	 * @see io.github.mqzn.commands.base.AsyncSuggestionProvider
+	 */
+	@NotNull CompletableFuture<List<String>> suggestAsync(Command<S> command, S sender, String[] args);
+	
+	/**
+	 * Suggests the suggestions that start with the last arg being typed,
+	 * in correspond to the args being used while tab completing,
+	 * including the suggestions that are provided asynchronously
+	 *
+	 * @param command the command being used while tab completing
+	 * @param sender  the sender
+	 * @param args    the args
+	 * @param limit   the maximum number of suggestions
+	 * @return the future of the suggestions
+	 * @see io.github.mqzn.commands.base.AsyncSuggestionProvider
+	 */
+	@NotNull CompletableFuture<List<String>> suggestAsync(Command<S> command, S sender, String[] args, int limit);
+	
 	
 	/**
 	 * Numeric argument suggestion processor
@@ -199,8 +260,140 @@ public interface CommandManager<B, S> {
 	 */
 	@NotNull SuggestionProviderRegistry suggestionProviderRegistry();
 	
+	/**
+	 * The cache of the suggestions of dynamic arguments
+	 *
+	 * @return the cache of the suggestions of dynamic arguments
+	 * @see SuggestionCache
+	 */
+	@NotNull SuggestionCache<S> suggestionCache();
+	
+	/**
+	 * The store of the cooldowns of the senders per command
+	 *
+	 * @return the store of the cooldowns
+	 * @see CooldownStore
+	 */
+	@NotNull CooldownStore cooldownStore();
+	
+	/**
+	 * Fetches the last time the sender used any command with a cooldown
+	 *
+	 * @param senderName the name of the sender
+	 * @return the time in milliseconds, or null if the sender is not in a cooldown
+	 * @deprecated cooldowns are held per command, use {@link CooldownStore#lastUse(String, String)} instead
+	 */
+	@Deprecated
 	@Nullable Long getCommandCooldown(String senderName);
 	
+	/**
+	 * Fetches the executor running the asynchronous executions
+	 * of the commands that don't have an executor of their own
+	 *
+	 * @return the executor of this manager
+	 * @see CommandExecutionCoordinator#defaultExecutor()
+	 */
+	@NotNull Executor executor();
+	
+	/**
+	 * Sets the executor running the asynchronous executions
+	 * of the commands that don't have an executor of their own
+	 *
+	 * @param executor the executor
+	 */
+	void setExecutor(@NotNull Executor executor);
+	
+	/**
+	 * Fetches the executor running the {@link CommandExecutionCoordinator.Type#SYNC} executions,
+	 * and the default executions of the commands
+	 *
+	 * @return the executor, the direct executor running them on the dispatching thread by default
+	 * @see CommandExecutionCoordinator#directExecutor()
+	 */
+	@NotNull Executor syncExecutor();
+	
+	/**
+	 * Sets the executor running the {@link CommandExecutionCoordinator.Type#SYNC} executions,
+	 * and the default executions of the commands, usually the main thread of the platform
+	 *
+	 * @param executor the executor
+	 */
+	void setSyncExecutor(@NotNull Executor executor);
+	
+	/**
+	 * Fetches the metrics of the executions of every command of this manager
+	 *
+	 * @return the metrics of the executions
+	 * @see CommandExecutionCoordinator#metrics()
+	 */
+	@NotNull ExecutionMetrics executionMetrics();
+	
+	/**
+	 * Fetches the metrics of the executions of a registered command,
+	 * the metrics of its syntaxes are available through {@link ExecutionMetrics#syntax(CommandSyntax)}
+	 *
+	 * @param command the name or an alias of the command
+	 * @return the metrics of the command, or null if it's not registered
+	 */
+	@Nullable ExecutionMetrics executionMetrics(@NotNull String command);
+	
+	/**
+	 * Fetches the lanes running the executions of the commands
+	 * coordinated by {@link CommandExecutionCoordinator.Type#SERIAL} in order per sender
+	 *
+	 * @return the execution lanes of the senders
+	 */
+	@NotNull ExecutionLanes executionLanes();
+	
+	/**
+	 * Fetches the watchdog logging the sync executions that run for too long,
+	 * it also fires the timeouts of the commands
+	 *
+	 * @return the execution watchdog
+	 * @see Command#timeout()
+	 */
+	@NotNull ExecutionWatchdog watchdog();
+	
+	/**
+	 * Fetches the audit log recording the completed executions of the commands,
+	 * by default every execution is written to the logger of the manager
+	 *
+	 * @return the audit log of the executions
+	 */
+	@NotNull CommandAuditLog auditLog();
+	
+	/**
+	 * Limits the rate of every command of this manager, a permit
+	 * of every global limit is acquired before the limits of the command itself
+	 *
+	 * @param rateLimit the rate limit
+	 * @see CommandRateLimit
+	 */
+	void globalRateLimit(@NotNull CommandRateLimit rateLimit);
+	
+	/**
+	 * The rate limits of every command of this manager
+	 *
+	 * @return the global rate limits
+	 */
+	@NotNull List<CommandRateLimit> globalRateLimits();
+	
+	/**
+	 * Bounds the executions of every command of this manager in flight at once,
+	 * a permit of the global limit is acquired after the limit of the command itself
+	 *
+	 * @param concurrencyLimit the global concurrency limit, or null to remove it
+	 * @see Command#concurrencyLimit()
+	 */
+	void globalConcurrencyLimit(@Nullable ConcurrencyLimit concurrencyLimit);
+	
+	/**
+	 * The concurrency limit of every command of this manager
+	 *
+	 * @return the global concurrency limit, or null if there's none
+	 */
+	@Nullable ConcurrencyLimit globalConcurrencyLimit();
+	
 	void log(String msg, Object... args);
 	
 	
@@ -0,0 +1,104 @@
+package io.github.mqzn.commands.base.manager;
+
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.utilities.ArgumentSyntaxUtility;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the commands registered in a manager.
+ * Registering or unregistering a command never modifies a snapshot,
+ * it copies it into a new one instead, which the manager publishes
+ * afterwards, so that reading the registered commands never requires locking.
+ * <p>
+ * Each snapshot also holds an index of the case-folded names and aliases
+ * of its commands, names always take precedence over aliases, while
+ * an alias that is claimed by more than one command belongs to the command
+ * that was registered first.
+ *
+ * @param <S> the sender type
+ * @see AbstractCommandManager
+ */
+final class CommandRegistry<S> {
+	
+	@NotNull
+	private final Map<String, Command<S>> commands;
+	
+	@NotNull
+	private final Map<String, Command<S>> index;
+	
+	private CommandRegistry(@NotNull Map<String, Command<S>> commands) {
+		this.commands = commands;
+		this.index = indexOf(commands);
+	}
+	
+	static <S> CommandRegistry<S> empty() {
+		return new CommandRegistry<>(Collections.emptyMap());
+	}
+	
+	private static <S> Map<String, Command<S>> indexOf(Map<String, Command<S>> commands) {
+		Map<String, Command<S>> index = new HashMap<>();
+		
+		for (Command<S> command : commands.values())
+			index.put(ArgumentSyntaxUtility.foldCase(command.name()), command);
+		
+		for (Command<S> command : commands.values()) {
+			for (String alias : command.info().aliases())
+				index.putIfAbsent(ArgumentSyntaxUtility.foldCase(alias), command);
+		}
+		
+		return Collections.unmodifiableMap(index);
+	}
+	
+	/**
+	 * Copies this snapshot into a new one
+	 * including the command
+	 *
+	 * @param command the command to include
+	 * @return the new snapshot
+	 */
+	@NotNull CommandRegistry<S> with(@NotNull Command<S> command) {
+		Map<String, Command<S>> copy = new LinkedHashMap<>(commands);
+		copy.put(command.name(), command);
+		return new CommandRegistry<>(Collections.unmodifiableMap(copy));
+	}
+	
+	/**
+	 * Copies this snapshot into a new one
+	 * excluding the command of the given name
+	 *
+	 * @param name the name of the command to exclude
+	 * @return the new snapshot
+	 */
+	@NotNull CommandRegistry<S> without(@NotNull String name) {
+		if (!commands.containsKey(name)) return this;
+		
+		Map<String, Command<S>> copy = new LinkedHashMap<>(commands);
+		copy.remove(name);
+		return new CommandRegistry<>(Collections.unmodifiableMap(copy));
+	}
+	
+	/**
+	 * Fetches the command by its exact name, or by one of
+	 * its names or aliases regardless of their case
+	 *
+	 * @param name the name or alias of the command
+	 * @return the command, or null if there's no command of such name or alias
+	 */
+	@Nullable Command<S> get(@NotNull String name) {
+		Command<S> command = commands.get(name);
+		if (command != null) return command;
+		return index.get(ArgumentSyntaxUtility.foldCase(name));
+	}
+	
+	@NotNull Collection<Command<S>> commands() {
+		return commands.values();
+	}
+	
+}
@@ -1,22 +1,23 @@
 package io.github.mqzn.commands.base.manager;
 
 import io.github.mqzn.commands.arguments.Argument;
-import io.github.mqzn.commands.arguments.ArgumentLiteral;
+import io.github.mqzn.commands.arguments.ArgumentNumber;
+import io.github.mqzn.commands.base.AsyncSuggestionProvider;
 import io.github.mqzn.commands.base.Command;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
-import io.github.mqzn.commands.base.syntax.SubCommandSyntax;
+import io.github.mqzn.commands.base.syntax.SyntaxShape;
 import io.github.mqzn.commands.utilities.ArgumentSyntaxUtility;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.*;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public final class CommandSuggestionEngine<S> {
 	
 	@NotNull
-	private final Set<SyntaxSuggestionContainer> suggestionContainers = new HashSet<>();
+	private final List<SyntaxSuggestionContainer> suggestionContainers = new ArrayList<>();
 	
 	@NotNull
 	private final Command<S> command;
@@ -35,11 +36,9 @@ public final class CommandSuggestionEngine<S> {
 		
 		Argument<T> argument = (Argument<T>) arg;
 		
-		var list = new ArrayList<>(argument.suggestions().stream()
-			.map(argument::toString)
-			.toList());
-		
-		if (list.isEmpty()) list.add(ArgumentSyntaxUtility.formatArg(argument));
+		List<String> list = new ArrayList<>(argument.suggestions().size());
+		for (T suggestion : argument.suggestions())
+			list.add(argument.toString(suggestion));
 		
 		return list;
 	}
@@ -51,150 +50,169 @@ public final class CommandSuggestionEngine<S> {
 		
 	}
 	
-	@NotNull Set<@NotNull SyntaxSuggestionContainer> getSuggestions(@NotNull String[] args) {
+	@NotNull List<@NotNull SyntaxSuggestionContainer> getSuggestions(@NotNull String[] args) {
 		
-		return suggestionContainers.stream()
-			.filter((container) -> container.argSequenceMatches(args))
-			.collect(Collectors.toSet());
+		List<SyntaxSuggestionContainer> containers = new ArrayList<>();
+		for (SyntaxSuggestionContainer container : suggestionContainers) {
+			if (container.argSequenceMatches(args)) containers.add(container);
+		}
+		return containers;
 	}
 	
 	final class SyntaxSuggestionContainer {
 		
-		private final CommandSyntax<S> syntax;
-		
+		/**
+		 * The shape of the arguments of the syntax, which are
+		 * the parental arguments in case of a subcommand
+		 */
 		@NotNull
-		private final Map<Integer, List<String>> suggestions = new HashMap<>();
+		private final SyntaxShape shape;
 		
+		/**
+		 * The index of the suggestions of each argument, by its position
+		 */
 		@NotNull
-		private final Set<Integer> dynamicArgs = new HashSet<>();
+		private final SuggestionIndex[] suggestions;
+		
+		private final boolean[] dynamicArgs;
 		
+		/**
+		 * The numeric arguments whose ranges are suggested,
+		 * their suggestions are generated lazily from the typed prefix
+		 */
+		private final ArgumentNumber<?>[] rangeArgs;
+		
+		/**
+		 * The asynchronous provider of each argument, by its position
+		 */
 		@NotNull
-		private final SyntaxSuggestionContainerKey provider;
+		private final List<@Nullable AsyncSuggestionProvider<S>> asyncProviders;
 		
 		SyntaxSuggestionContainer(@NotNull CommandSyntax<S> syntax) {
-			this(syntax, new SyntaxSuggestionContainerKey(syntax));
-		}
-		
-		SyntaxSuggestionContainer(@NotNull CommandSyntax<S> syntax,
-		                          @NotNull SyntaxSuggestionContainerKey provider) {
-			this.syntax = syntax;
-			this.provider = provider;
+			this.shape = CommandSyntax.getShape(command.tree(), syntax);
+			this.suggestions = new SuggestionIndex[shape.arity()];
+			this.dynamicArgs = new boolean[shape.arity()];
+			this.rangeArgs = new ArgumentNumber<?>[shape.arity()];
+			this.asyncProviders = new ArrayList<>(shape.arity());
 			this.fetchArgumentSuggestions();
 		}
 		
 		
 		private void fetchArgumentSuggestions() {
 			
-			List<Argument<?>> arguments = (syntax instanceof SubCommandSyntax<S> sub) ?
-				command.tree().getParentalArguments(sub.key())
-				: syntax.getArguments();
-			
-			for (int arg = 0; arg < arguments.size(); arg++) {
+			Class<S> senderType = command.manager().getSenderWrapper().senderType();
+			for (int arg = 0; arg < shape.arity(); arg++) {
 				
-				Argument<?> argument = arguments.get(arg);
+				Argument<?> argument = shape.argument(arg);
 				
 				if (argument == null) break;
 				
+				asyncProviders.add(argument.asyncSuggestionProvider(senderType));
+				
 				if (argument.isSuggestionDynamic()) {
-					dynamicArgs.add(arg);
+					//cached by the manager instead
+					dynamicArgs[arg] = true;
+					suggestions[arg] = SuggestionIndex.empty();
+					continue;
+				}
+				
+				if (argument instanceof ArgumentNumber<?> argumentNumber && argumentNumber.isRangeSuggested()) {
+					rangeArgs[arg] = argumentNumber;
+					suggestions[arg] = SuggestionIndex.empty();
+					continue;
 				}
 				
-				suggestions.put(arg, collectArgumentSuggestions(argument));
+				suggestions[arg] = SuggestionIndex.of(collectArgumentSuggestions(argument), ArgumentSyntaxUtility.formatArg(argument));
 			}
 			
 		}
 		
 		private boolean isArgumentDynamic(int index) {
-			return dynamicArgs.contains(index);
+			return dynamicArgs[index];
 		}
 		
-		
-		@Nullable
-		@SuppressWarnings("unchecked")
-		public <T> List<String> getArgumentSuggestions(int argIndex) {
+		/**
+		 * Collects the suggestions of an argument of the syntax
+		 * that start with the raw argument being typed
+		 *
+		 * @param sender   the sender tab-completing
+		 * @param argIndex the position of the argument
+		 * @param prefix   the raw argument being typed
+		 * @param limit    the maximum number of suggestions to collect
+		 * @param output   the output of the suggestions
+		 */
+		public void collectSuggestions(@NotNull S sender, int argIndex, @Nullable String prefix,
+		                               int limit, @NotNull List<String> output) {
+			if (argIndex < 0 || argIndex >= suggestions.length) return;
+			
+			ArgumentNumber<?> argumentNumber = rangeArgs[argIndex];
+			if (argumentNumber != null) {
+				List<String> range = command.manager().numericArgumentSuggestionProcessor()
+					.suggest(argumentNumber, prefix);
+				
+				for (int i = 0; i < range.size() && i < limit; i++) output.add(range.get(i));
+				return;
+			}
+			
 			if (isArgumentDynamic(argIndex)) {
+				Argument<?> argument = shape.argument(argIndex);
+				assert argument != null;
 				
-				try {
-					List<Argument<?>> arguments = CommandSyntax.getArguments(command.tree(), syntax);
-					Argument<T> argument = (Argument<T>) arguments.get(argIndex);
-					assert argument != null;
-					
-					return argument.suggestions().stream().map(argument::toString)
-						.collect(Collectors.toList());
-					
-				} catch (ArrayIndexOutOfBoundsException ex) {
-					ex.printStackTrace();
-					return Collections.emptyList();
-				}
+				command.manager().suggestionCache()
+					.index(argument, sender)
+					.collect(prefix, limit, output);
+				return;
 			}
 			
-			return suggestions.get(argIndex);
+			suggestions[argIndex].collect(prefix, limit, output);
 		}
 		
-		
-		public boolean argSequenceMatches(@NotNull String[] args) {
-			return provider.matches(args);
-		}
-		
-		
-	}
-	
-	
-	final class SyntaxSuggestionContainerKey {
-		
-		private final Map<Integer, Predicate<String[]>> rawPredicates;
-		
-		private SyntaxSuggestionContainerKey(CommandSyntax<S> syntax) {
-			this.rawPredicates = new HashMap<>();
-			this.init(syntax);
-		}
-		
-		
 		/**
-		 * Creates a condition to accept a specific tab completion of a specific syntax
+		 * Fetches the suggestions of an argument of the syntax
+		 * from its asynchronous provider, through the suggestion cache of the manager
+		 *
+		 * @param sender   the sender tab-completing
+		 * @param argIndex the position of the argument
+		 * @param prefix   the raw argument being typed
+		 * @return the future of the suggestions, or null if the argument has no asynchronous provider
+		 * @see Argument#asyncSuggestionProvider(Class)
+		 * @see SuggestionCache#asyncSuggestions(Argument, AsyncSuggestionProvider, Object, String)
 		 */
-		private void init(CommandSyntax<S> syntax) {
-			
-			List<Argument<?>> arguments = (syntax instanceof SubCommandSyntax<S> sub) ? command.tree().getParentalArguments(sub.key()) : syntax.getArguments();
+		@Nullable
+		public CompletableFuture<List<String>> requestAsyncSuggestions(@NotNull S sender, int argIndex, @Nullable String prefix) {
+			if (argIndex < 0 || argIndex >= asyncProviders.size()) return null;
 			
-			for (int index = 0; index < arguments.size(); index++) {
-				
-				Argument<?> argument = arguments.get(index);
-				if (!(argument instanceof ArgumentLiteral literal)) continue;
-				
-				int finalIndex = index;
-				rawPredicates.put(index, (args) -> {
-					String raw = args[finalIndex];
-					if (raw == null || raw.isBlank() || raw.isEmpty()) return true;
-					return raw.equalsIgnoreCase(argument.id()) || ArgumentSyntaxUtility.aliasesIncludes(literal.getAliases(), raw);
-				});
-				
-			}
+			AsyncSuggestionProvider<S> provider = asyncProviders.get(argIndex);
+			if (provider == null) return null;
 			
+			Argument<?> argument = shape.argument(argIndex);
+			assert argument != null;
 			
+			return command.manager().suggestionCache()
+				.asyncSuggestions(argument, provider, sender, prefix == null ? "" : prefix);
 		}
 		
-		
-		public boolean matches(@NotNull String[] args) {
-			
-			if (args.length <= 1) return true;
+		/**
+		 * Checks whether the literals of the syntax match the raw arguments
+		 * that were completely typed, the last raw argument is the one being typed,
+		 * so it's matched by its suggestions instead
+		 *
+		 * @param args the raw arguments
+		 * @return whether the syntax may complete the raw arguments
+		 */
+		public boolean argSequenceMatches(@NotNull String[] args) {
 			
-			for (int i = 0; i < args.length; i++) {
+			for (int i = 0; i < args.length - 1; i++) {
+				if (!shape.isLiteral(i)) continue;
 				
-				var predicate = rawPredicates.get(i);
-				if (predicate == null) continue;
-				
-				if (!predicate.test(args)) {
-					return false;
-				}
+				String raw = args[i];
+				if (raw == null || raw.isBlank()) continue;
 				
+				if (!shape.matchesLiteral(i, raw)) return false;
 			}
 			
 			return true;
 		}
-		
-		
 	}
 	
-	
-}
\ No newline at end of file
+}
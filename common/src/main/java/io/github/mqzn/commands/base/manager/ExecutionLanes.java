@@ -0,0 +1,149 @@
+package io.github.mqzn.commands.base.manager;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Runs the tasks of the same key one after another, in the order they were submitted,
+ * while the tasks of different keys run in parallel on the executor.
+ * <p>
+ * Every key has a lane, a mailbox that's created when a task is submitted for the key,
+ * and released as soon as it runs out of tasks, so idle keys cost nothing.
+ * A lane is a queue of tasks and an atomic count of its pending tasks, the submitter
+ * that raises the count from zero schedules the lane, and the lane keeps draining on
+ * the executor until its count falls back to zero, so no lock is ever taken.
+ *
+ * @author Mqzen
+ * @see CommandExecutionCoordinator.Type#SERIAL
+ */
+public final class ExecutionLanes {
+	
+	/**
+	 * The number of tasks a lane runs before it gives
+	 * its thread back to the executor, so that a busy key can't starve the others
+	 */
+	private static final int BATCH_SIZE = 16;
+	
+	/**
+	 * The count of a lane that got released, a lane holding it
+	 * is no longer in the map, so it must be looked up again
+	 */
+	private static final int RELEASED = -1;
+	
+	@NotNull
+	private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+	
+	private ExecutionLanes() {
+	}
+	
+	public static ExecutionLanes create() {
+		return new ExecutionLanes();
+	}
+	
+	/**
+	 * Submits a task into the lane of the key, if the executor rejects
+	 * the lane, the lane is drained by the calling thread instead
+	 *
+	 * @param key      the key of the lane, usually the name of the sender
+	 * @param executor the executor running the lane, if it's not running already
+	 * @param task     the task
+	 */
+	public void execute(@NotNull String key, @NotNull Executor executor, @NotNull Runnable task) {
+		while (true) {
+			Lane lane = lanes.computeIfAbsent(key, Lane::new);
+			int pending = lane.pending;
+			
+			if (pending == RELEASED) {
+				lanes.remove(key, lane);
+				continue;
+			}
+			
+			if (!Lane.PENDING.compareAndSet(lane, pending, pending + 1)) continue;
+			
+			lane.tasks.offer(task);
+			if (pending == 0) schedule(lane, executor);
+			return;
+		}
+	}
+	
+	/**
+	 * Fetches the number of tasks of a key that didn't complete yet
+	 *
+	 * @param key the key of the lane
+	 * @return the number of pending tasks, including the running one
+	 */
+	public int pending(@NotNull String key) {
+		Lane lane = lanes.get(key);
+		return lane == null ? 0 : Math.max(0, lane.pending);
+	}
+	
+	/**
+	 * @return the number of lanes that have pending tasks
+	 */
+	public int size() {
+		return lanes.size();
+	}
+	
+	private void schedule(Lane lane, Executor executor) {
+		try {
+			executor.execute(() -> drain(lane, executor));
+		} catch (RejectedExecutionException ex) {
+			drain(lane, executor);
+		}
+	}
+	
+	private void drain(Lane lane, Executor executor) {
+		for (int ran = 0; ; ran++) {
+			if (ran == BATCH_SIZE) {
+				schedule(lane, executor);
+				return;
+			}
+			
+			Runnable task = lane.tasks.poll();
+			if (task == null) {
+				//the task is counted, but its submitter didn't offer it yet
+				Thread.yield();
+				ran--;
+				continue;
+			}
+			
+			try {
+				task.run();
+			} catch (Throwable ex) {
+				ex.printStackTrace();
+			}
+			
+			if (Lane.PENDING.decrementAndGet(lane) == 0) {
+				//if the release fails, a new task raised the count from zero, and scheduled the lane again
+				if (Lane.PENDING.compareAndSet(lane, 0, RELEASED)) lanes.remove(lane.key, lane);
+				return;
+			}
+		}
+	}
+	
+	private static final class Lane {
+		
+		private static final AtomicIntegerFieldUpdater<Lane> PENDING = AtomicIntegerFieldUpdater.newUpdater(Lane.class, "pending");
+		
+		@NotNull
+		private final String key;
+		
+		@NotNull
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+		
+		private volatile int pending;
+		
+		private Lane(@NotNull String key) {
+			this.key = key;
+		}
+		
+	}
+	
+}
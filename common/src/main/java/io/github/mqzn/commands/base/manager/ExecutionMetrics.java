@@ -0,0 +1,294 @@
+package io.github.mqzn.commands.base.manager;
+
+import io.github.mqzn.commands.base.syntax.CommandSyntax;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of the executions coordinated by a {@link CommandExecutionCoordinator},
+ * an execution is queued from the moment it's handed to its executor until it starts running.
+ * <p>
+ * The metrics of every coordinator are also recorded into the metrics of its manager,
+ * so that the queue depth of all the commands is available in one place.
+ * The same goes for the metrics of every syntax, which are recorded into the metrics of their command.
+ * <p>
+ * Besides the executions, the metrics count how every dispatch ended up, see {@link Outcome},
+ * and time every phase of the dispatch, see {@link Phase}. Recording is allocation-free,
+ * the counters and the histograms are striped, so the threads dispatching the commands don't contend on them,
+ * while the queued and running gauges are plain atomic integers, since they go up and down
+ * and are read far more often than the counters.
+ *
+ * @author Mqzen
+ * @see CommandManager#executionMetrics()
+ */
+public final class ExecutionMetrics {
+	
+	@Nullable
+	private final ExecutionMetrics parent;
+	
+	private final AtomicInteger queued = new AtomicInteger();
+	
+	private final AtomicInteger running = new AtomicInteger();
+	
+	private final LongAdder succeeded = new LongAdder();
+	
+	private final LongAdder failed = new LongAdder();
+	
+	private final LongAdder dispatched = new LongAdder();
+	
+	private final LongAdder[] outcomes = new LongAdder[Outcome.VALUES.length];
+	
+	private final LatencyHistogram[] latencies = new LatencyHistogram[Phase.VALUES.length];
+	
+	/**
+	 * The metrics of the syntaxes, looked up by identity, a command only has a few syntaxes,
+	 * so scanning them is cheaper than hashing their arguments
+	 */
+	@NotNull
+	private volatile SyntaxMetrics[] syntaxes = new SyntaxMetrics[0];
+	
+	private ExecutionMetrics(@Nullable ExecutionMetrics parent) {
+		this.parent = parent;
+		
+		for (int i = 0; i < outcomes.length; i++)
+			outcomes[i] = new LongAdder();
+		for (int i = 0; i < latencies.length; i++)
+			latencies[i] = LatencyHistogram.create();
+	}
+	
+	public static ExecutionMetrics create() {
+		return new ExecutionMetrics(null);
+	}
+	
+	/**
+	 * Creates metrics that are also recorded into their parent
+	 *
+	 * @param parent the parent metrics
+	 * @return the metrics created
+	 */
+	public static ExecutionMetrics create(@Nullable ExecutionMetrics parent) {
+		return new ExecutionMetrics(parent);
+	}
+	
+	/**
+	 * @return the number of executions waiting for their executor
+	 */
+	public int queued() {
+		return queued.get();
+	}
+	
+	/**
+	 * @return the number of executions running right now
+	 */
+	public int running() {
+		return running.get();
+	}
+	
+	/**
+	 * @return the number of executions that completed successfully
+	 */
+	public long succeeded() {
+		return succeeded.sum();
+	}
+	
+	/**
+	 * @return the number of executions that failed, or were rejected by their executor
+	 */
+	public long failed() {
+		return failed.sum();
+	}
+	
+	/**
+	 * @return the number of times the command was dispatched, whatever the outcome
+	 */
+	public long dispatched() {
+		return dispatched.sum();
+	}
+	
+	/**
+	 * Fetches how many dispatches ended up with an outcome
+	 *
+	 * @param outcome the outcome
+	 * @return the number of dispatches
+	 */
+	public long count(@NotNull Outcome outcome) {
+		return outcomes[outcome.ordinal()].sum();
+	}
+	
+	/**
+	 * Fetches the latencies of a phase of the dispatch
+	 *
+	 * @param phase the phase
+	 * @return the histogram of the latencies
+	 */
+	public @NotNull LatencyHistogram latency(@NotNull Phase phase) {
+		return latencies[phase.ordinal()];
+	}
+	
+	/**
+	 * Fetches the metrics of a syntax, they're created on the first call
+	 * and recorded into these metrics too
+	 *
+	 * @param syntax the syntax
+	 * @return the metrics of the syntax
+	 */
+	public @NotNull ExecutionMetrics syntax(@NotNull CommandSyntax<?> syntax) {
+		for (SyntaxMetrics metrics : syntaxes)
+			if (metrics.syntax == syntax) return metrics.metrics;
+		
+		synchronized (this) {
+			SyntaxMetrics[] syntaxes = this.syntaxes;
+			for (SyntaxMetrics metrics : syntaxes)
+				if (metrics.syntax == syntax) return metrics.metrics;
+			
+			ExecutionMetrics metrics = new ExecutionMetrics(this);
+			SyntaxMetrics[] copy = Arrays.copyOf(syntaxes, syntaxes.length + 1);
+			copy[syntaxes.length] = new SyntaxMetrics(syntax, metrics);
+			this.syntaxes = copy;
+			return metrics;
+		}
+	}
+	
+	void onDispatched() {
+		dispatched.increment();
+		if (parent != null) parent.onDispatched();
+	}
+	
+	void onOutcome(@NotNull Outcome outcome) {
+		outcomes[outcome.ordinal()].increment();
+		if (parent != null) parent.onOutcome(outcome);
+	}
+	
+	/**
+	 * Records the latency of a phase
+	 *
+	 * @param phase the phase
+	 * @param start the time the phase started at, from {@link System#nanoTime()}
+	 * @return the time the phase ended at, so that the next phase can start from it
+	 */
+	long onPhase(@NotNull Phase phase, long start) {
+		long end = System.nanoTime();
+		record(phase, end - start);
+		return end;
+	}
+	
+	private void record(Phase phase, long nanos) {
+		latencies[phase.ordinal()].record(nanos);
+		if (parent != null) parent.record(phase, nanos);
+	}
+	
+	void onQueued() {
+		queued.incrementAndGet();
+		if (parent != null) parent.onQueued();
+	}
+	
+	void onRejected() {
+		queued.decrementAndGet();
+		failed.increment();
+		if (parent != null) parent.onRejected();
+	}
+	
+	void onStarted(boolean wasQueued) {
+		if (wasQueued) queued.decrementAndGet();
+		running.incrementAndGet();
+		if (parent != null) parent.onStarted(wasQueued);
+	}
+	
+	void onCompleted(boolean success) {
+		running.decrementAndGet();
+		if (success) succeeded.increment();
+		else failed.increment();
+		if (parent != null) parent.onCompleted(success);
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("queued=%d, running=%d, succeeded=%d, failed=%d", queued(), running(), succeeded(), failed());
+	}
+	
+	/**
+	 * How a dispatch of a command ended up
+	 */
+	public enum Outcome {
+		
+		SUCCEEDED,
+		
+		FAILED,
+		
+		TIMED_OUT,
+		
+		CANCELLED,
+		
+		/**
+		 * Rejected by a concurrency limit
+		 */
+		REJECTED,
+		
+		PERMISSION_DENIED,
+		
+		REQUIREMENT_FAILED,
+		
+		RATE_LIMITED,
+		
+		COOLDOWN,
+		
+		/**
+		 * No syntax of the command matched the arguments
+		 */
+		UNKNOWN_SYNTAX,
+		
+		PARSE_FAILED;
+		
+		private static final Outcome[] VALUES = values();
+		
+		public static @NotNull Outcome of(@NotNull CommandExecutionCoordinator.ExecutionResult result) {
+			return switch (result) {
+				case SUCCESS -> SUCCEEDED;
+				case FAILED -> FAILED;
+				case TIMED_OUT -> TIMED_OUT;
+				case CANCELLED -> CANCELLED;
+				case REJECTED -> REJECTED;
+			};
+		}
+		
+	}
+	
+	/**
+	 * A phase of the dispatch of a command
+	 */
+	public enum Phase {
+		
+		/**
+		 * Looking the command up by its name, only recorded into the metrics of the manager,
+		 * and only by the platforms resolving the command of a dispatch by its name
+		 */
+		LOOKUP,
+		
+		/**
+		 * Checking the permission and the requirements of the command
+		 */
+		REQUIREMENTS,
+		
+		FIND_SYNTAX,
+		
+		PARSE,
+		
+		/**
+		 * Running the execution of the syntax, or the default execution of the command,
+		 * not including the time it was queued
+		 */
+		EXECUTE;
+		
+		private static final Phase[] VALUES = values();
+		
+	}
+	
+	private record SyntaxMetrics(@NotNull CommandSyntax<?> syntax, @NotNull ExecutionMetrics metrics) {
+		
+	}
+	
+}
@@ -0,0 +1,203 @@
+package io.github.mqzn.commands.base.manager;
+
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.context.Context;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches the {@link CommandExecutionCoordinator.Type#SYNC} executions, an execution
+ * running longer than the {@link #threshold()} gets its command, its sender and the stack
+ * of its thread logged, then logged again every threshold until it completes,
+ * so that a command stalling the main thread can be found right away.
+ * <p>
+ * Watching an execution schedules nothing, it's only added to the watched executions,
+ * which a single task scans while there are any.
+ * The same timer fires the timeouts of the commands, only for the commands that have a timeout.
+ *
+ * @author Mqzen
+ * @see CommandManager#watchdog()
+ */
+public final class ExecutionWatchdog {
+	
+	public static final Duration DEFAULT_THRESHOLD = Duration.ofSeconds(1);
+	
+	@NotNull
+	private final Logger logger;
+	
+	/**
+	 * The bounds of the interval between two scans of the watched executions,
+	 * which is a quarter of the threshold otherwise
+	 */
+	private static final long MIN_SCAN_INTERVAL = TimeUnit.MILLISECONDS.toNanos(10),
+		MAX_SCAN_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+	
+	@NotNull
+	private final Set<Watch> watches = ConcurrentHashMap.newKeySet();
+	
+	@NotNull
+	private final AtomicBoolean scanning = new AtomicBoolean();
+	
+	private volatile long threshold = DEFAULT_THRESHOLD.toNanos();
+	
+	private ExecutionWatchdog(@NotNull Logger logger) {
+		this.logger = logger;
+	}
+	
+	public static ExecutionWatchdog create(@NotNull Logger logger) {
+		return new ExecutionWatchdog(logger);
+	}
+	
+	/**
+	 * Sets the time a sync execution may run before it's logged,
+	 * a zero threshold disables the watchdog
+	 *
+	 * @param threshold the threshold
+	 */
+	public void threshold(@NotNull Duration threshold) {
+		if (threshold.isNegative()) throw new IllegalArgumentException("The threshold of the watchdog cannot be negative");
+		this.threshold = threshold.toNanos();
+	}
+	
+	public @NotNull Duration threshold() {
+		return Duration.ofNanos(threshold);
+	}
+	
+	/**
+	 * Starts watching an execution running on the current thread
+	 *
+	 * @param command the command executed
+	 * @param context the context of the execution
+	 * @return the watch, which must be closed once the execution completes,
+	 * or null if the watchdog is disabled
+	 */
+	public @Nullable Watch watch(@NotNull Command<?> command, @NotNull Context<?> context) {
+		final long threshold = this.threshold;
+		if (threshold == 0) return null;
+		
+		Watch watch = new Watch(command, context, Thread.currentThread(), threshold);
+		watches.add(watch);
+		if (scanning.compareAndSet(false, true)) scheduleScan();
+		return watch;
+	}
+	
+	/**
+	 * @return the number of executions being watched
+	 */
+	public int size() {
+		return watches.size();
+	}
+	
+	/**
+	 * Runs a task on the timer of the watchdog once the delay elapses
+	 *
+	 * @param task  the task
+	 * @param delay the delay
+	 * @return the scheduled task, which can be cancelled
+	 */
+	public @NotNull ScheduledFuture<?> schedule(@NotNull Runnable task, @NotNull Duration delay) {
+		return Timer.EXECUTOR.schedule(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+	}
+	
+	private void scheduleScan() {
+		long interval = Math.min(MAX_SCAN_INTERVAL, Math.max(MIN_SCAN_INTERVAL, threshold / 4));
+		Timer.EXECUTOR.schedule(this::scan, interval, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Logs the watched executions that are due, then schedules the next scan,
+	 * the scans stop once there are no executions left to watch
+	 */
+	private void scan() {
+		final long now = System.nanoTime();
+		for (Watch watch : watches) {
+			if (now - watch.nextLog >= 0) watch.log(now);
+		}
+		
+		if (!watches.isEmpty()) {
+			scheduleScan();
+			return;
+		}
+		
+		scanning.set(false);
+		//an execution watched right before the flag was cleared would be left without a scan
+		if (!watches.isEmpty() && scanning.compareAndSet(false, true)) scheduleScan();
+	}
+	
+	public final class Watch implements AutoCloseable {
+		
+		@NotNull
+		private final Command<?> command;
+		
+		@NotNull
+		private final Context<?> context;
+		
+		@NotNull
+		private final Thread thread;
+		
+		private final long start = System.nanoTime();
+		
+		private final long threshold;
+		
+		/**
+		 * Only accessed by the scans, which never run concurrently
+		 */
+		private long nextLog;
+		
+		private Watch(@NotNull Command<?> command, @NotNull Context<?> context, @NotNull Thread thread, long threshold) {
+			this.command = command;
+			this.context = context;
+			this.thread = thread;
+			this.threshold = threshold;
+			this.nextLog = start + threshold;
+		}
+		
+		private void log(long now) {
+			nextLog = now + threshold;
+			long elapsed = TimeUnit.NANOSECONDS.toMillis(now - start);
+			
+			Throwable stack = new Throwable(String.format("Stack of thread '%s'", thread.getName()));
+			stack.setStackTrace(thread.getStackTrace());
+			
+			logger.log(Level.WARNING, String.format("Command '%s' executed as '%s' has been running for %dms on thread '%s'",
+				command.name(), context.rawFormat(), elapsed, thread.getName()), stack);
+		}
+		
+		@Override
+		public void close() {
+			watches.remove(this);
+		}
+		
+	}
+	
+	private static final class Timer {
+		
+		private static final ScheduledThreadPoolExecutor EXECUTOR = create();
+		
+		private static ScheduledThreadPoolExecutor create() {
+			AtomicInteger count = new AtomicInteger();
+			ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, (runnable) -> {
+				Thread thread = new Thread(runnable, "mCommands-watchdog-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			
+			//the timeouts are mostly cancelled, so they shouldn't pile up in the queue
+			executor.setRemoveOnCancelPolicy(true);
+			return executor;
+		}
+		
+	}
+	
+}
@@ -4,19 +4,38 @@ import io.github.mqzn.commands.base.manager.flags.FlagInfo;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class FlagRegistry {
 	
 	@NotNull
 	public final static String FLAG_IDENTIFIER = "-";
+	
+	/**
+	 * The number of flags a registry can hold, every flag is a bit of a {@code long} mask
+	 */
+	public static final int MAX_FLAGS = Long.SIZE;
+	
 	@NotNull
 	private static final AtomicBoolean flagRegistryCreated = new AtomicBoolean(false);
 	@NotNull
-	private final Map<String, FlagInfo> flags = new HashMap<>();
+	private final Map<String, FlagInfo> flags = new ConcurrentHashMap<>();
+	
+	/**
+	 * The ordinals of the flags by their names, an ordinal is the bit of a flag in the masks,
+	 * it's assigned on registration and stays the same until the flag is unregistered
+	 */
+	@NotNull
+	private final Map<String, Integer> ordinals = new HashMap<>();
+	
+	@NotNull
+	private volatile Index index = Index.EMPTY;
 	
 	private FlagRegistry() {
 		flagRegistryCreated.set(true);
@@ -31,31 +50,121 @@ public final class FlagRegistry {
 		return new FlagRegistry();
 	}
 	
-	public void registerFlag(@NotNull FlagInfo flag) {
-		flags.put(flag.getName(), flag);
+	/**
+	 * Folds an ascii letter into its slot in the short flags
+	 *
+	 * @param letter the letter
+	 * @return the slot of the letter, or -1 if it's not an ascii letter
+	 */
+	public static int letterSlot(char letter) {
+		int slot = (letter | 0x20) - 'a';
+		return slot >= 0 && slot < 26 ? slot : -1;
 	}
 	
-	
-	public void unregisterFlag(String flag) {
-		flags.remove(flag);
-		
-		for (var f : flags.values()) {
-			if (f.hasAliase(flag)) {
-				flags.remove(flag);
-				break;
-			}
+	public synchronized void registerFlag(@NotNull FlagInfo flag) {
+		if (!ordinals.containsKey(flag.getName())) {
+			if (ordinals.size() == MAX_FLAGS)
+				throw new IllegalStateException(String.format("Cannot register the flag '%s', a registry holds %d flags at most", flag.getName(), MAX_FLAGS));
 			
+			long taken = 0L;
+			for (int ordinal : ordinals.values()) taken |= 1L << ordinal;
+			ordinals.put(flag.getName(), Long.numberOfTrailingZeros(~taken));
 		}
 		
+		flags.put(flag.getName(), flag);
+		reindex();
+	}
+	
+	
+	public synchronized void unregisterFlag(String flag) {
+		if (flags.remove(flag) == null)
+			flags.values().removeIf((f) -> f.hasAliase(flag));
+		
+		ordinals.keySet().retainAll(flags.keySet());
+		reindex();
 	}
 	
 	public @Nullable FlagInfo getFlag(String flag) {
-		for (FlagInfo f : flags.values()) {
-			if (f.getName().equalsIgnoreCase(flag) || f.hasAliase(flag))
-				return f;
+		return getFlag(ordinal(flag));
+	}
+	
+	/**
+	 * Fetches a flag by its ordinal
+	 *
+	 * @param ordinal the ordinal of the flag
+	 * @return the flag, or null if no flag holds that ordinal
+	 */
+	public @Nullable FlagInfo getFlag(int ordinal) {
+		return ordinal < 0 || ordinal >= MAX_FLAGS ? null : index.flags[ordinal];
+	}
+	
+	/**
+	 * Fetches the flag having a single letter alias
+	 *
+	 * @param letter the letter, case insensitive
+	 * @return the flag, or null if no flag has that letter as an alias
+	 */
+	public @Nullable FlagInfo getShortFlag(char letter) {
+		return getFlag(shortOrdinal(letter));
+	}
+	
+	/**
+	 * Fetches the ordinal of a flag, which is its bit in the masks of flags
+	 *
+	 * @param flag the name or an alias of the flag, case insensitive
+	 * @return the ordinal of the flag, or -1 if it's not registered
+	 */
+	public int ordinal(@NotNull String flag) {
+		Integer ordinal = index.ordinals.get(flag.toLowerCase(Locale.ROOT));
+		return ordinal == null ? -1 : ordinal;
+	}
+	
+	/**
+	 * Fetches the ordinal of the flag having a single letter alias
+	 *
+	 * @param letter the letter, case insensitive
+	 * @return the ordinal of the flag, or -1 if no flag has that letter as an alias
+	 */
+	public int shortOrdinal(char letter) {
+		int slot = letterSlot(letter);
+		return slot == -1 ? -1 : index.shortOrdinals[slot];
+	}
+	
+	/**
+	 * Fetches the version of the flags registered, which changes on every registration,
+	 * so that the masks computed from the registry know when to be computed again
+	 *
+	 * @return the version of the registry
+	 */
+	public int version() {
+		return index.version;
+	}
+	
+	private void reindex() {
+		Map<String, Integer> names = new HashMap<>();
+		FlagInfo[] flagsByOrdinal = new FlagInfo[MAX_FLAGS];
+		byte[] shortOrdinals = Index.noShortOrdinals();
+		
+		//the aliases are indexed first, so that the names take over if they collide
+		for (FlagInfo flag : flags.values()) {
+			int ordinal = ordinals.get(flag.getName());
+			flagsByOrdinal[ordinal] = flag;
+			
+			for (String alias : flag.getAliases()) {
+				names.put(alias.toLowerCase(Locale.ROOT), ordinal);
+				if (alias.length() == 1 && letterSlot(alias.charAt(0)) != -1)
+					shortOrdinals[letterSlot(alias.charAt(0))] = (byte) ordinal;
+			}
+		}
+		
+		for (FlagInfo flag : flags.values()) {
+			int ordinal = ordinals.get(flag.getName());
+			names.put(flag.getName().toLowerCase(Locale.ROOT), ordinal);
+			if (flag.getName().length() == 1 && letterSlot(flag.getName().charAt(0)) != -1)
+				shortOrdinals[letterSlot(flag.getName().charAt(0))] = (byte) ordinal;
 		}
 		
-		return null;
+		this.index = new Index(index.version + 1, names, flagsByOrdinal, shortOrdinals);
 	}
 	
 	
@@ -64,7 +173,26 @@ public final class FlagRegistry {
 	}
 	
 	public boolean flagExists(String flagAlias) {
-		return getFlag(flagAlias) != null;
+		return ordinal(flagAlias) != -1;
+	}
+	
+	/**
+	 * A snapshot of the lookups of the registered flags, rebuilt
+	 * on every registration, so that the lookups never lock
+	 */
+	private record Index(int version,
+	                     @NotNull Map<String, Integer> ordinals,
+	                     @NotNull FlagInfo[] flags,
+	                     byte @NotNull [] shortOrdinals) {
+		
+		private static final Index EMPTY = new Index(0, Map.of(), new FlagInfo[MAX_FLAGS], noShortOrdinals());
+		
+		private static byte[] noShortOrdinals() {
+			byte[] shortOrdinals = new byte[26];
+			Arrays.fill(shortOrdinals, (byte) -1);
+			return shortOrdinals;
+		}
+		
 	}
 	
 }
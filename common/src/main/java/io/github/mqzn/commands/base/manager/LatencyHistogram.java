@@ -0,0 +1,146 @@
+package io.github.mqzn.commands.base.manager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies in nanoseconds, bucketed by powers of two,
+ * the bucket {@code i} counts the latencies between {@code 2^(i-1)} and {@code 2^i - 1},
+ * so recording a latency is a leading-zeros count and the increment of a striped counter,
+ * without any allocation once the bucket exists.
+ * <p>
+ * The percentiles are the upper bounds of the buckets they fall in,
+ * so they're accurate within a factor of two.
+ *
+ * @author Mqzen
+ * @see ExecutionMetrics#latency(ExecutionMetrics.Phase)
+ */
+public final class LatencyHistogram {
+	
+	/**
+	 * The last bucket holds every latency of 2^46 nanoseconds (about 19 hours) and more
+	 */
+	public static final int BUCKETS = 48;
+	
+	private final AtomicReferenceArray<LongAdder> buckets = new AtomicReferenceArray<>(BUCKETS);
+	
+	private final LongAdder count = new LongAdder();
+	
+	private final LongAdder total = new LongAdder();
+	
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+	
+	private LatencyHistogram() {
+	}
+	
+	public static LatencyHistogram create() {
+		return new LatencyHistogram();
+	}
+	
+	/**
+	 * Records a latency, a negative latency is recorded as zero
+	 *
+	 * @param nanos the latency in nanoseconds
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) nanos = 0;
+		
+		int index = Math.min(Long.SIZE - Long.numberOfLeadingZeros(nanos), BUCKETS - 1);
+		LongAdder bucket = buckets.get(index);
+		if (bucket == null) {
+			buckets.compareAndSet(index, null, new LongAdder());
+			bucket = buckets.get(index);
+		}
+		
+		bucket.increment();
+		count.increment();
+		total.add(nanos);
+		max.accumulate(nanos);
+	}
+	
+	/**
+	 * @return the number of latencies recorded
+	 */
+	public long count() {
+		return count.sum();
+	}
+	
+	/**
+	 * @return the sum of the latencies recorded, in nanoseconds
+	 */
+	public long total() {
+		return total.sum();
+	}
+	
+	/**
+	 * @return the highest latency recorded, in nanoseconds
+	 */
+	public long max() {
+		return max.get();
+	}
+	
+	/**
+	 * @return the mean of the latencies recorded, in nanoseconds
+	 */
+	public double mean() {
+		long count = count();
+		return count == 0 ? 0D : (double) total() / count;
+	}
+	
+	/**
+	 * Fetches the upper bound of the bucket holding a percentile
+	 *
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the latency in nanoseconds, or zero if nothing was recorded
+	 */
+	public long percentile(double percentile) {
+		if (percentile < 0D || percentile > 100D)
+			throw new IllegalArgumentException(String.format("The percentile %s is not between 0 and 100", percentile));
+		
+		long[] snapshot = snapshot();
+		long recorded = 0;
+		for (long count : snapshot) recorded += count;
+		if (recorded == 0) return 0;
+		
+		long rank = Math.max(1, (long) Math.ceil(recorded * percentile / 100D));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if (seen >= rank) return Math.min(upperBound(i), max());
+		}
+		return max();
+	}
+	
+	/**
+	 * @return the counts of every bucket
+	 */
+	public long[] snapshot() {
+		long[] snapshot = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			LongAdder bucket = buckets.get(i);
+			if (bucket != null) snapshot[i] = bucket.sum();
+		}
+		return snapshot;
+	}
+	
+	/**
+	 * @param bucket the index of a bucket
+	 * @return the highest latency counted by the bucket, in nanoseconds
+	 */
+	public static long upperBound(int bucket) {
+		if (bucket == 0) return 0;
+		return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("count=%d, mean=%dus, p50=%dus, p99=%dus, max=%dus", count(),
+			TimeUnit.NANOSECONDS.toMicros((long) mean()),
+			TimeUnit.NANOSECONDS.toMicros(percentile(50)),
+			TimeUnit.NANOSECONDS.toMicros(percentile(99)),
+			TimeUnit.NANOSECONDS.toMicros(max()));
+	}
+	
+}
@@ -0,0 +1,270 @@
+package io.github.mqzn.commands.base.manager;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.AsyncSuggestionProvider;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnknownNullability;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of the suggestions of dynamic arguments (e.g: online players),
+ * the suggestions of an argument are computed once, then shared with every
+ * TAB-completion until they expire or get invalidated, instead of being computed
+ * on every TAB-completion.
+ * <p>
+ * The suggestions are cached per argument, unless the argument is scoped per sender,
+ * in which case they're cached per argument and sender.
+ * Platforms invalidate the suggestions on events that change them,
+ * such as players joining or quitting.
+ * <p>
+ * The suggestions of asynchronous providers are cached per argument and sender as well,
+ * so that a synchronous TAB-completion serves the suggestions of a request that has completed,
+ * instead of requesting them on every keystroke.
+ *
+ * @param <S> the sender type
+ * @author Mqzen
+ * @see Argument#isSuggestionDynamic()
+ */
+public final class SuggestionCache<S> {
+	
+	public static final Duration DEFAULT_TTL = Duration.ofSeconds(5);
+	
+	/**
+	 * The number of entries above which the expired entries
+	 * are swept, since the entries of senders are never replaced once they quit,
+	 * they're swept at most once per ttl, since no entry expires in between
+	 */
+	private static final int SWEEP_THRESHOLD = 1024;
+	
+	@NotNull
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+	
+	@NotNull
+	private final Map<Key, AsyncEntry> asyncEntries = new ConcurrentHashMap<>();
+	
+	@NotNull
+	private final Set<Key> scopedArguments = ConcurrentHashMap.newKeySet();
+	
+	private volatile long ttl = DEFAULT_TTL.toNanos();
+	
+	@NotNull
+	private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+	
+	SuggestionCache() {
+		
+	}
+	
+	/**
+	 * Sets the duration for which the suggestions of an argument are cached
+	 *
+	 * @param ttl the duration, zero to disable caching
+	 */
+	public void ttl(@NotNull Duration ttl) {
+		if (ttl.isNegative()) throw new IllegalArgumentException("The ttl of the suggestions cannot be negative");
+		this.ttl = ttl.toNanos();
+		entries.clear();
+		asyncEntries.clear();
+	}
+	
+	public @NotNull Duration ttl() {
+		return Duration.ofNanos(ttl);
+	}
+	
+	/**
+	 * Caches the suggestions of the argument per sender, for arguments
+	 * whose suggestions differ from one sender to another
+	 *
+	 * @param argument the argument
+	 * @see Argument#suggestions(Object)
+	 */
+	public void scopePerSender(@NotNull Argument<?> argument) {
+		scopedArguments.add(new Key(argument, null));
+		invalidate(argument);
+	}
+	
+	public boolean isScopedPerSender(@NotNull Argument<?> argument) {
+		return scopedArguments.contains(new Key(argument, null));
+	}
+	
+	/**
+	 * Fetches the suggestions of the argument, which are computed
+	 * only if they're not cached or if they've expired
+	 *
+	 * @param argument the argument
+	 * @param sender   the sender tab-completing
+	 * @return the suggestions, which must not be modified
+	 */
+	public @NotNull List<String> suggestions(@NotNull Argument<?> argument, @UnknownNullability S sender) {
+		return Collections.unmodifiableList(Arrays.asList(entry(argument, sender).suggestions));
+	}
+	
+	/**
+	 * Fetches the index of the suggestions of the argument, which are computed
+	 * only if they're not cached or if they've expired
+	 *
+	 * @param argument the argument
+	 * @param sender   the sender tab-completing
+	 * @return the index of the suggestions
+	 */
+	@NotNull SuggestionIndex index(@NotNull Argument<?> argument, @UnknownNullability S sender) {
+		return entry(argument, sender).index;
+	}
+	
+	private Entry entry(Argument<?> argument, S sender) {
+		Key key = new Key(argument, isScopedPerSender(argument) ? sender : null);
+		long now = System.nanoTime();
+		
+		Entry entry = entries.get(key);
+		if (entry != null && now - entry.createdAt < ttl) return entry;
+		
+		//computed outside any lock, concurrent computations would only compute the same suggestions
+		entry = new Entry(compute(argument, sender), now);
+		if (ttl > 0) {
+			entries.put(key, entry);
+			if (entries.size() > SWEEP_THRESHOLD) sweepIfDue(now);
+		}
+		return entry;
+	}
+	
+	/**
+	 * Fetches the suggestions of the asynchronous provider of an argument, they're only requested
+	 * if the cached ones expired, or if they were requested for a prefix that the typed prefix doesn't extend,
+	 * since a provider may only return the suggestions starting with the prefix it was given.
+	 * A pending request is shared until it completes, a failed one isn't cached.
+	 *
+	 * @param argument the argument
+	 * @param provider the asynchronous provider of the argument
+	 * @param sender   the sender tab-completing
+	 * @param prefix   the raw argument being typed
+	 * @return the future of the suggestions, which is already completed if they're cached
+	 */
+	@NotNull CompletableFuture<List<String>> asyncSuggestions(@NotNull Argument<?> argument,
+	                                                          @NotNull AsyncSuggestionProvider<S> provider,
+	                                                          @NotNull S sender,
+	                                                          @NotNull String prefix) {
+		Key key = new Key(argument, sender);
+		long now = System.nanoTime();
+		
+		AsyncEntry entry = asyncEntries.get(key);
+		if (entry != null && now - entry.createdAt < ttl && prefix.startsWith(entry.prefix)) return entry.future;
+		
+		CompletableFuture<List<String>> future;
+		try {
+			future = provider.suggestions(sender, prefix);
+		} catch (RuntimeException ex) {
+			return CompletableFuture.failedFuture(ex);
+		}
+		
+		if (ttl > 0) {
+			AsyncEntry requested = new AsyncEntry(prefix, future, now);
+			asyncEntries.put(key, requested);
+			future.whenComplete((suggestions, ex) -> {
+				if (ex != null) asyncEntries.remove(key, requested);
+			});
+			if (asyncEntries.size() > SWEEP_THRESHOLD) sweepIfDue(now);
+		}
+		return future;
+	}
+	
+	private void sweepIfDue(long now) {
+		long due = nextSweep.get();
+		if (now - due < 0 || !nextSweep.compareAndSet(due, now + ttl)) return;
+		sweep(now);
+	}
+	
+	private void sweep(long now) {
+		entries.values().removeIf((entry) -> now - entry.createdAt >= ttl);
+		asyncEntries.values().removeIf((entry) -> now - entry.createdAt >= ttl);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T, S> String[] compute(Argument<?> arg, S sender) {
+		Argument<T> argument = (Argument<T>) arg;
+		
+		List<T> suggestions = argument.suggestions(sender);
+		String[] computed = new String[suggestions.size()];
+		for (int i = 0; i < computed.length; i++)
+			computed[i] = argument.toString(suggestions.get(i));
+		
+		return computed;
+	}
+	
+	/**
+	 * Invalidates the cached suggestions of an argument
+	 *
+	 * @param argument the argument
+	 */
+	public void invalidate(@NotNull Argument<?> argument) {
+		entries.keySet().removeIf((key) -> key.argument == argument);
+		asyncEntries.keySet().removeIf((key) -> key.argument == argument);
+	}
+	
+	/**
+	 * Invalidates the cached suggestions of every argument of a specific type,
+	 * e.g: the online players arguments when a player joins or quits
+	 *
+	 * @param type the type of the arguments
+	 */
+	public void invalidate(@NotNull Class<?> type) {
+		entries.keySet().removeIf((key) -> type.isInstance(key.argument));
+		asyncEntries.keySet().removeIf((key) -> type.isInstance(key.argument));
+	}
+	
+	/**
+	 * Invalidates the suggestions cached for a specific sender,
+	 * e.g: when the sender quits
+	 *
+	 * @param sender the sender
+	 */
+	public void invalidateSender(@NotNull S sender) {
+		entries.keySet().removeIf((key) -> key.sender == sender);
+		asyncEntries.keySet().removeIf((key) -> key.sender == sender);
+	}
+	
+	public void invalidateAll() {
+		entries.clear();
+		asyncEntries.clear();
+	}
+	
+	private record Entry(@NotNull String[] suggestions, @NotNull SuggestionIndex index, long createdAt) {
+		
+		private Entry(@NotNull String[] suggestions, long createdAt) {
+			this(suggestions, SuggestionIndex.of(Arrays.asList(suggestions), null), createdAt);
+		}
+		
+	}
+	
+	private record AsyncEntry(@NotNull String prefix, @NotNull CompletableFuture<List<String>> future, long createdAt) {
+		
+	}
+	
+	/**
+	 * A key comparing its argument and sender by their identities
+	 */
+	private record Key(@NotNull Argument<?> argument, @Nullable Object sender) {
+		
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) return true;
+			if (!(other instanceof Key otherKey)) return false;
+			return argument == otherKey.argument && sender == otherKey.sender;
+		}
+		
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(argument) + System.identityHashCode(sender);
+		}
+		
+	}
+	
+}
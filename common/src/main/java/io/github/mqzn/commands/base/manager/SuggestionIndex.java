@@ -0,0 +1,157 @@
+package io.github.mqzn.commands.base.manager;
+
+import io.github.mqzn.commands.utilities.ArgumentSyntaxUtility;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An immutable index of the suggestions of an argument,
+ * the suggestions are sorted by their case-folded forms, so that
+ * the suggestions starting with a prefix are found by a binary search
+ * followed by a scan through the matching suggestions only.
+ * <p>
+ * The hint of an argument (e.g: "&lt;player&gt;") is kept aside
+ * from its suggestions, since it's only shown while nothing is typed.
+ *
+ * @author Mqzen
+ * @see CommandSuggestionEngine
+ */
+final class SuggestionIndex {
+	
+	private static final SuggestionIndex EMPTY = new SuggestionIndex(new String[0], new String[0], null);
+	
+	/**
+	 * The case-folded suggestions in ascending order
+	 */
+	@NotNull
+	private final String[] keys;
+	
+	/**
+	 * The suggestions as declared, each one is at the position of its key
+	 */
+	@NotNull
+	private final String[] suggestions;
+	
+	@Nullable
+	private final String hint;
+	
+	private SuggestionIndex(@NotNull String[] keys, @NotNull String[] suggestions, @Nullable String hint) {
+		this.keys = keys;
+		this.suggestions = suggestions;
+		this.hint = hint;
+	}
+	
+	static SuggestionIndex empty() {
+		return EMPTY;
+	}
+	
+	/**
+	 * Indexes the suggestions of an argument, duplicate suggestions are indexed once
+	 *
+	 * @param suggestions the suggestions of the argument
+	 * @param hint        the hint of the argument, which is shown when it has no suggestions
+	 * @return the index of the suggestions
+	 */
+	static SuggestionIndex of(@NotNull Collection<String> suggestions, @Nullable String hint) {
+		String[] values = suggestions.toArray(new String[0]);
+		Integer[] order = new Integer[values.length];
+		String[] folded = new String[values.length];
+		for (int i = 0; i < values.length; i++) {
+			order[i] = i;
+			folded[i] = ArgumentSyntaxUtility.foldCase(values[i]);
+		}
+		
+		//stable, so that duplicates keep the first declared suggestion
+		Arrays.sort(order, (first, second) -> folded[first].compareTo(folded[second]));
+		
+		String[] keys = new String[values.length];
+		String[] sorted = new String[values.length];
+		int size = 0;
+		for (int i : order) {
+			if (isIndexed(keys, sorted, size, folded[i], values[i])) continue;
+			keys[size] = folded[i];
+			sorted[size] = values[i];
+			size++;
+		}
+		
+		return new SuggestionIndex(Arrays.copyOf(keys, size), Arrays.copyOf(sorted, size),
+			size == 0 ? hint : null);
+	}
+	
+	/**
+	 * Checks whether a suggestion is among the suggestions sharing its key,
+	 * which are the last ones indexed, since the suggestions are indexed in the order of their keys
+	 *
+	 * @param keys        the keys indexed so far
+	 * @param suggestions the suggestions indexed so far
+	 * @param size        the number of suggestions indexed so far
+	 * @param key         the case-folded suggestion
+	 * @param suggestion  the suggestion
+	 * @return whether the suggestion is already indexed
+	 */
+	private static boolean isIndexed(String[] keys, String[] suggestions, int size, String key, String suggestion) {
+		for (int i = size - 1; i >= 0 && keys[i].equals(key); i--) {
+			if (suggestions[i].equals(suggestion)) return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Collects the suggestions starting with the prefix, out of suggestions that are not indexed
+	 *
+	 * @param suggestions the suggestions
+	 * @param prefix      the prefix typed, null or empty for all suggestions
+	 * @param limit       the maximum number of suggestions in the output
+	 * @param output      the output of the suggestions
+	 */
+	static void filter(@NotNull List<String> suggestions, @Nullable String prefix,
+	                   int limit, @NotNull List<String> output) {
+		int collected = 0;
+		for (String suggestion : suggestions) {
+			if (collected >= limit) break;
+			if (prefix != null && !suggestion.regionMatches(true, 0, prefix, 0, prefix.length())) continue;
+			output.add(suggestion);
+			collected++;
+		}
+	}
+	
+	/**
+	 * Collects the suggestions starting with the prefix
+	 *
+	 * @param prefix the prefix typed, null or empty for all suggestions
+	 * @param limit  the maximum number of suggestions in the output
+	 * @param output the output of the suggestions
+	 */
+	void collect(@Nullable String prefix, int limit, @NotNull List<String> output) {
+		if (prefix == null || prefix.isEmpty()) {
+			if (hint != null && limit > 0) output.add(hint);
+			for (int i = 0; i < suggestions.length && i < limit; i++) output.add(suggestions[i]);
+			return;
+		}
+		
+		String key = ArgumentSyntaxUtility.foldCase(prefix);
+		for (int i = lowerBound(key), collected = 0; i < keys.length && collected < limit; i++, collected++) {
+			if (!keys[i].startsWith(key)) break;
+			output.add(suggestions[i]);
+		}
+	}
+	
+	/**
+	 * @param key the case-folded prefix
+	 * @return the position of the first key that is not less than the prefix
+	 */
+	private int lowerBound(String key) {
+		int low = 0, high = keys.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (keys[middle].compareTo(key) < 0) low = middle + 1;
+			else high = middle;
+		}
+		return low;
+	}
+	
+}
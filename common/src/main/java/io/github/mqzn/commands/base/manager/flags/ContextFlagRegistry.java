@@ -12,23 +12,38 @@ import io.github.mqzn.commands.base.syntax.SubCommandSyntax;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.*;
-import java.util.regex.Matcher;
+import java.util.List;
 import java.util.regex.Pattern;
 
+/**
+ * The flags used in a context, held as a mask where every flag
+ * is the bit of its ordinal in the {@link FlagRegistry}, so checking a flag is a bit test.
+ * <p>
+ * A context only creates its registry once a flag is found in its raw arguments,
+ * the contexts using no flags all share the {@link #empty()} registry.
+ */
 public final class ContextFlagRegistry<S> {
 	
+	/**
+	 * @deprecated the raw arguments are classified through {@link #isRawArgumentFlag(String)},
+	 * which scans the characters instead of matching this pattern
+	 */
+	@Deprecated
 	@NotNull
 	public static final Pattern FLAG_PATTERN = Pattern.compile(FlagRegistry.FLAG_IDENTIFIER + "[a-z]+", Pattern.CASE_INSENSITIVE);
 	
-	@NotNull
+	/**
+	 * The registry of the contexts using no flags, it holds no manager
+	 * since nothing is ever extracted into it
+	 */
+	@SuppressWarnings("ConstantConditions")
+	private static final ContextFlagRegistry<?> EMPTY = new ContextFlagRegistry<>(null, null);
+	
 	private final CommandManager<?, S> manager;
 	
-	@NotNull
 	private final Context<S> commandContext;
 	
-	@NotNull
-	private final Map<String, CommandFlag> flagsUsed = new HashMap<>();
+	private long flagsUsed = 0L;
 	
 	
 	private ContextFlagRegistry(@NotNull CommandManager<?, S> manager,
@@ -37,6 +52,11 @@ public final class ContextFlagRegistry<S> {
 		this.commandContext = commandContext;
 	}
 	
+	@SuppressWarnings("unchecked")
+	public static <S> @NotNull ContextFlagRegistry<S> empty() {
+		return (ContextFlagRegistry<S>) EMPTY;
+	}
+	
 	public static <S> @NotNull ContextFlagRegistry<S> create(
 		@NotNull CommandManager<?, S> manager,
 		@NotNull CommandContext<S> commandContext
@@ -44,9 +64,39 @@ public final class ContextFlagRegistry<S> {
 		return new ContextFlagRegistry<>(manager, commandContext);
 	}
 	
-	public static boolean isRawArgumentFlag(String rawArg) {
-		Matcher matcher = FLAG_PATTERN.matcher(rawArg);
-		return matcher.matches();
+	/**
+	 * Checks whether a raw argument is a flag, which is the flag identifier
+	 * followed by one or more ascii letters, examples: -x , -xyz , -silent
+	 *
+	 * @param rawArg the raw argument
+	 * @return whether the raw argument is a flag
+	 */
+	public static boolean isRawArgumentFlag(@Nullable String rawArg) {
+		return rawArg != null && isRawArgumentFlag(rawArg, 0, rawArg.length());
+	}
+	
+	/**
+	 * Checks whether a range of characters is a flag, without copying it out
+	 *
+	 * @param chars the characters, usually the command line
+	 * @param start the offset of the first character of the range
+	 * @param end   the offset after the last character of the range
+	 * @return whether the range is a flag
+	 * @see #isRawArgumentFlag(String)
+	 */
+	public static boolean isRawArgumentFlag(@NotNull CharSequence chars, int start, int end) {
+		final String identifier = FlagRegistry.FLAG_IDENTIFIER;
+		final int letters = start + identifier.length();
+		if (end <= letters) return false;
+		
+		for (int i = start; i < letters; i++) {
+			if (chars.charAt(i) != identifier.charAt(i - start)) return false;
+		}
+		
+		for (int i = letters; i < end; i++) {
+			if (FlagRegistry.letterSlot(chars.charAt(i)) == -1) return false;
+		}
+		return true;
 	}
 	
 	public FlagExtractionResult extractFlags(@NotNull S sender, @NotNull Command<S> command, @NotNull CommandSyntax<S> syntax) {
@@ -54,87 +104,117 @@ public final class ContextFlagRegistry<S> {
 		List<Argument<?>> argumentList = (syntax instanceof SubCommandSyntax<S> sub) ? command.tree().getParentalArguments(sub.key())
 			: syntax.getArguments();
 		
-		for (int r = 0; r < argumentList.size()+commandContext.flagsUsed(); r++) {
+		//only the positions of the flags are visited, they were found when the context was created
+		final int limit = argumentList.size() + commandContext.flagsUsed();
+		for (int r = commandContext.nextFlag(0); r != -1 && r < limit; r = commandContext.nextFlag(r + 1)) {
 			String raw = commandContext.getRawArgument(r);
+			assert raw != null;
 			
-			if (raw == null)
-				break;
-			
-			if (isRawArgumentFlag(raw)) {
-				var extracted = extractFlagsUsed(sender, raw);
-				boolean foundOneAtLeast = !extracted.isEmpty();
-				
-				if (!foundOneAtLeast) {
-					manager.getSenderWrapper().sendMessage(sender, "The flag(s) used are unknown to the command flags registry !");
-					return FlagExtractionResult.FAILED;
-				}
-				
-				for (CommandFlag flag : extracted)
-					this.flagsUsed.put(flag.name(), flag);
+			if (!extractFlagsUsed(sender, raw)) {
+				manager.getSenderWrapper().sendMessage(sender, "The flag(s) used are unknown to the command flags registry !");
+				return FlagExtractionResult.FAILED;
 			}
 			
 		}
 		
 		
-		for (var flag : flagsUsed.values()) {
+		final FlagRegistry registry = manager.flagRegistry();
+		
+		//every flag used must be allowed by the syntax, which is a single and against its mask
+		long disallowed = flagsUsed & ~syntax.getFlags().mask(registry);
+		if (disallowed != 0) {
+			FlagInfo flag = registry.getFlag(Long.numberOfTrailingZeros(disallowed));
+			String flagName = flag == null ? "?" : flag.getName();
+			manager.getSenderWrapper().sendMessage(sender, "The flag '" + FlagRegistry.FLAG_IDENTIFIER + flagName + "' is not allowed in this syntax");
+			return FlagExtractionResult.FAILED;
+		}
+		
+		for (long remaining = flagsUsed; remaining != 0; remaining &= remaining - 1) {
+			FlagInfo flag = registry.getFlag(Long.numberOfTrailingZeros(remaining));
+			if (flag == null) continue;
 			
-			Information flagInfo = flag.info();
-			if (!syntax.getFlags().hasFlag(flag.name())) {
-				manager.getSenderWrapper().sendMessage(sender, "The flag '" + FlagRegistry.FLAG_IDENTIFIER + flag.name() + "' is not allowed in this syntax");
-				return FlagExtractionResult.FAILED;
-			} else if (flagInfo != null && flagInfo.permission() != null && !manager.getSenderWrapper().hasPermission(sender, flagInfo.permission())) {
-				manager.getSenderWrapper().sendMessage(sender, "No permission to use the flag '" + FlagRegistry.FLAG_IDENTIFIER + flag.name() + "'");
+			Information flagInfo = flag.getInformation();
+			if (flagInfo != null && flagInfo.permission() != null && !manager.getSenderWrapper().hasPermission(sender, flagInfo.permission())) {
+				manager.getSenderWrapper().sendMessage(sender, "No permission to use the flag '" + FlagRegistry.FLAG_IDENTIFIER + flag.getName() + "'");
 				return FlagExtractionResult.FAILED;
 			}
-			
 		}
 		
-		if (flagsUsed.isEmpty()) return FlagExtractionResult.FOUND_NONE;
+		if (flagsUsed == 0) return FlagExtractionResult.FOUND_NONE;
 		else return FlagExtractionResult.SUCCESS;
 		
 	}
 	
-	@NotNull
-	private Set<CommandFlag> extractFlagsUsed(@NotNull S sender, @NotNull String flagRaw) {
-		final Set<CommandFlag> flags = new LinkedHashSet<>();
+	/**
+	 * Resolves the flags of a raw flag, either a whole name or alias (-silent , -s),
+	 * otherwise combined short flags (-xyz), where every letter is the alias of a flag
+	 *
+	 * @return whether every flag in the raw flag is known
+	 */
+	private boolean extractFlagsUsed(@NotNull S sender, @NotNull String flagRaw) {
+		final FlagRegistry registry = manager.flagRegistry();
+		final String flagName = flagRaw.substring(FlagRegistry.FLAG_IDENTIFIER.length());
 		
-		//first check if it's single
-		
-		//there's more !
-		//examples: -x , -xyz
+		int ordinal = registry.ordinal(flagName);
+		if (ordinal != -1) {
+			useFlag(sender, registry, ordinal);
+			return true;
+		}
 		
-		for (FlagInfo flagInfo : manager.flagRegistry().flags()) {
-			
-			boolean foundFlagAliase = false;
-			for (String aliase : flagInfo.getAliases()) {
-				if (flagRaw.contains(aliase)) {
-					
-					if (foundFlagAliase) {
-						manager.getSenderWrapper().sendMessage(sender, "Warning: you used the same flag '" + flagRaw + "' twice !");
-						break;
-					}
-					
-					flags.add(CommandFlag.from(flagInfo));
-					foundFlagAliase = true;
-				}
-				
-			}
-			
+		//resolving every letter first, so that an unknown letter doesn't leave the others half used
+		for (int i = 0; i < flagName.length(); i++) {
+			if (registry.shortOrdinal(flagName.charAt(i)) == -1) return false;
 		}
 		
-		return flags;
+		for (int i = 0; i < flagName.length(); i++)
+			useFlag(sender, registry, registry.shortOrdinal(flagName.charAt(i)));
+		
+		return true;
+	}
+	
+	private void useFlag(@NotNull S sender, @NotNull FlagRegistry registry, int ordinal) {
+		final long bit = 1L << ordinal;
+		if ((flagsUsed & bit) != 0) {
+			FlagInfo flag = registry.getFlag(ordinal);
+			manager.getSenderWrapper().sendMessage(sender, "Warning: you used the same flag '" + FlagRegistry.FLAG_IDENTIFIER + (flag == null ? "?" : flag.getName()) + "' twice !");
+		}
+		flagsUsed |= bit;
 	}
 	
 	public boolean isPresent(String flagName) {
-		return getFlag(flagName) != null;
+		if (flagsUsed == 0) return false;
+		return isPresent(manager.flagRegistry().ordinal(flagName));
+	}
+	
+	/**
+	 * Checks whether a flag is used in the context
+	 *
+	 * @param ordinal the ordinal of the flag in the registry
+	 * @return whether the flag is used
+	 * @see FlagRegistry#ordinal(String)
+	 */
+	public boolean isPresent(int ordinal) {
+		return ordinal >= 0 && ordinal < FlagRegistry.MAX_FLAGS && (flagsUsed & (1L << ordinal)) != 0;
 	}
 	
 	public @Nullable CommandFlag getFlag(String flagName) {
-		return flagsUsed.get(flagName);
+		if (!isPresent(flagName)) return null;
+		
+		FlagInfo flag = manager.flagRegistry().getFlag(flagName);
+		return flag == null ? null : CommandFlag.from(flag);
+	}
+	
+	/**
+	 * Fetches the mask of the flags used in the context
+	 *
+	 * @return the mask, where every flag used is the bit of its ordinal
+	 */
+	public long mask() {
+		return flagsUsed;
 	}
 	
 	public int count() {
-		return flagsUsed.size();
+		return Long.bitCount(flagsUsed);
 	}
 	
 	public enum FlagExtractionResult {
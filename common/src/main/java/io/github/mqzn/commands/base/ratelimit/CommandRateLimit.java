@@ -0,0 +1,321 @@
+package io.github.mqzn.commands.base.ratelimit;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * A token bucket limiting how often a command can be used, it allows a burst of
+ * {@link #permits()} uses, then refills one permit every {@link #period()} / {@link #permits()}.
+ * <p>
+ * Every bucket is a single atomic timestamp, the theoretical arrival time of the next use
+ * (the generic cell rate algorithm), so acquiring a permit is one compare-and-set with no locks
+ * and no refill task. A limit scoped per {@link Scope#SENDER} holds a bucket per sender,
+ * buckets that are full again are swept lazily, so idle senders cost nothing.
+ * A {@link Scope#SHARED} limit holds a single bucket for every sender.
+ * <p>
+ * The state of the buckets lives in the limit itself, so a limit declared on a command
+ * throttles that command only, while the same limit instance declared on several commands,
+ * or on the manager through {@link io.github.mqzn.commands.base.manager.CommandManager#globalRateLimit(CommandRateLimit)},
+ * throttles all of them together.
+ *
+ * @author Mqzen
+ * @see io.github.mqzn.commands.base.cooldown.CommandCooldown
+ */
+public final class CommandRateLimit {
+	
+	public static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1);
+	
+	/**
+	 * The arrival time of a bucket that got swept, a bucket holding it
+	 * is no longer in the limit, so it must be looked up again
+	 */
+	private static final long SWEPT = Long.MIN_VALUE;
+	
+	@NotNull
+	private final Scope scope;
+	
+	private final int permits;
+	
+	@NotNull
+	private final Duration period;
+	
+	/**
+	 * The nanoseconds it takes to refill one permit
+	 */
+	private final long interval;
+	
+	/**
+	 * How far the arrival time may run ahead of now, which is what allows the bursts
+	 */
+	private final long tolerance;
+	
+	private final long sweepInterval;
+	
+	@NotNull
+	private final Bucket shared;
+	
+	@NotNull
+	private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+	
+	@NotNull
+	private final AtomicLong nextSweep;
+	
+	private CommandRateLimit(@NotNull Scope scope, int permits, @NotNull Duration period) {
+		if (permits <= 0) throw new IllegalArgumentException("The permits of a rate limit must be positive");
+		if (period.isNegative() || period.isZero())
+			throw new IllegalArgumentException("The period of a rate limit must be positive");
+		
+		this.scope = scope;
+		this.permits = permits;
+		this.period = period;
+		this.tolerance = period.toNanos();
+		this.interval = Math.max(1, tolerance / permits);
+		this.sweepInterval = Math.max(tolerance, SWEEP_INTERVAL.toNanos());
+		
+		final long now = System.nanoTime();
+		this.shared = new Bucket(now);
+		this.nextSweep = new AtomicLong(now + sweepInterval);
+	}
+	
+	public static CommandRateLimit of(@NotNull Scope scope, int permits, @NotNull Duration period) {
+		return new CommandRateLimit(scope, permits, period);
+	}
+	
+	public static CommandRateLimit of(@NotNull Scope scope, int permits, long period, @NotNull TimeUnit unit) {
+		return of(scope, permits, Duration.of(period, unit.toChronoUnit()));
+	}
+	
+	/**
+	 * Creates a limit where every sender has a bucket of its own
+	 *
+	 * @param permits the number of uses allowed in a burst
+	 * @param period  the time it takes to refill all the permits
+	 * @return the rate limit
+	 */
+	public static CommandRateLimit perSender(int permits, @NotNull Duration period) {
+		return of(Scope.SENDER, permits, period);
+	}
+	
+	/**
+	 * Creates a limit where all senders share the same bucket
+	 *
+	 * @param permits the number of uses allowed in a burst
+	 * @param period  the time it takes to refill all the permits
+	 * @return the rate limit
+	 */
+	public static CommandRateLimit shared(int permits, @NotNull Duration period) {
+		return of(Scope.SHARED, permits, period);
+	}
+	
+	/**
+	 * Acquires a permit from every limit, if one of them has no permit left,
+	 * the permits acquired from the limits before it are released
+	 *
+	 * @param sender the name of the sender
+	 * @param limits the limits
+	 * @return zero if the permits were acquired, otherwise the time until
+	 * the limit that rejected the sender has a permit again in milliseconds
+	 */
+	public static long acquireAll(@NotNull String sender, @NotNull List<CommandRateLimit> limits) {
+		for (int i = 0; i < limits.size(); i++) {
+			long retryAfter = limits.get(i).tryAcquire(sender);
+			if (retryAfter == 0) continue;
+			
+			for (int j = 0; j < i; j++)
+				limits.get(j).release(sender);
+			return retryAfter;
+		}
+		return 0;
+	}
+	
+	/**
+	 * Releases a permit acquired through {@link #acquireAll(String, List)}
+	 *
+	 * @param sender the name of the sender
+	 * @param limits the limits
+	 */
+	public static void releaseAll(@NotNull String sender, @NotNull List<CommandRateLimit> limits) {
+		for (CommandRateLimit limit : limits)
+			limit.release(sender);
+	}
+	
+	/**
+	 * Acquires a permit for the sender, only if there's one left
+	 *
+	 * @param sender the name of the sender
+	 * @return zero if the permit was acquired, otherwise
+	 * the time until a permit is available again in milliseconds
+	 */
+	public long tryAcquire(@NotNull String sender) {
+		final long now = System.nanoTime();
+		if (scope == Scope.SHARED) return toMillis(acquire(shared, now));
+		
+		sweepIfDue(now);
+		while (true) {
+			Bucket bucket = buckets.get(sender);
+			if (bucket == null) {
+				Bucket created = new Bucket(now + interval);
+				bucket = buckets.putIfAbsent(sender, created);
+				if (bucket == null) return 0;
+			}
+			
+			long wait = acquire(bucket, now);
+			if (wait != SWEPT) return toMillis(wait);
+			buckets.remove(sender, bucket);
+		}
+	}
+	
+	/**
+	 * Gives a permit back to the sender, it's meant for permits
+	 * that were acquired for an execution that didn't happen after all
+	 *
+	 * @param sender the name of the sender
+	 */
+	public void release(@NotNull String sender) {
+		Bucket bucket = scope == Scope.SHARED ? shared : buckets.get(sender);
+		if (bucket == null) return;
+		
+		while (true) {
+			long arrival = bucket.arrival;
+			if (arrival == SWEPT || Bucket.ARRIVAL.compareAndSet(bucket, arrival, arrival - interval)) return;
+		}
+	}
+	
+	/**
+	 * Fetches the time until the sender has a permit again, without acquiring it
+	 *
+	 * @param sender the name of the sender
+	 * @return the time in milliseconds, or zero if the sender has a permit left
+	 */
+	public long retryAfter(@NotNull String sender) {
+		Bucket bucket = scope == Scope.SHARED ? shared : buckets.get(sender);
+		if (bucket == null) return 0;
+		
+		long arrival = bucket.arrival;
+		if (arrival == SWEPT) return 0;
+		
+		final long now = System.nanoTime();
+		long next = (arrival - now > 0 ? arrival : now) + interval;
+		return toMillis(next - now - tolerance);
+	}
+	
+	/**
+	 * Refills the permits of a sender
+	 *
+	 * @param sender the name of the sender
+	 */
+	public void reset(@NotNull String sender) {
+		if (scope == Scope.SHARED) reset();
+		else buckets.remove(sender);
+	}
+	
+	/**
+	 * Refills the permits of every sender
+	 */
+	public void reset() {
+		buckets.clear();
+		shared.arrival = System.nanoTime();
+	}
+	
+	/**
+	 * @return the number of buckets held, including the full ones that weren't swept yet
+	 */
+	public int size() {
+		return scope == Scope.SHARED ? 1 : buckets.size();
+	}
+	
+	/**
+	 * Removes every bucket that's full again
+	 */
+	public void sweep() {
+		final long now = System.nanoTime();
+		for (Map.Entry<String, Bucket> mapping : buckets.entrySet()) {
+			Bucket bucket = mapping.getValue();
+			long arrival = bucket.arrival;
+			
+			//marking the bucket first, so that no one acquires from it while it's being removed
+			if (arrival != SWEPT && arrival - now <= 0
+				&& Bucket.ARRIVAL.compareAndSet(bucket, arrival, SWEPT)) {
+				buckets.remove(mapping.getKey(), bucket);
+			}
+		}
+	}
+	
+	public @NotNull Scope scope() {
+		return scope;
+	}
+	
+	public int permits() {
+		return permits;
+	}
+	
+	public @NotNull Duration period() {
+		return period;
+	}
+	
+	/**
+	 * @return the time it takes to acquire a permit, or {@link #SWEPT} if the bucket was swept
+	 */
+	private long acquire(Bucket bucket, long now) {
+		while (true) {
+			long arrival = bucket.arrival;
+			if (arrival == SWEPT) return SWEPT;
+			
+			long next = (arrival - now > 0 ? arrival : now) + interval;
+			long wait = next - now - tolerance;
+			if (wait > 0) return wait;
+			
+			if (Bucket.ARRIVAL.compareAndSet(bucket, arrival, next)) return 0;
+		}
+	}
+	
+	private void sweepIfDue(long now) {
+		long due = nextSweep.get();
+		if (now - due < 0 || !nextSweep.compareAndSet(due, now + sweepInterval)) return;
+		sweep();
+	}
+	
+	private static long toMillis(long nanos) {
+		//rounding up, so that a sender that's told to wait never gets a zero
+		return nanos <= 0 ? 0 : (nanos + 999_999) / 1_000_000;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("%d per %s (%s)", permits, period, scope);
+	}
+	
+	public enum Scope {
+		
+		/**
+		 * Every sender has a bucket of its own
+		 */
+		SENDER,
+		
+		/**
+		 * All senders share the same bucket
+		 */
+		SHARED
+		
+	}
+	
+	private static final class Bucket {
+		
+		private static final AtomicLongFieldUpdater<Bucket> ARRIVAL = AtomicLongFieldUpdater.newUpdater(Bucket.class, "arrival");
+		
+		private volatile long arrival;
+		
+		private Bucket(long arrival) {
+			this.arrival = arrival;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,43 @@
+package io.github.mqzn.commands.base.ratelimit;
+
+import io.github.mqzn.commands.base.caption.Caption;
+import io.github.mqzn.commands.base.caption.CaptionKey;
+import io.github.mqzn.commands.base.caption.Message;
+import io.github.mqzn.commands.base.context.Context;
+import io.github.mqzn.commands.base.cooldown.CooldownCaption;
+import io.github.mqzn.commands.exceptions.types.RateLimitException;
+import io.github.mqzn.commands.utilities.TimeParser;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.jetbrains.annotations.NotNull;
+
+public final class RateLimitCaption<S> implements Caption<S> {
+	
+	@Override
+	public @NotNull CaptionKey key() {
+		return CaptionKey.COMMAND_RATE_LIMITED;
+	}
+	
+	@Override
+	public @NotNull TextComponent message(S sender, Context<S> context, Throwable exception) {
+		String commandName = context.commandUsed().name();
+		if (!(exception instanceof RateLimitException rateLimit)) {
+			return Message.prefixed(Message.EXECUTION_ERROR)
+				.append(Component.text(String.format("Command '%s' is used too often, try again later", commandName), NamedTextColor.YELLOW));
+		}
+		
+		//rounding up to whole seconds, so that a wait under a second isn't shown as zero
+		long retryAfter = (rateLimit.getRetryAfter() + 999) / 1000 * 1000;
+		var timeData = TimeParser.parse(retryAfter).highestLogicalUnitValue();
+		
+		return Message.prefixed(Message.EXECUTION_ERROR)
+			.append(
+				Component.text(
+					String.format("Command '%s' is used too often, try again in %d %s",
+						commandName, timeData.getLeft(), CooldownCaption.formatUnit(timeData.getRight())), NamedTextColor.YELLOW
+				)
+			);
+	}
+	
+}
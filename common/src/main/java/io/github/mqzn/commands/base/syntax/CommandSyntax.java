@@ -6,9 +6,8 @@ import io.github.mqzn.commands.base.Information;
 import io.github.mqzn.commands.base.SenderWrapper;
 import io.github.mqzn.commands.base.context.CommandContext;
 import io.github.mqzn.commands.base.context.DelegateCommandContext;
-import io.github.mqzn.commands.base.manager.AmbiguityChecker;
 import io.github.mqzn.commands.base.manager.CommandManager;
-import io.github.mqzn.commands.base.manager.flags.ContextFlagRegistry;
+import io.github.mqzn.commands.base.ratelimit.CommandRateLimit;
 import io.github.mqzn.commands.base.syntax.tree.CommandTree;
 import io.github.mqzn.commands.utilities.ArgumentSyntaxUtility;
 import io.github.mqzn.commands.utilities.text.TextConvertible;
@@ -41,6 +40,12 @@ public class CommandSyntax<S> implements TextConvertible<S>, Comparable<CommandS
 	@Nullable
 	protected Information info = null;
 	
+	@NotNull
+	protected List<CommandRateLimit> rateLimits = List.of();
+	
+	@NotNull
+	private volatile SyntaxShape shape;
+	
 	<C> CommandSyntax(@NotNull CommandManager<?, S> manager,
 	                  @NotNull Class<C> senderClass,
 	                  @NotNull String commandLabel,
@@ -54,6 +59,7 @@ public class CommandSyntax<S> implements TextConvertible<S>, Comparable<CommandS
 		this.flags = flags;
 		this.arguments = args;
 		arguments.removeIf(Objects::isNull);
+		this.shape = SyntaxShape.of(arguments, this instanceof SubCommandSyntax<S>, flags.count());
 	}
 	
 	public static <S> List<Argument<?>> getArguments(CommandTree<S> tree, CommandSyntax<S> syntax) {
@@ -61,6 +67,20 @@ public class CommandSyntax<S> implements TextConvertible<S>, Comparable<CommandS
 		return syntax.getArguments();
 	}
 	
+	/**
+	 * Fetches the shape of the arguments that are used to parse a context
+	 * of the syntax, which are the parental arguments in case of a subcommand
+	 *
+	 * @param tree   the tree of the command
+	 * @param syntax the syntax
+	 * @param <S>    the sender type
+	 * @return the shape of the arguments of the syntax
+	 */
+	public static <S> SyntaxShape getShape(CommandTree<S> tree, CommandSyntax<S> syntax) {
+		if (syntax instanceof SubCommandSyntax<S> sub) return tree.getParentalShape(sub.key());
+		return syntax.shape();
+	}
+	
 	public @NotNull Class<?> getSenderClass() {
 		return senderClass;
 	}
@@ -77,6 +97,14 @@ public class CommandSyntax<S> implements TextConvertible<S>, Comparable<CommandS
 		this.info = info;
 	}
 	
+	public @NotNull List<CommandRateLimit> getRateLimits() {
+		return rateLimits;
+	}
+	
+	public void setRateLimits(@NotNull List<CommandRateLimit> rateLimits) {
+		this.rateLimits = List.copyOf(rateLimits);
+	}
+	
 	public @NotNull SyntaxFlags getFlags() {
 		return flags;
 	}
@@ -94,6 +122,17 @@ public class CommandSyntax<S> implements TextConvertible<S>, Comparable<CommandS
 	
 	public void addFlag(String flag) {
 		flags.addFlag(flag);
+		shape = shape.withFlagsCount(flags.count());
+	}
+	
+	/**
+	 * Fetches the shape of this syntax, computed
+	 * once when the syntax was built
+	 *
+	 * @return the shape of the syntax
+	 */
+	public @NotNull SyntaxShape shape() {
+		return shape;
 	}
 	
 	public int length() {
@@ -108,37 +147,23 @@ public class CommandSyntax<S> implements TextConvertible<S>, Comparable<CommandS
 	 */
 	public boolean matchesContext(@NotNull DelegateCommandContext<S> commandContext) {
 		
-		if (!AmbiguityChecker.hasLiteralArgs(this) && useSpace()) {
+		final SyntaxShape shape = this.shape;
+		if (!shape.hasLiterals() && shape.isGreedy()) {
 			return true;
 		}
 		
-		final int capacity = arguments.size();
+		final int capacity = shape.arity();
 		
-		int minSyntaxLength = (int) arguments.stream()
-			.filter((arg) -> !arg.isOptional() && !arg.useRemainingSpace())
-			.count() - flags.count();
-		
-		int maxSyntaxLength = capacity + flags.count();
-		
-		int greedyIndex = -1;
-		for (int i = 0; i < arguments.size(); i++) {
-			if (arguments.get(i).useRemainingSpace()) {
-				greedyIndex = i;
-				break;
-			}
-		}
+		int minSyntaxLength = shape.minArity() - shape.flagsCount();
+		int maxSyntaxLength = capacity + shape.flagsCount();
 		
-		int rawLength = commandContext.getRawArguments().size();
-		if (greedyIndex != -1) {
-			final int originalRawLength = rawLength;
-			rawLength = originalRawLength - (originalRawLength - greedyIndex);
-		}
+		int rawLength = shape.isGreedy() ? shape.greedyIndex() : commandContext.getRawArguments().size();
 		
 		if (rawLength < minSyntaxLength || rawLength > maxSyntaxLength) return false;
 		
 		for (int index = 0, rawIndex = 0; index < capacity; index++) {
 			
-			Argument<?> required = getArgument(index);
+			Argument<?> required = shape.argument(index);
 			String raw = commandContext.getRawArgument(rawIndex);
 			
 			assert required != null;
@@ -153,16 +178,12 @@ public class CommandSyntax<S> implements TextConvertible<S>, Comparable<CommandS
 				return rawIndex < commandContext.getRawArguments().size();
 			}
 			
-			while (ContextFlagRegistry.isRawArgumentFlag(raw)) {
+			while (raw != null && commandContext.isFlag(rawIndex)) {
 				raw = commandContext.getRawArgument(++rawIndex);
 			}
 			
-			if (required instanceof ArgumentLiteral) {
-				
-				if (!required.id().equalsIgnoreCase(raw) && !ArgumentSyntaxUtility.aliasesIncludes(((ArgumentLiteral) required).getAliases(), raw)) {
-					return false;
-				}
-				
+			if (shape.isLiteral(index) && !shape.matchesLiteral(index, raw)) {
+				return false;
 			}
 			
 			
@@ -174,11 +195,7 @@ public class CommandSyntax<S> implements TextConvertible<S>, Comparable<CommandS
 	}
 	
 	public boolean useSpace() {
-		
-		for (var arg : arguments)
-			if (arg.useRemainingSpace()) return true;
-		
-		return false;
+		return shape.isGreedy();
 	}
 	
 	public @NotNull List<Argument<?>> getArguments() {
@@ -3,6 +3,7 @@ package io.github.mqzn.commands.base.syntax;
 import io.github.mqzn.commands.arguments.Argument;
 import io.github.mqzn.commands.base.Information;
 import io.github.mqzn.commands.base.manager.CommandManager;
+import io.github.mqzn.commands.base.ratelimit.CommandRateLimit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -31,6 +32,9 @@ public class CommandSyntaxBuilder<S, C> {
 	@Nullable
 	protected Information info = null;
 	
+	@NotNull
+	protected final List<CommandRateLimit> rateLimits = new ArrayList<>();
+	
 	protected CommandSyntaxBuilder(@NotNull CommandManager<?, S> manager,
 	                               @NotNull Class<C> senderClass,
 	                               @NotNull String label) {
@@ -50,6 +54,11 @@ public class CommandSyntaxBuilder<S, C> {
 		return this;
 	}
 	
+	public CommandSyntaxBuilder<S, C> rateLimit(@NotNull CommandRateLimit rateLimit) {
+		this.rateLimits.add(rateLimit);
+		return this;
+	}
+	
 	public CommandSyntaxBuilder<S, C> flags(String... flags) {
 		this.flags = SyntaxFlags.of(flags);
 		return this;
@@ -83,6 +92,7 @@ public class CommandSyntaxBuilder<S, C> {
 			execution == null ? (s, c) -> {
 			} : execution, flags, arguments);
 		syntax.setInfo(info);
+		syntax.setRateLimits(rateLimits);
 		return syntax;
 	}
 	
@@ -3,6 +3,7 @@ package io.github.mqzn.commands.base.syntax;
 import io.github.mqzn.commands.arguments.Argument;
 import io.github.mqzn.commands.base.Information;
 import io.github.mqzn.commands.base.manager.CommandManager;
+import io.github.mqzn.commands.base.ratelimit.CommandRateLimit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -58,6 +59,11 @@ public class SubCommandBuilder<S, C> extends CommandSyntaxBuilder<S, C> {
 		return (SubCommandBuilder<S, C>) super.info(info);
 	}
 	
+	@Override
+	public SubCommandBuilder<S, C> rateLimit(@NotNull CommandRateLimit rateLimit) {
+		return (SubCommandBuilder<S, C>) super.rateLimit(rateLimit);
+	}
+	
 	@Override
 	public SubCommandBuilder<S, C> flags(String... flags) {
 		return (SubCommandBuilder<S, C>) super.flags(flags);
@@ -99,6 +105,7 @@ public class SubCommandBuilder<S, C> extends CommandSyntaxBuilder<S, C> {
 			commandAliases, execution, flags, arguments, defaultExecution);
 		
 		subCommandSyntax.setInfo(info);
+		subCommandSyntax.setRateLimits(rateLimits);
 		
 		for (var child : children)
 			subCommandSyntax.addChild(child);
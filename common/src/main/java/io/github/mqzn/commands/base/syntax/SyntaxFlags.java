@@ -1,6 +1,8 @@
 package io.github.mqzn.commands.base.syntax;
 
+import io.github.mqzn.commands.base.manager.FlagRegistry;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
@@ -9,6 +11,13 @@ public final class SyntaxFlags implements Iterable<String> {
 	@NotNull
 	private final Set<String> flags = new HashSet<>();
 	
+	/**
+	 * The mask of the flags, computed against the flag registry
+	 * and computed again once the registry changes
+	 */
+	@Nullable
+	private volatile Mask mask;
+	
 	private SyntaxFlags(String... flags) {
 		Collections.addAll(this.flags, flags);
 	}
@@ -21,16 +30,41 @@ public final class SyntaxFlags implements Iterable<String> {
 	public void addFlag(String flag) {
 		if(flag == null) return;
 		flags.add(flag);
+		mask = null;
 	}
 	
 	public void removeFlag(String flag) {
 		flags.remove(flag);
+		mask = null;
 	}
 	
 	public boolean hasFlag(String flag) {
 		return flag != null && flags.contains(flag);
 	}
 	
+	/**
+	 * Fetches the mask of the flags allowed in the syntax, where every flag
+	 * is the bit of its ordinal in the registry, the flags that aren't registered are left out
+	 *
+	 * @param registry the flag registry
+	 * @return the mask of the allowed flags
+	 * @see FlagRegistry#ordinal(String)
+	 */
+	public long mask(@NotNull FlagRegistry registry) {
+		final int version = registry.version();
+		Mask mask = this.mask;
+		if (mask != null && mask.version == version) return mask.bits;
+		
+		long bits = 0L;
+		for (String flag : flags) {
+			int ordinal = registry.ordinal(flag);
+			if (ordinal != -1) bits |= 1L << ordinal;
+		}
+		
+		this.mask = new Mask(version, bits);
+		return bits;
+	}
+	
 	/**
 	 * Returns an iterator over elements of type {@code T}.
 	 *
@@ -58,4 +92,8 @@ public final class SyntaxFlags implements Iterable<String> {
 		return Objects.hash(flags);
 	}
 	
+	private record Mask(int version, long bits) {
+		
+	}
+	
 }
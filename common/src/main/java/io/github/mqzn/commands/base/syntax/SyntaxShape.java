@@ -0,0 +1,197 @@
+package io.github.mqzn.commands.base.syntax;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.arguments.ArgumentLiteral;
+import io.github.mqzn.commands.utilities.ArgumentSyntaxUtility;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The shape of a syntax, which is everything needed
+ * to check whether a syntax matches the raw arguments of a context,
+ * it's computed once when the syntax is built, instead of being
+ * recomputed on every execution.
+ *
+ * @author Mqzen
+ * @see CommandSyntax#shape()
+ */
+public final class SyntaxShape {
+	
+	@NotNull
+	private final Argument<?>[] arguments;
+	
+	private final int minArity;
+	
+	private final int greedyIndex;
+	
+	private final boolean literals;
+	
+	private final int flagsCount;
+	
+	/**
+	 * The case-folded id and aliases of each literal argument,
+	 * indexed by the position of the literal in the syntax,
+	 * the entries of the other arguments are null
+	 */
+	private final String[][] literalKeys;
+	
+	/**
+	 * The positions of the non-literal arguments, keyed by
+	 * their ids as declared and by their case-folded ids
+	 */
+	@NotNull
+	private final Map<String, Integer> indexes;
+	
+	private SyntaxShape(@NotNull Argument<?>[] arguments, int minArity, int greedyIndex,
+	                    boolean literals, int flagsCount, String[][] literalKeys,
+	                    @NotNull Map<String, Integer> indexes) {
+		this.arguments = arguments;
+		this.minArity = minArity;
+		this.greedyIndex = greedyIndex;
+		this.literals = literals;
+		this.flagsCount = flagsCount;
+		this.literalKeys = literalKeys;
+		this.indexes = indexes;
+	}
+	
+	/**
+	 * Computes the shape of the arguments of a syntax
+	 *
+	 * @param arguments   the arguments of the syntax
+	 * @param subCommand  whether the syntax is a subcommand, subcommands are always literal
+	 * @param flagsCount  the number of flags of the syntax
+	 * @return the shape of the syntax
+	 */
+	public static SyntaxShape of(@NotNull List<Argument<?>> arguments, boolean subCommand, int flagsCount) {
+		Argument<?>[] array = arguments.toArray(new Argument<?>[0]);
+		String[][] literalKeys = new String[array.length][];
+		Map<String, Integer> indexes = new HashMap<>();
+		
+		int minArity = 0;
+		int greedyIndex = -1;
+		boolean literals = subCommand;
+		
+		for (int i = 0; i < array.length; i++) {
+			Argument<?> argument = array[i];
+			
+			if (!argument.isOptional() && !argument.useRemainingSpace()) minArity++;
+			if (greedyIndex == -1 && argument.useRemainingSpace()) greedyIndex = i;
+			
+			if (argument instanceof ArgumentLiteral literal) {
+				literals = true;
+				
+				String[] aliases = literal.getAliases().getArray();
+				String[] keys = new String[aliases.length + 1];
+				keys[0] = ArgumentSyntaxUtility.foldCase(literal.id());
+				for (int alias = 0; alias < aliases.length; alias++)
+					keys[alias + 1] = ArgumentSyntaxUtility.foldCase(aliases[alias]);
+				
+				literalKeys[i] = keys;
+			} else {
+				indexes.putIfAbsent(argument.id(), i);
+				indexes.putIfAbsent(ArgumentSyntaxUtility.foldCase(argument.id()), i);
+			}
+		}
+		
+		return new SyntaxShape(array, minArity, greedyIndex, literals, flagsCount, literalKeys,
+			Collections.unmodifiableMap(indexes));
+	}
+	
+	/**
+	 * Copies this shape with a different number of flags
+	 *
+	 * @param flagsCount the new number of flags
+	 * @return the new shape
+	 */
+	SyntaxShape withFlagsCount(int flagsCount) {
+		return new SyntaxShape(arguments, minArity, greedyIndex, literals, flagsCount, literalKeys, indexes);
+	}
+	
+	/**
+	 * Fetches the argument at a specific position
+	 *
+	 * @param index the position of the argument
+	 * @return the argument, or null if the position is out of the syntax's bounds
+	 */
+	public @Nullable Argument<?> argument(int index) {
+		if (index < 0 || index >= arguments.length) return null;
+		return arguments[index];
+	}
+	
+	/**
+	 * @return the number of arguments of the syntax
+	 */
+	public int arity() {
+		return arguments.length;
+	}
+	
+	/**
+	 * @return the number of arguments that are neither optional nor greedy
+	 */
+	public int minArity() {
+		return minArity;
+	}
+	
+	/**
+	 * @return the position of the first greedy argument, or -1 if there's none
+	 */
+	public int greedyIndex() {
+		return greedyIndex;
+	}
+	
+	public boolean isGreedy() {
+		return greedyIndex != -1;
+	}
+	
+	/**
+	 * @return whether the syntax has literal arguments, or is a subcommand
+	 */
+	public boolean hasLiterals() {
+		return literals;
+	}
+	
+	public int flagsCount() {
+		return flagsCount;
+	}
+	
+	/**
+	 * Fetches the position of a non-literal argument
+	 * by its id, regardless of the case of the id
+	 *
+	 * @param id the id of the argument
+	 * @return the position of the argument, or -1 if there's no such argument
+	 */
+	public int indexOf(@NotNull String id) {
+		Integer index = indexes.get(id);
+		if (index == null) index = indexes.get(ArgumentSyntaxUtility.foldCase(id));
+		return index == null ? -1 : index;
+	}
+	
+	public boolean isLiteral(int index) {
+		return index >= 0 && index < literalKeys.length && literalKeys[index] != null;
+	}
+	
+	/**
+	 * Checks whether the raw argument matches the id
+	 * or one of the aliases of the literal at a specific position
+	 *
+	 * @param index the position of the literal
+	 * @param raw   the raw argument
+	 * @return whether the raw argument matches the literal
+	 */
+	public boolean matchesLiteral(int index, @Nullable String raw) {
+		if (raw == null || !isLiteral(index)) return false;
+		
+		String folded = ArgumentSyntaxUtility.foldCase(raw);
+		for (String key : literalKeys[index]) {
+			if (key.equals(folded)) return true;
+		}
+		return false;
+	}
+	
+}
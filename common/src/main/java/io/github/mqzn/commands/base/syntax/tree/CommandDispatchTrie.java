@@ -0,0 +1,168 @@
+package io.github.mqzn.commands.base.syntax.tree;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.arguments.ArgumentStringArray;
+import io.github.mqzn.commands.base.context.DelegateCommandContext;
+import io.github.mqzn.commands.base.syntax.SubCommandSyntax;
+import io.github.mqzn.commands.utilities.ArgumentSyntaxUtility;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable compiled form of the subcommands of a {@link CommandTree}.
+ * Every edge is keyed by the case-folded name or alias of a subcommand,
+ * while the arguments of a subcommand are represented by the arity
+ * of its node, so they act as wildcard edges between a subcommand and its children.
+ * <p>
+ * Resolving a subcommand costs a hash lookup per level of depth,
+ * and since the trie is never modified after being compiled, it requires no locking.
+ *
+ * @param <S> the sender type
+ * @author Mqzen
+ * @see CommandTree
+ */
+final class CommandDispatchTrie<S> {
+	
+	@NotNull
+	private final Map<String, Node<S>> roots;
+	
+	private CommandDispatchTrie(@NotNull Map<String, Node<S>> roots) {
+		this.roots = roots;
+	}
+	
+	/**
+	 * Compiles the subcommands of the tree into a trie
+	 *
+	 * @param tree the tree of the subcommands
+	 * @param <S>  the sender type
+	 * @return the compiled trie
+	 */
+	static <S> CommandDispatchTrie<S> compile(@NotNull CommandTree<S> tree) {
+		Map<String, Node<S>> roots = new HashMap<>();
+		for (CommandTree.CommandNode<S> root : tree.getRoots().values()) {
+			link(roots, compileNode(tree, root.data));
+		}
+		return new CommandDispatchTrie<>(Collections.unmodifiableMap(roots));
+	}
+	
+	private static <S> Node<S> compileNode(CommandTree<S> tree, SubCommandSyntax<S> data) {
+		Map<String, Node<S>> children = new HashMap<>();
+		
+		for (String child : data.getChildren()) {
+			String parentName = data.getName().equalsIgnoreCase(child) ? null : data.getName();
+			SubCommandSyntax<S> childSubCommand = tree.getSubCommand(CommandTree.SubCommandKey.create(parentName, child));
+			if (childSubCommand == null) continue;
+			
+			link(children, compileNode(tree, childSubCommand));
+		}
+		
+		//the greedy arguments may consume no raw argument at all, the same as in SyntaxShape
+		List<Argument<?>> arguments = data.getArguments();
+		int minArity = 0;
+		boolean greedy = false;
+		for (Argument<?> argument : arguments) {
+			boolean consumesRemaining = argument.useRemainingSpace() || argument instanceof ArgumentStringArray;
+			if (!argument.isOptional() && !consumesRemaining) minArity++;
+			greedy |= consumesRemaining;
+		}
+		
+		return new Node<>(data, minArity, arguments.size(), greedy, Collections.unmodifiableMap(children));
+	}
+	
+	private static <S> void link(Map<String, Node<S>> edges, Node<S> node) {
+		edges.putIfAbsent(ArgumentSyntaxUtility.foldCase(node.data.getName()), node);
+		for (String alias : node.data.getAliases().getArray()) {
+			edges.putIfAbsent(ArgumentSyntaxUtility.foldCase(alias), node);
+		}
+	}
+	
+	/**
+	 * Finds the index of the next raw argument that is not a flag
+	 *
+	 * @param context the context holding the raw arguments
+	 * @param start   the index to start from
+	 * @return the index of the next literal, or -1 if there's none
+	 */
+	private static int nextLiteral(DelegateCommandContext<?> context, int start) {
+		List<String> raw = context.getRawArguments();
+		for (int i = start; i < raw.size(); i++) {
+			if (!context.isFlag(i)) return i;
+		}
+		return -1;
+	}
+	
+	private static int countLiterals(DelegateCommandContext<?> context, int start) {
+		int count = 0;
+		for (int i = start; i < context.getRawArguments().size(); i++) {
+			if (!context.isFlag(i)) count++;
+		}
+		return count;
+	}
+	
+	/**
+	 * Resolves the subcommand used in the context, by walking
+	 * down the trie starting from the first literal of the context
+	 *
+	 * @param context the context being executed
+	 * @return the result of the search
+	 */
+	CommandTree.CommandSearchResult<S> resolve(@NotNull DelegateCommandContext<S> context) {
+		List<String> raw = context.getRawArguments();
+		
+		int position = nextLiteral(context, 0);
+		Node<S> node = position == -1 ? null : roots.get(ArgumentSyntaxUtility.foldCase(raw.get(position)));
+		
+		while (node != null) {
+			int remaining = countLiterals(context, position + 1);
+			if (node.accepts(remaining))
+				return new CommandTree.CommandSearchResult<>(node.data, CommandTree.CommandSearchResultState.FOUND);
+			
+			if (remaining == 0)
+				return new CommandTree.CommandSearchResult<>(node.data, CommandTree.CommandSearchResultState.FOUND_INCOMPLETE);
+			
+			//the child must come right after the arguments of its parent
+			Node<S> child = null;
+			int cursor = position;
+			for (int consumed = 0; consumed <= node.maxArity && child == null; consumed++) {
+				cursor = nextLiteral(context, cursor + 1);
+				if (cursor == -1) break;
+				if (consumed >= node.minArity) child = node.next(raw.get(cursor));
+			}
+			
+			node = child;
+			position = cursor;
+		}
+		
+		return new CommandTree.CommandSearchResult<>(null, CommandTree.CommandSearchResultState.NOT_FOUND);
+	}
+	
+	/**
+	 * A compiled subcommand node, holding the arity
+	 * of the arguments of its subcommand and the edges to its children
+	 *
+	 * @param <S> the sender type
+	 */
+	private record Node<S>(@NotNull SubCommandSyntax<S> data,
+	                       int minArity,
+	                       int maxArity,
+	                       boolean greedy,
+	                       @NotNull Map<String, Node<S>> children) {
+		
+		boolean accepts(int arity) {
+			return arity >= minArity && (greedy || arity <= maxArity);
+		}
+		
+		@Nullable
+		Node<S> next(String raw) {
+			if (children.isEmpty()) return null;
+			return children.get(ArgumentSyntaxUtility.foldCase(raw));
+		}
+		
+	}
+	
+}
@@ -1,17 +1,15 @@
 package io.github.mqzn.commands.base.syntax.tree;
 
 import io.github.mqzn.commands.arguments.Argument;
-import io.github.mqzn.commands.arguments.ArgumentStringArray;
 import io.github.mqzn.commands.base.Command;
 import io.github.mqzn.commands.base.context.DelegateCommandContext;
-import io.github.mqzn.commands.base.manager.flags.ContextFlagRegistry;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
 import io.github.mqzn.commands.base.syntax.SubCommandSyntax;
+import io.github.mqzn.commands.base.syntax.SyntaxShape;
 import io.github.mqzn.commands.help.SubCommandHelp;
 import io.github.mqzn.commands.utilities.ArgumentSyntaxUtility;
 
 import java.util.*;
-import java.util.function.Predicate;
 
 /**
  * This class represents a tree data structure
@@ -26,14 +24,23 @@ public final class CommandTree<S> {
 	private final Command<S> command;
 	private final Map<SubCommandKey<S>, SubCommandSyntax<S>> subCommands;
 	private final Map<String, CommandNode<S>> roots;
+	private final Map<String, SubCommandSyntax<S>> subCommandsIndex;
 	private final SubCommandArgumentTree<S> subtree;
+	private final Map<SubCommandKey<S>, SyntaxShape> parentalShapes;
+	private final CommandDispatchTrie<S> trie;
 	
 	private CommandTree(Command<S> command) {
 		this.command = command;
 		this.subCommands = new HashMap<>();
 		this.roots = new HashMap<>();
+		this.subCommandsIndex = new HashMap<>();
 		init();
 		this.subtree = SubCommandArgumentTree.wrap(command, this);
+		this.parentalShapes = new HashMap<>();
+		for (SubCommandSyntax<S> sub : subCommands.values()) {
+			parentalShapes.put(sub.key(), SyntaxShape.of(getParentalArguments(sub.key()), true, sub.getFlags().count()));
+		}
+		this.trie = CommandDispatchTrie.compile(this);
 	}
 	
 	public static <S> CommandTree<S> create(Command<S> command) {
@@ -44,7 +51,7 @@ public final class CommandTree<S> {
 		String lastArgument = context.getRawArgument(context.getRawArguments().size() - 1);
 		for (int i = context.getRawArguments().size() - 1; i >= 0; i--) {
 			String raw = context.getRawArgument(i);
-			if (ContextFlagRegistry.isRawArgumentFlag(raw)) continue;
+			if (context.isFlag(i)) continue;
 			lastArgument = raw;
 			break;
 		}
@@ -90,6 +97,11 @@ public final class CommandTree<S> {
 			//debugRootContent(root);
 		}
 		
+		for (SubCommandSyntax<S> sub : subCommands.values()) {
+			subCommandsIndex.putIfAbsent(ArgumentSyntaxUtility.foldCase(sub.getName()), sub);
+			for (String alias : sub.getAliases().getArray())
+				subCommandsIndex.putIfAbsent(ArgumentSyntaxUtility.foldCase(alias), sub);
+		}
 		
 	}
 	
@@ -121,86 +133,8 @@ public final class CommandTree<S> {
 	 * @param context the command context determined by the sender
 	 * @return the subcommand to execute
 	 */
-	public synchronized CommandSearchResult<S> traverse(DelegateCommandContext<S> context) {
-		CommandNode<S> root = findRoot(context);
-		if (root == null) return new CommandSearchResult<>(null, CommandSearchResultState.NOT_FOUND);
-		if (matchesContext(root.data, context))
-			return new CommandSearchResult<>(root.data, CommandSearchResultState.FOUND);
-		
-		String lastArg = getLastRawArgument(context);
-		if (lastArg != null && root.data.matches(lastArg)) {
-			return new CommandSearchResult<>(
-				root.data,
-				CommandSearchResultState.FOUND_INCOMPLETE
-			);
-		} else if (root.data.hasChildren()) return searchInRoot(lastArg, root, context);
-		
-		return new CommandSearchResult<>(null, CommandSearchResultState.NOT_FOUND);
-	}
-	
-	/**
-	 * Finds the root subcommand to start searching in its
-	 * chain of children
-	 *
-	 * @param context the context being executed
-	 * @return the root subcommand
-	 */
-	private CommandNode<S> findRoot(DelegateCommandContext<S> context) {
-		String nextLiteral = null;
-		for (String next : context.getRawArguments()) {
-			if (!ContextFlagRegistry.isRawArgumentFlag(next)) {
-				nextLiteral = next;
-				break;
-			}
-		}
-		if (nextLiteral == null) {
-			return null;
-		}
-		CommandNode<S> rootNode = roots.get(nextLiteral.toLowerCase(Locale.getDefault()));
-		if (rootNode != null) return rootNode;
-		for (CommandNode<S> root : roots.values()) {
-			if (ArgumentSyntaxUtility.aliasesIncludes(root.data.getAliases(), nextLiteral)) {
-				return root;
-			}
-		}
-		return null;
-	}
-	
-	/**
-	 * Searches for children used in
-	 * the root subcommand
-	 *
-	 * @param root    the root subcommand
-	 * @param context the context being executed
-	 * @return the subcommand child that matches the context being executed
-	 */
-	private CommandSearchResult<S> searchInRoot(
-		String lastArg,
-		CommandNode<S> root,
-		DelegateCommandContext<S> context
-	) {
-		
-		for (CommandNode<S> nextNode : root.nextNodes) {
-			SubCommandSyntax<S> previousParent = getPreviousParent(nextNode.data, context);
-			if (matchesContext(nextNode.data, context)) return new CommandSearchResult<>(
-				nextNode.data,
-				CommandSearchResultState.FOUND
-			);
-			else if (lastArg != null && nextNode.data.matches(lastArg) &&
-				!nextNode.data.isOrphan() && previousParent != null
-				&& previousParent.matches(nextNode.data.getParent())
-			) {
-				
-				return new CommandSearchResult<>(
-					nextNode.data,
-					CommandSearchResultState.FOUND_INCOMPLETE
-				);
-			} else if (nextNode.data.hasChildren()) {
-				CommandSearchResult<S> deepSearch = searchInRoot(lastArg, nextNode, context);
-				if (deepSearch.state != CommandSearchResultState.NOT_FOUND) return deepSearch;
-			}
-		}
-		return new CommandSearchResult<>(null, CommandSearchResultState.NOT_FOUND);
+	public CommandSearchResult<S> traverse(DelegateCommandContext<S> context) {
+		return trie.resolve(context);
 	}
 	
 	public SubCommandSyntax<S> getSubCommand(SubCommandKey<S> key) {
@@ -213,111 +147,20 @@ public final class CommandTree<S> {
 	}
 	
 	/**
-	 * Checks if the syntax matches the context input
+	 * Fetches the shape of the parental arguments of a subcommand
 	 *
-	 * @param commandContext the input
-	 * @return whether the syntax is suitable for the context used !
+	 * @param key the key of the subcommand
+	 * @return the shape of the parental arguments
+	 * @see #getParentalArguments(SubCommandKey)
 	 */
-	private boolean matchesContext(SubCommandSyntax<S> subCommand, DelegateCommandContext<S> commandContext) {
-		//getting the previous parent
-		boolean matchesLength = matchesContextLength(subCommand, commandContext);
-		if (subCommand.isOrphan()) {
-			return matchesLength;
-		}
-		
-		SubCommandSyntax<S> previousParent = getPreviousParent(subCommand, commandContext);
-		return previousParent != null && previousParent.matches(subCommand.getParent()) && matchesLength;
-	}
-	
-	private SubCommandSyntax<S> getPreviousParent(
-		SubCommandSyntax<S> base,
-		DelegateCommandContext<S> commandContext
-	) {
-		int subPositionInContext = commandContext.getRawArguments().indexOf(base.getName());
-		if (subPositionInContext == -1) {
-			for (int index = 0; index < commandContext.getRawArguments().size(); index++) {
-				String arg = commandContext.getRawArgument(index);
-				if (ArgumentSyntaxUtility.aliasesIncludes(base.getAliases(), arg)) {
-					subPositionInContext = index;
-					break;
-				}
-			}
-		}
-		
-		SubCommandSyntax<S> parent = null;
-		for (int index = subPositionInContext - 1; index >= 0; index--) {
-			String rawArg = commandContext.getRawArgument(index);
-			SubCommandSyntax<S> parentSub = searchForSub(rawArg);
-			if (parentSub != null) {
-				parent = parentSub;
-				break;
-			}
-		}
-		return parent;
-	}
-	
-	private boolean matchesContextLength(
-		SubCommandSyntax<S> subCommand,
-		DelegateCommandContext<S> commandContext
-	) {
-		int subPosition = getSubCommandPosition(subCommand, commandContext);
-		List<Argument<?>> arguments = subCommand.getArguments();
-		
-		boolean flagsUsed = usedFlagsInContext(commandContext);
-		int flagsCount = subCommand.getFlags().count();
-		int minSyntaxLength = (int) arguments.stream()
-			.filter(arg -> !arg.isOptional())
-			.count();
-		
-		int maxSyntaxLength = arguments.size() + (flagsUsed ? flagsCount : 0);
-		
-		int greedyIndex = indexOfFirst(arguments, (arg) -> arg.useRemainingSpace() || arg instanceof ArgumentStringArray);
-		int rawArgsLength = commandContext.getRawArguments().size();
-		
-		if (greedyIndex != -1) {
-			//if greedy was used
-			int shiftedGreedyIndex = subPosition + greedyIndex + 1;
-			int greedyRawLength = rawArgsLength - shiftedGreedyIndex;
-			int beforeGreedyArgRawLength = (rawArgsLength - greedyRawLength);
-			return (beforeGreedyArgRawLength + 1) >= (minSyntaxLength + beforeGreedyArgRawLength) &&
-				(beforeGreedyArgRawLength + 1) <= (maxSyntaxLength + beforeGreedyArgRawLength);
-		}
-		
-		int rawLength = rawArgsLength - subPosition - 1;
-		
-		return rawLength >= minSyntaxLength && rawLength <= maxSyntaxLength;
-	}
-	
-	private int indexOfFirst(List<Argument<?>> arguments, Predicate<Argument<?>> predicate) {
-		for (int i = 0; i < arguments.size(); i++) {
-			var arg = arguments.get(i);
-			if (arg == null) break;
-			if (predicate.test(arg)) return i;
-		}
-		
-		return -1;
-	}
-	
-	private boolean usedFlagsInContext(DelegateCommandContext<S> context) {
-		for (String arg : context.getRawArguments()) {
-			if (ContextFlagRegistry.isRawArgumentFlag(arg)) return true;
-		}
-		return false;
-	}
-	
-	private int getSubCommandPosition(SubCommandSyntax<S> syntax, DelegateCommandContext<S> context) {
-		for (int i = 0; i < context.getRawArguments().size(); i++) {
-			String raw = context.getRawArgument(i);
-			if (syntax.matches(raw)) return i;
-		}
-		return -1;
+	public SyntaxShape getParentalShape(SubCommandKey<S> key) {
+		SyntaxShape shape = parentalShapes.get(key);
+		return shape != null ? shape : SyntaxShape.of(getParentalArguments(key), true, 0);
 	}
 	
 	public SubCommandSyntax<S> searchForSub(String name) {
-		for (SubCommandSyntax<S> sub : subCommands.values()) {
-			if (sub.matches(name)) return sub;
-		}
-		return null;
+		if (name == null) return null;
+		return subCommandsIndex.get(ArgumentSyntaxUtility.foldCase(name));
 	}
 	
 	public enum CommandSearchResultState {
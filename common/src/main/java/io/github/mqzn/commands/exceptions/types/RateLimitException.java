@@ -0,0 +1,32 @@
+package io.github.mqzn.commands.exceptions.types;
+
+import io.github.mqzn.commands.exceptions.CommandException;
+import org.jetbrains.annotations.NotNull;
+
+public final class RateLimitException extends CommandException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private final long retryAfter;
+	
+	public RateLimitException(@NotNull String command, long retryAfter) {
+		super(String.format("Command '%s' is rate limited, retry after %dms", command, retryAfter), command);
+		this.retryAfter = retryAfter;
+	}
+	
+	@Override
+	public Throwable fillInStackTrace() {
+		// Stacktrace is useless to the rate limiter
+		return this;
+	}
+	
+	/**
+	 * Gets the time until the sender can use the command again.
+	 *
+	 * @return the time in milliseconds
+	 */
+	public long getRetryAfter() {
+		return retryAfter;
+	}
+	
+}
@@ -10,6 +10,7 @@ import io.github.mqzn.commands.base.syntax.SubCommandSyntax;
 import io.github.mqzn.commands.base.syntax.SyntaxFlags;
 import io.github.mqzn.commands.base.syntax.tree.CommandTree;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -21,7 +22,7 @@ public class SubCommandHelp<S> extends SubCommandSyntax<S> {
 			commandLabel, parent.getName(), "help", CommandAliases.of(),
 			((sender, commandContext) -> execute(manager, parent, sender, commandContext)),
 			SyntaxFlags.of(),
-			List.of(Argument.integer("page").min(1).asOptional().setDefaultValue(1)),
+			new ArrayList<>(List.of(Argument.integer("page").min(1).asOptional().setDefaultValue(1))),
 			((sender, context) -> helpExecution(sender, manager, context, 1, parent)));
 	}
 	
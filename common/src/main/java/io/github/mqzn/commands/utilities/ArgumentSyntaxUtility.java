@@ -7,6 +7,7 @@ import io.github.mqzn.commands.base.syntax.CommandAliases;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.Locale;
 
 public final class ArgumentSyntaxUtility {
 	
@@ -52,6 +53,17 @@ public final class ArgumentSyntaxUtility {
 		return false;
 	}
 	
+	/**
+	 * Folds the case of a literal, so it can be used
+	 * as a key for case-insensitive lookups
+	 *
+	 * @param literal the literal to fold
+	 * @return the case-folded literal
+	 */
+	public static @NotNull String foldCase(@NotNull String literal) {
+		return literal.toLowerCase(Locale.ROOT);
+	}
+	
 	public static <S> String format(
 		@NotNull CommandManager<?, S> commandManager,
 		@NotNull String commandLabel,
@@ -0,0 +1,144 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.AsyncSuggestionProvider;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@TestOnly
+public final class AsyncSuggestionTest {
+	
+	private final TestCommandManager commandManager = TestBootstrap.sharedManager();
+	private final ClientSender sender = new ClientSender("mqzen");
+	
+	private final AtomicInteger requests = new AtomicInteger();
+	
+	/**
+	 * Builds a command suggesting a few fruits synchronously, and the others through the provider
+	 */
+	private Command<ClientSender> command(String name, AsyncSuggestionProvider<ClientSender> provider) {
+		return Command.builder(commandManager, name)
+			.syntax(CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, name)
+				.argument(Argument.word("fruit")
+					.suggest("apple", "apricot", "banana")
+					.suggestAsync(ClientSender.class, (sender, prefix) -> {
+						requests.incrementAndGet();
+						return provider.suggestions(sender, prefix);
+					}))
+				.build())
+			.build();
+	}
+	
+	@Test
+	public void mergesTheAsyncAndTheSyncSuggestions() throws Exception {
+		CompletableFuture<List<String>> provided = new CompletableFuture<>();
+		Command<ClientSender> command = command("async-merge", (sender, prefix) -> provided);
+		
+		var suggestions = commandManager.suggestAsync(command, sender, new String[]{"a"});
+		Assertions.assertFalse(suggestions.isDone(), "The suggestions completed before the provider");
+		
+		//the provider's suggestions are filtered by the prefix too, and the duplicates are removed
+		provided.complete(List.of("avocado", "apple", "cherry"));
+		Assertions.assertEquals(List.of("apple", "apricot", "avocado"), suggestions.get(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(1, requests.get());
+	}
+	
+	@Test
+	public void completesRightAwayWithoutProvider() {
+		Command<ClientSender> command = Command.builder(commandManager, "async-none")
+			.syntax(CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, "async-none")
+				.argument(Argument.word("fruit").suggest("apple", "banana"))
+				.build())
+			.build();
+		
+		var suggestions = commandManager.suggestAsync(command, sender, new String[]{"b"});
+		Assertions.assertTrue(suggestions.isDone());
+		Assertions.assertEquals(List.of("banana"), suggestions.join());
+	}
+	
+	@Test
+	public void includesTheAsyncSuggestionsOnceCompleted() {
+		CompletableFuture<List<String>> provided = new CompletableFuture<>();
+		Command<ClientSender> command = command("async-sync", (sender, prefix) -> provided);
+		
+		//the synchronous completion never waits for the provider
+		Assertions.assertEquals(List.of("apple", "apricot"), commandManager.suggest(command, sender, new String[]{"ap"}));
+		
+		provided.complete(List.of("apple", "apple-pie"));
+		Assertions.assertEquals(List.of("apple", "apricot", "apple-pie"), commandManager.suggest(command, sender, new String[]{"ap"}));
+		
+		//the completed request is cached, as long as the prefix typed extends the one it was requested for
+		Assertions.assertEquals(List.of("apple", "apple-pie"), commandManager.suggest(command, sender, new String[]{"app"}));
+		Assertions.assertEquals(1, requests.get());
+	}
+	
+	@Test
+	public void keepsTheSyncSuggestionsWhenTheProviderFails() throws Exception {
+		Command<ClientSender> command = command("async-failed",
+			(sender, prefix) -> CompletableFuture.failedFuture(new IllegalStateException("storage unavailable")));
+		
+		var suggestions = commandManager.suggestAsync(command, sender, new String[]{"a"});
+		Assertions.assertEquals(List.of("apple", "apricot"), suggestions.get(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(List.of("apple", "apricot"), commandManager.suggest(command, sender, new String[]{"a"}));
+		
+		//a failed request isn't cached, so the provider is asked again
+		Assertions.assertEquals(2, requests.get());
+	}
+	
+	@Test
+	public void keepsTheSyncSuggestionsWhenTheProviderFailsLater() throws Exception {
+		CompletableFuture<List<String>> provided = new CompletableFuture<>();
+		Command<ClientSender> command = command("async-failed-later", (sender, prefix) -> provided);
+		
+		var suggestions = commandManager.suggestAsync(command, sender, new String[]{"b"});
+		provided.completeExceptionally(new IllegalStateException("storage timed out"));
+		Assertions.assertEquals(List.of("banana"), suggestions.get(5, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	public void keepsTheSyncSuggestionsWhenTheProviderThrows() throws Exception {
+		Command<ClientSender> command = command("async-thrown", (sender, prefix) -> {
+			throw new IllegalStateException("storage unavailable");
+		});
+		
+		Assertions.assertEquals(List.of("banana"), commandManager.suggestAsync(command, sender, new String[]{"b"}).get(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(List.of("banana"), commandManager.suggest(command, sender, new String[]{"b"}));
+	}
+	
+	@Test
+	public void asksTheProviderOnlyForTheSendersItAccepts() throws Exception {
+		AtomicInteger accepted = new AtomicInteger();
+		Command<ClientSender> command = Command.builder(commandManager, "async-typed")
+			.syntax(CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, "async-typed")
+				.argument(Argument.word("fruit")
+					.suggest("banana")
+					.suggestAsync(Record.class, (sender, prefix) -> {
+						accepted.incrementAndGet();
+						return CompletableFuture.completedFuture(List.of("blueberry"));
+					}))
+				.argument(Argument.word("vegetable")
+					.suggest("bean")
+					.suggestAsync(String.class, (sender, prefix) -> {
+						requests.incrementAndGet();
+						return CompletableFuture.completedFuture(List.of("broccoli"));
+					}))
+				.build())
+			.build();
+		
+		Assertions.assertEquals(List.of("banana", "blueberry"), commandManager.suggestAsync(command, sender, new String[]{"b"}).get(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(1, accepted.get());
+		
+		//a provider registered for other senders is kept, it just suggests nothing to this one
+		Assertions.assertEquals(List.of("bean"), commandManager.suggestAsync(command, sender, new String[]{"banana", "b"}).get(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(0, requests.get());
+	}
+	
+}
@@ -0,0 +1,182 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.audit.CommandAuditEvent;
+import io.github.mqzn.commands.base.audit.CommandAuditLog;
+import io.github.mqzn.commands.base.audit.CommandAuditSink;
+import io.github.mqzn.commands.base.context.CommandInput;
+import io.github.mqzn.commands.base.context.Context;
+import io.github.mqzn.commands.base.context.DelegateCommandContext;
+import io.github.mqzn.commands.base.manager.CommandExecutionCoordinator;
+import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@TestOnly
+public final class CommandAuditLogTest {
+	
+	private static final CommandExecutionCoordinator.ExecutionResult SUCCESS = CommandExecutionCoordinator.ExecutionResult.SUCCESS;
+	
+	private final TestCommandManager commandManager = TestBootstrap.sharedManager();
+	
+	private final Command<ClientSender> command = Command.builder(commandManager, "ledger")
+		.syntax(CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, "ledger")
+			.argument(Argument.word("target"))
+			.execute((sender, context) -> {
+			})
+			.build())
+		.build();
+	
+	private final Context<ClientSender> context = DelegateCommandContext.create(commandManager, command,
+		new ClientSender("mqzen"), CommandInput.of("mqzen"));
+	
+	private boolean record(CommandAuditLog log, String sender) {
+		return log.record(command, sender, context, SUCCESS);
+	}
+	
+	@Test
+	public void writesTheEventsInTheOrderTheyWereRecorded() {
+		RecordingSink sink = new RecordingSink();
+		CommandAuditLog log = CommandAuditLog.create(sink, 16);
+		
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			String sender = "sender-" + i;
+			//more events than the buffer holds, the drainer keeps up unless the machine stalls
+			while (!record(log, sender))
+				Thread.onSpinWait();
+			expected.add(sender);
+		}
+		
+		log.close(5000);
+		Assertions.assertEquals(expected, sink.senders);
+		Assertions.assertEquals(1000, log.recorded());
+		Assertions.assertEquals(0, log.pending());
+		Assertions.assertTrue(sink.closed);
+		
+		CommandAuditEvent event = sink.events.get(0);
+		Assertions.assertEquals("ledger", event.command());
+		Assertions.assertEquals(SUCCESS, event.result());
+		
+		//the event only keeps what the sinks write, which formats the same line as the context
+		Assertions.assertEquals('/', event.prefix());
+		Assertions.assertEquals(List.of("mqzen"), event.arguments());
+		Assertions.assertEquals(context.rawFormat(), event.rawFormat());
+	}
+	
+	@Test
+	public void dropsTheEventsOnceTheBufferIsFull() throws InterruptedException {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingSink sink = new RecordingSink() {
+			@Override
+			public void accept(@NotNull CommandAuditEvent event) throws Exception {
+				writing.countDown();
+				release.await(5, TimeUnit.SECONDS);
+				super.accept(event);
+			}
+		};
+		
+		//rounded up to 4 slots
+		CommandAuditLog log = CommandAuditLog.create(sink, 3);
+		Assertions.assertTrue(record(log, "first"));
+		Assertions.assertTrue(writing.await(5, TimeUnit.SECONDS));
+		
+		//the first event left the buffer, the sink is blocked on it
+		for (int i = 0; i < 4; i++)
+			Assertions.assertTrue(record(log, "queued-" + i));
+		Assertions.assertFalse(record(log, "dropped-0"));
+		Assertions.assertFalse(record(log, "dropped-1"));
+		
+		Assertions.assertEquals(5, log.recorded());
+		Assertions.assertEquals(2, log.dropped());
+		Assertions.assertEquals(4, log.pending());
+		
+		release.countDown();
+		log.close(5000);
+		Assertions.assertEquals(List.of("first", "queued-0", "queued-1", "queued-2", "queued-3"), sink.senders);
+		Assertions.assertEquals(0, log.pending());
+		Assertions.assertEquals(2, log.dropped());
+	}
+	
+	@Test
+	public void skipsTheExecutionsThatAreNotAudited() {
+		RecordingSink sink = new RecordingSink();
+		CommandAuditLog log = CommandAuditLog.create(sink);
+		
+		log.enabled(false);
+		Assertions.assertFalse(record(log, "mqzen"));
+		log.enabled(true);
+		
+		log.enabled("ledger", false);
+		Assertions.assertFalse(log.isEnabled("ledger"));
+		Assertions.assertFalse(record(log, "mqzen"));
+		log.enabled("ledger", true);
+		
+		log.sampleRate(0D);
+		Assertions.assertFalse(record(log, "mqzen"));
+		log.sampleRate(1D);
+		
+		//skipped executions are neither recorded nor dropped
+		Assertions.assertEquals(0, log.recorded());
+		Assertions.assertEquals(0, log.dropped());
+		
+		Assertions.assertTrue(record(log, "mqzen"));
+		log.close(5000);
+		Assertions.assertEquals(List.of("mqzen"), sink.senders);
+	}
+	
+	@Test
+	public void stopsRecordingOnceClosed() {
+		RecordingSink sink = new RecordingSink();
+		CommandAuditLog log = CommandAuditLog.create(sink);
+		
+		//without any event, the sink is closed right away
+		log.close(5000);
+		Assertions.assertTrue(sink.closed);
+		
+		Assertions.assertFalse(record(log, "mqzen"));
+		Assertions.assertEquals(0, log.recorded());
+		Assertions.assertEquals(0, log.dropped());
+	}
+	
+	@Test
+	public void rejectsTheInvalidSettings() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> CommandAuditLog.create(new RecordingSink(), 0));
+		
+		CommandAuditLog log = CommandAuditLog.create(new RecordingSink());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> log.sampleRate(-0.5D));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> log.sampleRate(1.5D));
+	}
+	
+	private static class RecordingSink implements CommandAuditSink {
+		
+		private final List<CommandAuditEvent> events = Collections.synchronizedList(new ArrayList<>());
+		
+		private final List<String> senders = Collections.synchronizedList(new ArrayList<>());
+		
+		private volatile boolean closed = false;
+		
+		@Override
+		public void accept(@NotNull CommandAuditEvent event) throws Exception {
+			events.add(event);
+			senders.add(event.sender());
+		}
+		
+		@Override
+		public void close() {
+			closed = true;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,138 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.manager.CommandExecutionCoordinator;
+import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@TestOnly
+public final class CommandExecutorTest {
+	
+	private final TestCommandManager commandManager = TestBootstrap.sharedManager();
+	private final ClientSender sender = new ClientSender("mqzen");
+	
+	private final List<String> ran = new ArrayList<>();
+	
+	/**
+	 * An executor running the tasks on the calling thread, after recording its name
+	 */
+	private Executor recording(String name) {
+		return (task) -> {
+			ran.add(name);
+			task.run();
+		};
+	}
+	
+	private Command.Builder<ClientSender> command(String name, CommandExecutionCoordinator.Type type) {
+		return Command.builder(commandManager, name)
+			.coordination(type)
+			.syntax(CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, name)
+				.argument(Argument.word("target"))
+				.execute((sender, context) -> ran.add("executed"))
+				.build());
+	}
+	
+	/**
+	 * Runs a test with an executor of the shared manager, then restores the previous one
+	 */
+	private void withExecutor(Executor executor, Runnable test) {
+		Executor previous = commandManager.executor();
+		commandManager.setExecutor(executor);
+		try {
+			test.run();
+		} finally {
+			commandManager.setExecutor(previous);
+		}
+	}
+	
+	@Test
+	public void defaultsToTheCommonPool() {
+		Assertions.assertSame(ForkJoinPool.commonPool(), CommandExecutionCoordinator.defaultExecutor());
+	}
+	
+	@Test
+	public void runsOnTheExecutorOfTheManager() {
+		Command<ClientSender> command = command("executor-manager", CommandExecutionCoordinator.Type.ASYNC).build();
+		
+		withExecutor(recording("manager"), () -> commandManager.executeCommand(command, sender, new String[]{"mqzen"}));
+		Assertions.assertEquals(List.of("manager", "executed"), ran);
+	}
+	
+	@Test
+	public void prefersTheExecutorOfTheCommand() {
+		Command<ClientSender> command = command("executor-command", CommandExecutionCoordinator.Type.ASYNC)
+			.executor(recording("command"))
+			.build();
+		
+		withExecutor(recording("manager"), () -> commandManager.executeCommand(command, sender, new String[]{"mqzen"}));
+		Assertions.assertEquals(List.of("command", "executed"), ran);
+	}
+	
+	@Test
+	public void followsTheChangesOfTheManagerExecutor() {
+		//the command is built before the executor of the manager changes
+		Command<ClientSender> command = command("executor-changed", CommandExecutionCoordinator.Type.ASYNC).build();
+		
+		withExecutor(recording("first"), () -> commandManager.executeCommand(command, sender, new String[]{"mqzen"}));
+		withExecutor(recording("second"), () -> commandManager.executeCommand(command, sender, new String[]{"mqzen"}));
+		Assertions.assertEquals(List.of("first", "executed", "second", "executed"), ran);
+	}
+	
+	@Test
+	public void runsTheSyncExecutionsOnTheSyncExecutor() {
+		Command<ClientSender> command = command("executor-sync", CommandExecutionCoordinator.Type.SYNC).build();
+		
+		withExecutor(recording("manager"), () -> commandManager.executeCommand(command, sender, new String[]{"mqzen"}));
+		Assertions.assertEquals(List.of("executed"), ran);
+	}
+	
+	@Test
+	public void runsTheVirtualExecutionsOnVirtualThreads() throws InterruptedException {
+		if (CommandExecutionCoordinator.virtualExecutor() == null) {
+			Command<ClientSender> command = command("executor-virtual", CommandExecutionCoordinator.Type.VIRTUAL).build();
+			
+			//without virtual threads, the executions fall back to the executor of the platform
+			withExecutor(recording("manager"), () -> commandManager.executeCommand(command, sender, new String[]{"mqzen"}));
+			Assertions.assertEquals(List.of("manager", "executed"), ran);
+			return;
+		}
+		
+		AtomicReference<Thread> thread = new AtomicReference<>();
+		CountDownLatch done = new CountDownLatch(1);
+		Command<ClientSender> tracked = Command.builder(commandManager, "executor-virtual")
+			.coordination(CommandExecutionCoordinator.Type.VIRTUAL)
+			.syntax(CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, "executor-virtual")
+				.argument(Argument.word("target"))
+				.execute((sender, context) -> {
+					thread.set(Thread.currentThread());
+					done.countDown();
+				})
+				.build())
+			.build();
+		
+		withExecutor(recording("manager"), () -> commandManager.executeCommand(tracked, sender, new String[]{"mqzen"}));
+		Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+		Assertions.assertTrue(ran.isEmpty(), "The executor of the manager was used");
+		Assertions.assertTrue(isVirtual(thread.get()));
+	}
+	
+	private static boolean isVirtual(Thread thread) {
+		try {
+			return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+		} catch (ReflectiveOperationException ex) {
+			return false;
+		}
+	}
+	
+}
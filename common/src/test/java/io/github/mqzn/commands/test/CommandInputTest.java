@@ -0,0 +1,89 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.base.context.CommandInput;
+import io.github.mqzn.commands.base.manager.flags.ContextFlagRegistry;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+@TestOnly
+public final class CommandInputTest {
+	
+	private static final String[] LINES = {
+		"a", "a b c", "a  b", "a   b  c", " a", "  a b", "a ", "a b  ", "  a  b  ",
+		"-s", "a -s", "-s a --flag b", "a -s  -silent", "add mqzen -S 3", "- -1 -s2", "h\u00e9llo w\u00f6rld"
+	};
+	
+	private static void assertTokenizedLikeSplit(CommandInput input, String line) {
+		String[] split = line.split(" ");
+		
+		Assertions.assertEquals(split.length, input.size(), line);
+		Assertions.assertEquals(Arrays.asList(split), input.asList(), line);
+		Assertions.assertEquals(String.join(" ", split), input.join(), line);
+		
+		for (int i = 0; i < split.length; i++) {
+			Assertions.assertEquals(split[i], input.token(i), line);
+			Assertions.assertEquals(ContextFlagRegistry.isRawArgumentFlag(split[i]), input.isFlagAt(i), line + " at " + i);
+			Assertions.assertEquals(String.join(" ", Arrays.copyOfRange(split, i, split.length)), input.slice(i).toString(), line + " from " + i);
+		}
+	}
+	
+	@Test
+	public void tokenizesTheLinesLikeSplit() {
+		for (String line : LINES)
+			assertTokenizedLikeSplit(CommandInput.of(line), line);
+	}
+	
+	@Test
+	public void tokenizesTheLinesFromAnOffset() {
+		for (String line : LINES)
+			assertTokenizedLikeSplit(CommandInput.of("command " + line, "command ".length()), line);
+		
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> CommandInput.of("command", 8));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> CommandInput.of("command", -1));
+	}
+	
+	@Test
+	public void wrapsTheSplitArguments() {
+		for (String line : LINES)
+			assertTokenizedLikeSplit(CommandInput.of(line.split(" ")), line);
+	}
+	
+	@Test
+	public void treatsTheBlankLinesAsEmpty() {
+		//unlike split, which keeps a single empty token for an empty line
+		for (String line : new String[]{"", " ", "   "}) {
+			CommandInput input = CommandInput.of(line);
+			Assertions.assertTrue(input.isEmpty(), "'" + line + "'");
+			Assertions.assertEquals(List.of(), input.asList());
+			Assertions.assertEquals("", input.join());
+		}
+		
+		Assertions.assertTrue(CommandInput.of("command", 7).isEmpty());
+		Assertions.assertSame(CommandInput.EMPTY, CommandInput.of());
+	}
+	
+	@Test
+	public void classifiesTheFlagsInPlace() {
+		CommandInput input = CommandInput.of("-s a -silent -S - -1 -s2 --s");
+		boolean[] flags = {true, false, true, true, false, false, false, false};
+		
+		for (int i = 0; i < flags.length; i++)
+			Assertions.assertEquals(flags[i], input.isFlagAt(i), input.token(i));
+	}
+	
+	@Test
+	public void boundsTheIndexes() {
+		CommandInput input = CommandInput.of("a b");
+		
+		Assertions.assertNull(input.token(-1));
+		Assertions.assertNull(input.token(2));
+		Assertions.assertFalse(input.isFlagAt(2));
+		Assertions.assertEquals("", input.slice(2).toString());
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> input.asList().get(2));
+	}
+	
+}
@@ -0,0 +1,114 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.base.ratelimit.CommandRateLimit;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+@TestOnly
+public final class CommandRateLimitTest {
+	
+	@Test
+	public void allowsABurstPerSender() {
+		CommandRateLimit limit = CommandRateLimit.perSender(3, Duration.ofSeconds(3));
+		
+		for (int i = 0; i < 3; i++)
+			Assertions.assertEquals(0, limit.tryAcquire("mqzen"));
+		
+		long retryAfter = limit.tryAcquire("mqzen");
+		Assertions.assertTrue(retryAfter > 0 && retryAfter <= 1000, String.valueOf(retryAfter));
+		Assertions.assertTrue(limit.retryAfter("mqzen") > 0);
+		
+		//every sender has a burst of its own
+		Assertions.assertEquals(0, limit.retryAfter("other"));
+		Assertions.assertEquals(0, limit.tryAcquire("other"));
+		Assertions.assertEquals(2, limit.size());
+	}
+	
+	@Test
+	public void sharesTheBurstBetweenTheSenders() {
+		CommandRateLimit limit = CommandRateLimit.shared(2, Duration.ofHours(1));
+		
+		Assertions.assertEquals(0, limit.tryAcquire("mqzen"));
+		Assertions.assertEquals(0, limit.tryAcquire("other"));
+		Assertions.assertTrue(limit.tryAcquire("third") > 0);
+		
+		limit.reset("mqzen");
+		Assertions.assertEquals(0, limit.tryAcquire("third"));
+	}
+	
+	@Test
+	public void refillsOnePermitPerInterval() throws InterruptedException {
+		//a permit every 300 milliseconds
+		CommandRateLimit limit = CommandRateLimit.perSender(2, Duration.ofMillis(600));
+		
+		Assertions.assertEquals(0, limit.tryAcquire("mqzen"));
+		Assertions.assertEquals(0, limit.tryAcquire("mqzen"));
+		Assertions.assertTrue(limit.tryAcquire("mqzen") > 0);
+		
+		Thread.sleep(400);
+		Assertions.assertEquals(0, limit.tryAcquire("mqzen"));
+		Assertions.assertTrue(limit.tryAcquire("mqzen") > 0);
+	}
+	
+	@Test
+	public void givesTheReleasedPermitsBack() {
+		CommandRateLimit limit = CommandRateLimit.perSender(2, Duration.ofHours(1));
+		
+		Assertions.assertEquals(0, limit.tryAcquire("mqzen"));
+		Assertions.assertEquals(0, limit.tryAcquire("mqzen"));
+		Assertions.assertTrue(limit.tryAcquire("mqzen") > 0);
+		
+		limit.release("mqzen");
+		Assertions.assertEquals(0, limit.tryAcquire("mqzen"));
+		Assertions.assertTrue(limit.tryAcquire("mqzen") > 0);
+		
+		//releasing for a sender without a bucket does nothing
+		limit.release("other");
+		Assertions.assertEquals(1, limit.size());
+	}
+	
+	@Test
+	public void releasesThePermitsOfTheOtherLimitsOnRejection() {
+		CommandRateLimit command = CommandRateLimit.perSender(1, Duration.ofHours(1));
+		CommandRateLimit global = CommandRateLimit.perSender(1, Duration.ofHours(1));
+		List<CommandRateLimit> limits = List.of(command, global);
+		
+		Assertions.assertEquals(0, global.tryAcquire("mqzen"));
+		Assertions.assertTrue(CommandRateLimit.acquireAll("mqzen", limits) > 0);
+		
+		//the permit of the first limit was given back
+		Assertions.assertEquals(0, command.retryAfter("mqzen"));
+		
+		global.reset("mqzen");
+		Assertions.assertEquals(0, CommandRateLimit.acquireAll("mqzen", limits));
+		Assertions.assertTrue(command.tryAcquire("mqzen") > 0);
+		
+		CommandRateLimit.releaseAll("mqzen", limits);
+		Assertions.assertEquals(0, command.tryAcquire("mqzen"));
+		Assertions.assertEquals(0, global.tryAcquire("mqzen"));
+	}
+	
+	@Test
+	public void sweepsTheFullBuckets() throws InterruptedException {
+		CommandRateLimit limit = CommandRateLimit.perSender(1, Duration.ofMillis(50));
+		limit.tryAcquire("first");
+		limit.tryAcquire("second");
+		Assertions.assertEquals(2, limit.size());
+		
+		Thread.sleep(100);
+		limit.sweep();
+		Assertions.assertEquals(0, limit.size());
+		Assertions.assertEquals(0, limit.tryAcquire("first"));
+	}
+	
+	@Test
+	public void rejectsTheInvalidLimits() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> CommandRateLimit.perSender(0, Duration.ofSeconds(1)));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> CommandRateLimit.shared(1, Duration.ZERO));
+	}
+	
+}
@@ -0,0 +1,210 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.CommandInfo;
+import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+@TestOnly
+public final class CommandRegistryTest {
+	
+	private final TestCommandManager commandManager = TestBootstrap.sharedManager();
+	
+	private Command<ClientSender> command(String name, String... aliases) {
+		return Command.builder(commandManager, name)
+			.info(new CommandInfo(null, "", aliases))
+			.syntax(CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, name)
+				.argument(Argument.word("target"))
+				.execute((sender, context) -> {
+				})
+				.build())
+			.build();
+	}
+	
+	/**
+	 * Runs a test while recording the warnings of the manager, then unregisters the commands
+	 *
+	 * @return the warnings logged by the test
+	 */
+	private List<String> recordingWarnings(List<String> commands, Runnable test) {
+		List<String> warnings = new CopyOnWriteArrayList<>();
+		Handler handler = new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				if (record.getLevel() == Level.WARNING) warnings.add(record.getMessage());
+			}
+			
+			@Override
+			public void flush() {
+			}
+			
+			@Override
+			public void close() {
+			}
+		};
+		
+		Logger logger = Logger.getLogger("CommandManager-Logger");
+		logger.addHandler(handler);
+		try {
+			test.run();
+		} finally {
+			logger.removeHandler(handler);
+			commands.forEach(commandManager::unregisterCommand);
+		}
+		return warnings;
+	}
+	
+	@Test
+	public void neverModifiesAPublishedSnapshot() {
+		Command<ClientSender> command = command("registry-snapshot");
+		
+		Collection<Command<ClientSender>> before = commandManager.getCommands();
+		int size = before.size();
+		
+		commandManager.registerCommand(command);
+		try {
+			Assertions.assertEquals(size, before.size());
+			Assertions.assertFalse(before.contains(command));
+			
+			Collection<Command<ClientSender>> registered = commandManager.getCommands();
+			Assertions.assertTrue(registered.contains(command));
+			Assertions.assertThrows(UnsupportedOperationException.class, registered::clear);
+			
+			commandManager.unregisterCommand("registry-snapshot");
+			Assertions.assertTrue(registered.contains(command));
+			Assertions.assertFalse(commandManager.getCommands().contains(command));
+		} finally {
+			commandManager.unregisterCommand("registry-snapshot");
+		}
+	}
+	
+	@Test
+	public void publishesTheRegistrationsRightAway() {
+		Command<ClientSender> command = command("registry-visible");
+		Assertions.assertNull(commandManager.getCommand("registry-visible"));
+		
+		commandManager.registerCommand(command);
+		Assertions.assertSame(command, commandManager.getCommand("registry-visible"));
+		
+		//registering a command of the same name replaces it
+		Command<ClientSender> replacement = command("registry-visible");
+		commandManager.registerCommand(replacement);
+		Assertions.assertSame(replacement, commandManager.getCommand("registry-visible"));
+		Assertions.assertFalse(commandManager.getCommands().contains(command));
+		
+		commandManager.unregisterCommand("registry-visible");
+		Assertions.assertNull(commandManager.getCommand("registry-visible"));
+		
+		//unregistering an unknown command changes nothing
+		int size = commandManager.getCommands().size();
+		commandManager.unregisterCommand("registry-unknown");
+		Assertions.assertEquals(size, commandManager.getCommands().size());
+	}
+	
+	@Test
+	public void readsWhileRegistering() throws InterruptedException {
+		Command<ClientSender> command = command("registry-concurrent");
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		
+		Thread reader = new Thread(() -> {
+			try {
+				while (!done.get()) {
+					//iterating a snapshot never fails, however the registrations interleave
+					for (Command<ClientSender> registered : commandManager.getCommands())
+						Assertions.assertNotNull(registered.name());
+					
+					Command<ClientSender> found = commandManager.getCommand("registry-concurrent");
+					if (found != null) Assertions.assertSame(command, found);
+				}
+			} catch (Throwable ex) {
+				failure.set(ex);
+			}
+		});
+		reader.start();
+		
+		try {
+			for (int i = 0; i < 2000; i++) {
+				commandManager.registerCommand(command);
+				commandManager.unregisterCommand("registry-concurrent");
+			}
+		} finally {
+			done.set(true);
+			reader.join(TimeUnit.SECONDS.toMillis(5));
+		}
+		
+		Assertions.assertNull(failure.get(), () -> "The reader failed with " + failure.get());
+		Assertions.assertNull(commandManager.getCommand("registry-concurrent"));
+	}
+	
+	@Test
+	public void foldsTheCaseOfTheNamesAndAliases() {
+		Command<ClientSender> command = command("registry-Fold", "RF-Alias", "rfa");
+		
+		recordingWarnings(List.of("registry-Fold"), () -> {
+			commandManager.registerCommand(command);
+			
+			for (String name : new String[]{"registry-Fold", "registry-fold", "REGISTRY-FOLD", "RF-Alias", "rf-alias", "RFA"})
+				Assertions.assertSame(command, commandManager.getCommand(name), name);
+			Assertions.assertNull(commandManager.getCommand("registry-fol"));
+			Assertions.assertNull(commandManager.getCommand("rf"));
+		});
+	}
+	
+	@Test
+	public void letsTheNamesShadowTheAliases() {
+		Command<ClientSender> owner = command("registry-owner", "registry-shadowed");
+		Command<ClientSender> shadowing = command("registry-shadowed");
+		
+		List<String> warnings = recordingWarnings(List.of("registry-owner", "registry-shadowed"), () -> {
+			commandManager.registerCommand(owner);
+			Assertions.assertSame(owner, commandManager.getCommand("registry-shadowed"));
+			
+			commandManager.registerCommand(shadowing);
+			Assertions.assertSame(shadowing, commandManager.getCommand("registry-shadowed"));
+			Assertions.assertSame(shadowing, commandManager.getCommand("REGISTRY-SHADOWED"));
+			
+			//the alias is back once the command shadowing it is gone
+			commandManager.unregisterCommand("registry-shadowed");
+			Assertions.assertSame(owner, commandManager.getCommand("registry-shadowed"));
+		});
+		
+		Assertions.assertEquals(List.of("The command 'registry-shadowed' shadows an alias of the command 'registry-owner'"), warnings);
+	}
+	
+	@Test
+	public void keepsAnAliasForTheFirstCommandClaimingIt() {
+		Command<ClientSender> first = command("registry-first", "registry-shared");
+		Command<ClientSender> second = command("registry-second", "REGISTRY-SHARED");
+		
+		List<String> warnings = recordingWarnings(List.of("registry-first", "registry-second"), () -> {
+			commandManager.registerCommand(first);
+			commandManager.registerCommand(second);
+			Assertions.assertSame(first, commandManager.getCommand("registry-shared"));
+			
+			//registering a command again isn't a conflict with itself
+			commandManager.registerCommand(first);
+			Assertions.assertSame(first, commandManager.getCommand("registry-shared"));
+			
+			commandManager.unregisterCommand("registry-first");
+			Assertions.assertSame(second, commandManager.getCommand("registry-shared"));
+		});
+		
+		Assertions.assertEquals(List.of("The alias 'REGISTRY-SHARED' of the command 'registry-second' is already taken by the command 'registry-first', so it will be ignored"), warnings);
+	}
+	
+}
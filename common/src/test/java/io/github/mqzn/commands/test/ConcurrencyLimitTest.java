@@ -0,0 +1,244 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.base.concurrency.ConcurrencyLimit;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@TestOnly
+public final class ConcurrencyLimitTest {
+	
+	private final List<String> events = new ArrayList<>();
+	
+	/**
+	 * The granted tasks handed to the pending executor, which run once they're flushed
+	 */
+	private final List<Runnable> pending = new ArrayList<>();
+	private final Executor pendingExecutor = pending::add;
+	
+	private void acquire(ConcurrencyLimit limit, String execution) {
+		acquire(limit, Runnable::run, execution);
+	}
+	
+	private void acquire(ConcurrencyLimit limit, Executor executor, String execution) {
+		limit.acquire(executor, () -> events.add("granted " + execution), () -> events.add("rejected " + execution));
+	}
+	
+	private void flush() {
+		List<Runnable> tasks = new ArrayList<>(pending);
+		pending.clear();
+		tasks.forEach(Runnable::run);
+	}
+	
+	private static int depth() {
+		return Thread.currentThread().getStackTrace().length;
+	}
+	
+	@Test
+	public void rejectsOnceThePermitsAreTaken() {
+		ConcurrencyLimit limit = ConcurrencyLimit.of(2);
+		acquire(limit, "first");
+		acquire(limit, "second");
+		acquire(limit, "third");
+		
+		Assertions.assertEquals(List.of("granted first", "granted second", "rejected third"), events);
+		Assertions.assertEquals(2, limit.inFlight());
+		Assertions.assertEquals(1, limit.rejected());
+		
+		limit.release();
+		acquire(limit, "fourth");
+		Assertions.assertEquals("granted fourth", events.get(3));
+	}
+	
+	@Test
+	public void queuesUntilAPermitIsReleased() {
+		ConcurrencyLimit limit = ConcurrencyLimit.of(1, ConcurrencyLimit.OverflowPolicy.QUEUE, 2);
+		acquire(limit, pendingExecutor, "first");
+		acquire(limit, pendingExecutor, "second");
+		acquire(limit, pendingExecutor, "third");
+		acquire(limit, pendingExecutor, "fourth");
+		
+		Assertions.assertEquals(List.of("rejected fourth"), events);
+		Assertions.assertEquals(1, pending.size());
+		Assertions.assertEquals(2, limit.queued());
+		flush();
+		
+		//the permit is handed over to the oldest waiting execution, which runs on the executor, not on the releasing thread
+		limit.release();
+		Assertions.assertEquals(List.of("rejected fourth", "granted first"), events);
+		Assertions.assertEquals(1, pending.size());
+		
+		limit.release();
+		Assertions.assertEquals(2, pending.size());
+		flush();
+		Assertions.assertEquals(List.of("rejected fourth", "granted first", "granted second", "granted third"), events);
+		Assertions.assertEquals(1, limit.inFlight());
+		Assertions.assertEquals(0, limit.queued());
+		
+		limit.release();
+		Assertions.assertEquals(0, limit.inFlight());
+		Assertions.assertEquals(1, limit.rejected());
+	}
+	
+	@Test
+	public void dropsTheOldestWaitingExecution() {
+		ConcurrencyLimit limit = ConcurrencyLimit.of(1, ConcurrencyLimit.OverflowPolicy.DROP_OLDEST, 2);
+		acquire(limit, "first");
+		acquire(limit, "second");
+		acquire(limit, "third");
+		acquire(limit, "fourth");
+		
+		Assertions.assertEquals(List.of("granted first", "rejected second"), events);
+		Assertions.assertEquals(1, limit.dropped());
+		Assertions.assertEquals(0, limit.rejected());
+		
+		limit.release();
+		limit.release();
+		limit.release();
+		Assertions.assertEquals(List.of("granted first", "rejected second", "granted third", "granted fourth"), events);
+		Assertions.assertEquals(0, limit.inFlight());
+	}
+	
+	@Test
+	public void releasesThePermitsOfTheOtherLimitsOnRejection() {
+		ConcurrencyLimit command = ConcurrencyLimit.of(1);
+		ConcurrencyLimit global = ConcurrencyLimit.of(1);
+		List<ConcurrencyLimit> limits = List.of(command, global);
+		
+		global.acquire(Runnable::run, () -> {
+		}, () -> Assertions.fail("The global limit is free"));
+		
+		AtomicInteger rejected = new AtomicInteger();
+		ConcurrencyLimit.acquireAll(limits, Runnable::run, () -> Assertions.fail("The global limit is taken"), rejected::incrementAndGet);
+		Assertions.assertEquals(1, rejected.get());
+		Assertions.assertEquals(0, command.inFlight());
+		
+		global.release();
+		AtomicInteger granted = new AtomicInteger();
+		ConcurrencyLimit.acquireAll(limits, Runnable::run, granted::incrementAndGet, () -> Assertions.fail("Both limits are free"));
+		Assertions.assertEquals(1, granted.get());
+		Assertions.assertEquals(1, command.inFlight());
+		Assertions.assertEquals(1, global.inFlight());
+		
+		ConcurrencyLimit.releaseAll(limits);
+		Assertions.assertEquals(0, command.inFlight());
+		Assertions.assertEquals(0, global.inFlight());
+	}
+	
+	@Test
+	public void neverGrantsMoreThanThePermits() throws InterruptedException {
+		for (ConcurrencyLimit.OverflowPolicy policy : ConcurrencyLimit.OverflowPolicy.values()) {
+			int permits = 3, threads = 8, executions = 5_000;
+			ConcurrencyLimit limit = ConcurrencyLimit.of(permits, policy, policy == ConcurrencyLimit.OverflowPolicy.REJECT ? 0 : 4);
+			
+			AtomicInteger running = new AtomicInteger();
+			AtomicInteger overflows = new AtomicInteger();
+			AtomicInteger completed = new AtomicInteger();
+			CountDownLatch done = new CountDownLatch(threads);
+			
+			for (int thread = 0; thread < threads; thread++) {
+				new Thread(() -> {
+					for (int i = 0; i < executions; i++) {
+						limit.acquire(Runnable::run, () -> {
+							if (running.incrementAndGet() > permits) overflows.incrementAndGet();
+							running.decrementAndGet();
+							completed.incrementAndGet();
+							limit.release();
+						}, completed::incrementAndGet);
+					}
+					done.countDown();
+				}).start();
+			}
+			
+			Assertions.assertTrue(done.await(30, TimeUnit.SECONDS), policy.name());
+			Assertions.assertEquals(0, overflows.get(), policy.name());
+			Assertions.assertEquals(threads * executions, completed.get(), policy.name());
+			Assertions.assertEquals(0, limit.inFlight(), policy.name());
+			Assertions.assertEquals(0, limit.queued(), policy.name());
+		}
+	}
+	
+	@Test
+	public void grantsALongQueueWithoutRecursing() {
+		int executions = 100_000;
+		ConcurrencyLimit limit = ConcurrencyLimit.of(1, ConcurrencyLimit.OverflowPolicy.QUEUE, executions);
+		
+		//the first execution holds the permit until every other one is queued
+		limit.acquire(Runnable::run, () -> {
+		}, () -> Assertions.fail("The limit is free"));
+		
+		AtomicInteger granted = new AtomicInteger();
+		List<Integer> depths = new ArrayList<>();
+		for (int i = 0; i < executions; i++) {
+			limit.acquire(Runnable::run, () -> {
+				if (granted.incrementAndGet() == 1 || granted.get() == executions) depths.add(depth());
+				//an execution run inline releases its permit before the release granting it returns
+				limit.release();
+			}, () -> Assertions.fail("The queue is large enough"));
+		}
+		
+		limit.release();
+		Assertions.assertEquals(executions, granted.get());
+		Assertions.assertEquals(depths.get(0), depths.get(1), "The grants of the queue were nested");
+		Assertions.assertEquals(0, limit.inFlight());
+		Assertions.assertEquals(0, limit.queued());
+	}
+	
+	@Test
+	public void rejectsWhatTheExecutorRejects() {
+		Executor rejecting = (task) -> {
+			throw new RejectedExecutionException();
+		};
+		
+		ConcurrencyLimit limit = ConcurrencyLimit.of(1, ConcurrencyLimit.OverflowPolicy.QUEUE, 1);
+		acquire(limit, rejecting, "first");
+		Assertions.assertEquals(List.of("rejected first"), events);
+		Assertions.assertEquals(0, limit.inFlight());
+		
+		acquire(limit, "second");
+		acquire(limit, rejecting, "third");
+		limit.release();
+		Assertions.assertEquals(List.of("rejected first", "granted second", "rejected third"), events);
+		Assertions.assertEquals(0, limit.inFlight());
+		Assertions.assertEquals(0, limit.queued());
+		
+		List<ConcurrencyLimit> limits = List.of(ConcurrencyLimit.of(1), limit);
+		AtomicInteger rejected = new AtomicInteger();
+		ConcurrencyLimit.acquireAll(limits, rejecting, () -> Assertions.fail("The executor rejects"), rejected::incrementAndGet);
+		Assertions.assertEquals(1, rejected.get());
+		Assertions.assertEquals(0, limits.get(0).inFlight());
+		Assertions.assertEquals(0, limit.inFlight());
+	}
+	
+	@Test
+	public void propagatesARejectionOfTheTaskItself() {
+		ConcurrencyLimit limit = ConcurrencyLimit.of(1);
+		
+		//the task already holds the permit, so it isn't released again as a rejection of the executor
+		Assertions.assertThrows(RejectedExecutionException.class, () -> limit.acquire(Runnable::run, () -> {
+			throw new RejectedExecutionException();
+		}, () -> events.add("rejected")));
+		
+		Assertions.assertTrue(events.isEmpty());
+		Assertions.assertEquals(1, limit.inFlight());
+		
+		limit.release();
+		Assertions.assertEquals(0, limit.inFlight());
+	}
+	
+	@Test
+	public void rejectsTheInvalidLimits() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ConcurrencyLimit.of(0));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ConcurrencyLimit.of(1, ConcurrencyLimit.OverflowPolicy.QUEUE, 0));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ConcurrencyLimit.of(1, ConcurrencyLimit.OverflowPolicy.DROP_OLDEST, -1));
+	}
+	
+}
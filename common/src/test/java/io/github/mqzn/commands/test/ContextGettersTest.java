@@ -0,0 +1,98 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.context.CommandContext;
+import io.github.mqzn.commands.base.context.CommandInput;
+import io.github.mqzn.commands.base.context.DelegateCommandContext;
+import io.github.mqzn.commands.base.syntax.CommandSyntax;
+import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import io.github.mqzn.commands.exceptions.types.ArgumentParseException;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@TestOnly
+public final class ContextGettersTest {
+	
+	private final TestCommandManager commandManager = TestBootstrap.sharedManager();
+	private final ClientSender sender = new ClientSender("mqzen");
+	
+	private final CommandSyntax<ClientSender> syntax = CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, "slots")
+		.argument(Argument.integer("count"))
+		.argument(Argument.Long("total"))
+		.argument(Argument.Double("ratio"))
+		.argument(Argument.Float("scale"))
+		.argument(Argument.Boolean("confirm"))
+		.argument(Argument.word("reason").asOptional())
+		.build();
+	
+	private final Command<ClientSender> command = Command.builder(commandManager, "slots")
+		.syntax(syntax)
+		.build();
+	
+	private CommandContext<ClientSender> parse(String... args) throws ArgumentParseException {
+		var context = CommandContext.create(commandManager, syntax,
+			DelegateCommandContext.create(commandManager, command, sender, CommandInput.of(args)));
+		context.parse();
+		return context;
+	}
+	
+	@Test
+	public void readsThePrimitivesByPosition() throws ArgumentParseException {
+		var context = parse("7", "9000000000", "2.5", "0.5", "true");
+		
+		Assertions.assertEquals(7, context.getInt(0));
+		Assertions.assertEquals(9000000000L, context.getLong(1));
+		Assertions.assertEquals(2.5D, context.getDouble(2), 0D);
+		Assertions.assertEquals(0.5D, context.getDouble(3), 0D);
+		Assertions.assertTrue(context.getBoolean(4));
+	}
+	
+	@Test
+	public void readsThePrimitivesById() throws ArgumentParseException {
+		var context = parse("7", "9000000000", "2.5", "0.5", "false");
+		
+		Assertions.assertEquals(7, context.getInt("count"));
+		Assertions.assertEquals(9000000000L, context.getLong("TOTAL"));
+		Assertions.assertEquals(2.5D, context.getDouble("ratio"), 0D);
+		Assertions.assertFalse(context.getBoolean("confirm"));
+	}
+	
+	@Test
+	public void widensAndNarrowsTheNumbers() throws ArgumentParseException {
+		var context = parse("7", "9000000000", "2.5", "0.5", "true");
+		
+		Assertions.assertEquals(7L, context.getLong(0));
+		Assertions.assertEquals(7D, context.getDouble(0), 0D);
+		Assertions.assertEquals(9000000000D, context.getDouble(1), 0D);
+		Assertions.assertEquals(2, context.getInt(2));
+		Assertions.assertEquals(2L, context.getLong(2));
+	}
+	
+	@Test
+	public void boxesTheSameValuesAsTheGetters() throws ArgumentParseException {
+		var context = parse("7", "9000000000", "2.5", "0.5", "true");
+		
+		Assertions.assertEquals(Integer.valueOf(7), context.<Object>getArgument(0));
+		Assertions.assertEquals(Long.valueOf(9000000000L), context.<Object>getArgument("total"));
+		Assertions.assertEquals(Double.valueOf(2.5D), context.<Object>getArgument(2));
+		Assertions.assertEquals(Float.valueOf(0.5F), context.<Object>getArgument("scale"));
+		Assertions.assertEquals(Boolean.TRUE, context.<Object>getArgument(4));
+		//the getters keep working once the values are boxed
+		Assertions.assertEquals(7, context.getInt(0));
+	}
+	
+	@Test
+	public void rejectsTheMissingAndMistypedValues() throws ArgumentParseException {
+		var context = parse("7", "9000000000", "2.5", "0.5", "true");
+		
+		Assertions.assertNull(context.getArgument("reason"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> context.getInt("reason"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> context.getInt("unknown"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> context.getLong(6));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> context.getBoolean(0));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> context.getDouble(4));
+	}
+	
+}
@@ -0,0 +1,267 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.cooldown.CommandCooldown;
+import io.github.mqzn.commands.base.cooldown.CooldownPersistence;
+import io.github.mqzn.commands.base.cooldown.CooldownStore;
+import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+@TestOnly
+public final class CooldownStoreTest {
+	
+	private static final CommandCooldown LONG = new CommandCooldown(10, TimeUnit.SECONDS);
+	private static final CommandCooldown SHORT = new CommandCooldown(50, TimeUnit.MILLISECONDS);
+	
+	private final CooldownStore store = CooldownStore.create();
+	
+	@Test
+	public void acquiresOncePerCooldown() {
+		Assertions.assertEquals(0, store.tryAcquire("mqzen", "home", LONG));
+		
+		long remaining = store.tryAcquire("mqzen", "home", LONG);
+		Assertions.assertTrue(remaining > 0 && remaining <= LONG.toMillis(), String.valueOf(remaining));
+		Assertions.assertTrue(store.remaining("mqzen", "home") > 0);
+		Assertions.assertNotNull(store.lastUse("mqzen", "home"));
+		
+		//the cooldown is held per sender and command
+		Assertions.assertEquals(0, store.tryAcquire("other", "home", LONG));
+		Assertions.assertEquals(0, store.tryAcquire("mqzen", "spawn", LONG));
+		Assertions.assertEquals(0, store.remaining("mqzen", "warp"));
+		Assertions.assertNull(store.lastUse("mqzen", "warp"));
+	}
+	
+	@Test
+	public void takesTheCooldownOnlyForAnExecutionThatGoesAhead() {
+		TestCommandManager manager = TestBootstrap.sharedManager();
+		ClientSender sender = new ClientSender("cooldown-typo");
+		AtomicInteger executed = new AtomicInteger();
+		Command<ClientSender> command = Command.builder(manager, "cooldown-typo")
+			.cooldown(LONG)
+			.syntax(CommandSyntaxBuilder.genericBuilder(manager, ClientSender.class, "cooldown-typo")
+				.argument(Argument.literal("go"))
+				.execute((s, context) -> executed.incrementAndGet())
+				.build())
+			.build();
+		
+		//a mistyped execution doesn't put the sender in the cooldown
+		manager.executeCommand(command, sender, new String[]{"og"});
+		Assertions.assertNull(manager.cooldownStore().lastUse(sender.name(), command.name()));
+		
+		manager.executeCommand(command, sender, new String[]{"go"});
+		manager.executeCommand(command, sender, new String[]{"go"});
+		Assertions.assertEquals(1, executed.get());
+		Assertions.assertNotNull(manager.cooldownStore().lastUse(sender.name(), command.name()));
+		manager.cooldownStore().resetSender(sender.name());
+	}
+	
+	@Test
+	public void acquiresAgainOnceTheCooldownExpires() throws InterruptedException {
+		Assertions.assertEquals(0, store.tryAcquire("mqzen", "home", SHORT));
+		Assertions.assertTrue(store.tryAcquire("mqzen", "home", SHORT) > 0);
+		
+		Thread.sleep(80);
+		Assertions.assertEquals(0, store.remaining("mqzen", "home"));
+		Assertions.assertEquals(0, store.tryAcquire("mqzen", "home", SHORT));
+	}
+	
+	@Test
+	public void letsASingleConcurrentExecutionAcquire() throws InterruptedException {
+		int threads = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(threads);
+		AtomicInteger acquired = new AtomicInteger();
+		
+		for (int i = 0; i < threads; i++) {
+			new Thread(() -> {
+				try {
+					start.await();
+					if (store.tryAcquire("mqzen", "home", LONG) == 0) acquired.incrementAndGet();
+				} catch (InterruptedException ignored) {
+				} finally {
+					done.countDown();
+				}
+			}).start();
+		}
+		
+		start.countDown();
+		Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(1, acquired.get());
+	}
+	
+	@Test
+	public void sweepsTheExpiredCooldowns() throws InterruptedException {
+		store.tryAcquire("first", "home", SHORT);
+		store.tryAcquire("second", "home", SHORT);
+		store.tryAcquire("third", "spawn", SHORT);
+		store.tryAcquire("mqzen", "home", LONG);
+		Assertions.assertEquals(4, store.size());
+		
+		Thread.sleep(80);
+		//expired, but still held until they're swept
+		Assertions.assertEquals(4, store.size());
+		
+		store.sweep();
+		Assertions.assertEquals(1, store.size());
+		Assertions.assertNull(store.lastUse("first", "home"));
+		Assertions.assertTrue(store.remaining("mqzen", "home") > 0);
+		
+		//a swept cooldown can be acquired again
+		Assertions.assertEquals(0, store.tryAcquire("first", "home", SHORT));
+	}
+	
+	@Test
+	public void sweepsLazilyOnceTheIntervalElapses() throws InterruptedException {
+		store.sweepInterval(Duration.ofMillis(20));
+		store.tryAcquire("first", "home", SHORT);
+		store.tryAcquire("second", "home", SHORT);
+		
+		Thread.sleep(80);
+		store.tryAcquire("mqzen", "home", LONG);
+		Assertions.assertEquals(1, store.size());
+		
+		Assertions.assertThrows(IllegalArgumentException.class, () -> store.sweepInterval(Duration.ofSeconds(-1)));
+	}
+	
+	@Test
+	public void resetsTheCooldowns() {
+		store.tryAcquire("mqzen", "home", LONG);
+		store.tryAcquire("mqzen", "spawn", LONG);
+		store.tryAcquire("other", "home", LONG);
+		store.tryAcquire("other", "warp", LONG);
+		
+		store.reset("mqzen", "home");
+		Assertions.assertEquals(0, store.tryAcquire("mqzen", "home", LONG));
+		
+		store.resetSender("mqzen");
+		Assertions.assertNull(store.lastUse("mqzen"));
+		Assertions.assertNotNull(store.lastUse("other"));
+		
+		store.resetCommand("home");
+		Assertions.assertEquals(0, store.remaining("other", "home"));
+		Assertions.assertTrue(store.remaining("other", "warp") > 0);
+		
+		store.clear();
+		Assertions.assertEquals(0, store.size());
+	}
+	
+	@Test
+	public void persistsAndRestoresTheCooldowns() {
+		RecordingPersistence persistence = new RecordingPersistence();
+		long lastUse = System.currentTimeMillis();
+		persistence.restored.add(new Object[]{"mqzen", "home", lastUse, LONG.toMillis()});
+		store.persist(persistence);
+		
+		//restored as soon as the persistence is attached
+		Assertions.assertEquals(1, persistence.loads);
+		Assertions.assertTrue(store.tryAcquire("mqzen", "home", LONG) > 0);
+		Assertions.assertEquals(Long.valueOf(lastUse), store.lastUse("mqzen", "home"));
+		Assertions.assertEquals(1, persistence.loads);
+		
+		store.tryAcquire("other", "spawn", LONG);
+		Assertions.assertEquals(List.of("save other spawn"), persistence.operations);
+		
+		store.reset("other", "spawn");
+		store.resetSender("mqzen");
+		store.resetCommand("warp");
+		store.clear();
+		Assertions.assertEquals(List.of("save other spawn", "remove other spawn", "remove mqzen null",
+			"remove null warp", "remove null null"), persistence.operations);
+		Assertions.assertEquals(1, persistence.loads);
+	}
+	
+	@Test
+	public void detachesAFailedPersistence() {
+		List<LogRecord> logged = new ArrayList<>();
+		Logger logger = Logger.getAnonymousLogger();
+		logger.setUseParentHandlers(false);
+		logger.addHandler(new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				logged.add(record);
+			}
+			
+			@Override
+			public void flush() {
+			}
+			
+			@Override
+			public void close() {
+			}
+		});
+		
+		CooldownStore store = CooldownStore.create(logger);
+		RecordingPersistence persistence = new RecordingPersistence();
+		store.persist(persistence);
+		Assertions.assertEquals(0, store.tryAcquire("mqzen", "home", LONG));
+		
+		IllegalStateException failure = new IllegalStateException("Expected failure of the persistence");
+		persistence.failureListener.accept(failure);
+		Assertions.assertNull(store.persistence());
+		Assertions.assertEquals(1, logged.size());
+		Assertions.assertEquals(Level.SEVERE, logged.get(0).getLevel());
+		Assertions.assertSame(failure, logged.get(0).getThrown());
+		
+		//the cooldowns are kept in memory, without reaching the failed persistence
+		Assertions.assertEquals(0, store.tryAcquire("other", "home", LONG));
+		Assertions.assertTrue(store.tryAcquire("mqzen", "home", LONG) > 0);
+		Assertions.assertEquals(List.of("save mqzen home"), persistence.operations);
+	}
+	
+	private static final class RecordingPersistence implements CooldownPersistence {
+		
+		private final List<Object[]> restored = new ArrayList<>();
+		
+		private final List<String> operations = new ArrayList<>();
+		
+		private Consumer<Throwable> failureListener;
+		
+		private int loads;
+		
+		@Override
+		public void onFailure(@NotNull Consumer<Throwable> listener) {
+			this.failureListener = listener;
+		}
+		
+		@Override
+		public void load(@NotNull Restorer restorer) {
+			loads++;
+			for (Object[] cooldown : restored)
+				restorer.restore((String) cooldown[0], (String) cooldown[1], (long) cooldown[2], (long) cooldown[3]);
+		}
+		
+		@Override
+		public void save(@NotNull String sender, @NotNull String command, long lastUse, long duration) {
+			operations.add("save " + sender + " " + command);
+		}
+		
+		@Override
+		public void remove(@Nullable String sender, @Nullable String command) {
+			operations.add("remove " + sender + " " + command);
+		}
+		
+		@Override
+		public void close() {
+			
+		}
+		
+	}
+	
+}
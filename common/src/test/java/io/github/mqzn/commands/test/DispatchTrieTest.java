@@ -0,0 +1,99 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.context.CommandInput;
+import io.github.mqzn.commands.base.context.DelegateCommandContext;
+import io.github.mqzn.commands.base.syntax.CommandSyntax;
+import io.github.mqzn.commands.base.syntax.SubCommandBuilder;
+import io.github.mqzn.commands.base.syntax.SubCommandSyntax;
+import io.github.mqzn.commands.base.syntax.tree.CommandTree;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@TestOnly
+public final class DispatchTrieTest {
+	
+	private final TestCommandManager commandManager = TestBootstrap.sharedManager();
+	private final ClientSender sender = new ClientSender("mqzen");
+	
+	private final SubCommandSyntax<ClientSender> members = SubCommandBuilder.genericBuilder(commandManager, ClientSender.class, "trie", "members")
+		.children("add")
+		.defaultExecution((sender, context) -> {
+		})
+		.build();
+	
+	private final SubCommandSyntax<ClientSender> add = SubCommandBuilder.genericBuilder(commandManager, ClientSender.class, "trie", "add")
+		.aliases("invite")
+		.parent("members")
+		.argument(Argument.word("target"))
+		.argument(Argument.integer("count"))
+		.execute((sender, context) -> {
+		})
+		.build();
+	
+	private final SubCommandSyntax<ClientSender> say = SubCommandBuilder.genericBuilder(commandManager, ClientSender.class, "trie", "say")
+		.argument(Argument.Array("message"))
+		.execute((sender, context) -> {
+		})
+		.build();
+	
+	private final Command<ClientSender> command = Command.builder(commandManager, "trie")
+		.syntax(members, add, say)
+		.build();
+	
+	private CommandTree.CommandSearchResult<ClientSender> resolve(String... args) {
+		return commandManager.findSyntax(command, DelegateCommandContext.create(commandManager, command, sender, CommandInput.of(args)));
+	}
+	
+	private void assertFound(CommandSyntax<ClientSender> expected, String... args) {
+		var result = resolve(args);
+		Assertions.assertEquals(CommandTree.CommandSearchResultState.FOUND, result.state);
+		Assertions.assertSame(expected, result.data);
+	}
+	
+	@Test
+	public void resolvesRootsAndChildren() {
+		assertFound(members, "members");
+		assertFound(add, "members", "add", "mqzen", "3");
+		assertFound(say, "say", "hello");
+	}
+	
+	@Test
+	public void foldsTheCaseOfLiteralsAndAliases() {
+		assertFound(members, "MEMBERS");
+		assertFound(add, "Members", "ADD", "mqzen", "3");
+		assertFound(add, "members", "invite", "mqzen", "3");
+	}
+	
+	@Test
+	public void skipsTheFlags() {
+		assertFound(add, "members", "-s", "add", "mqzen", "3");
+		assertFound(add, "members", "add", "mqzen", "-s", "3");
+	}
+	
+	@Test
+	public void rejectsTheWrongArities() {
+		Assertions.assertEquals(CommandTree.CommandSearchResultState.NOT_FOUND, resolve("members", "add", "mqzen").state);
+		Assertions.assertEquals(CommandTree.CommandSearchResultState.NOT_FOUND, resolve("members", "add", "mqzen", "3", "4").state);
+		Assertions.assertEquals(CommandTree.CommandSearchResultState.NOT_FOUND, resolve("unknown").state);
+	}
+	
+	@Test
+	public void reportsTheIncompletePaths() {
+		var result = resolve("members", "add");
+		Assertions.assertEquals(CommandTree.CommandSearchResultState.FOUND_INCOMPLETE, result.state);
+		Assertions.assertSame(add, result.data);
+	}
+	
+	@Test
+	public void leavesTheGreedyArgumentsOutOfTheArity() {
+		//the greedy argument may consume nothing, the same as in the shape of the syntax,
+		//where the literal of the subcommand is the only argument required
+		Assertions.assertEquals(1, CommandSyntax.getShape(command.tree(), say).minArity());
+		assertFound(say, "say");
+		assertFound(say, "say", "hello", "big", "world");
+	}
+	
+}
@@ -0,0 +1,136 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.base.manager.ExecutionLanes;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@TestOnly
+public final class ExecutionLanesTest {
+	
+	private static final int KEYS = 4, TASKS = 500;
+	
+	private final ExecutionLanes lanes = ExecutionLanes.create();
+	
+	private void awaitReleased() throws InterruptedException {
+		//a lane is released right after its last task completes
+		for (int attempt = 0; attempt < 100 && lanes.size() > 0; attempt++)
+			Thread.sleep(10);
+		Assertions.assertEquals(0, lanes.size());
+	}
+	
+	@Test
+	public void runsTheTasksOfAKeyInOrder() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<List<Integer>> ran = new ArrayList<>();
+			AtomicInteger[] running = new AtomicInteger[KEYS];
+			AtomicInteger overlaps = new AtomicInteger();
+			for (int key = 0; key < KEYS; key++) {
+				ran.add(Collections.synchronizedList(new ArrayList<>()));
+				running[key] = new AtomicInteger();
+			}
+			
+			CountDownLatch done = new CountDownLatch(KEYS * TASKS);
+			for (int task = 0; task < TASKS; task++) {
+				for (int key = 0; key < KEYS; key++) {
+					final int k = key, t = task;
+					lanes.execute("sender-" + key, executor, () -> {
+						if (running[k].incrementAndGet() != 1) overlaps.incrementAndGet();
+						ran.get(k).add(t);
+						running[k].decrementAndGet();
+						done.countDown();
+					});
+				}
+			}
+			
+			Assertions.assertTrue(done.await(10, TimeUnit.SECONDS));
+			Assertions.assertEquals(0, overlaps.get());
+			for (int key = 0; key < KEYS; key++) {
+				List<Integer> tasks = ran.get(key);
+				Assertions.assertEquals(TASKS, tasks.size());
+				for (int task = 0; task < TASKS; task++)
+					Assertions.assertEquals(task, (int) tasks.get(task));
+			}
+			
+			awaitReleased();
+			Assertions.assertEquals(0, lanes.pending("sender-0"));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void runsTheKeysInParallel() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			CountDownLatch other = new CountDownLatch(1);
+			CountDownLatch blocked = new CountDownLatch(1);
+			AtomicInteger unblocked = new AtomicInteger();
+			
+			lanes.execute("mqzen", executor, () -> {
+				try {
+					if (other.await(5, TimeUnit.SECONDS)) unblocked.incrementAndGet();
+				} catch (InterruptedException ignored) {
+				} finally {
+					blocked.countDown();
+				}
+			});
+			lanes.execute("mqzen", executor, unblocked::incrementAndGet);
+			Assertions.assertEquals(2, lanes.pending("mqzen"));
+			
+			//the second key isn't held behind the first one
+			lanes.execute("other", executor, other::countDown);
+			
+			Assertions.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+			awaitReleased();
+			Assertions.assertEquals(2, unblocked.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void drainsOnTheCallerWhenTheExecutorRejects() {
+		List<Integer> ran = new ArrayList<>();
+		for (int task = 0; task < 40; task++) {
+			final int t = task;
+			lanes.execute("mqzen", (runnable) -> {
+				throw new RejectedExecutionException();
+			}, () -> ran.add(t));
+		}
+		
+		Assertions.assertEquals(40, ran.size());
+		for (int task = 0; task < 40; task++)
+			Assertions.assertEquals(task, (int) ran.get(task));
+		Assertions.assertEquals(0, lanes.size());
+	}
+	
+	@Test
+	public void keepsDrainingAfterAFailedTask() throws InterruptedException {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CountDownLatch done = new CountDownLatch(1);
+			lanes.execute("mqzen", executor, () -> {
+				throw new IllegalStateException("Expected failure of the task");
+			});
+			lanes.execute("mqzen", executor, done::countDown);
+			
+			Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+			awaitReleased();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+}
@@ -0,0 +1,152 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.manager.CommandExecutionCoordinator;
+import io.github.mqzn.commands.base.manager.ExecutionMetrics;
+import io.github.mqzn.commands.base.manager.LatencyHistogram;
+import io.github.mqzn.commands.base.syntax.CommandSyntax;
+import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@TestOnly
+public final class ExecutionMetricsTest {
+	
+	private final TestCommandManager commandManager = TestBootstrap.sharedManager();
+	private final ClientSender sender = new ClientSender("mqzen");
+	
+	private Command<ClientSender> command(String name) {
+		return Command.builder(commandManager, name)
+			.coordination(CommandExecutionCoordinator.Type.SYNC)
+			.syntax(CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, name)
+				.argument(Argument.word("target"))
+				.execute((sender, context) -> {
+					String target = context.getArgument("target");
+					if ("fail".equals(target)) throw new IllegalStateException("failed on purpose");
+				})
+				.build())
+			.build();
+	}
+	
+	@Test
+	public void countsTheOutcomesOfTheDispatches() {
+		Command<ClientSender> command = command("metrics-outcomes");
+		ExecutionMetrics metrics = command.coordinator().metrics();
+		
+		commandManager.executeCommand(command, sender, new String[]{"mqzen"});
+		commandManager.executeCommand(command, sender, new String[]{"mqzen"});
+		commandManager.executeCommand(command, sender, new String[]{"fail"});
+		
+		Assertions.assertEquals(3, metrics.dispatched());
+		Assertions.assertEquals(2, metrics.succeeded());
+		Assertions.assertEquals(1, metrics.failed());
+		Assertions.assertEquals(2, metrics.count(ExecutionMetrics.Outcome.SUCCEEDED));
+		Assertions.assertEquals(1, metrics.count(ExecutionMetrics.Outcome.FAILED));
+		Assertions.assertEquals(0, metrics.count(ExecutionMetrics.Outcome.TIMED_OUT));
+		
+		//the gauges go back down once the executions complete
+		Assertions.assertEquals(0, metrics.queued());
+		Assertions.assertEquals(0, metrics.running());
+		
+		Assertions.assertEquals(3, metrics.latency(ExecutionMetrics.Phase.REQUIREMENTS).count());
+		Assertions.assertEquals(3, metrics.latency(ExecutionMetrics.Phase.PARSE).count());
+		Assertions.assertEquals(3, metrics.latency(ExecutionMetrics.Phase.EXECUTE).count());
+		Assertions.assertEquals(0, metrics.latency(ExecutionMetrics.Phase.LOOKUP).count());
+	}
+	
+	@Test
+	public void rollsTheSyntaxesUpToTheCommandAndTheManager() {
+		Command<ClientSender> command = command("metrics-rollup");
+		CommandSyntax<ClientSender> syntax = command.syntaxes().get(0);
+		ExecutionMetrics managerMetrics = commandManager.executionMetrics();
+		
+		long dispatched = managerMetrics.dispatched();
+		long succeeded = managerMetrics.succeeded();
+		long executed = managerMetrics.latency(ExecutionMetrics.Phase.EXECUTE).count();
+		
+		commandManager.executeCommand(command, sender, new String[]{"mqzen"});
+		
+		ExecutionMetrics syntaxMetrics = command.coordinator().metrics().syntax(syntax);
+		Assertions.assertSame(syntaxMetrics, command.coordinator().metrics().syntax(syntax));
+		Assertions.assertEquals(1, syntaxMetrics.succeeded());
+		Assertions.assertEquals(1, syntaxMetrics.latency(ExecutionMetrics.Phase.EXECUTE).count());
+		
+		//the dispatches are counted by the command, the syntax only counts what follows its parsing
+		Assertions.assertEquals(0, syntaxMetrics.dispatched());
+		Assertions.assertEquals(1, command.coordinator().metrics().dispatched());
+		
+		Assertions.assertEquals(dispatched + 1, managerMetrics.dispatched());
+		Assertions.assertEquals(succeeded + 1, managerMetrics.succeeded());
+		Assertions.assertEquals(executed + 1, managerMetrics.latency(ExecutionMetrics.Phase.EXECUTE).count());
+	}
+	
+	@Test
+	public void timesNoLookupOutsideOfTheDispatches() {
+		commandManager.registerCommand(command("metrics-lookup"));
+		LatencyHistogram lookups = commandManager.executionMetrics().latency(ExecutionMetrics.Phase.LOOKUP);
+		long count = lookups.count();
+		
+		for (int i = 0; i < 10; i++)
+			Assertions.assertNotNull(commandManager.getCommand("metrics-lookup"));
+		Assertions.assertEquals(count, lookups.count());
+	}
+	
+	@Test
+	public void bucketsTheLatenciesByPowersOfTwo() {
+		LatencyHistogram histogram = LatencyHistogram.create();
+		histogram.record(0);
+		histogram.record(-5);
+		histogram.record(1);
+		histogram.record(2);
+		histogram.record(3);
+		histogram.record(4);
+		histogram.record(1023);
+		histogram.record(1024);
+		histogram.record(Long.MAX_VALUE);
+		
+		long[] buckets = histogram.snapshot();
+		Assertions.assertEquals(LatencyHistogram.BUCKETS, buckets.length);
+		Assertions.assertEquals(2, buckets[0]);
+		Assertions.assertEquals(1, buckets[1]);
+		Assertions.assertEquals(2, buckets[2]);
+		Assertions.assertEquals(1, buckets[3]);
+		Assertions.assertEquals(1, buckets[10]);
+		Assertions.assertEquals(1, buckets[11]);
+		Assertions.assertEquals(1, buckets[LatencyHistogram.BUCKETS - 1]);
+		
+		Assertions.assertEquals(9, histogram.count());
+		Assertions.assertEquals(Long.MAX_VALUE, histogram.max());
+	}
+	
+	@Test
+	public void boundsTheBuckets() {
+		Assertions.assertEquals(0, LatencyHistogram.upperBound(0));
+		Assertions.assertEquals(1, LatencyHistogram.upperBound(1));
+		Assertions.assertEquals(3, LatencyHistogram.upperBound(2));
+		Assertions.assertEquals(1023, LatencyHistogram.upperBound(10));
+		Assertions.assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.BUCKETS - 1));
+	}
+	
+	@Test
+	public void readsThePercentilesFromTheBuckets() {
+		LatencyHistogram histogram = LatencyHistogram.create();
+		Assertions.assertEquals(0, histogram.percentile(50));
+		Assertions.assertEquals(0D, histogram.mean());
+		
+		for (int i = 0; i < 99; i++) histogram.record(100);
+		histogram.record(5000);
+		
+		//100 falls in the bucket of 64 to 127, 5000 in the bucket of 4096 to 8191 capped by the max
+		Assertions.assertEquals(127, histogram.percentile(50));
+		Assertions.assertEquals(127, histogram.percentile(99));
+		Assertions.assertEquals(5000, histogram.percentile(100));
+		Assertions.assertEquals(14_900, histogram.total());
+		Assertions.assertEquals(149D, histogram.mean());
+		
+		Assertions.assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> histogram.percentile(-1));
+	}
+	
+}
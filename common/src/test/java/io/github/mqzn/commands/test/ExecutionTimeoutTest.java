@@ -0,0 +1,224 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.context.CommandContext;
+import io.github.mqzn.commands.base.context.CommandInput;
+import io.github.mqzn.commands.base.context.DelegateCommandContext;
+import io.github.mqzn.commands.base.manager.CommandExecutionCoordinator;
+import io.github.mqzn.commands.base.manager.ExecutionWatchdog;
+import io.github.mqzn.commands.base.syntax.CommandExecution;
+import io.github.mqzn.commands.base.syntax.CommandSyntax;
+import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+@TestOnly
+public final class ExecutionTimeoutTest {
+	
+	private final TestCommandManager commandManager = TestBootstrap.sharedManager();
+	private final ClientSender sender = new ClientSender("mqzen");
+	
+	private Command<ClientSender> command(CommandExecutionCoordinator.Type type,
+	                                      ExecutorService executor,
+	                                      Duration timeout,
+	                                      CommandExecution<ClientSender, ClientSender> execution) {
+		return Command.builder(commandManager, "timeout")
+			.coordination(type)
+			.executor(executor)
+			.timeout(timeout)
+			.syntax(CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, "timeout")
+				.argument(Argument.word("target"))
+				.execute(execution)
+				.build())
+			.build();
+	}
+	
+	private static void await(CountDownLatch latch) {
+		await(latch, TimeUnit.SECONDS.toMillis(5));
+	}
+	
+	private static void await(CountDownLatch latch, long millis) {
+		try {
+			latch.await(millis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private CommandContext<ClientSender> context(Command<ClientSender> command) throws Exception {
+		CommandSyntax<ClientSender> syntax = command.syntaxes().get(0);
+		var delegate = DelegateCommandContext.create(commandManager, command, sender, CommandInput.of(new String[]{"mqzen"}));
+		CommandContext<ClientSender> context = CommandContext.create(commandManager, syntax, delegate);
+		context.parse();
+		return context;
+	}
+	
+	private CompletableFuture<CommandExecutionCoordinator.ExecutionResult> execute(Command<ClientSender> command,
+	                                                                               CommandContext<ClientSender> context) {
+		return command.coordinator().coordinateExecution(sender, command.syntaxes().get(0), context);
+	}
+	
+	@Test
+	public void timesOutASlowExecution() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CountDownLatch release = new CountDownLatch(1);
+			Command<ClientSender> command = command(CommandExecutionCoordinator.Type.ASYNC, executor, Duration.ofMillis(100),
+				(sender, context) -> await(release));
+			
+			CommandContext<ClientSender> context = context(command);
+			var result = execute(command, context).get(5, TimeUnit.SECONDS);
+			
+			Assertions.assertEquals(CommandExecutionCoordinator.ExecutionResult.TIMED_OUT, result);
+			//the execution still running is asked to stop, right after the result completes
+			for (int attempt = 0; attempt < 100 && !context.isCancelled(); attempt++)
+				Thread.sleep(10);
+			Assertions.assertTrue(context.isCancelled());
+			release.countDown();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void completesBeforeTheTimeout() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Command<ClientSender> command = command(CommandExecutionCoordinator.Type.ASYNC, executor, Duration.ofSeconds(5),
+				(sender, context) -> {
+				});
+			
+			CommandContext<ClientSender> context = context(command);
+			Assertions.assertEquals(CommandExecutionCoordinator.ExecutionResult.SUCCESS, execute(command, context).get(5, TimeUnit.SECONDS));
+			Assertions.assertFalse(context.isCancelled());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void reportsACancelledExecution() throws Exception {
+		Command<ClientSender> command = command(CommandExecutionCoordinator.Type.SYNC, null, null,
+			(sender, context) -> {
+				context.cancel();
+				context.checkCancelled();
+				Assertions.fail("The execution went on after it was cancelled");
+			});
+		
+		var result = execute(command, context(command)).get(5, TimeUnit.SECONDS);
+		Assertions.assertEquals(CommandExecutionCoordinator.ExecutionResult.CANCELLED, result);
+	}
+	
+	@Test
+	public void cancelsTheContextWithTheResult() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CountDownLatch started = new CountDownLatch(1);
+			CountDownLatch stopped = new CountDownLatch(1);
+			Command<ClientSender> command = command(CommandExecutionCoordinator.Type.ASYNC, executor, null,
+				(sender, context) -> {
+					started.countDown();
+					while (!context.isCancelled()) Thread.onSpinWait();
+					stopped.countDown();
+				});
+			
+			CommandContext<ClientSender> context = context(command);
+			var future = execute(command, context);
+			Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+			
+			future.cancel(true);
+			Assertions.assertTrue(stopped.await(5, TimeUnit.SECONDS));
+			Assertions.assertTrue(context.isCancelled());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void skipsAnExecutionCancelledWhileQueued() throws Exception {
+		AtomicBoolean ran = new AtomicBoolean();
+		Command<ClientSender> command = command(CommandExecutionCoordinator.Type.SYNC, null, null, (sender, context) -> ran.set(true));
+		
+		CommandContext<ClientSender> context = context(command);
+		context.cancel();
+		
+		Assertions.assertEquals(CommandExecutionCoordinator.ExecutionResult.CANCELLED, execute(command, context).get(5, TimeUnit.SECONDS));
+		Assertions.assertFalse(ran.get());
+	}
+	
+	@Test
+	public void logsAStalledSyncExecution() throws Exception {
+		List<LogRecord> logged = new CopyOnWriteArrayList<>();
+		Handler handler = new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				if (record.getLevel() == Level.WARNING && record.getMessage().startsWith("Command 'timeout'")) logged.add(record);
+			}
+			
+			@Override
+			public void flush() {
+			}
+			
+			@Override
+			public void close() {
+			}
+		};
+		
+		ExecutionWatchdog watchdog = commandManager.watchdog();
+		Logger logger = Logger.getLogger("CommandManager-Logger");
+		Duration threshold = watchdog.threshold();
+		watchdog.threshold(Duration.ofMillis(50));
+		logger.addHandler(handler);
+		try {
+			Command<ClientSender> command = command(CommandExecutionCoordinator.Type.SYNC, null, null,
+				(sender, context) -> await(new CountDownLatch(1), 300));
+			
+			var result = execute(command, context(command)).get(5, TimeUnit.SECONDS);
+			Assertions.assertEquals(CommandExecutionCoordinator.ExecutionResult.SUCCESS, result);
+			Assertions.assertFalse(logged.isEmpty(), "The stalled execution wasn't logged");
+			Assertions.assertNotNull(logged.get(0).getThrown(), "The stack of the thread wasn't logged");
+			
+			//the execution is no longer watched once it completes
+			Assertions.assertEquals(0, watchdog.size());
+			int count = logged.size();
+			Thread.sleep(150);
+			Assertions.assertEquals(count, logged.size());
+		} finally {
+			logger.removeHandler(handler);
+			watchdog.threshold(threshold);
+		}
+	}
+	
+	@Test
+	public void watchesNothingOnceDisabled() {
+		ExecutionWatchdog watchdog = commandManager.watchdog();
+		Duration threshold = watchdog.threshold();
+		watchdog.threshold(Duration.ZERO);
+		try {
+			Command<ClientSender> command = command(CommandExecutionCoordinator.Type.SYNC, null, null, (sender, context) -> {
+			});
+			Assertions.assertNull(watchdog.watch(command, context(command)));
+		} catch (Exception ex) {
+			throw new AssertionError(ex);
+		} finally {
+			watchdog.threshold(threshold);
+		}
+	}
+	
+}
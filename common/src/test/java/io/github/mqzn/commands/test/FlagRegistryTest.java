@@ -0,0 +1,210 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.context.CommandContext;
+import io.github.mqzn.commands.base.context.DelegateCommandContext;
+import io.github.mqzn.commands.base.manager.FlagRegistry;
+import io.github.mqzn.commands.base.manager.flags.ContextFlagRegistry;
+import io.github.mqzn.commands.base.manager.flags.FlagInfo;
+import io.github.mqzn.commands.base.syntax.CommandSyntax;
+import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import io.github.mqzn.commands.base.syntax.SyntaxFlags;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+@TestOnly
+public final class FlagRegistryTest {
+	
+	private final TestCommandManager commandManager = TestBootstrap.sharedManager();
+	private final FlagRegistry registry = commandManager.flagRegistry();
+	private final ClientSender sender = new ClientSender("mqzen");
+	
+	/**
+	 * Runs a test with extra flags registered, then unregisters them,
+	 * since every test shares the registry of the manager
+	 */
+	private void withFlags(List<FlagInfo> flags, Runnable test) {
+		flags.forEach(registry::registerFlag);
+		try {
+			test.run();
+		} finally {
+			flags.forEach((flag) -> registry.unregisterFlag(flag.getName()));
+		}
+	}
+	
+	/**
+	 * The lookup of the registry before the flags were indexed, a scan of every flag
+	 */
+	private @Nullable FlagInfo scan(String flag) {
+		for (FlagInfo f : registry.flags()) {
+			if (f.getName().equalsIgnoreCase(flag) || f.hasAliase(flag))
+				return f;
+		}
+		return null;
+	}
+	
+	@Test
+	public void assignsTheLowestFreeOrdinal() {
+		FlagInfo alpha = FlagInfo.builder("ft-alpha").build();
+		FlagInfo beta = FlagInfo.builder("ft-beta").build();
+		FlagInfo gamma = FlagInfo.builder("ft-gamma").build();
+		
+		withFlags(List.of(alpha, beta), () -> {
+			int alphaOrdinal = registry.ordinal("ft-alpha");
+			int betaOrdinal = registry.ordinal("ft-beta");
+			Assertions.assertNotEquals(-1, alphaOrdinal);
+			Assertions.assertNotEquals(alphaOrdinal, betaOrdinal);
+			Assertions.assertNotEquals(registry.ordinal("silent"), alphaOrdinal);
+			Assertions.assertSame(alpha, registry.getFlag(alphaOrdinal));
+			
+			//registering a flag again keeps its ordinal
+			registry.registerFlag(beta);
+			Assertions.assertEquals(betaOrdinal, registry.ordinal("ft-beta"));
+			
+			//the ordinal of an unregistered flag is given to the next flag
+			registry.unregisterFlag("ft-alpha");
+			Assertions.assertEquals(-1, registry.ordinal("ft-alpha"));
+			Assertions.assertNull(registry.getFlag(alphaOrdinal));
+			
+			withFlags(List.of(gamma), () -> Assertions.assertEquals(alphaOrdinal, registry.ordinal("ft-gamma")));
+		});
+	}
+	
+	@Test
+	public void looksTheFlagsUpLikeTheScan() {
+		FlagInfo verbose = FlagInfo.builder("ft-verbose").aliases("v", "loud").build();
+		FlagInfo quiet = FlagInfo.builder("ft-quiet").aliases("q").build();
+		
+		withFlags(List.of(verbose, quiet), () -> {
+			for (String flag : new String[]{"ft-verbose", "FT-Verbose", "v", "V", "loud", "LOUD", "ft-quiet", "q",
+				"silent", "s", "S", "ft-verb", "vq", "", "unknown"}) {
+				Assertions.assertSame(scan(flag), registry.getFlag(flag), flag);
+				Assertions.assertEquals(scan(flag) != null, registry.flagExists(flag), flag);
+			}
+			
+			Assertions.assertSame(verbose, registry.getShortFlag('v'));
+			Assertions.assertSame(verbose, registry.getShortFlag('V'));
+			Assertions.assertSame(quiet, registry.getShortFlag('q'));
+			Assertions.assertNull(registry.getShortFlag('z'));
+			Assertions.assertNull(registry.getShortFlag('1'));
+		});
+	}
+	
+	@Test
+	public void classifiesTheRawFlagsLikeThePattern() {
+		for (String raw : new String[]{"-s", "-S", "-xyz", "-silent", "-", "--", "--s", "s", "-s1", "-1", "- s", "-s-", "-é", ""}) {
+			@SuppressWarnings("deprecation")
+			boolean matches = ContextFlagRegistry.FLAG_PATTERN.matcher(raw).matches();
+			Assertions.assertEquals(matches, ContextFlagRegistry.isRawArgumentFlag(raw), raw);
+		}
+		Assertions.assertFalse(ContextFlagRegistry.isRawArgumentFlag(null));
+	}
+	
+	@Test
+	public void computesTheMaskAgainOnceAFlagRegisters() {
+		SyntaxFlags flags = SyntaxFlags.of("silent", "ft-late");
+		long silent = 1L << registry.ordinal("silent");
+		
+		int version = registry.version();
+		Assertions.assertEquals(silent, flags.mask(registry));
+		
+		withFlags(List.of(FlagInfo.builder("ft-late").build()), () -> {
+			Assertions.assertNotEquals(version, registry.version());
+			Assertions.assertEquals(silent | 1L << registry.ordinal("ft-late"), flags.mask(registry));
+		});
+		Assertions.assertEquals(silent, flags.mask(registry));
+		
+		//changing the flags of the syntax computes the mask again as well
+		flags.removeFlag("silent");
+		Assertions.assertEquals(0L, flags.mask(registry));
+	}
+	
+	private CommandContext<ClientSender> parse(Command<ClientSender> command, String[] raw) {
+		try {
+			CommandSyntax<ClientSender> syntax = command.syntaxes().get(0);
+			var delegate = DelegateCommandContext.create(commandManager, command, sender, raw);
+			CommandContext<ClientSender> context = CommandContext.create(commandManager, syntax, delegate);
+			context.parse();
+			return context;
+		} catch (Exception ex) {
+			throw new AssertionError(ex);
+		}
+	}
+	
+	private Command<ClientSender> command(String... flags) {
+		return Command.builder(commandManager, "flags")
+			.syntax(CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, "flags")
+				.argument(Argument.word("target"))
+				.flags(flags)
+				.execute((sender, context) -> {
+				})
+				.build())
+			.build();
+	}
+	
+	@Test
+	public void createsTheContextRegistryOnlyForTheFlags() {
+		Command<ClientSender> command = command("silent");
+		
+		CommandContext<ClientSender> none = parse(command, new String[]{"mqzen"});
+		Assertions.assertSame(ContextFlagRegistry.empty(), none.flags());
+		Assertions.assertFalse(none.flags().isPresent("silent"));
+		Assertions.assertEquals(0, none.flags().count());
+		Assertions.assertEquals("mqzen", none.getArgument("target"));
+		
+		CommandContext<ClientSender> flagged = parse(command, new String[]{"mqzen", "-silent"});
+		Assertions.assertNotSame(ContextFlagRegistry.empty(), flagged.flags());
+		Assertions.assertTrue(flagged.flags().isPresent("silent"));
+		Assertions.assertTrue(flagged.flags().isPresent("s"));
+		Assertions.assertNotNull(flagged.flags().getFlag("silent"));
+		Assertions.assertEquals("mqzen", flagged.getArgument("target"));
+	}
+	
+	@Test
+	public void resolvesTheCombinedShortFlags() {
+		List<FlagInfo> flags = List.of(FlagInfo.builder("ft-x").aliases("x").build(), FlagInfo.builder("ft-y").aliases("y").build());
+		
+		withFlags(flags, () -> {
+			Command<ClientSender> command = command("ft-x", "ft-y", "silent");
+			
+			CommandContext<ClientSender> context = parse(command, new String[]{"-xYs", "mqzen"});
+			Assertions.assertEquals(3, context.flags().count());
+			Assertions.assertTrue(context.flags().isPresent("ft-x"));
+			Assertions.assertTrue(context.flags().isPresent("y"));
+			Assertions.assertTrue(context.flags().isPresent("silent"));
+			Assertions.assertEquals("mqzen", context.getArgument("target"));
+			
+			//the separate flags end up in the same mask
+			CommandContext<ClientSender> separate = parse(command, new String[]{"-x", "mqzen", "-y", "-s"});
+			Assertions.assertEquals(context.flags().mask(), separate.flags().mask());
+		});
+	}
+	
+	@Test
+	public void rejectsTheUnknownAndDisallowedFlags() {
+		List<FlagInfo> flags = List.of(FlagInfo.builder("ft-x").aliases("x").build());
+		
+		withFlags(flags, () -> {
+			Command<ClientSender> command = command("ft-x");
+			
+			//an unknown letter leaves none of the others used, and the arguments aren't parsed
+			CommandContext<ClientSender> unknown = parse(command, new String[]{"-xq", "mqzen"});
+			Assertions.assertEquals(0, unknown.flags().count());
+			Assertions.assertNull(unknown.getArgument("target"));
+			
+			CommandContext<ClientSender> unknownName = parse(command, new String[]{"mqzen", "-unknown"});
+			Assertions.assertEquals(0, unknownName.flags().count());
+			Assertions.assertNull(unknownName.getArgument("target"));
+			
+			//silent is registered, but not allowed in the syntax
+			CommandContext<ClientSender> disallowed = parse(command, new String[]{"mqzen", "-x", "-silent"});
+			Assertions.assertNull(disallowed.getArgument("target"));
+		});
+	}
+	
+}
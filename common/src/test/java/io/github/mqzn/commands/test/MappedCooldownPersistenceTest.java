@@ -0,0 +1,177 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.base.cooldown.CommandCooldown;
+import io.github.mqzn.commands.base.cooldown.CooldownStore;
+import io.github.mqzn.commands.base.cooldown.MappedCooldownPersistence;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@TestOnly
+public final class MappedCooldownPersistenceTest {
+	
+	private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+	
+	/**
+	 * The header, followed by the initial 256 records of 128 bytes each
+	 */
+	private static final long INITIAL_FILE_SIZE = 16 + 256 * 128;
+	
+	private static Map<String, long[]> restore(Path file) throws IOException {
+		Map<String, long[]> restored = new HashMap<>();
+		try (var persistence = MappedCooldownPersistence.open(file)) {
+			persistence.load((sender, command, lastUse, duration) -> restored.put(sender + ":" + command, new long[]{lastUse, duration}));
+		}
+		return restored;
+	}
+	
+	private static void withFile(FileTest test) throws Exception {
+		Path file = Files.createTempFile("cooldowns", ".dat");
+		try {
+			test.run(file);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+	
+	@Test
+	public void restoresTheSavedCooldownsAfterReopening() throws Exception {
+		withFile((file) -> {
+			long now = System.currentTimeMillis();
+			try (var persistence = MappedCooldownPersistence.open(file)) {
+				persistence.load((sender, command, lastUse, duration) -> Assertions.fail("The file is empty"));
+				persistence.save("mqzen", "home", now, HOUR);
+				persistence.save("other", "home", now, HOUR);
+				persistence.save("other", "spawn", now, HOUR);
+				//updated in place
+				persistence.save("mqzen", "home", now + 1, 2 * HOUR);
+				persistence.remove("other", null);
+			}
+			
+			Map<String, long[]> restored = restore(file);
+			Assertions.assertEquals(1, restored.size());
+			Assertions.assertEquals(now + 1, restored.get("mqzen:home")[0]);
+			Assertions.assertEquals(2 * HOUR, restored.get("mqzen:home")[1]);
+		});
+	}
+	
+	@Test
+	public void leavesTheExpiredAndOversizedCooldownsOut() throws Exception {
+		withFile((file) -> {
+			long now = System.currentTimeMillis();
+			try (var persistence = MappedCooldownPersistence.open(file)) {
+				persistence.save("expired", "home", now - 2 * HOUR, HOUR);
+				persistence.save("x".repeat(MappedCooldownPersistence.MAX_SENDER_LENGTH + 1), "home", now, HOUR);
+				persistence.save("mqzen", "y".repeat(MappedCooldownPersistence.MAX_COMMAND_LENGTH + 1), now, HOUR);
+				persistence.save("mqzen", "home", now, HOUR);
+			}
+			
+			Assertions.assertEquals(1, restore(file).size());
+			Assertions.assertTrue(restore(file).containsKey("mqzen:home"));
+		});
+	}
+	
+	@Test
+	public void compactsTheFileOnceTheCooldownsExpire() throws Exception {
+		withFile((file) -> {
+			long now = System.currentTimeMillis();
+			try (var persistence = MappedCooldownPersistence.open(file, Duration.ofMillis(50))) {
+				//more cooldowns than the initial capacity, so the file grows
+				for (int i = 0; i < 300; i++)
+					persistence.save("sender-" + i, "home", now, 100);
+				persistence.save("mqzen", "home", now, HOUR);
+				
+				Thread.sleep(500);
+			}
+			
+			//the live cooldown was moved to the head of the file, which shrank back
+			Assertions.assertEquals(INITIAL_FILE_SIZE, Files.size(file));
+			
+			Map<String, long[]> restored = restore(file);
+			Assertions.assertEquals(1, restored.size());
+			Assertions.assertEquals(now, restored.get("mqzen:home")[0]);
+		});
+	}
+	
+	@Test
+	public void persistsTheCooldownsOfAStore() throws Exception {
+		withFile((file) -> {
+			CommandCooldown cooldown = new CommandCooldown(1, TimeUnit.HOURS);
+			
+			try (var persistence = MappedCooldownPersistence.open(file)) {
+				CooldownStore store = CooldownStore.create();
+				store.persist(persistence);
+				Assertions.assertEquals(0, store.tryAcquire("mqzen", "home", cooldown));
+				Assertions.assertEquals(0, store.tryAcquire("other", "home", cooldown));
+				store.reset("other", "home");
+			}
+			
+			try (var persistence = MappedCooldownPersistence.open(file)) {
+				CooldownStore store = CooldownStore.create();
+				store.persist(persistence);
+				Assertions.assertTrue(store.tryAcquire("mqzen", "home", cooldown) > 0);
+				Assertions.assertEquals(0, store.tryAcquire("other", "home", cooldown));
+			}
+		});
+	}
+	
+	@Test
+	public void flushesTheWritesWhenTheStoreClosesIt() throws Exception {
+		withFile((file) -> {
+			CommandCooldown cooldown = new CommandCooldown(1, TimeUnit.HOURS);
+			CooldownStore store = CooldownStore.create();
+			store.persist(MappedCooldownPersistence.open(file));
+			Assertions.assertEquals(0, store.tryAcquire("mqzen", "home", cooldown));
+			
+			//the writes still queued are written before the store lets go of the persistence
+			store.closePersistence();
+			Assertions.assertNull(store.persistence());
+			Assertions.assertTrue(restore(file).containsKey("mqzen:home"));
+		});
+	}
+	
+	@Test
+	public void keepsWritingAfterACorruptSlotCount() throws Exception {
+		withFile((file) -> {
+			//the magic and the version of the file, followed by a negative number of used slots
+			ByteBuffer header = ByteBuffer.allocate(16).putInt(0x4D434344).putInt(1).putInt(-5).putInt(0);
+			Files.write(file, header.array());
+			
+			long now = System.currentTimeMillis();
+			try (var persistence = MappedCooldownPersistence.open(file)) {
+				persistence.load((sender, command, lastUse, duration) -> Assertions.fail("The file has no cooldowns"));
+				persistence.save("mqzen", "home", now, HOUR);
+			}
+			
+			Map<String, long[]> restored = restore(file);
+			Assertions.assertEquals(1, restored.size());
+			Assertions.assertEquals(now, restored.get("mqzen:home")[0]);
+		});
+	}
+	
+	@Test
+	public void rejectsTheFilesThatAreNotCooldowns() throws Exception {
+		withFile((file) -> {
+			Files.write(file, new byte[32]);
+			Assertions.assertThrows(IOException.class, () -> MappedCooldownPersistence.open(file));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> MappedCooldownPersistence.open(file, Duration.ZERO));
+		});
+	}
+	
+	@FunctionalInterface
+	private interface FileTest {
+		
+		void run(Path file) throws Exception;
+		
+	}
+	
+}
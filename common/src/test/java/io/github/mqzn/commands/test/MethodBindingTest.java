@@ -0,0 +1,62 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.annotations.AnnotationParser;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.test.annotations.TestBindingCommand;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+@TestOnly
+public final class MethodBindingTest {
+	
+	private final TestCommandManager commandManager = TestBootstrap.sharedManager();
+	private final ClientSender sender = new ClientSender("mqzen");
+	
+	private final Command<ClientSender> command;
+	
+	public MethodBindingTest() {
+		synchronized (TestBindingCommand.class) {
+			if (commandManager.getCommand("binding") == null)
+				new AnnotationParser<>(commandManager).parse(new TestBindingCommand());
+		}
+		command = commandManager.getCommand("binding");
+		TestBindingCommand.EXECUTIONS.clear();
+	}
+	
+	private void execute(String... args) {
+		commandManager.executeCommand(command, sender, args);
+	}
+	
+	@Test
+	public void readsThePrimitiveParameters() {
+		execute("primitives", "3", "9000000000", "0.25", "1.5", "true");
+		execute("primitives", "-7", "-1", "-2.5", "0", "false");
+		
+		Assertions.assertEquals(List.of("primitives 3 9000000000 0.25 1.5 true", "primitives -7 -1 -2.5 0.0 false"),
+			TestBindingCommand.EXECUTIONS);
+	}
+	
+	@Test
+	public void readsTheFlagParameters() {
+		execute("flagged", "mqzen");
+		execute("flagged", "mqzen", "-silent");
+		execute("flagged", "-s", "mqzen");
+		
+		Assertions.assertEquals(List.of("flagged mqzen false", "flagged mqzen true", "flagged mqzen true"),
+			TestBindingCommand.EXECUTIONS);
+	}
+	
+	@Test
+	public void resolvesTheSlotsOfTheSubCommands() {
+		execute("team", "red");
+		execute("team", "red", "invite", "other", "4");
+		//the slots are kept after the first execution, so a second one must read the same positions
+		execute("team", "blue", "invite", "third", "2");
+		
+		Assertions.assertEquals(List.of("team red", "invite other 4", "invite third 2"), TestBindingCommand.EXECUTIONS);
+	}
+	
+}
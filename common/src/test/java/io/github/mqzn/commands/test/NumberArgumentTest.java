@@ -0,0 +1,137 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.arguments.ArgumentNumber;
+import io.github.mqzn.commands.exceptions.types.ArgumentParseException;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+@TestOnly
+public final class NumberArgumentTest {
+	
+	private final Function<String, Integer> integer = Argument.integer("int").getParser();
+	private final Function<String, Long> longNum = Argument.Long("long").getParser();
+	private final Function<String, Double> doubleNum = Argument.Double("double").getParser();
+	private final Function<String, Float> floatNum = Argument.Float("float").getParser();
+	
+	private static <T> void assertRejected(Function<String, T> parser, String input) {
+		Assertions.assertThrows(NumberFormatException.class, () -> parser.apply(input), input);
+	}
+	
+	@Test
+	public void scansTheIntsLikeTheJdk() {
+		for (String input : new String[]{"0", "7", "-7", "+7", "-0", "007", "2147483647", "-2147483648"})
+			Assertions.assertEquals(Integer.valueOf(Integer.parseInt(input)), integer.apply(input), input);
+		
+		for (String input : new String[]{"", "-", "+", "--1", "1-", "abc", "1 2", "2147483648", "-2147483649", "99999999999999999999"})
+			assertRejected(integer, input);
+	}
+	
+	@Test
+	public void scansTheLongsLikeTheJdk() {
+		for (String input : new String[]{"0", "-1", "+42", "9223372036854775807", "-9223372036854775808", "2147483648"})
+			Assertions.assertEquals(Long.valueOf(Long.parseLong(input)), longNum.apply(input), input);
+		
+		for (String input : new String[]{"", "-", "9223372036854775808", "-9223372036854775809", "12a"})
+			assertRejected(longNum, input);
+	}
+	
+	@Test
+	public void scansTheDoublesLikeTheJdk() {
+		for (String input : new String[]{"0", "-0", "-0.0", "1.5", "-1.5", "0.1", ".5", "5.", "1e22", "1e23", "1e-5", "2.5E+3",
+			"123456789.123456789", "12345678901234567890.5", "4.9e-324", "1.7976931348623157e308", "9007199254740993"}) {
+			//compared as boxes, so that the sign of zero is compared too
+			Assertions.assertEquals(Double.valueOf(Double.parseDouble(input)), doubleNum.apply(input), input);
+		}
+		
+		for (String input : new String[]{"", "-", ".", "e5", "1e", "1e+", "1.2.3", "abc"})
+			assertRejected(doubleNum, input);
+	}
+	
+	@Test
+	public void scansTheFloatsLikeTheJdk() {
+		for (String input : new String[]{"0", "1.5", "-2.25", "0.1", "3.4028235e38", "1e-10"})
+			Assertions.assertEquals(Float.valueOf(Float.parseFloat(input)), floatNum.apply(input), input);
+		
+		//the JDK rounds it to infinity, which is not a value an argument can take
+		assertRejected(floatNum, "3.5e38");
+	}
+	
+	@Test
+	public void scansTheExtendedNotations() {
+		Function<String, Integer> suffixed = Argument.integer("suffixed").allowSuffixes().getParser();
+		Assertions.assertEquals(Integer.valueOf(1500), suffixed.apply("1.5k"));
+		Assertions.assertEquals(Integer.valueOf(1000), integer.apply("1e3"));
+		Assertions.assertEquals(Integer.valueOf(31), integer.apply("0x1F"));
+		Assertions.assertEquals(Integer.valueOf(-5), integer.apply("-0b101"));
+		Assertions.assertEquals(Integer.valueOf(2), integer.apply("2.0"));
+		Assertions.assertEquals(Long.valueOf(2_000_000_000L), Argument.Long("suffixed").allowSuffixes().getParser().apply("2B"));
+		Assertions.assertEquals(Double.valueOf(2_500_000D), Argument.Double("suffixed").allowSuffixes().getParser().apply("2.5m"));
+		
+		//the notations are still bound to the range of the type, and to integral values
+		assertRejected(suffixed, "3b");
+		assertRejected(suffixed, "2t");
+		assertRejected(suffixed, "1kk");
+		assertRejected(integer, "1.5");
+		assertRejected(integer, "1e-1");
+		assertRejected(integer, "0x");
+		assertRejected(longNum, "0x8000000000000000");
+	}
+	
+	@Test
+	public void rejectsTheSuffixesUnlessAllowed() {
+		for (String input : new String[]{"5k", "3m", "1b", "1.5K"}) {
+			assertRejected(integer, input);
+			assertRejected(longNum, input);
+			assertRejected(doubleNum, input);
+		}
+		
+		Assertions.assertFalse(Argument.integer("plain").areSuffixesAllowed());
+		Assertions.assertTrue(Argument.integer("suffixed").allowSuffixes().areSuffixesAllowed());
+	}
+	
+	@Test
+	public void parsesThroughTheParsersOfALegacySubclass() throws ArgumentParseException {
+		ShortArgument argument = new ShortArgument();
+		
+		Assertions.assertEquals(Short.valueOf((short) 12), argument.parse(null, "test", "12"));
+		Assertions.assertEquals(Short.valueOf((short) 1500), argument.parse(null, "test", "1.5e3"));
+		Assertions.assertEquals(Short.valueOf((short) 31), argument.parse(null, "test", "0x1F"));
+		Assertions.assertFalse(argument.isFloatingPoint());
+		Assertions.assertThrows(ArgumentParseException.class, () -> argument.parse(null, "test", "40000"));
+		
+		argument.max((short) 100);
+		Assertions.assertThrows(ArgumentParseException.class, () -> argument.parse(null, "test", "101"));
+	}
+	
+	@Test
+	public void checksTheRangeOfTheArgument() throws ArgumentParseException {
+		ArgumentNumber<Integer> ranged = Argument.integer("ranged").between(1, 10);
+		
+		Assertions.assertEquals(10L, ranged.parsePrimitive("test", "10"));
+		Assertions.assertThrows(ArgumentParseException.class, () -> ranged.parsePrimitive("test", "0"));
+		Assertions.assertThrows(ArgumentParseException.class, () -> ranged.parsePrimitive("test", "11"));
+		Assertions.assertThrows(ArgumentParseException.class, () -> ranged.parsePrimitive("test", "ten"));
+	}
+	
+	/**
+	 * A subclass built through the parsers of the deprecated constructor
+	 */
+	@SuppressWarnings("deprecation")
+	private static final class ShortArgument extends ArgumentNumber<Short> {
+		
+		private ShortArgument() {
+			super("short", Short.class, Short::parseShort, Short::parseShort, Short::compare);
+		}
+		
+		@Override
+		public Short increment(Short num) {
+			return (short) (num + 1);
+		}
+		
+	}
+	
+}
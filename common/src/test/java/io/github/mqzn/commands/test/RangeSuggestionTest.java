@@ -0,0 +1,135 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.arguments.ArgumentNumber;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.manager.ArgumentNumberSuggestionProcessor;
+import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@TestOnly
+public final class RangeSuggestionTest {
+	
+	private final TestCommandManager commandManager = TestBootstrap.sharedManager();
+	private final ClientSender sender = new ClientSender("mqzen");
+	
+	private final ArgumentNumberSuggestionProcessor processor = commandManager.numericArgumentSuggestionProcessor();
+	
+	private static List<String> range(long from, long to) {
+		List<String> values = new ArrayList<>();
+		for (long value = from; from <= to ? value <= to : value >= to; value += from <= to ? 1 : -1)
+			values.add(String.valueOf(value));
+		return values;
+	}
+	
+	/**
+	 * Runs a test with another limit of the processor, then restores the previous one
+	 */
+	private void withLimit(int limit, Runnable test) {
+		int previous = processor.limit();
+		processor.limit(limit);
+		try {
+			test.run();
+		} finally {
+			processor.limit(previous);
+		}
+	}
+	
+	@Test
+	public void suggestsTheValuesStartingWithThePrefix() {
+		ArgumentNumber<Integer> amount = Argument.integer("amount").between(1, 100);
+		
+		List<String> expected = new ArrayList<>(List.of("1"));
+		expected.addAll(range(10, 19));
+		expected.add("100");
+		Assertions.assertEquals(expected, processor.suggest(amount, "1"));
+		
+		Assertions.assertEquals(List.of("5", "50", "51", "52", "53", "54", "55", "56", "57", "58", "59"), processor.suggest(amount, "5"));
+		Assertions.assertEquals(List.of("42"), processor.suggest(amount, "42"));
+		Assertions.assertEquals(List.of(), processor.suggest(amount, "101"));
+		Assertions.assertEquals(List.of(), processor.suggest(amount, "0"));
+		Assertions.assertEquals(List.of(), processor.suggest(amount, "-"));
+		Assertions.assertEquals(List.of(), processor.suggest(amount, "1a"));
+	}
+	
+	@Test
+	public void stopsAtTheLimit() {
+		ArgumentNumber<Integer> amount = Argument.integer("amount").between(1, 1_000_000);
+		
+		Assertions.assertEquals(range(1, ArgumentNumberSuggestionProcessor.DEFAULT_LIMIT), processor.suggest(amount, ""));
+		
+		withLimit(5, () -> {
+			Assertions.assertEquals(range(1, 5), processor.suggest(amount, ""));
+			Assertions.assertEquals(List.of("7", "70", "71", "72", "73"), processor.suggest(amount, "7"));
+		});
+		
+		withLimit(0, () -> Assertions.assertEquals(List.of(), processor.suggest(amount, "")));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> processor.limit(-1));
+	}
+	
+	@Test
+	public void suggestsTheNegativeValues() {
+		ArgumentNumber<Integer> offset = Argument.integer("offset").between(-20, 5);
+		
+		Assertions.assertEquals(range(-20, 5), processor.suggest(offset, ""));
+		Assertions.assertEquals(range(-1, -20), processor.suggest(offset, "-"));
+		
+		List<String> expected = new ArrayList<>(List.of("-1"));
+		expected.addAll(range(-10, -19));
+		Assertions.assertEquals(expected, processor.suggest(offset, "-1"));
+		Assertions.assertEquals(List.of("-2", "-20"), processor.suggest(offset, "-2"));
+		Assertions.assertEquals(List.of("0"), processor.suggest(offset, "0"));
+		Assertions.assertEquals(List.of("1"), processor.suggest(offset, "1"));
+		Assertions.assertEquals(List.of(), processor.suggest(offset, "-21"));
+		
+		//a range of negative values only
+		ArgumentNumber<Integer> depth = Argument.integer("depth").between(-30, -10);
+		Assertions.assertEquals(range(-10, -30), processor.suggest(depth, "-"));
+		Assertions.assertEquals(range(-20, -29), processor.suggest(depth, "-2"));
+		Assertions.assertEquals(List.of(), processor.suggest(depth, "-5"));
+		Assertions.assertEquals(List.of(), processor.suggest(depth, "2"));
+	}
+	
+	@Test
+	public void suggestsTheWholeNumbersOfAFloatingPointRange() {
+		ArgumentNumber<Double> ratio = Argument.Double("ratio").between(0.5D, 3.5D);
+		
+		Assertions.assertEquals(List.of("1.0", "2.0", "3.0"), processor.suggest(ratio, ""));
+		Assertions.assertEquals(List.of("2.0"), processor.suggest(ratio, "2"));
+		Assertions.assertEquals(List.of("2.0"), processor.suggest(ratio, "2."));
+		Assertions.assertEquals(List.of(), processor.suggest(ratio, "2.5"));
+		Assertions.assertEquals(List.of(), processor.suggest(ratio, "4."));
+	}
+	
+	@Test
+	public void staysWithinTheBoundsOfALong() {
+		ArgumentNumber<Long> id = Argument.Long("id").between(Long.MIN_VALUE, Long.MAX_VALUE);
+		
+		Assertions.assertEquals(List.of(String.valueOf(Long.MAX_VALUE)), processor.suggest(id, String.valueOf(Long.MAX_VALUE)));
+		Assertions.assertEquals(List.of(String.valueOf(-Long.MAX_VALUE)), processor.suggest(id, String.valueOf(-Long.MAX_VALUE)));
+		
+		//the prefixes beyond the range of a long suggest nothing
+		Assertions.assertEquals(List.of(), processor.suggest(id, "9999999999999999999"));
+		Assertions.assertEquals(List.of(), processor.suggest(id, "-9999999999999999999"));
+		Assertions.assertEquals(List.of(), processor.suggest(id, "99999999999999999999"));
+		Assertions.assertEquals(ArgumentNumberSuggestionProcessor.DEFAULT_LIMIT, processor.suggest(id, "").size());
+	}
+	
+	@Test
+	public void suggestsTheRangeOfACommandArgument() {
+		Command<ClientSender> command = Command.builder(commandManager, "range")
+			.syntax(CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, "range")
+				.argument(Argument.integer("amount").between(1, 64).suggestRange())
+				.build())
+			.build();
+		
+		Assertions.assertEquals(List.of("6", "60", "61", "62", "63", "64"), commandManager.suggest(command, sender, new String[]{"6"}));
+		Assertions.assertEquals(range(1, 3), commandManager.suggest(command, sender, new String[]{""}, 3));
+	}
+	
+}
@@ -0,0 +1,188 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.AbstractArgument;
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.manager.SuggestionCache;
+import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.TestOnly;
+import org.jetbrains.annotations.UnknownNullability;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@TestOnly
+public final class SuggestionCacheTest {
+	
+	private final TestCommandManager commandManager = TestBootstrap.sharedManager();
+	private final SuggestionCache<ClientSender> cache = commandManager.suggestionCache();
+	private final ClientSender sender = new ClientSender("mqzen");
+	
+	@Test
+	public void computesTheSuggestionsOncePerTtl() {
+		var argument = new CountingArgument("cached");
+		
+		Assertions.assertEquals(List.of("mqzen-1"), cache.suggestions(argument, sender));
+		Assertions.assertEquals(List.of("mqzen-1"), cache.suggestions(argument, new ClientSender("other")));
+		Assertions.assertEquals(1, argument.computed.get());
+		
+		cache.invalidate(argument);
+		Assertions.assertEquals(List.of("mqzen-2"), cache.suggestions(argument, sender));
+		
+		cache.invalidate(CountingArgument.class);
+		cache.suggestions(argument, sender);
+		cache.invalidateAll();
+		cache.suggestions(argument, sender);
+		Assertions.assertEquals(4, argument.computed.get());
+	}
+	
+	@Test
+	public void expiresTheSuggestionsAfterTheTtl() throws InterruptedException {
+		var argument = new CountingArgument("expiring");
+		cache.ttl(Duration.ofMillis(250));
+		try {
+			cache.suggestions(argument, sender);
+			cache.suggestions(argument, sender);
+			Assertions.assertEquals(1, argument.computed.get());
+			
+			Thread.sleep(300);
+			cache.suggestions(argument, sender);
+			Assertions.assertEquals(2, argument.computed.get());
+		} finally {
+			cache.ttl(SuggestionCache.DEFAULT_TTL);
+		}
+	}
+	
+	@Test
+	public void disablesTheCachingForAZeroTtl() {
+		var argument = new CountingArgument("uncached");
+		cache.ttl(Duration.ZERO);
+		try {
+			cache.suggestions(argument, sender);
+			cache.suggestions(argument, sender);
+			Assertions.assertEquals(2, argument.computed.get());
+		} finally {
+			cache.ttl(SuggestionCache.DEFAULT_TTL);
+		}
+		
+		Assertions.assertThrows(IllegalArgumentException.class, () -> cache.ttl(Duration.ofSeconds(-1)));
+	}
+	
+	@Test
+	public void scopesTheSuggestionsPerSender() {
+		var argument = new CountingArgument("scoped");
+		var other = new ClientSender("other");
+		cache.scopePerSender(argument);
+		Assertions.assertTrue(cache.isScopedPerSender(argument));
+		
+		Assertions.assertEquals(List.of("mqzen-1"), cache.suggestions(argument, sender));
+		Assertions.assertEquals(List.of("other-2"), cache.suggestions(argument, other));
+		Assertions.assertEquals(List.of("mqzen-1"), cache.suggestions(argument, sender));
+		
+		cache.invalidateSender(sender);
+		Assertions.assertEquals(List.of("mqzen-3"), cache.suggestions(argument, sender));
+		Assertions.assertEquals(List.of("other-2"), cache.suggestions(argument, other));
+	}
+	
+	@Test
+	public void sweepsTheExpiredSenders() throws InterruptedException {
+		var argument = new CountingArgument("swept");
+		cache.scopePerSender(argument);
+		cache.ttl(Duration.ofMillis(50));
+		try {
+			ClientSender first = new ClientSender("first");
+			cache.suggestions(argument, first);
+			WeakReference<ClientSender> reference = new WeakReference<>(first);
+			first = null;
+			
+			//more senders than the sweep threshold, their entries are only released by a sweep
+			for (int i = 0; i < 1100; i++)
+				cache.suggestions(argument, new ClientSender("sender-" + i));
+			
+			Thread.sleep(100);
+			cache.suggestions(argument, sender);
+			
+			for (int attempt = 0; attempt < 50 && reference.get() != null; attempt++) {
+				System.gc();
+				Thread.sleep(10);
+			}
+			Assertions.assertNull(reference.get());
+		} finally {
+			cache.ttl(SuggestionCache.DEFAULT_TTL);
+		}
+	}
+	
+	@Test
+	public void sharesTheAsynchronousSuggestionsAcrossTheKeystrokes() {
+		AtomicInteger requested = new AtomicInteger();
+		Command<ClientSender> command = Command.builder(commandManager, "warps")
+			.syntax(CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, "warps")
+				.argument(Argument.word("warp").suggestAsync(ClientSender.class, (sender, prefix) -> {
+					requested.incrementAndGet();
+					return CompletableFuture.completedFuture(List.of("spawn", "shop", "arena"));
+				}))
+				.build())
+			.build();
+		
+		Assertions.assertEquals(List.of("spawn", "shop"), commandManager.suggest(command, sender, new String[]{"s"}));
+		Assertions.assertEquals(List.of("shop"), commandManager.suggest(command, sender, new String[]{"sh"}));
+		Assertions.assertEquals(1, requested.get());
+		
+		//the typed prefix no longer extends the one the suggestions were requested for
+		Assertions.assertEquals(List.of("arena"), commandManager.suggest(command, sender, new String[]{"a"}));
+		Assertions.assertEquals(2, requested.get());
+	}
+	
+	@Test
+	public void requestsTheFailedSuggestionsAgain() {
+		AtomicInteger requested = new AtomicInteger();
+		Command<ClientSender> command = Command.builder(commandManager, "homes")
+			.syntax(CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, "homes")
+				.argument(Argument.word("home").suggestAsync(ClientSender.class, (sender, prefix) -> {
+					requested.incrementAndGet();
+					return CompletableFuture.failedFuture(new IllegalStateException("storage unavailable"));
+				}))
+				.build())
+			.build();
+		
+		Assertions.assertEquals(List.of(), commandManager.suggest(command, sender, new String[]{"h"}));
+		Assertions.assertEquals(List.of(), commandManager.suggest(command, sender, new String[]{"ho"}));
+		Assertions.assertEquals(2, requested.get());
+	}
+	
+	/**
+	 * A dynamic argument suggesting the name of the sender
+	 * along with the number of times its suggestions were computed
+	 */
+	private static final class CountingArgument extends AbstractArgument<String> {
+		
+		private final AtomicInteger computed = new AtomicInteger();
+		
+		private CountingArgument(@NotNull String id) {
+			super(id, String.class);
+		}
+		
+		@Override
+		public <S> String parse(@UnknownNullability S sender, @NotNull String command, @NotNull String input) {
+			return input;
+		}
+		
+		@Override
+		public <S> @NotNull List<String> suggestions(@UnknownNullability S sender) {
+			return List.of(((ClientSender) sender).name() + "-" + computed.incrementAndGet());
+		}
+		
+		@Override
+		public boolean isSuggestionDynamic() {
+			return true;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,63 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+@TestOnly
+public final class SuggestionIndexTest {
+	
+	private final TestCommandManager commandManager = TestBootstrap.sharedManager();
+	private final ClientSender sender = new ClientSender("mqzen");
+	
+	private final Command<ClientSender> command = Command.builder(commandManager, "orchard")
+		.syntax(CommandSyntaxBuilder.genericBuilder(commandManager, ClientSender.class, "orchard")
+			.argument(Argument.word("fruit")
+				.suggest("Banana")
+				.suggest("apricot")
+				.suggest("Apple")
+				.suggest("avocado")
+				.suggest("apple")
+				.suggest("Apple"))
+			.argument(Argument.word("basket"))
+			.build())
+		.build();
+	
+	private List<String> suggest(String... args) {
+		return commandManager.suggest(command, sender, args);
+	}
+	
+	@Test
+	public void suggestsEverythingInOrderForAnEmptyPrefix() {
+		//sorted by their case-folded forms, the case variants in the order they were declared
+		Assertions.assertEquals(List.of("Apple", "apple", "apricot", "avocado", "Banana"), suggest(""));
+	}
+	
+	@Test
+	public void matchesThePrefixRegardlessOfCase() {
+		Assertions.assertEquals(List.of("Apple", "apple", "apricot"), suggest("ap"));
+		Assertions.assertEquals(List.of("Apple", "apple", "apricot"), suggest("AP"));
+		Assertions.assertEquals(List.of("Apple", "apple"), suggest("aPpLe"));
+		Assertions.assertEquals(List.of("Banana"), suggest("b"));
+		Assertions.assertEquals(List.of(), suggest("z"));
+		Assertions.assertEquals(List.of(), suggest("apples"));
+	}
+	
+	@Test
+	public void stopsAtTheLimit() {
+		Assertions.assertEquals(List.of("Apple", "apple"), commandManager.suggest(command, sender, new String[]{"a"}, 2));
+		Assertions.assertEquals(List.of(), commandManager.suggest(command, sender, new String[]{"a"}, 0));
+	}
+	
+	@Test
+	public void hintsTheArgumentsWithoutSuggestions() {
+		Assertions.assertEquals(List.of("<basket>"), suggest("apple", ""));
+		Assertions.assertEquals(List.of(), suggest("apple", "wicker"));
+	}
+	
+}
@@ -0,0 +1,83 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.syntax.SyntaxShape;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+@TestOnly
+public final class SyntaxShapeTest {
+	
+	private final SyntaxShape shape = SyntaxShape.of(List.of(
+		Argument.literal("give").aliases("grant"),
+		Argument.word("target"),
+		Argument.integer("amount").asOptional(),
+		Argument.Array("reason")
+	), false, 2);
+	
+	@Test
+	public void countsTheRequiredArguments() {
+		Assertions.assertEquals(4, shape.arity());
+		//the optional amount and the greedy reason may both be left out
+		Assertions.assertEquals(2, shape.minArity());
+		Assertions.assertEquals(2, shape.flagsCount());
+	}
+	
+	@Test
+	public void findsTheFirstGreedyArgument() {
+		Assertions.assertTrue(shape.isGreedy());
+		Assertions.assertEquals(3, shape.greedyIndex());
+		
+		SyntaxShape fixed = SyntaxShape.of(List.of(Argument.word("target"), Argument.integer("amount")), false, 0);
+		Assertions.assertFalse(fixed.isGreedy());
+		Assertions.assertEquals(-1, fixed.greedyIndex());
+		Assertions.assertEquals(2, fixed.minArity());
+	}
+	
+	@Test
+	public void indexesTheArgumentsRegardlessOfCase() {
+		Assertions.assertEquals(1, shape.indexOf("target"));
+		Assertions.assertEquals(2, shape.indexOf("AMOUNT"));
+		Assertions.assertEquals(3, shape.indexOf("Reason"));
+		//literals are matched by value, not fetched by id
+		Assertions.assertEquals(-1, shape.indexOf("give"));
+		Assertions.assertEquals(-1, shape.indexOf("unknown"));
+	}
+	
+	@Test
+	public void matchesTheLiteralsAndTheirAliases() {
+		Assertions.assertTrue(shape.hasLiterals());
+		Assertions.assertTrue(shape.isLiteral(0));
+		Assertions.assertFalse(shape.isLiteral(1));
+		Assertions.assertFalse(shape.isLiteral(-1));
+		Assertions.assertFalse(shape.isLiteral(4));
+		
+		Assertions.assertTrue(shape.matchesLiteral(0, "give"));
+		Assertions.assertTrue(shape.matchesLiteral(0, "GIVE"));
+		Assertions.assertTrue(shape.matchesLiteral(0, "Grant"));
+		Assertions.assertFalse(shape.matchesLiteral(0, "take"));
+		Assertions.assertFalse(shape.matchesLiteral(0, null));
+		Assertions.assertFalse(shape.matchesLiteral(1, "target"));
+	}
+	
+	@Test
+	public void treatsTheSubCommandsAsLiterals() {
+		SyntaxShape subCommand = SyntaxShape.of(List.of(Argument.word("target")), true, 0);
+		Assertions.assertTrue(subCommand.hasLiterals());
+		Assertions.assertFalse(subCommand.isLiteral(0));
+		
+		Assertions.assertFalse(SyntaxShape.of(List.of(Argument.word("target")), false, 0).hasLiterals());
+	}
+	
+	@Test
+	public void boundsTheArgumentsByPosition() {
+		Assertions.assertNotNull(shape.argument(0));
+		Assertions.assertEquals("reason", shape.argument(3).id());
+		Assertions.assertNull(shape.argument(-1));
+		Assertions.assertNull(shape.argument(4));
+	}
+	
+}
@@ -10,20 +10,42 @@ import org.junit.jupiter.api.Test;
 @TestOnly
 public final class TestBootstrap {
 	
+	/**
+	 * The flag registry can only be created once, so every test shares the manager created by the first one
+	 */
+	private static TestCommandManager sharedManager;
+	
 	private final TestCommandManager commandManager;
 	
 	private final AnnotationParser<ClientSender> parser;
 	private final ClientSender sender = new ClientSender("mqzen");
 	
 	public TestBootstrap() {
-		commandManager = new TestCommandManager(this);
-		commandManager.flagRegistry().registerFlag(FlagInfo.builder("silent")
-			.aliases("s").build());
-		commandManager.exceptionHandler().registerCallback(CustomException.class, (exception, commandSender, context) -> System.out.println("Handling exception: " + exception.getClass().getName()));
-		//commandManager.senderProviderRegistry().registerSenderProvider(ClientSender.class, (provider) -> provider);
+		synchronized (TestBootstrap.class) {
+			if (sharedManager == null) {
+				sharedManager = new TestCommandManager(this);
+				sharedManager.flagRegistry().registerFlag(FlagInfo.builder("silent")
+					.aliases("s").build());
+				sharedManager.exceptionHandler().registerCallback(CustomException.class, (exception, commandSender, context) -> System.out.println("Handling exception: " + exception.getClass().getName()));
+				//commandManager.senderProviderRegistry().registerSenderProvider(ClientSender.class, (provider) -> provider);
+			}
+			commandManager = sharedManager;
+		}
 		parser = new AnnotationParser<>(commandManager);
 	}
 	
+	/**
+	 * Fetches the manager shared by the tests
+	 *
+	 * @return the manager, created by the first call
+	 */
+	public static TestCommandManager sharedManager() {
+		synchronized (TestBootstrap.class) {
+			if (sharedManager == null) new TestBootstrap();
+			return sharedManager;
+		}
+	}
+	
 	@Test
 	public void firstTest() {
 		
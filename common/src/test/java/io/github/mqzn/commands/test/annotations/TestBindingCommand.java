@@ -0,0 +1,62 @@
+package io.github.mqzn.commands.test.annotations;
+
+import io.github.mqzn.commands.annotations.base.*;
+import io.github.mqzn.commands.annotations.subcommands.SubCommand;
+import io.github.mqzn.commands.annotations.subcommands.SubCommandExecution;
+import io.github.mqzn.commands.annotations.subcommands.SubCommandInfo;
+import io.github.mqzn.commands.base.context.CommandArgs;
+import io.github.mqzn.commands.base.manager.CommandExecutionCoordinator;
+import io.github.mqzn.commands.test.ClientSender;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Command(name = "binding", executionType = CommandExecutionCoordinator.Type.SYNC)
+@SubCommand(TestBindingCommand.Team.class)
+@SubCommand(TestBindingCommand.Invite.class)
+public class TestBindingCommand {
+	
+	public static final List<String> EXECUTIONS = new ArrayList<>();
+	
+	@ExecutionMeta(syntax = "primitives <count> <amount> <ratio> <scale> <enabled>", senderType = ClientSender.class)
+	public void primitives(ClientSender sender, CommandArgs args,
+	                       @Arg(id = "count") int count,
+	                       @Arg(id = "amount") long amount,
+	                       @Arg(id = "ratio") double ratio,
+	                       @Arg(id = "scale") float scale,
+	                       @Arg(id = "enabled") boolean enabled) {
+		EXECUTIONS.add("primitives " + count + " " + amount + " " + ratio + " " + scale + " " + enabled);
+	}
+	
+	@ExecutionMeta(syntax = "flagged <name>", senderType = ClientSender.class)
+	public void flagged(ClientSender sender, CommandArgs args,
+	                    @Arg(id = "name") String name,
+	                    @Flag(name = "silent") boolean silent) {
+		EXECUTIONS.add("flagged " + name + " " + silent);
+	}
+	
+	@SubCommandInfo(name = "team", children = {Invite.class})
+	@ExecutionMeta(syntax = "<team>", senderType = ClientSender.class)
+	public static class Team {
+		
+		@SubCommandExecution
+		public void execute(ClientSender sender, CommandArgs args, @Arg(id = "team") String team) {
+			EXECUTIONS.add("team " + team);
+		}
+		
+	}
+	
+	@SubCommandInfo(name = "invite", parent = Team.class)
+	@ExecutionMeta(syntax = "<target> <slots>", senderType = ClientSender.class)
+	public static class Invite {
+		
+		@SubCommandExecution
+		public void execute(ClientSender sender, CommandArgs args,
+		                    @Arg(id = "target") String target,
+		                    @Arg(id = "slots") int slots) {
+			EXECUTIONS.add("invite " + target + " " + slots);
+		}
+		
+	}
+	
+}
@@ -2,6 +2,7 @@ package io.github.mqzn.commands;
 
 import io.github.mqzn.commands.base.Command;
 import io.github.mqzn.commands.base.SenderWrapper;
+import io.github.mqzn.commands.base.context.CommandInput;
 import io.github.mqzn.commands.base.manager.AbstractCommandManager;
 import net.kyori.adventure.text.TextComponent;
 import org.javacord.api.DiscordApi;
@@ -12,8 +13,10 @@ import org.javacord.api.entity.user.User;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.regex.Pattern;
-
+/**
+ * The command manager of a Javacord bot, the api fires no event when it disconnects,
+ * so the bot calls {@link #shutdown()} before disconnecting
+ */
 public final class JCordCommandManager extends AbstractCommandManager<DiscordApi, User> {
 	
 	
@@ -36,21 +39,20 @@ public final class JCordCommandManager extends AbstractCommandManager<DiscordApi
 		
 		bootstrap.addMessageCreateListener((e) -> {
 			String rawString = e.getMessageContent();
-			String[] split = rawString.split(Pattern.quote(" "));
-			
-			String cmdUsed = split[0];
-			char prefix = cmdUsed.charAt(0);
-			if (prefix != commandPrefix() || e.getChannel().getId() != commandsChannel.getId()) return;
+			if (rawString.isEmpty() || rawString.charAt(0) != commandPrefix() || e.getChannel().getId() != commandsChannel.getId())
+				return;
 			
-			String cmd = cmdUsed.substring(1);
+			//the line is handed over as it is, the arguments are scanned right after the name of the command
+			int nameEnd = rawString.indexOf(' ');
+			if (nameEnd == -1) nameEnd = rawString.length();
 			
-			String[] actualArgs = new String[split.length - 1];
-			System.arraycopy(split, 1, actualArgs, 0, split.length - 1);
+			String cmd = rawString.substring(1, nameEnd);
+			CommandInput input = CommandInput.of(rawString, Math.min(nameEnd + 1, rawString.length()));
 			
-			var officialCmd = getCommand(cmd);
+			var officialCmd = lookupCommand(cmd);
 			if (officialCmd != null) {
 				e.getMessageAuthor().asUser()
-					.ifPresent((user) -> executeCommand(officialCmd, user, actualArgs));
+					.ifPresent((user) -> executeCommand(officialCmd, user, input));
 				
 			}
 			
@@ -0,0 +1,123 @@
+package io.github.mqzn.commands.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+
+/**
+ * An annotation processor that turns every class annotated with {@code @Command}
+ * into a generated class named after it with the suffix {@code Registration}.
+ * The generated class builds the exact same command that the {@code AnnotationParser}
+ * would build, except that it calls the annotated methods directly instead of reflecting on them,
+ * so that registering an annotated command costs no reflection and no method handles.
+ * <p>
+ * The syntaxes of every command are validated while compiling, so that a syntax that doesn't match
+ * the parameters of its method, or two ambiguous syntaxes, fail the build
+ * instead of failing when the command is being registered.
+ *
+ * @author Mqzen
+ * @see RegistrationWriter
+ */
+@SupportedAnnotationTypes(CommandProcessor.COMMAND)
+public final class CommandProcessor extends AbstractProcessor {
+	
+	static final String ANNOTATIONS = "io.github.mqzn.commands.annotations.";
+	
+	static final String COMMAND = ANNOTATIONS + "base.Command";
+	
+	static final String COMMANDS_GROUP = ANNOTATIONS + "base.CommandsGroup";
+	
+	static final String COOLDOWN = ANNOTATIONS + "base.Cooldown";
+	
+	static final String DEFAULT = ANNOTATIONS + "base.Default";
+	
+	static final String EXECUTION_META = ANNOTATIONS + "base.ExecutionMeta";
+	
+	static final String ARG = ANNOTATIONS + "base.Arg";
+	
+	static final String FLAG = ANNOTATIONS + "base.Flag";
+	
+	static final String MAX_CONCURRENCY = ANNOTATIONS + "base.MaxConcurrency";
+	
+	static final String GREEDY = ANNOTATIONS + "base.Greedy";
+	
+	static final String RANGE = ANNOTATIONS + "base.Range";
+	
+	static final String RATE_LIMIT = ANNOTATIONS + "base.RateLimit";
+	
+	static final String RATE_LIMITS = ANNOTATIONS + "base.RateLimits";
+	
+	static final String SUGGEST = ANNOTATIONS + "base.Suggest";
+	
+	static final String TIMEOUT = ANNOTATIONS + "base.Timeout";
+	
+	static final String SUB_COMMAND = ANNOTATIONS + "subcommands.SubCommand";
+	
+	static final String SUB_COMMANDS = ANNOTATIONS + "subcommands.SubCommands";
+	
+	static final String SUB_COMMAND_INFO = ANNOTATIONS + "subcommands.SubCommandInfo";
+	
+	static final String SUB_COMMAND_EXECUTION = ANNOTATIONS + "subcommands.SubCommandExecution";
+	
+	private Messager messager;
+	
+	@Override
+	public synchronized void init(ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+		this.messager = processingEnv.getMessager();
+	}
+	
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+	
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		TypeElement commandAnnotation = processingEnv.getElementUtils().getTypeElement(COMMAND);
+		if (commandAnnotation == null) return false;
+		
+		for (Element element : roundEnv.getElementsAnnotatedWith(commandAnnotation)) {
+			if (element.getKind() != ElementKind.CLASS) {
+				messager.printMessage(Diagnostic.Kind.ERROR, "@Command can only annotate classes", element);
+				continue;
+			}
+			
+			TypeElement type = (TypeElement) element;
+			if (type.getModifiers().contains(Modifier.PRIVATE)) {
+				messager.printMessage(Diagnostic.Kind.ERROR,
+					String.format("Command class `%s` must not be private", type.getQualifiedName()), type);
+				continue;
+			}
+			
+			RegistrationWriter writer = new RegistrationWriter(processingEnv, type);
+			String source = writer.write();
+			if (source == null) continue;
+			
+			try {
+				JavaFileObject file = processingEnv.getFiler().createSourceFile(writer.qualifiedName(), type);
+				try (Writer out = file.openWriter()) {
+					out.write(source);
+				}
+			} catch (IOException e) {
+				messager.printMessage(Diagnostic.Kind.ERROR,
+					String.format("Failed to generate the registration of command class `%s` : %s", type.getQualifiedName(), e.getMessage()), type);
+			}
+		}
+		
+		return false;
+	}
+	
+}
@@ -0,0 +1,914 @@
+package io.github.mqzn.commands.processor;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.util.*;
+
+/**
+ * Writes the registration class of a single class annotated with {@code @Command},
+ * while validating its syntaxes the same way the {@code AnnotationParser} does at runtime,
+ * every problem found is reported as a compilation error on the element causing it,
+ * in which case nothing is written.
+ * <p>
+ * The generated code only refers to types by their qualified names,
+ * so that it never clashes with the names declared by the annotated class.
+ *
+ * @author Mqzen
+ * @see CommandProcessor
+ */
+final class RegistrationWriter {
+	
+	private final static String BASE = "io.github.mqzn.commands.base.";
+	
+	private final static String COMMAND = BASE + "Command";
+	
+	private final static String MANAGER = BASE + "manager.CommandManager";
+	
+	private final static String COORDINATOR = BASE + "manager.CommandExecutionCoordinator";
+	
+	private final static String SYNTAX_BUILDER = BASE + "syntax.CommandSyntaxBuilder";
+	
+	private final static String SUB_COMMAND_BUILDER = BASE + "syntax.SubCommandBuilder";
+	
+	private final static String SUB_COMMAND_SYNTAX = BASE + "syntax.SubCommandSyntax";
+	
+	private final static String COMMAND_ARGS = BASE + "context.CommandArgs";
+	
+	private final static String ARGUMENT = "io.github.mqzn.commands.arguments.Argument";
+	
+	private final static String RESOLVER = "io.github.mqzn.commands.annotations.ArgumentResolver";
+	
+	private final static String SUB_COMMAND_EXECUTE_METHOD = "execute";
+	
+	@NotNull
+	private final Elements elements;
+	
+	@NotNull
+	private final Types types;
+	
+	@NotNull
+	private final Messager messager;
+	
+	@NotNull
+	private final TypeElement type;
+	
+	@NotNull
+	private final String packageName;
+	
+	@NotNull
+	private final String simpleName;
+	
+	@NotNull
+	private final StringBuilder source = new StringBuilder();
+	
+	@NotNull
+	private final List<SyntaxModel> syntaxes = new ArrayList<>();
+	
+	private String commandName;
+	
+	private int indent;
+	
+	private int variables;
+	
+	private boolean failed;
+	
+	RegistrationWriter(@NotNull ProcessingEnvironment environment, @NotNull TypeElement type) {
+		this.elements = environment.getElementUtils();
+		this.types = environment.getTypeUtils();
+		this.messager = environment.getMessager();
+		this.type = type;
+		this.packageName = elements.getPackageOf(type).getQualifiedName().toString();
+		this.simpleName = registrationName(type);
+	}
+	
+	/**
+	 * Fetches the name of the registration class of a command class,
+	 * the names of the classes enclosing it are included, so that nested commands
+	 * of different groups never end up with the same registration class
+	 *
+	 * @param type the command class
+	 * @return the simple name of the registration class
+	 */
+	static String registrationName(@NotNull TypeElement type) {
+		StringBuilder name = new StringBuilder(type.getSimpleName());
+		Element enclosing = type.getEnclosingElement();
+		while (enclosing instanceof TypeElement enclosingType) {
+			name.insert(0, enclosingType.getSimpleName() + "_");
+			enclosing = enclosingType.getEnclosingElement();
+		}
+		return name.append("Registration").toString();
+	}
+	
+	String qualifiedName() {
+		return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+	}
+	
+	/**
+	 * Writes the source of the registration class
+	 *
+	 * @return the source, or null if the command class is invalid
+	 */
+	@Nullable String write() {
+		AnnotationMirror command = mirror(type, CommandProcessor.COMMAND);
+		assert command != null;
+		
+		Map<String, AnnotationValue> values = values(command);
+		commandName = string(values, "name");
+		
+		if (!packageName.isEmpty()) {
+			line("package %s;", packageName);
+			line("");
+		}
+		
+		line("/**");
+		line(" * Builds and registers the command {@link %s}, generated from its annotations", type.getQualifiedName());
+		line(" */");
+		line("@javax.annotation.processing.Generated(\"%s\")", CommandProcessor.class.getName());
+		line("public final class %s {", simpleName);
+		indent++;
+		
+		line("");
+		line("private %s() {", simpleName);
+		line("}");
+		line("");
+		
+		writeBuild(values);
+		line("");
+		writeRegister();
+		
+		indent--;
+		line("");
+		line("}");
+		
+		checkAmbiguity();
+		return failed ? null : source.toString();
+	}
+	
+	private void writeBuild(Map<String, AnnotationValue> values) {
+		String permission = string(values, "permission");
+		
+		line("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+		line("public static <S> %s<S> build(%s<?, S> manager, %s instance) {", COMMAND, MANAGER, type.getQualifiedName());
+		indent++;
+		
+		line("%s.Builder<S> builder = %s.builder(manager, %s)", COMMAND, COMMAND, literal(commandName));
+		line("\t.info(new %sCommandInfo(%s, %s%s))", BASE, permission.isEmpty() ? "null" : literal(permission),
+			literal(string(values, "description")), prefixed(strings(values, "aliases")));
+		line("\t.coordination(%s.Type.%s);", COORDINATOR, constant(values, "executionType"));
+		
+		AnnotationMirror cooldown = mirror(type, CommandProcessor.COOLDOWN);
+		if (cooldown != null) {
+			Map<String, AnnotationValue> cooldownValues = values(cooldown);
+			line("builder.cooldown(new %scooldown.CommandCooldown(%dL, java.util.concurrent.TimeUnit.%s));", BASE,
+				(Long) cooldownValues.get("value").getValue(), constant(cooldownValues, "unit"));
+		}
+		
+		writeRateLimits("builder", type);
+		
+		AnnotationMirror timeout = mirror(type, CommandProcessor.TIMEOUT);
+		if (timeout != null) {
+			Map<String, AnnotationValue> timeoutValues = values(timeout);
+			line("builder.timeout(java.time.Duration.of(%dL, java.util.concurrent.TimeUnit.%s.toChronoUnit()));",
+				(Long) timeoutValues.get("value").getValue(), constant(timeoutValues, "unit"));
+		}
+		
+		AnnotationMirror maxConcurrency = mirror(type, CommandProcessor.MAX_CONCURRENCY);
+		if (maxConcurrency != null) {
+			Map<String, AnnotationValue> concurrencyValues = values(maxConcurrency);
+			int permits = (Integer) concurrencyValues.get("value").getValue();
+			int queue = (Integer) concurrencyValues.get("queue").getValue();
+			String overflow = constant(concurrencyValues, "overflow");
+			
+			if (permits <= 0 || queue < 0 || (queue == 0 && !overflow.equals("REJECT")))
+				error(type, "@MaxConcurrency needs positive permits, and a queue unless it overflows by REJECT");
+			else
+				line("builder.concurrencyLimit(%sconcurrency.ConcurrencyLimit.of(%d, %sconcurrency.ConcurrencyLimit.OverflowPolicy.%s, %d));",
+					BASE, permits, BASE, overflow, queue);
+		}
+		
+		for (TypeMirror requirement : typesOf(values, "requirements")) {
+			TypeElement requirementType = (TypeElement) types.asElement(requirement);
+			
+			if (requirementType.getKind() == ElementKind.ENUM) {
+				for (VariableElement constant : ElementFilter.fieldsIn(requirementType.getEnclosedElements())) {
+					if (constant.getKind() != ElementKind.ENUM_CONSTANT) continue;
+					line("builder.requirement((%sCommandRequirement<S>) (Object) %s.%s);", BASE,
+						requirementType.getQualifiedName(), constant.getSimpleName());
+				}
+			} else if (checkInstantiable(requirementType, type)) {
+				line("builder.requirement((%sCommandRequirement<S>) (Object) new %s());", BASE, requirementType.getQualifiedName());
+			}
+		}
+		
+		for (TypeElement subCommand : subCommandsOf(type)) {
+			writeSubCommand(subCommand);
+		}
+		
+		for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+			List<? extends VariableElement> parameters = method.getParameters();
+			boolean execution = mirror(method, CommandProcessor.EXECUTION_META) != null;
+			
+			if (execution && parameters.size() >= 2) {
+				writeSyntax(method);
+			} else if (execution) {
+				messager.printMessage(Diagnostic.Kind.WARNING,
+					String.format("Method '%s' is annotated with @ExecutionMeta but doesn't declare the sender and CommandArgs parameters, it will be ignored", method.getSimpleName()), method);
+			} else if (parameters.size() == 2 && mirror(method, CommandProcessor.DEFAULT) != null && checkInvocable(method)) {
+				line("builder.defaultExecutor((sender, context) -> {");
+				writeInvocation("instance", method, Map.of());
+				line("});");
+			}
+		}
+		
+		line("return builder.build();");
+		indent--;
+		line("}");
+	}
+	
+	private void writeRegister() {
+		line("public static <S> void register(%s<?, S> manager, %s instance) {", MANAGER, type.getQualifiedName());
+		indent++;
+		
+		if (mirror(type, CommandProcessor.COMMANDS_GROUP) != null) {
+			for (TypeElement inner : ElementFilter.typesIn(type.getEnclosedElements())) {
+				if (!inner.getModifiers().contains(Modifier.STATIC)) {
+					error(inner, "Found a member class `%s` which is NOT static", inner.getQualifiedName());
+					continue;
+				}
+				
+				if (mirror(inner, CommandProcessor.COMMAND) == null) {
+					error(inner, "Failed to load command class `%s`, the class is NOT annotated with `@Command`", inner.getQualifiedName());
+					continue;
+				}
+				
+				if (!checkInstantiable(inner, inner)) continue;
+				line("%s.register(manager, new %s());", registrationName(inner), inner.getQualifiedName());
+			}
+		}
+		
+		line("manager.registerCommand(build(manager, instance));");
+		indent--;
+		line("}");
+	}
+	
+	private void writeSyntax(ExecutableElement method) {
+		AnnotationMirror meta = mirror(method, CommandProcessor.EXECUTION_META);
+		assert meta != null;
+		
+		Map<String, AnnotationValue> values = values(meta);
+		
+		if (method.getModifiers().contains(Modifier.STATIC)) {
+			error(method, "Method '%s' is declared static", method.getSimpleName());
+			return;
+		}
+		
+		if (method.getReturnType().getKind() != TypeKind.VOID) {
+			error(method, "Method '%s' annotated with @ExecutionMeta MUST be a void method", method.getSimpleName());
+			return;
+		}
+		
+		if (!checkInvocable(method)) return;
+		
+		line("{");
+		indent++;
+		line("%s<S, Object> syntax = %s.genericBuilder(manager, %s, %s);", SYNTAX_BUILDER, SYNTAX_BUILDER,
+			senderClass(values), literal(commandName));
+		
+		Map<String, Integer> positions = new LinkedHashMap<>();
+		SyntaxModel model = writeArguments("syntax", method, string(values, "syntax"), false, positions);
+		if (model != null) syntaxes.add(model);
+		
+		//the arguments of the syntax of a command are all it has, so their positions are known here
+		Map<String, String> slots = new HashMap<>();
+		positions.forEach((id, position) -> slots.put(id, String.valueOf(position)));
+		
+		line("syntax.info(new %sInformation(%s, %s));", BASE, literal(string(values, "permission")), literal(string(values, "description")));
+		writeRateLimits("syntax", method);
+		line("syntax.execute((sender, context) -> {");
+		writeInvocation("instance", method, slots);
+		line("});");
+		line("builder.syntax(syntax.build());");
+		
+		indent--;
+		line("}");
+	}
+	
+	private void writeSubCommand(TypeElement subClass) {
+		AnnotationMirror info = mirror(subClass, CommandProcessor.SUB_COMMAND_INFO);
+		if (info == null) {
+			error(type, annotationNotPresent(subClass, "SubCommandInfo"));
+			return;
+		}
+		
+		AnnotationMirror meta = mirror(subClass, CommandProcessor.EXECUTION_META);
+		if (meta == null) {
+			error(type, annotationNotPresent(subClass, "ExecutionMeta"));
+			return;
+		}
+		
+		Map<String, AnnotationValue> infoValues = values(info);
+		Map<String, AnnotationValue> metaValues = values(meta);
+		if (!checkValidInheritance(subClass, infoValues) || !checkInstantiable(subClass, type)) return;
+		
+		ExecutableElement defaultMethod = null, executeMethod = null;
+		for (ExecutableElement method : ElementFilter.methodsIn(subClass.getEnclosedElements())) {
+			if (defaultMethod == null && mirror(method, CommandProcessor.DEFAULT) != null)
+				defaultMethod = method;
+			
+			if (executeMethod == null && !method.getParameters().isEmpty()
+				&& mirror(method, CommandProcessor.SUB_COMMAND_EXECUTION) != null
+				&& method.getSimpleName().toString().equalsIgnoreCase(SUB_COMMAND_EXECUTE_METHOD))
+				executeMethod = method;
+		}
+		
+		if (executeMethod == null && defaultMethod == null) {
+			error(subClass, "Failed to load subcommand from class '%s' as the class doesn't have a method that is annotated by @SubCommandExecution or @Default", subClass.getQualifiedName());
+			return;
+		}
+		
+		String name = string(infoValues, "name");
+		TypeElement parent = (TypeElement) types.asElement(typeOf(infoValues, "parent"));
+		String parentName = parent.getQualifiedName().contentEquals(Object.class.getName()) ? null
+			: string(values(Objects.requireNonNull(mirror(parent, CommandProcessor.SUB_COMMAND_INFO))), "name");
+		
+		line("{");
+		indent++;
+		line("%s subCommand = new %s();", subClass.getQualifiedName(), subClass.getQualifiedName());
+		line("%s<S, Object> subBuilder = %s.genericBuilder(manager, %s, %s, %s)", SUB_COMMAND_BUILDER, SUB_COMMAND_BUILDER,
+			senderClass(metaValues), literal(commandName), literal(name));
+		line("\t.aliases(%s);", String.join(", ", strings(infoValues, "aliases")));
+		
+		if (defaultMethod != null) {
+			if (defaultMethod.getReturnType().getKind() != TypeKind.VOID) {
+				error(defaultMethod, "Method `%s` annotated with @Default MUST be a void method, it's not the case in class `%s`",
+					defaultMethod.getSimpleName(), subClass.getQualifiedName());
+			} else if (defaultMethod.getParameters().size() != 1) {
+				error(defaultMethod, "Method `%s`, which is annotated with @Default, has some redundant parameters although it needs only 1 parameter for the command sender",
+					defaultMethod.getSimpleName());
+			} else if (checkInvocable(defaultMethod)) {
+				line("subBuilder.defaultExecution((sender, context) -> {");
+				writeInvocation("subCommand", defaultMethod, Map.of());
+				line("});");
+			}
+		}
+		
+		line("subBuilder.info(new %sInformation(%s, %s));", BASE,
+			literal(string(metaValues, "permission")), literal(string(metaValues, "description")));
+		writeRateLimits("subBuilder", subClass);
+		
+		int arity = 0;
+		boolean greedy = false;
+		if (executeMethod != null) {
+			String syntax = string(metaValues, "syntax");
+			
+			if (syntax.isBlank()) {
+				error(subClass, "ExecutionMeta for subcommand `%s` is empty and you have an execute method present at the same time !", subClass.getQualifiedName());
+			} else if (checkInvocable(executeMethod)) {
+				Map<String, Integer> positions = new LinkedHashMap<>();
+				SyntaxModel model = writeArguments("subBuilder", executeMethod, syntax, true, positions);
+				if (model != null) {
+					arity = model.arity();
+					greedy = model.greedy();
+				}
+				
+				writeRateLimits("subBuilder", executeMethod);
+				Map<String, String> slots = writeSlots(positions.keySet());
+				line("subBuilder.execute((sender, context) -> {");
+				writeInvocation("subCommand", executeMethod, slots);
+				line("});");
+			}
+		}
+		
+		line("%s<S> subSyntax = subBuilder.build();", SUB_COMMAND_SYNTAX);
+		for (TypeMirror child : typesOf(infoValues, "children")) {
+			AnnotationMirror childInfo = mirror(types.asElement(child), CommandProcessor.SUB_COMMAND_INFO);
+			if (childInfo == null) continue;
+			line("subSyntax.addChild(%s);", literal(string(values(childInfo), "name")));
+		}
+		
+		if (parentName != null)
+			line("subSyntax.setParent(%s);", literal(parentName));
+		
+		line("builder.syntax(subSyntax);");
+		indent--;
+		line("}");
+		
+		String key = (parentName == null ? "" : fold(parentName) + " ") + fold(name);
+		syntaxes.add(new SyntaxModel(key, true, arity, greedy, subClass));
+	}
+	
+	/**
+	 * Writes the arguments of a syntax into the builder of the syntax,
+	 * along with its flags, after matching every argument of the syntax
+	 * with its corresponding parameter in the method
+	 *
+	 * @param builder    the name of the variable holding the builder
+	 * @param method     the method executing the syntax
+	 * @param syntax     the syntax declared in the {@code ExecutionMeta}
+	 * @param subCommand whether the syntax is a subcommand
+	 * @param positions  the output of the position of every argument in the syntax, by its id
+	 * @return the model of the syntax, or null if the syntax doesn't match the method
+	 */
+	private @Nullable SyntaxModel writeArguments(String builder, ExecutableElement method, String syntax, boolean subCommand,
+	                                             Map<String, Integer> positions) {
+		List<? extends VariableElement> parameters = method.getParameters();
+		Map<String, VariableElement> arguments = new LinkedHashMap<>();
+		List<String> flags = new ArrayList<>();
+		
+		for (int p = 2; p < parameters.size(); p++) {
+			VariableElement parameter = parameters.get(p);
+			AnnotationMirror arg = mirror(parameter, CommandProcessor.ARG);
+			AnnotationMirror flag = mirror(parameter, CommandProcessor.FLAG);
+			
+			if (arg != null && flag != null) {
+				error(parameter, "Parameter named '%s' in method '%s' cannot have both annotations @Arg and @Flag ", parameter.getSimpleName(), method.getSimpleName());
+				return null;
+			}
+			
+			if (arg == null && flag == null) {
+				error(parameter, "Redundant parameter '%s' in method '%s' with type '%s'", parameter.getSimpleName(), method.getSimpleName(), parameter.asType());
+				return null;
+			}
+			
+			if (flag != null) {
+				if (!rawName(parameter.asType()).equals("boolean") && !rawName(parameter.asType()).equals(Boolean.class.getName())) {
+					error(parameter, "Flag parameter '%s' in method '%s' MUST be a boolean", parameter.getSimpleName(), method.getSimpleName());
+					return null;
+				}
+				flags.add(string(values(flag), "name"));
+				continue;
+			}
+			
+			String id = string(values(arg), "id");
+			if (arguments.putIfAbsent(id, parameter) != null) {
+				error(parameter, "Duplicate argument id '%s' in method '%s'", id, method.getSimpleName());
+				return null;
+			}
+		}
+		
+		StringBuilder key = new StringBuilder();
+		Set<String> used = new HashSet<>();
+		int arity = 0;
+		boolean literals = subCommand, greedy = false;
+		
+		for (String token : syntax.split(" ")) {
+			if (token.isEmpty()) continue;
+			arity++;
+			
+			boolean required = token.startsWith("<") && token.endsWith(">");
+			boolean optional = token.startsWith("[") && token.endsWith("]");
+			
+			if (!required && !optional) {
+				literals = true;
+				key.append(fold(token)).append(' ');
+				line("%s.argument(%s.literal(%s));", builder, ARGUMENT, literal(token));
+				continue;
+			}
+			
+			String id = token.substring(1, token.length() - 1);
+			VariableElement parameter = arguments.get(id);
+			if (parameter == null) {
+				error(method, "Argument id '%s' in the syntax of method '%s' doesn't match any parameter annotated with @Arg", id, method.getSimpleName());
+				return null;
+			}
+			
+			used.add(id);
+			positions.put(id, arity - 1);
+			Map<String, AnnotationValue> argValues = values(Objects.requireNonNull(mirror(parameter, CommandProcessor.ARG)));
+			boolean declaredOptional = (Boolean) argValues.get("optional").getValue();
+			if (optional != declaredOptional) {
+				error(parameter, "Argument optional status(optional=%b) in syntax doesn't match the corresponding parameter optional status(optional=%b)", optional, declaredOptional);
+				return null;
+			}
+			
+			boolean greedyParameter = mirror(parameter, CommandProcessor.GREEDY) != null
+				&& rawName(parameter.asType()).equals(String.class.getName());
+			greedy |= greedyParameter;
+			key.append(token).append(' ');
+			
+			String variable = "argument" + (variables++);
+			line("%s<?> %s = %s.resolve(manager, %s, %s, %s, %b, %s.class, %b, %s, %s);", ARGUMENT, variable, RESOLVER,
+				literal(commandName), literal(method.getSimpleName().toString()), literal(id), declaredOptional,
+				rawName(parameter.asType()), greedyParameter, literal(string(argValues, "defaultValue")), literal(string(argValues, "description")));
+			line("%s.setOptional(%b);", variable, optional);
+			
+			AnnotationMirror range = mirror(parameter, CommandProcessor.RANGE);
+			if (range != null) {
+				Map<String, AnnotationValue> rangeValues = values(range);
+				line("%s.range(manager, %s, %s, %s);", RESOLVER, variable,
+					literal(string(rangeValues, "min")), literal(string(rangeValues, "max")));
+			}
+			
+			AnnotationMirror suggest = mirror(parameter, CommandProcessor.SUGGEST);
+			if (suggest != null) {
+				Map<String, AnnotationValue> suggestValues = values(suggest);
+				line("%s.suggest(manager, %s, %s, new String[]{%s}, %s.class);", RESOLVER, literal(commandName), variable,
+					String.join(", ", strings(suggestValues, "value")), rawName(typeOf(suggestValues, "provider")));
+			}
+			
+			line("%s.argument(%s);", builder, variable);
+		}
+		
+		for (Map.Entry<String, VariableElement> argument : arguments.entrySet()) {
+			if (used.contains(argument.getKey())) continue;
+			error(argument.getValue(), "Argument id '%s' of parameter '%s' in method '%s' is not in the syntax `%s`",
+				argument.getKey(), argument.getValue().getSimpleName(), method.getSimpleName(), syntax);
+			return null;
+		}
+		
+		List<String> flagLiterals = new ArrayList<>(flags.size());
+		for (String flag : flags) flagLiterals.add(literal(flag));
+		line("%s.flags(%s);", builder, String.join(", ", flagLiterals));
+		
+		return new SyntaxModel(key.toString().trim(), literals, arity, greedy, method);
+	}
+	
+	private void writeRateLimits(String builder, Element element) {
+		List<AnnotationMirror> rateLimits = new ArrayList<>();
+		AnnotationMirror single = mirror(element, CommandProcessor.RATE_LIMIT);
+		if (single != null) rateLimits.add(single);
+		
+		AnnotationMirror container = mirror(element, CommandProcessor.RATE_LIMITS);
+		if (container != null) {
+			for (AnnotationValue value : list(values(container), "value"))
+				rateLimits.add((AnnotationMirror) value.getValue());
+		}
+		
+		for (AnnotationMirror rateLimit : rateLimits) {
+			Map<String, AnnotationValue> values = values(rateLimit);
+			int permits = (Integer) values.get("permits").getValue();
+			long period = (Long) values.get("period").getValue();
+			
+			if (permits <= 0 || period <= 0) {
+				error(element, "The permits and the period of @RateLimit must be positive");
+				continue;
+			}
+			
+			line("%s.rateLimit(%sratelimit.CommandRateLimit.of(%sratelimit.CommandRateLimit.Scope.%s, %d, %dL, java.util.concurrent.TimeUnit.%s));",
+				builder, BASE, BASE, constant(values, "scope"), permits, period, constant(values, "unit"));
+		}
+	}
+	
+	/**
+	 * Writes the positions of the arguments of a subcommand, which include the arguments
+	 * of its parents, so they're resolved by the first execution, then kept in an array
+	 * captured by the execution, every position is resolved on its own, so that
+	 * the threads resolving them concurrently only write the same values
+	 *
+	 * @param ids the ids of the arguments
+	 * @return the expression reading the position of every argument, by its id
+	 */
+	private Map<String, String> writeSlots(Collection<String> ids) {
+		if (ids.isEmpty()) return Map.of();
+		
+		line("int[] slots = {%s};", String.join(", ", Collections.nCopies(ids.size(), "-1")));
+		
+		Map<String, String> slots = new HashMap<>();
+		int slot = 0;
+		for (String id : ids) {
+			slots.put(id, String.format("slots[%d] != -1 ? slots[%d] : (slots[%d] = %s.slot(context, %s))",
+				slot, slot, slot, RESOLVER, literal(id)));
+			slot++;
+		}
+		return slots;
+	}
+	
+	/**
+	 * Writes the invocation of a method, where the first parameter
+	 * is the sender, the second one is the {@code CommandArgs} and the rest
+	 * are either arguments or flags read from the context, the arguments are read
+	 * by their positions, through the primitive getters for the primitive parameters
+	 *
+	 * @param target the name of the variable holding the instance declaring the method
+	 * @param method the method to invoke
+	 * @param slots  the expression of the position of every argument, by its id
+	 */
+	private void writeInvocation(String target, ExecutableElement method, Map<String, String> slots) {
+		List<? extends VariableElement> parameters = method.getParameters();
+		List<String> invocation = new ArrayList<>(parameters.size());
+		
+		for (int p = 0; p < parameters.size(); p++) {
+			VariableElement parameter = parameters.get(p);
+			
+			if (p == 0) {
+				//the sender of the executions is an Object already
+				String senderType = rawName(parameter.asType());
+				invocation.add(senderType.equals(Object.class.getName()) ? "sender" : String.format("(%s) sender", senderType));
+			} else if (p == 1) {
+				invocation.add(COMMAND_ARGS + ".create(context)");
+			} else {
+				AnnotationMirror flag = mirror(parameter, CommandProcessor.FLAG);
+				if (flag != null) {
+					invocation.add(String.format("context.flags().isPresent(%s)", literal(string(values(flag), "name"))));
+				} else {
+					AnnotationMirror arg = Objects.requireNonNull(mirror(parameter, CommandProcessor.ARG));
+					String slot = slots.get(string(values(arg), "id"));
+					assert slot != null;
+					invocation.add(argumentGetter(parameter.asType(), slot));
+				}
+			}
+		}
+		
+		indent++;
+		line("try {");
+		line("\t%s.%s(%s);", target, method.getSimpleName(), String.join(", ", invocation));
+		line("} catch (Exception ex) {");
+		line("\tmanager.exceptionHandler().handleException(ex, context.sender(), context);");
+		line("}");
+		indent--;
+	}
+	
+	private void checkAmbiguity() {
+		for (SyntaxModel syntax : syntaxes) {
+			if (syntax.greedy() && !syntax.literals() && syntaxes.size() > 1) {
+				error(syntax.element(), "The syntax `%s` of command `%s` is ambiguous, it consumes the remaining arguments without having any literal, while the command has other syntaxes",
+					syntax.key(), commandName);
+			}
+		}
+		
+		for (int first = 0; first < syntaxes.size(); first++) {
+			SyntaxModel firstSyntax = syntaxes.get(first);
+			for (int second = first + 1; second < syntaxes.size(); second++) {
+				SyntaxModel secondSyntax = syntaxes.get(second);
+				if (firstSyntax.isAmbiguousWith(secondSyntax)) {
+					error(secondSyntax.element(), "The syntax `%s` of command `%s` is ambiguous with the syntax `%s`",
+						secondSyntax.key(), commandName, firstSyntax.key());
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Checks for valid inheritance between subcommands
+	 *
+	 * @param subClass the subcommand class
+	 * @param info     the values of the info of the subcommand
+	 * @return whether the inheritance is valid
+	 */
+	private boolean checkValidInheritance(TypeElement subClass, Map<String, AnnotationValue> info) {
+		for (TypeMirror child : typesOf(info, "children")) {
+			Element childClass = types.asElement(child);
+			AnnotationMirror childInfo = mirror(childClass, CommandProcessor.SUB_COMMAND_INFO);
+			if (childInfo == null) {
+				error(subClass, "Failed to load subcommand from class '%s' as the class doesn't have @SubCommandInfo annotation", childClass);
+				return false;
+			}
+			
+			if (!types.isSameType(typeOf(values(childInfo), "parent"), subClass.asType())) {
+				error(subClass, "Failed to load subcommand from class '%s', the class has children, but its child `%s` doesn't have it as its parent",
+					subClass.getQualifiedName(), childClass);
+				return false;
+			}
+		}
+		
+		Element parentClass = types.asElement(typeOf(info, "parent"));
+		if (((TypeElement) parentClass).getQualifiedName().contentEquals(Object.class.getName())) return true;
+		
+		AnnotationMirror parentInfo = mirror(parentClass, CommandProcessor.SUB_COMMAND_INFO);
+		if (parentInfo == null) {
+			error(subClass, "Failed to load subcommand from class '%s' as the class doesn't have @SubCommandInfo annotation", parentClass);
+			return false;
+		}
+		
+		for (TypeMirror child : typesOf(values(parentInfo), "children")) {
+			if (types.isSameType(child, subClass.asType())) return true;
+		}
+		
+		error(subClass, "Subcommand class `%s` has parent `%s`, but the parent class doesn't have it as one of its children !",
+			subClass.getQualifiedName(), parentClass);
+		return false;
+	}
+	
+	/**
+	 * Checks whether the generated code can create an instance of a class
+	 * through its constructor that takes no parameters
+	 *
+	 * @param instantiated the class to instantiate
+	 * @param reported     the element to report the error on
+	 * @return whether the class can be instantiated
+	 */
+	private boolean checkInstantiable(TypeElement instantiated, Element reported) {
+		if (instantiated.getModifiers().contains(Modifier.ABSTRACT) || !isAccessible(instantiated)) {
+			error(reported, "Class `%s` MUST be a concrete class that is accessible from package `%s`", instantiated.getQualifiedName(), packageName);
+			return false;
+		}
+		
+		if (instantiated.getNestingKind() == NestingKind.MEMBER && !instantiated.getModifiers().contains(Modifier.STATIC)) {
+			error(reported, "Found a member class `%s` which is NOT static", instantiated.getQualifiedName());
+			return false;
+		}
+		
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(instantiated.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty() && isAccessible(constructor)) return true;
+		}
+		
+		error(reported, "Class `%s` doesn't have an accessible constructor with no parameters", instantiated.getQualifiedName());
+		return false;
+	}
+	
+	private boolean checkInvocable(ExecutableElement method) {
+		if (isAccessible(method)) {
+			List<? extends VariableElement> parameters = method.getParameters();
+			if (parameters.size() < 2 || rawName(parameters.get(1).asType()).equals(COMMAND_ARGS)) return true;
+			
+			error(method, "Second parameter in method '%s' is not of CommandArgs type", method.getSimpleName());
+			return false;
+		}
+		
+		error(method, "Method '%s' MUST be accessible from package `%s`", method.getSimpleName(), packageName);
+		return false;
+	}
+	
+	private boolean isAccessible(Element element) {
+		Set<Modifier> modifiers = element.getModifiers();
+		if (modifiers.contains(Modifier.PRIVATE)) return false;
+		if (!modifiers.contains(Modifier.PUBLIC) && !elements.getPackageOf(element).getQualifiedName().contentEquals(packageName))
+			return false;
+		
+		Element enclosing = element.getEnclosingElement();
+		return !(enclosing instanceof TypeElement) || isAccessible(enclosing);
+	}
+	
+	private List<TypeElement> subCommandsOf(TypeElement commandClass) {
+		List<TypeElement> subCommands = new ArrayList<>();
+		for (AnnotationMirror annotation : commandClass.getAnnotationMirrors()) {
+			String name = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+			
+			if (name.equals(CommandProcessor.SUB_COMMAND)) {
+				subCommands.add((TypeElement) types.asElement(typeOf(values(annotation), "value")));
+			} else if (name.equals(CommandProcessor.SUB_COMMANDS)) {
+				for (AnnotationValue repeated : list(values(annotation), "value"))
+					subCommands.add((TypeElement) types.asElement(typeOf(values((AnnotationMirror) repeated.getValue()), "value")));
+			}
+		}
+		return subCommands;
+	}
+	
+	private String senderClass(Map<String, AnnotationValue> executionMeta) {
+		TypeMirror senderType = typeOf(executionMeta, "senderType");
+		if (rawName(senderType).equals(Object.class.getName()))
+			return "(Class<Object>) (Class<?>) manager.getSenderWrapper().senderType()";
+		
+		return String.format("(Class<Object>) (Class<?>) %s.class", rawName(senderType));
+	}
+	
+	private String annotationNotPresent(TypeElement subClass, String annotation) {
+		return String.format("Subcommand class '%s' is NOT annotated with @%s", subClass.getQualifiedName(), annotation);
+	}
+	
+	private void error(Element element, String message, Object... args) {
+		failed = true;
+		messager.printMessage(Diagnostic.Kind.ERROR, String.format(message, args), element);
+	}
+	
+	private void line(String format, Object... args) {
+		if (!format.isEmpty()) source.append("\t".repeat(indent));
+		source.append(args.length == 0 ? format : String.format(format, args)).append('\n');
+	}
+	
+	/**
+	 * Fetches the name of the erasure of a type, as it would be written
+	 * in a cast or before {@code .class}, without any type annotations
+	 *
+	 * @param type the type
+	 * @return the name of the type
+	 */
+	private String rawName(TypeMirror type) {
+		return switch (type.getKind()) {
+			case BOOLEAN, BYTE, SHORT, INT, LONG, CHAR, FLOAT, DOUBLE -> type.getKind().name().toLowerCase(Locale.ROOT);
+			case DECLARED -> ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+			case ARRAY -> rawName(((ArrayType) type).getComponentType()) + "[]";
+			default -> rawName(types.erasure(type));
+		};
+	}
+	
+	/**
+	 * Fetches the expression reading the value of an argument by its position,
+	 * the primitives are read without boxing, narrowing the ints and doubles when needed
+	 *
+	 * @param type the type of the parameter
+	 * @param slot the expression of the position of the argument
+	 * @return the expression reading the value
+	 */
+	private String argumentGetter(TypeMirror type, String slot) {
+		return switch (type.getKind()) {
+			case INT -> String.format("context.getInt(%s)", slot);
+			case SHORT, BYTE -> String.format("(%s) context.getInt(%s)", rawName(type), slot);
+			case LONG -> String.format("context.getLong(%s)", slot);
+			case DOUBLE -> String.format("context.getDouble(%s)", slot);
+			case FLOAT -> String.format("(float) context.getDouble(%s)", slot);
+			case BOOLEAN -> String.format("context.getBoolean(%s)", slot);
+			default -> String.format("(%s) context.getArgument(%s)", boxedName(type), slot);
+		};
+	}
+	
+	private String boxedName(TypeMirror type) {
+		if (type.getKind().isPrimitive())
+			return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+		return rawName(type);
+	}
+	
+	private static String fold(String value) {
+		return value.toLowerCase(Locale.ROOT);
+	}
+	
+	private static String prefixed(List<String> literals) {
+		return literals.isEmpty() ? "" : ", " + String.join(", ", literals);
+	}
+	
+	static String literal(String value) {
+		StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"' -> literal.append("\\\"");
+				case '\\' -> literal.append("\\\\");
+				case '\n' -> literal.append("\\n");
+				case '\r' -> literal.append("\\r");
+				case '\t' -> literal.append("\\t");
+				default -> {
+					if (c < 0x20) literal.append(String.format("\\u%04x", (int) c));
+					else literal.append(c);
+				}
+			}
+		}
+		return literal.append('"').toString();
+	}
+	
+	private static @Nullable AnnotationMirror mirror(Element element, String annotation) {
+		for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+			if (annotationType.getQualifiedName().contentEquals(annotation)) return mirror;
+		}
+		return null;
+	}
+	
+	private Map<String, AnnotationValue> values(AnnotationMirror mirror) {
+		Map<String, AnnotationValue> values = new HashMap<>();
+		for (var entry : elements.getElementValuesWithDefaults(mirror).entrySet())
+			values.put(entry.getKey().getSimpleName().toString(), entry.getValue());
+		return values;
+	}
+	
+	private static String string(Map<String, AnnotationValue> values, String name) {
+		return (String) values.get(name).getValue();
+	}
+	
+	private static String constant(Map<String, AnnotationValue> values, String name) {
+		return ((VariableElement) values.get(name).getValue()).getSimpleName().toString();
+	}
+	
+	private static TypeMirror typeOf(Map<String, AnnotationValue> values, String name) {
+		return (TypeMirror) values.get(name).getValue();
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static List<? extends AnnotationValue> list(Map<String, AnnotationValue> values, String name) {
+		return (List<? extends AnnotationValue>) values.get(name).getValue();
+	}
+	
+	private static List<TypeMirror> typesOf(Map<String, AnnotationValue> values, String name) {
+		List<TypeMirror> types = new ArrayList<>();
+		for (AnnotationValue value : list(values, name)) types.add((TypeMirror) value.getValue());
+		return types;
+	}
+	
+	private static List<String> strings(Map<String, AnnotationValue> values, String name) {
+		List<String> strings = new ArrayList<>();
+		for (AnnotationValue value : list(values, name)) strings.add(literal((String) value.getValue()));
+		return strings;
+	}
+	
+	/**
+	 * The shape of a declared syntax, holding what's needed
+	 * to detect the ambiguity between the syntaxes of a command,
+	 * the same way the {@code AmbiguityChecker} does at runtime
+	 *
+	 * @param key      the case-folded literals and the arguments of the syntax
+	 * @param literals whether the syntax has literals, or is a subcommand
+	 * @param arity    the number of arguments of the syntax
+	 * @param greedy   whether the syntax consumes the remaining arguments
+	 * @param element  the element declaring the syntax
+	 */
+	private record SyntaxModel(String key, boolean literals, int arity, boolean greedy, Element element) {
+		
+		boolean isAmbiguousWith(SyntaxModel other) {
+			return (!literals && !other.literals && arity == other.arity) || key.equals(other.key);
+		}
+		
+	}
+	
+}
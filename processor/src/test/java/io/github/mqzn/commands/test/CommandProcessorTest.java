@@ -0,0 +1,488 @@
+package io.github.mqzn.commands.test;
+
+import io.github.mqzn.commands.annotations.AnnotationParser;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.SenderWrapper;
+import io.github.mqzn.commands.base.manager.AbstractCommandManager;
+import io.github.mqzn.commands.base.manager.CommandManager;
+import io.github.mqzn.commands.base.manager.flags.FlagInfo;
+import io.github.mqzn.commands.processor.CommandProcessor;
+import net.kyori.adventure.text.TextComponent;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@TestOnly
+public final class CommandProcessorTest {
+	
+	private static TestManager manager;
+	
+	private final static String HEADER = """
+		package demo;
+		
+		import io.github.mqzn.commands.annotations.base.*;
+		import io.github.mqzn.commands.base.context.CommandArgs;
+		import java.util.concurrent.TimeUnit;
+		
+		""";
+	
+	/**
+	 * Compiles a single command class of the package {@code demo} with the processor
+	 *
+	 * @param simpleName the simple name of the command class
+	 * @param body       the source of the class, following the imports
+	 * @return the result of the compilation
+	 */
+	private static Compilation compile(String simpleName, String body) {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		
+		Path root;
+		try {
+			root = Files.createTempDirectory("mcommands-processor");
+			Files.createDirectories(root.resolve("classes"));
+			Files.createDirectories(root.resolve("generated"));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+		JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///demo/" + simpleName + ".java"), JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return HEADER + body;
+			}
+		};
+		
+		List<String> options = List.of(
+			"-classpath", System.getProperty("java.class.path"),
+			"-d", root.resolve("classes").toString(),
+			"-s", root.resolve("generated").toString()
+		);
+		
+		JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, List.of(source));
+		task.setProcessors(List.of(new CommandProcessor()));
+		boolean success = task.call();
+		
+		Path generated = root.resolve("generated").resolve("demo").resolve(simpleName + "Registration.java");
+		String output;
+		Map<String, byte[]> classes = new HashMap<>();
+		try {
+			output = Files.exists(generated) ? Files.readString(generated) : null;
+			
+			Path classesRoot = root.resolve("classes");
+			try (Stream<Path> files = Files.walk(classesRoot)) {
+				for (Path file : files.filter((file) -> file.toString().endsWith(".class")).toList()) {
+					String name = classesRoot.relativize(file).toString().replace(file.getFileSystem().getSeparator(), ".");
+					classes.put(name.substring(0, name.length() - ".class".length()), Files.readAllBytes(file));
+				}
+			}
+			
+			try (Stream<Path> files = Files.walk(root)) {
+				files.sorted(Comparator.reverseOrder()).forEach((file) -> file.toFile().delete());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+		return new Compilation(success, output, diagnostics.getDiagnostics(), classes);
+	}
+	
+	/**
+	 * The manager of plain objects as senders, every sender is allowed everything,
+	 * it's shared since a single flag registry can be created
+	 */
+	private static synchronized TestManager manager() {
+		if (manager == null) {
+			manager = new TestManager();
+			manager.flagRegistry().registerFlag(FlagInfo.builder("silent").aliases("s").build());
+		}
+		return manager;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static List<List<Object>> received(Class<?> commandClass) throws ReflectiveOperationException {
+		return (List<List<Object>>) commandClass.getField("RECEIVED").get(null);
+	}
+	
+	@Test
+	public void generatesTheRegistrationOfACommand() {
+		Compilation compilation = compile("Greet", """
+			@Command(name = "greet", aliases = {"hi"}, permission = "greet.use")
+			@Cooldown(value = 5, unit = TimeUnit.SECONDS)
+			public class Greet {
+				
+				@Default
+				public void help(Object sender, CommandArgs args) {
+				}
+				
+				@ExecutionMeta(syntax = "<name> [times]")
+				public void greet(Object sender, CommandArgs args, @Arg(id = "name") String name,
+				                  @Arg(id = "times", optional = true, defaultValue = "1") int times,
+				                  @Flag(name = "silent") boolean silent) {
+				}
+				
+			}
+			""");
+		
+		compilation.assertSucceeded();
+		String output = compilation.output();
+		
+		Assertions.assertTrue(output.contains("public final class GreetRegistration {"));
+		Assertions.assertTrue(output.contains("public static <S> void register("));
+		Assertions.assertTrue(output.contains("builder(manager, \"greet\")"));
+		Assertions.assertTrue(output.contains("\"greet.use\""));
+		Assertions.assertTrue(output.contains("\"hi\""));
+		Assertions.assertTrue(output.contains("new io.github.mqzn.commands.base.cooldown.CommandCooldown(5L, java.util.concurrent.TimeUnit.SECONDS)"));
+		Assertions.assertTrue(output.contains("builder.defaultExecutor("));
+		Assertions.assertTrue(output.contains("instance.help("));
+		Assertions.assertTrue(output.contains("instance.greet("));
+		
+		//the primitive argument is read through its primitive getter, never boxed
+		Assertions.assertTrue(output.contains(".getInt("), output);
+		Assertions.assertFalse(output.contains("getArgument(\"times\")"), output);
+	}
+	
+	@Test
+	public void executesLikeTheReflectivePath() throws ReflectiveOperationException {
+		Compilation compilation = compile("Greet", """
+			@Command(name = "greet")
+			public class Greet {
+				
+				public static final java.util.List<java.util.List<Object>> RECEIVED = new java.util.ArrayList<>();
+				
+				@Default
+				public void help(Object sender, CommandArgs args) {
+					RECEIVED.add(java.util.List.of("help"));
+				}
+				
+				@ExecutionMeta(syntax = "<name> [times]")
+				public void greet(Object sender, CommandArgs args, @Arg(id = "name") String name,
+				                  @Arg(id = "times", optional = true, defaultValue = "1") int times,
+				                  @Flag(name = "silent") boolean silent) {
+					RECEIVED.add(java.util.List.of(name, times, silent));
+				}
+				
+			}
+			""");
+		
+		compilation.assertSucceeded();
+		ClassLoader loader = compilation.loader();
+		Class<?> commandClass = loader.loadClass("demo.Greet");
+		Object instance = commandClass.getConstructor().newInstance();
+		
+		//both commands are kept once built, so the name is registered by one path at a time
+		TestManager manager = manager();
+		new AnnotationParser<>(manager).parse(instance);
+		Command<Object> reflectiveCommand = manager.getCommand("greet");
+		manager.unregisterCommand("greet");
+		
+		loader.loadClass("demo.GreetRegistration")
+			.getMethod("register", CommandManager.class, commandClass)
+			.invoke(null, manager, instance);
+		Command<Object> generatedCommand = manager.getCommand("greet");
+		manager.unregisterCommand("greet");
+		
+		Assertions.assertNotNull(reflectiveCommand);
+		Assertions.assertNotNull(generatedCommand, "The generated registration didn't register the command");
+		Assertions.assertNotSame(reflectiveCommand, generatedCommand);
+		Assertions.assertEquals(reflectiveCommand.syntaxes().size(), generatedCommand.syntaxes().size());
+		
+		String[][] inputs = {{}, {"mqzen"}, {"mqzen", "3"}, {"mqzen", "-silent"}, {"mqzen", "7", "-s"}, {"mqzen", "three"}};
+		Object sender = "console";
+		
+		List<List<Object>> received = received(commandClass);
+		for (String[] input : inputs) {
+			received.clear();
+			manager.executeCommand(reflectiveCommand, sender, input);
+			List<List<Object>> expected = List.copyOf(received);
+			
+			received.clear();
+			manager.executeCommand(generatedCommand, sender, input);
+			Assertions.assertEquals(expected, received, () -> "The executions of " + List.of(input) + " differ");
+		}
+		
+		//the arguments received are the ones typed, not only the same on both paths
+		received.clear();
+		manager.executeCommand(generatedCommand, sender, new String[]{"mqzen", "3", "-silent"});
+		Assertions.assertEquals(List.of(List.of("mqzen", 3, true)), received);
+	}
+	
+	@Test
+	public void emitsTheRateLimitsTimeoutAndConcurrencyLimit() {
+		Compilation compilation = compile("Limited", """
+			@Command(name = "limited")
+			@RateLimit(permits = 3, period = 10)
+			@RateLimit(permits = 100, period = 1, unit = TimeUnit.MINUTES, scope = io.github.mqzn.commands.base.ratelimit.CommandRateLimit.Scope.SHARED)
+			@Timeout(value = 2, unit = TimeUnit.SECONDS)
+			@MaxConcurrency(value = 4, overflow = io.github.mqzn.commands.base.concurrency.ConcurrencyLimit.OverflowPolicy.QUEUE, queue = 8)
+			public class Limited {
+				
+				@ExecutionMeta(syntax = "<target>")
+				public void run(Object sender, CommandArgs args, @Arg(id = "target") String target) {
+				}
+				
+			}
+			""");
+		
+		compilation.assertSucceeded();
+		String output = compilation.output();
+		
+		Assertions.assertTrue(output.contains("CommandRateLimit.of(io.github.mqzn.commands.base.ratelimit.CommandRateLimit.Scope.SENDER, 3, 10L, java.util.concurrent.TimeUnit.SECONDS)"), output);
+		Assertions.assertTrue(output.contains("CommandRateLimit.of(io.github.mqzn.commands.base.ratelimit.CommandRateLimit.Scope.SHARED, 100, 1L, java.util.concurrent.TimeUnit.MINUTES)"), output);
+		Assertions.assertTrue(output.contains("builder.timeout(java.time.Duration.of(2L, java.util.concurrent.TimeUnit.SECONDS.toChronoUnit()))"), output);
+		Assertions.assertTrue(output.contains("ConcurrencyLimit.of(4, io.github.mqzn.commands.base.concurrency.ConcurrencyLimit.OverflowPolicy.QUEUE, 8)"), output);
+	}
+	
+	@Test
+	public void rejectsAnInvalidConcurrencyLimit() {
+		Compilation compilation = compile("Unbounded", """
+			@Command(name = "unbounded")
+			@MaxConcurrency(value = 2, overflow = io.github.mqzn.commands.base.concurrency.ConcurrencyLimit.OverflowPolicy.QUEUE)
+			public class Unbounded {
+			}
+			""");
+		
+		compilation.assertFailedWith("@MaxConcurrency needs positive permits");
+	}
+	
+	@Test
+	public void rejectsANonPositiveRateLimit() {
+		Compilation compilation = compile("Zero", """
+			@Command(name = "zero")
+			@RateLimit(permits = 0, period = 10)
+			public class Zero {
+			}
+			""");
+		
+		compilation.assertFailedWith("The permits and the period of @RateLimit must be positive");
+	}
+	
+	@Test
+	public void rejectsAmbiguousSyntaxes() {
+		Compilation compilation = compile("Ambiguous", """
+			@Command(name = "ambiguous")
+			public class Ambiguous {
+				
+				@ExecutionMeta(syntax = "<name>")
+				public void byName(Object sender, CommandArgs args, @Arg(id = "name") String name) {
+				}
+				
+				@ExecutionMeta(syntax = "<player>")
+				public void byPlayer(Object sender, CommandArgs args, @Arg(id = "player") String player) {
+				}
+				
+			}
+			""");
+		
+		compilation.assertFailedWith("is ambiguous with the syntax");
+	}
+	
+	@Test
+	public void rejectsAGreedySyntaxNextToOthers() {
+		Compilation compilation = compile("Greedy", """
+			@Command(name = "greedy")
+			public class Greedy {
+				
+				@ExecutionMeta(syntax = "<message>")
+				public void say(Object sender, CommandArgs args, @Arg(id = "message") @io.github.mqzn.commands.annotations.base.Greedy String message) {
+				}
+				
+				@ExecutionMeta(syntax = "reload")
+				public void reload(Object sender, CommandArgs args) {
+				}
+				
+			}
+			""");
+		
+		compilation.assertFailedWith("consumes the remaining arguments without having any literal");
+	}
+	
+	@Test
+	public void rejectsASyntaxArgumentWithoutParameter() {
+		Compilation compilation = compile("Mismatch", """
+			@Command(name = "mismatch")
+			public class Mismatch {
+				
+				@ExecutionMeta(syntax = "<target>")
+				public void run(Object sender, CommandArgs args, @Arg(id = "name") String name) {
+				}
+				
+			}
+			""");
+		
+		compilation.assertFailedWith("Argument id 'target' in the syntax of method 'run' doesn't match any parameter annotated with @Arg");
+	}
+	
+	@Test
+	public void rejectsAParameterMissingFromTheSyntax() {
+		Compilation compilation = compile("Missing", """
+			@Command(name = "missing")
+			public class Missing {
+				
+				@ExecutionMeta(syntax = "<target>")
+				public void run(Object sender, CommandArgs args, @Arg(id = "target") String target, @Arg(id = "reason") String reason) {
+				}
+				
+			}
+			""");
+		
+		compilation.assertFailedWith("Argument id 'reason' of parameter 'reason' in method 'run' is not in the syntax");
+	}
+	
+	@Test
+	public void rejectsAnOptionalMismatch() {
+		Compilation compilation = compile("Optional", """
+			@Command(name = "optional")
+			public class Optional {
+				
+				@ExecutionMeta(syntax = "[target]")
+				public void run(Object sender, CommandArgs args, @Arg(id = "target") String target) {
+				}
+				
+			}
+			""");
+		
+		compilation.assertFailedWith("Argument optional status(optional=true) in syntax doesn't match the corresponding parameter optional status(optional=false)");
+	}
+	
+	@Test
+	public void rejectsAFlagThatIsNotABoolean() {
+		Compilation compilation = compile("Flagged", """
+			@Command(name = "flagged")
+			public class Flagged {
+				
+				@ExecutionMeta(syntax = "<target>")
+				public void run(Object sender, CommandArgs args, @Arg(id = "target") String target, @Flag(name = "silent") String silent) {
+				}
+				
+			}
+			""");
+		
+		compilation.assertFailedWith("Flag parameter 'silent' in method 'run' MUST be a boolean");
+	}
+	
+	@Test
+	public void rejectsAStaticExecution() {
+		Compilation compilation = compile("Static", """
+			@Command(name = "static")
+			public class Static {
+				
+				@ExecutionMeta(syntax = "<target>")
+				public static void run(Object sender, CommandArgs args, @Arg(id = "target") String target) {
+				}
+				
+			}
+			""");
+		
+		compilation.assertFailedWith("Method 'run' is declared static");
+	}
+	
+	private record Compilation(boolean success, String output, List<Diagnostic<? extends JavaFileObject>> diagnostics,
+	                           Map<String, byte[]> classes) {
+		
+		/**
+		 * Creates a loader of the classes of the compilation,
+		 * the classes of the library are loaded by the class loader of the test
+		 */
+		private ClassLoader loader() {
+			return new ClassLoader(CommandProcessorTest.class.getClassLoader()) {
+				@Override
+				protected Class<?> findClass(String name) throws ClassNotFoundException {
+					byte[] bytes = classes.get(name);
+					if (bytes == null) throw new ClassNotFoundException(name);
+					return defineClass(name, bytes, 0, bytes.length);
+				}
+			};
+		}
+		
+		private List<String> errors() {
+			return diagnostics.stream()
+				.filter((diagnostic) -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+				.map((diagnostic) -> diagnostic.getMessage(Locale.ROOT))
+				.toList();
+		}
+		
+		private void assertSucceeded() {
+			Assertions.assertTrue(success, () -> "The compilation failed with " + errors());
+			Assertions.assertNotNull(output, "The registration class wasn't generated");
+		}
+		
+		private void assertFailedWith(String message) {
+			Assertions.assertFalse(success, "The compilation succeeded");
+			Assertions.assertNull(output, "A registration class was generated for an invalid command");
+			Assertions.assertTrue(errors().stream().anyMatch((error) -> error.contains(message)),
+				() -> "Expected an error containing '" + message + "' but got " + errors());
+		}
+		
+	}
+	
+	private static final class TestManager extends AbstractCommandManager<Object, Object> {
+		
+		private TestManager() {
+			super(new Object(), new ObjectSenderWrapper());
+		}
+		
+		@Override
+		public char commandPrefix() {
+			return '/';
+		}
+		
+	}
+	
+	private static final class ObjectSenderWrapper implements SenderWrapper<Object> {
+		
+		@Override
+		public Class<Object> senderType() {
+			return Object.class;
+		}
+		
+		@Override
+		public boolean isConsole(Object sender) {
+			return true;
+		}
+		
+		@Override
+		public void sendMessage(Object sender, String msg) {
+		}
+		
+		@Override
+		public void sendMessage(Object sender, TextComponent component) {
+		}
+		
+		@Override
+		public boolean canBeSender(Class<?> type) {
+			return type == Object.class;
+		}
+		
+		@Override
+		public boolean hasPermission(Object sender, @Nullable String name) {
+			return true;
+		}
+		
+		@Override
+		public String senderName(Object sender) {
+			return String.valueOf(sender);
+		}
+		
+	}
+	
+}
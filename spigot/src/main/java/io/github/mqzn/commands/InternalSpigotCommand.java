@@ -9,6 +9,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @ApiStatus.Internal
 final class InternalSpigotCommand extends org.bukkit.command.Command implements PluginIdentifiableCommand {
@@ -33,6 +34,19 @@ final class InternalSpigotCommand extends org.bukkit.command.Command implements
 	                       @NotNull String label,
 	                       String[] raw) {
 		
+		if (manager.isOffThreadDispatch()) {
+			try {
+				manager.executor().execute(() -> dispatch(sender, raw));
+				return true;
+			} catch (RejectedExecutionException ex) {
+				ex.printStackTrace();
+			}
+		}
+		
+		return dispatch(sender, raw);
+	}
+	
+	private boolean dispatch(@NotNull CommandSender sender, String[] raw) {
 		try {
 			manager.executeCommand(command, sender, raw);
 			return true;
@@ -40,7 +54,6 @@ final class InternalSpigotCommand extends org.bukkit.command.Command implements
 			ex.printStackTrace();
 			return false;
 		}
-		
 	}
 	
 	@Override
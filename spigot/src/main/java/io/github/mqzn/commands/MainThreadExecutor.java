@@ -0,0 +1,139 @@
+package io.github.mqzn.commands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * An executor handing the tasks over to the main thread of the server,
+ * the tasks are queued, then drained once every tick within a time budget,
+ * the tasks that didn't fit in the budget of a tick are carried over to the next one,
+ * so that a burst of commands is spread over several ticks instead of causing a lag spike.
+ * <p>
+ * A task submitted from the main thread itself runs right away, and the remaining tasks
+ * run when the manager shuts down, once the plugin gets disabled, after which the tasks
+ * submitted from other threads are rejected, since nothing would ever drain them.
+ *
+ * @author Mqzen
+ * @see SpigotCommandManager#mainThreadExecutor()
+ */
+public final class MainThreadExecutor implements Executor {
+	
+	public static final Duration DEFAULT_TICK_BUDGET = Duration.ofMillis(5);
+	
+	@NotNull
+	private final Plugin plugin;
+	
+	@NotNull
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+	
+	private volatile long tickBudget = DEFAULT_TICK_BUDGET.toNanos();
+	
+	private volatile boolean stopped = false;
+	
+	@Nullable
+	private BukkitTask drainTask;
+	
+	MainThreadExecutor(@NotNull Plugin plugin) {
+		this.plugin = plugin;
+	}
+	
+	@Override
+	public void execute(@NotNull Runnable task) {
+		if (Bukkit.isPrimaryThread()) {
+			task.run();
+			return;
+		}
+		if (stopped) throw rejected();
+		
+		tasks.offer(task);
+		
+		//stopping drains the queue after the flag is set, so a task still queued now would never run
+		if (stopped && tasks.remove(task)) throw rejected();
+	}
+	
+	private RejectedExecutionException rejected() {
+		return new RejectedExecutionException("The main thread executor of the plugin '" + plugin.getName() + "' is stopped");
+	}
+	
+	/**
+	 * Sets the time the main thread may spend running the queued tasks every tick
+	 *
+	 * @param budget the budget of a tick
+	 */
+	public void tickBudget(@NotNull Duration budget) {
+		if (budget.isNegative() || budget.isZero())
+			throw new IllegalArgumentException("The tick budget of the main thread executor must be positive");
+		this.tickBudget = budget.toNanos();
+	}
+	
+	public @NotNull Duration tickBudget() {
+		return Duration.ofNanos(tickBudget);
+	}
+	
+	/**
+	 * @return whether the executor is stopped, so it rejects the tasks submitted from other threads
+	 */
+	public boolean isStopped() {
+		return stopped;
+	}
+	
+	/**
+	 * @return the number of tasks waiting for the main thread
+	 */
+	public int pending() {
+		return tasks.size();
+	}
+	
+	synchronized void start() {
+		if (drainTask != null) return;
+		drainTask = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+	}
+	
+	/**
+	 * Stops draining every tick, then runs the remaining tasks on the calling thread,
+	 * the tasks submitted from other threads afterwards are rejected
+	 *
+	 * @see SpigotCommandManager#shutdown()
+	 */
+	synchronized void stop() {
+		stopped = true;
+		if (drainTask != null) {
+			drainTask.cancel();
+			drainTask = null;
+		}
+		
+		Runnable task;
+		while ((task = tasks.poll()) != null)
+			run(task);
+	}
+	
+	private void drain() {
+		final long deadline = System.nanoTime() + tickBudget;
+		
+		//at least one task runs every tick, so that a task longer than the budget can't block the queue
+		Runnable task;
+		do {
+			task = tasks.poll();
+			if (task == null) return;
+			run(task);
+		} while (System.nanoTime() - deadline < 0);
+	}
+	
+	private static void run(Runnable task) {
+		try {
+			task.run();
+		} catch (Throwable ex) {
+			ex.printStackTrace();
+		}
+	}
+	
+}
@@ -27,6 +27,11 @@ public final class SpigotCommandManager extends AbstractCommandManager<Plugin, C
 	@NotNull
 	private final SimpleCommandMap cmdMap;
 	
+	@NotNull
+	private final MainThreadExecutor mainThreadExecutor;
+	
+	private volatile boolean offThreadDispatch = false;
+	
 	public SpigotCommandManager(@NotNull Plugin plugin) {
 		super(plugin, new SpigotSenderWrapper(plugin));
 		this.plugin = plugin;
@@ -40,6 +45,15 @@ public final class SpigotCommandManager extends AbstractCommandManager<Plugin, C
 		
 		this.registerCaptions();
 		this.registerTypes();
+		
+		Bukkit.getPluginManager().registerEvents(new SpigotSuggestionCacheListener(suggestionCache()), plugin);
+		
+		this.mainThreadExecutor = new MainThreadExecutor(plugin);
+		mainThreadExecutor.start();
+		setSyncExecutor(mainThreadExecutor);
+		
+		//stops the main thread executor too, through the shutdown of this manager
+		Bukkit.getPluginManager().registerEvents(new SpigotDisableListener(this), plugin);
 	}
 	
 	@Override
@@ -47,6 +61,45 @@ public final class SpigotCommandManager extends AbstractCommandManager<Plugin, C
 		return plugin;
 	}
 	
+	/**
+	 * Fetches the executor handing the tasks over to the main thread,
+	 * the asynchronous commands can use it to get back to the Bukkit API safely
+	 *
+	 * @return the main thread executor
+	 */
+	public @NotNull MainThreadExecutor mainThreadExecutor() {
+		return mainThreadExecutor;
+	}
+	
+	/**
+	 * Sets whether the commands are dispatched off the main thread, in which case
+	 * the permissions, the requirements, and the arguments are checked and parsed
+	 * on the executor of this manager, then the sync executions are handed back
+	 * to the main thread through the {@link #mainThreadExecutor()}.
+	 * <p>
+	 * The requirements, the permission checks, and the argument types must not touch
+	 * the parts of the Bukkit API that aren't thread-safe when this is enabled.
+	 *
+	 * @param offThreadDispatch whether the commands are dispatched off the main thread
+	 */
+	public void offThreadDispatch(boolean offThreadDispatch) {
+		this.offThreadDispatch = offThreadDispatch;
+	}
+	
+	public boolean isOffThreadDispatch() {
+		return offThreadDispatch;
+	}
+	
+	/**
+	 * Runs the sync executions still queued for the main thread first,
+	 * so that they're audited before the audit log closes
+	 */
+	@Override
+	public void shutdown() {
+		mainThreadExecutor.stop();
+		super.shutdown();
+	}
+	
 	@Override
 	public char commandPrefix() {
 		return '/';
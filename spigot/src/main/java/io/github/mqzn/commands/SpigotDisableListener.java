@@ -0,0 +1,28 @@
+package io.github.mqzn.commands;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Shuts the manager down once the plugin owning it gets disabled
+ */
+@ApiStatus.Internal
+public final class SpigotDisableListener implements Listener {
+	
+	@NotNull
+	private final SpigotCommandManager manager;
+	
+	SpigotDisableListener(@NotNull SpigotCommandManager manager) {
+		this.manager = manager;
+	}
+	
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onDisable(PluginDisableEvent event) {
+		if (event.getPlugin() == manager.getBootstrap()) manager.shutdown();
+	}
+	
+}
@@ -0,0 +1,52 @@
+package io.github.mqzn.commands;
+
+import io.github.mqzn.commands.arguments.ArgumentOnlinePlayer;
+import io.github.mqzn.commands.arguments.ArgumentWorld;
+import io.github.mqzn.commands.base.manager.SuggestionCache;
+import org.bukkit.command.CommandSender;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Invalidates the cached suggestions of the online players
+ * and worlds arguments whenever the players or the worlds change
+ */
+@ApiStatus.Internal
+public final class SpigotSuggestionCacheListener implements Listener {
+	
+	@NotNull
+	private final SuggestionCache<CommandSender> cache;
+	
+	SpigotSuggestionCacheListener(@NotNull SuggestionCache<CommandSender> cache) {
+		this.cache = cache;
+	}
+	
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onJoin(PlayerJoinEvent event) {
+		cache.invalidate(ArgumentOnlinePlayer.class);
+	}
+	
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onQuit(PlayerQuitEvent event) {
+		cache.invalidate(ArgumentOnlinePlayer.class);
+		cache.invalidateSender(event.getPlayer());
+	}
+	
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onWorldLoad(WorldLoadEvent event) {
+		cache.invalidate(ArgumentWorld.class);
+	}
+	
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onWorldUnload(WorldUnloadEvent event) {
+		cache.invalidate(ArgumentWorld.class);
+	}
+	
+}
@@ -5,6 +5,7 @@ import com.velocitypowered.api.command.SimpleCommand;
 import io.github.mqzn.commands.base.Command;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 class InternalVelocityCommand implements SimpleCommand {
 	private final VelocityCommandManager commandManager;
@@ -40,5 +41,17 @@ class InternalVelocityCommand implements SimpleCommand {
 		return commandManager.suggest(command, invocation.source(), invocation.arguments());
 	}
 	
+	/**
+	 * Provides tab complete suggestions for the specified invocation asynchronously,
+	 * so that the suggestions backed by a storage never block the proxy.
+	 *
+	 * @param invocation the invocation context
+	 * @return the future of the tab complete suggestions
+	 */
+	@Override
+	public CompletableFuture<List<String>> suggestAsync(Invocation invocation) {
+		return commandManager.suggestAsync(command, invocation.source(), invocation.arguments());
+	}
+	
 	
 }
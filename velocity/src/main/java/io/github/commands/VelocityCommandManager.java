@@ -19,6 +19,9 @@ public final class VelocityCommandManager extends AbstractCommandManager<ProxySe
 		this.bootstrapObj = bootstrapObj;
 		this.registerCaptions();
 		this.registerTypes();
+		
+		plugin.getEventManager().register(bootstrapObj, new VelocitySuggestionCacheListener(suggestionCache()));
+		plugin.getEventManager().register(bootstrapObj, new VelocityShutdownListener(this));
 	}
 	
 	@Override
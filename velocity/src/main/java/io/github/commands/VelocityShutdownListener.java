@@ -0,0 +1,27 @@
+package io.github.commands;
+
+import com.velocitypowered.api.event.PostOrder;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.proxy.ProxyShutdownEvent;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Shuts the manager down once the proxy shuts down
+ */
+@ApiStatus.Internal
+public final class VelocityShutdownListener {
+	
+	@NotNull
+	private final VelocityCommandManager manager;
+	
+	VelocityShutdownListener(@NotNull VelocityCommandManager manager) {
+		this.manager = manager;
+	}
+	
+	@Subscribe(order = PostOrder.LAST)
+	public void onShutdown(ProxyShutdownEvent event) {
+		manager.shutdown();
+	}
+	
+}
@@ -0,0 +1,38 @@
+package io.github.commands;
+
+import com.velocitypowered.api.command.CommandSource;
+import com.velocitypowered.api.event.PostOrder;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.connection.PostLoginEvent;
+import io.github.commands.arguments.ArgumentOnlinePlayer;
+import io.github.mqzn.commands.base.manager.SuggestionCache;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Invalidates the cached suggestions of the online players
+ * arguments whenever a player joins or quits the proxy
+ */
+@ApiStatus.Internal
+public final class VelocitySuggestionCacheListener {
+	
+	@NotNull
+	private final SuggestionCache<CommandSource> cache;
+	
+	VelocitySuggestionCacheListener(@NotNull SuggestionCache<CommandSource> cache) {
+		this.cache = cache;
+	}
+	
+	@Subscribe(order = PostOrder.LAST)
+	public void onJoin(PostLoginEvent event) {
+		cache.invalidate(ArgumentOnlinePlayer.class);
+	}
+	
+	@Subscribe(order = PostOrder.LAST)
+	public void onQuit(DisconnectEvent event) {
+		cache.invalidate(ArgumentOnlinePlayer.class);
+		cache.invalidateSender(event.getPlayer());
+	}
+	
+}